@@ -2,8 +2,10 @@ package be.ucll.craftmanship.DDDDemo.library;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
 
 @SpringBootApplication
+@ConfigurationPropertiesScan
 public class LibraryApplication {
 
 	public static void main(String[] args) {
@@ -2,11 +2,16 @@ package be.ucll.craftmanship.DDDDemo.library.api.controllers;
 
 import be.ucll.craftmanship.DDDDemo.library.application.dto.BookResponse;
 import be.ucll.craftmanship.DDDDemo.library.application.dto.CreateBookRequest;
+import be.ucll.craftmanship.DDDDemo.library.application.dto.CursorPage;
+import be.ucll.craftmanship.DDDDemo.library.application.dto.UpdateBookTitleRequest;
 import be.ucll.craftmanship.DDDDemo.library.application.services.BookService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -18,9 +23,11 @@ import java.util.List;
 public class BookController {
     
     private final BookService bookService;
+    private final ObjectMapper objectMapper;
     
-    public BookController(BookService bookService) {
+    public BookController(BookService bookService, ObjectMapper objectMapper) {
         this.bookService = bookService;
+        this.objectMapper = objectMapper;
     }
     
     @PostMapping
@@ -41,12 +48,56 @@ public class BookController {
         return ResponseEntity.ok(books);
     }
     
+    @GetMapping("/page")
+    public ResponseEntity<CursorPage<BookResponse>> getBooksPage(
+        @RequestParam(required = false) String cursor,
+        @RequestParam(defaultValue = "" + CursorPage.DEFAULT_SIZE) int size
+    ) {
+        return ResponseEntity.ok(bookService.getBooksPage(cursor, size));
+    }
+    
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamBooks() {
+        return NdjsonStreams.response(objectMapper, bookService::streamAllBooks);
+    }
+    
+    @GetMapping("/available/page")
+    public ResponseEntity<CursorPage<BookResponse>> getAvailableBooksPage(
+        @RequestParam(required = false) String cursor,
+        @RequestParam(defaultValue = "" + CursorPage.DEFAULT_SIZE) int size
+    ) {
+        return ResponseEntity.ok(bookService.getAvailableBooksPage(cursor, size));
+    }
+    
+    @GetMapping(value = "/available/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAvailableBooks() {
+        return NdjsonStreams.response(objectMapper, bookService::streamAvailableBooks);
+    }
+    
     @GetMapping("/{bookId}")
     public ResponseEntity<BookResponse> getBookById(@PathVariable String bookId) {
         BookResponse book = bookService.getBookById(bookId);
         return ResponseEntity.ok(book);
     }
     
+    @PutMapping("/{bookId}/title")
+    public ResponseEntity<BookResponse> updateTitle(
+        @PathVariable String bookId,
+        @Valid @RequestBody UpdateBookTitleRequest request
+    ) {
+        BookResponse book = bookService.updateTitle(bookId, request.title());
+        return ResponseEntity.ok(book);
+    }
+    
+    @GetMapping("/search")
+    public ResponseEntity<List<BookResponse>> search(
+        @RequestParam String q,
+        @RequestParam(required = false) Integer limit
+    ) {
+        List<BookResponse> books = bookService.searchBooks(q, limit);
+        return ResponseEntity.ok(books);
+    }
+    
     @GetMapping("/search/title")
     public ResponseEntity<List<BookResponse>> searchByTitle(@RequestParam String title) {
         List<BookResponse> books = bookService.searchBooksByTitle(title);
@@ -0,0 +1,66 @@
+package be.ucll.craftmanship.DDDDemo.library.api.controllers;
+
+import be.ucll.craftmanship.DDDDemo.library.infrastructure.bulkimport.BulkImporter;
+import be.ucll.craftmanship.DDDDemo.library.infrastructure.bulkimport.ImportFormat;
+import be.ucll.craftmanship.DDDDemo.library.infrastructure.bulkimport.ImportReport;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * REST Controller for bulk catalogue imports from CSV (text/csv) or NDJSON (application/x-ndjson) feeds
+ * 
+ * The request body is read as a stream while the import runs. Pass the
+ * same importId again to resume an import that was interrupted.
+ */
+@RestController
+@RequestMapping("/api/imports")
+public class BulkImportController {
+    
+    private final BulkImporter importer;
+    
+    public BulkImportController(BulkImporter importer) {
+        this.importer = importer;
+    }
+    
+    @PostMapping("/books")
+    public ResponseEntity<ImportReport> importBooks(
+        @RequestParam(required = false) String importId,
+        HttpServletRequest request
+    ) throws IOException {
+        return ResponseEntity.ok(importer.importBooks(importId, formatOf(request), request.getInputStream()));
+    }
+    
+    @PostMapping("/members")
+    public ResponseEntity<ImportReport> importMembers(
+        @RequestParam(required = false) String importId,
+        HttpServletRequest request
+    ) throws IOException {
+        return ResponseEntity.ok(importer.importMembers(importId, formatOf(request), request.getInputStream()));
+    }
+    
+    @GetMapping("/{importId}")
+    public ResponseEntity<ImportReport> getImport(@PathVariable String importId) {
+        return ResponseEntity.ok(importer.getReport(importId));
+    }
+    
+    @GetMapping(value = "/{importId}/errors", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> getRejectedRows(@PathVariable String importId) {
+        Path errors = importer.getErrorFile(importId);
+        StreamingResponseBody body = outputStream -> Files.copy(errors, outputStream);
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_NDJSON)
+            .body(body);
+    }
+    
+    private static ImportFormat formatOf(HttpServletRequest request) {
+        String contentType = request.getContentType();
+        return ImportFormat.of(contentType == null ? null : MediaType.parseMediaType(contentType));
+    }
+}
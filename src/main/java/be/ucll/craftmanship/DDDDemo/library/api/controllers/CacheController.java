@@ -0,0 +1,29 @@
+package be.ucll.craftmanship.DDDDemo.library.api.controllers;
+
+import be.ucll.craftmanship.DDDDemo.library.infrastructure.cache.CacheStats;
+import be.ucll.craftmanship.DDDDemo.library.infrastructure.cache.CacheStatsReader;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * REST Controller exposing read cache metrics
+ */
+@RestController
+@RequestMapping("/api/cache")
+public class CacheController {
+    
+    private final CacheStatsReader cacheStatsReader;
+    
+    public CacheController(CacheStatsReader cacheStatsReader) {
+        this.cacheStatsReader = cacheStatsReader;
+    }
+    
+    @GetMapping("/stats")
+    public ResponseEntity<List<CacheStats>> getStats() {
+        return ResponseEntity.ok(cacheStatsReader.stats());
+    }
+}
@@ -0,0 +1,27 @@
+package be.ucll.craftmanship.DDDDemo.library.api.controllers;
+
+import be.ucll.craftmanship.DDDDemo.library.infrastructure.events.AsyncDomainEventBus;
+import be.ucll.craftmanship.DDDDemo.library.infrastructure.events.EventBusStats;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST Controller exposing domain event bus metrics
+ */
+@RestController
+@RequestMapping("/api/events")
+public class EventBusController {
+    
+    private final AsyncDomainEventBus eventBus;
+    
+    public EventBusController(AsyncDomainEventBus eventBus) {
+        this.eventBus = eventBus;
+    }
+    
+    @GetMapping("/stats")
+    public ResponseEntity<EventBusStats> getStats() {
+        return ResponseEntity.ok(eventBus.stats());
+    }
+}
@@ -0,0 +1,38 @@
+package be.ucll.craftmanship.DDDDemo.library.api.controllers;
+
+import be.ucll.craftmanship.DDDDemo.library.application.dto.FeePolicyRequest;
+import be.ucll.craftmanship.DDDDemo.library.application.dto.FeePolicyResponse;
+import be.ucll.craftmanship.DDDDemo.library.application.services.FeePolicyService;
+import be.ucll.craftmanship.DDDDemo.library.domain.entities.MemberTier;
+import jakarta.validation.Valid;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * REST Controller for late fee policies
+ */
+@RestController
+@RequestMapping("/api/fee-policies")
+public class FeePolicyController {
+    
+    private final FeePolicyService feePolicyService;
+    
+    public FeePolicyController(FeePolicyService feePolicyService) {
+        this.feePolicyService = feePolicyService;
+    }
+    
+    @GetMapping
+    public ResponseEntity<List<FeePolicyResponse>> getPolicies() {
+        return ResponseEntity.ok(feePolicyService.getPolicies());
+    }
+    
+    @PutMapping("/{tier}")
+    public ResponseEntity<FeePolicyResponse> updatePolicy(
+        @PathVariable MemberTier tier,
+        @Valid @RequestBody FeePolicyRequest request
+    ) {
+        return ResponseEntity.ok(feePolicyService.updatePolicy(tier, request));
+    }
+}
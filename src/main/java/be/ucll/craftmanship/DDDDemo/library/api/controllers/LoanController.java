@@ -1,12 +1,19 @@
 package be.ucll.craftmanship.DDDDemo.library.api.controllers;
 
+import be.ucll.craftmanship.DDDDemo.library.application.dto.BatchBorrowRequest;
+import be.ucll.craftmanship.DDDDemo.library.application.dto.BatchLoanResponse;
+import be.ucll.craftmanship.DDDDemo.library.application.dto.BatchReturnRequest;
 import be.ucll.craftmanship.DDDDemo.library.application.dto.BorrowBookRequest;
+import be.ucll.craftmanship.DDDDemo.library.application.dto.CursorPage;
 import be.ucll.craftmanship.DDDDemo.library.application.dto.LoanResponse;
 import be.ucll.craftmanship.DDDDemo.library.application.services.LoanService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -19,9 +26,11 @@ import java.util.List;
 public class LoanController {
     
     private final LoanService loanService;
+    private final ObjectMapper objectMapper;
     
-    public LoanController(LoanService loanService) {
+    public LoanController(LoanService loanService, ObjectMapper objectMapper) {
         this.loanService = loanService;
+        this.objectMapper = objectMapper;
     }
     
     @PostMapping("/borrow")
@@ -30,6 +39,18 @@ public class LoanController {
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
     
+    @PostMapping("/batch/borrow")
+    public ResponseEntity<BatchLoanResponse> borrowBooks(@Valid @RequestBody BatchBorrowRequest request) {
+        BatchLoanResponse response = loanService.borrowBooks(request);
+        return ResponseEntity.ok(response);
+    }
+    
+    @PostMapping("/batch/return")
+    public ResponseEntity<BatchLoanResponse> returnBooks(@Valid @RequestBody BatchReturnRequest request) {
+        BatchLoanResponse response = loanService.returnBooks(request);
+        return ResponseEntity.ok(response);
+    }
+    
     @PostMapping("/{loanId}/return")
     public ResponseEntity<LoanResponse> returnBook(@PathVariable String loanId) {
         LoanResponse response = loanService.returnBook(loanId);
@@ -57,6 +78,46 @@ public class LoanController {
         return ResponseEntity.ok(loans);
     }
     
+    @GetMapping("/due")
+    public ResponseEntity<List<LoanResponse>> getLoansDueWithin(@RequestParam(defaultValue = "7") int days) {
+        return ResponseEntity.ok(loanService.getLoansDueWithin(days));
+    }
+    
+    @GetMapping("/member/{memberId}/overdue-count")
+    public ResponseEntity<Long> getOverdueLoanCount(@PathVariable String memberId) {
+        return ResponseEntity.ok(loanService.getOverdueLoanCount(memberId));
+    }
+    
+    @GetMapping("/member/{memberId}/page")
+    public ResponseEntity<CursorPage<LoanResponse>> getLoansByMemberPage(
+        @PathVariable String memberId,
+        @RequestParam(required = false) String cursor,
+        @RequestParam(defaultValue = "" + CursorPage.DEFAULT_SIZE) int size
+    ) {
+        return ResponseEntity.ok(loanService.getLoansByMemberPage(memberId, cursor, size));
+    }
+    
+    @GetMapping(value = "/member/{memberId}/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamLoansByMember(@PathVariable String memberId) {
+        return NdjsonStreams.<LoanResponse>response(
+            objectMapper,
+            consumer -> loanService.streamLoansByMember(memberId, consumer)
+        );
+    }
+    
+    @GetMapping("/overdue/page")
+    public ResponseEntity<CursorPage<LoanResponse>> getOverdueLoansPage(
+        @RequestParam(required = false) String cursor,
+        @RequestParam(defaultValue = "" + CursorPage.DEFAULT_SIZE) int size
+    ) {
+        return ResponseEntity.ok(loanService.getOverdueLoansPage(cursor, size));
+    }
+    
+    @GetMapping(value = "/overdue/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamOverdueLoans() {
+        return NdjsonStreams.response(objectMapper, loanService::streamOverdueLoans);
+    }
+    
     @GetMapping("/{loanId}/late-fee")
     public ResponseEntity<String> calculateLateFee(@PathVariable String loanId) {
         String lateFeeInfo = loanService.calculateLateFee(loanId);
@@ -0,0 +1,46 @@
+package be.ucll.craftmanship.DDDDemo.library.api.controllers;
+
+import be.ucll.craftmanship.DDDDemo.library.application.dto.LoanDashboardEntry;
+import be.ucll.craftmanship.DDDDemo.library.application.services.LoanDashboardService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * REST Controller for the staff loan dashboards
+ * Served from the projected read model, may lag the loan endpoints by the event delivery delay
+ */
+@RestController
+@RequestMapping("/api/dashboard/loans")
+public class LoanDashboardController {
+    
+    private final LoanDashboardService dashboardService;
+    
+    public LoanDashboardController(LoanDashboardService dashboardService) {
+        this.dashboardService = dashboardService;
+    }
+    
+    @GetMapping("/member/{memberId}")
+    public ResponseEntity<List<LoanDashboardEntry>> getMemberDashboard(@PathVariable String memberId) {
+        return ResponseEntity.ok(dashboardService.getMemberDashboard(memberId));
+    }
+    
+    @GetMapping("/overdue")
+    public ResponseEntity<List<LoanDashboardEntry>> getOverdueDashboard() {
+        return ResponseEntity.ok(dashboardService.getOverdueDashboard());
+    }
+    
+    /**
+     * Reprojects the read model from the loans table
+     * The outbox keeps no delivered events, so there is no event log to replay.
+     */
+    @PostMapping("/rebuild")
+    public ResponseEntity<Long> rebuild() {
+        return ResponseEntity.ok(dashboardService.rebuild());
+    }
+}
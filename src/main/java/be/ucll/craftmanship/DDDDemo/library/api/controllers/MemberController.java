@@ -1,13 +1,23 @@
 package be.ucll.craftmanship.DDDDemo.library.api.controllers;
 
 import be.ucll.craftmanship.DDDDemo.library.application.dto.CreateMemberRequest;
+import be.ucll.craftmanship.DDDDemo.library.application.dto.CursorPage;
 import be.ucll.craftmanship.DDDDemo.library.application.dto.MemberResponse;
+import be.ucll.craftmanship.DDDDemo.library.application.dto.MemberSuggestion;
+import be.ucll.craftmanship.DDDDemo.library.application.dto.UpdateAddressRequest;
+import be.ucll.craftmanship.DDDDemo.library.application.dto.UpdateEmailRequest;
+import be.ucll.craftmanship.DDDDemo.library.application.dto.UpdateTierRequest;
 import be.ucll.craftmanship.DDDDemo.library.application.services.MemberService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.Duration;
 import java.util.List;
 
 /**
@@ -18,9 +28,11 @@ import java.util.List;
 public class MemberController {
     
     private final MemberService memberService;
+    private final ObjectMapper objectMapper;
     
-    public MemberController(MemberService memberService) {
+    public MemberController(MemberService memberService, ObjectMapper objectMapper) {
         this.memberService = memberService;
+        this.objectMapper = objectMapper;
     }
     
     @PostMapping
@@ -41,12 +53,104 @@ public class MemberController {
         return ResponseEntity.ok(members);
     }
     
+    @GetMapping("/page")
+    public ResponseEntity<CursorPage<MemberResponse>> getMembersPage(
+        @RequestParam(required = false) String cursor,
+        @RequestParam(defaultValue = "" + CursorPage.DEFAULT_SIZE) int size
+    ) {
+        return ResponseEntity.ok(memberService.getMembersPage(cursor, size));
+    }
+    
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamMembers() {
+        return NdjsonStreams.response(objectMapper, memberService::streamAllMembers);
+    }
+    
+    @GetMapping("/active/page")
+    public ResponseEntity<CursorPage<MemberResponse>> getActiveMembersPage(
+        @RequestParam(required = false) String cursor,
+        @RequestParam(defaultValue = "" + CursorPage.DEFAULT_SIZE) int size
+    ) {
+        return ResponseEntity.ok(memberService.getActiveMembersPage(cursor, size));
+    }
+    
+    @GetMapping(value = "/active/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamActiveMembers() {
+        return NdjsonStreams.response(objectMapper, memberService::streamActiveMembers);
+    }
+    
     @GetMapping("/{memberId}")
     public ResponseEntity<MemberResponse> getMemberById(@PathVariable String memberId) {
         MemberResponse member = memberService.getMemberById(memberId);
         return ResponseEntity.ok(member);
     }
     
+    @PutMapping("/{memberId}/address")
+    public ResponseEntity<MemberResponse> updateAddress(
+        @PathVariable String memberId,
+        @Valid @RequestBody UpdateAddressRequest request
+    ) {
+        MemberResponse member = memberService.updateAddress(memberId, request);
+        return ResponseEntity.ok(member);
+    }
+    
+    @PutMapping("/{memberId}/email")
+    public ResponseEntity<MemberResponse> updateEmail(
+        @PathVariable String memberId,
+        @Valid @RequestBody UpdateEmailRequest request
+    ) {
+        MemberResponse member = memberService.updateEmail(memberId, request.email());
+        return ResponseEntity.ok(member);
+    }
+    
+    @PutMapping("/{memberId}/tier")
+    public ResponseEntity<MemberResponse> changeTier(
+        @PathVariable String memberId,
+        @Valid @RequestBody UpdateTierRequest request
+    ) {
+        MemberResponse member = memberService.changeTier(memberId, request.tier());
+        return ResponseEntity.ok(member);
+    }
+    
+    @PostMapping("/{memberId}/deactivate")
+    public ResponseEntity<MemberResponse> deactivate(@PathVariable String memberId) {
+        MemberResponse member = memberService.deactivateMember(memberId);
+        return ResponseEntity.ok(member);
+    }
+    
+    @PostMapping("/{memberId}/activate")
+    public ResponseEntity<MemberResponse> activate(@PathVariable String memberId) {
+        MemberResponse member = memberService.activateMember(memberId);
+        return ResponseEntity.ok(member);
+    }
+    
+    /**
+     * Autocomplete for as-you-type lookups
+     * A short private cache lets the browser absorb repeated keystrokes
+     */
+    @GetMapping("/suggest")
+    public ResponseEntity<List<MemberSuggestion>> suggest(
+        @RequestParam String q,
+        @RequestParam(required = false) Integer limit
+    ) {
+        List<MemberSuggestion> suggestions = memberService.suggestMembers(q, limit);
+        return ResponseEntity.ok()
+            .cacheControl(CacheControl.maxAge(Duration.ofSeconds(5)).cachePrivate())
+            .body(suggestions);
+    }
+    
+    @GetMapping("/by-email")
+    public ResponseEntity<MemberResponse> getMemberByEmail(@RequestParam String email) {
+        MemberResponse member = memberService.getMemberByEmail(email);
+        return ResponseEntity.ok(member);
+    }
+    
+    @GetMapping("/by-postal-code/{postalCode}")
+    public ResponseEntity<List<MemberResponse>> getMembersByPostalCode(@PathVariable String postalCode) {
+        List<MemberResponse> members = memberService.getMembersByPostalCode(postalCode);
+        return ResponseEntity.ok(members);
+    }
+    
     @GetMapping("/search")
     public ResponseEntity<List<MemberResponse>> searchByName(@RequestParam String name) {
         List<MemberResponse> members = memberService.searchMembersByName(name);
@@ -0,0 +1,41 @@
+package be.ucll.craftmanship.DDDDemo.library.api.controllers;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+
+/**
+ * Helper for newline-delimited JSON (NDJSON) responses
+ * 
+ * Each row is serialized and written as soon as the producer hands it
+ * over, so memory use does not grow with the size of the result.
+ */
+final class NdjsonStreams {
+    
+    private NdjsonStreams() {}
+    
+    static <T> ResponseEntity<StreamingResponseBody> response(ObjectMapper objectMapper, Consumer<Consumer<T>> producer) {
+        StreamingResponseBody body = outputStream -> {
+            try (SequenceWriter writer = objectMapper.writer()
+                .withRootValueSeparator("\n")
+                .writeValues(outputStream)) {
+                producer.accept(row -> {
+                    try {
+                        writer.write(row);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        };
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_NDJSON)
+            .body(body);
+    }
+}
@@ -0,0 +1,34 @@
+package be.ucll.craftmanship.DDDDemo.library.api.controllers;
+
+import be.ucll.craftmanship.DDDDemo.library.infrastructure.sweep.OverdueSweepJob;
+import be.ucll.craftmanship.DDDDemo.library.infrastructure.sweep.SweepReport;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST Controller to run the overdue sweep on demand and inspect its last run
+ */
+@RestController
+@RequestMapping("/api/loans/overdue/sweep")
+public class OverdueSweepController {
+    
+    private final OverdueSweepJob sweepJob;
+    
+    public OverdueSweepController(OverdueSweepJob sweepJob) {
+        this.sweepJob = sweepJob;
+    }
+    
+    @PostMapping
+    public ResponseEntity<SweepReport> runSweep() {
+        return ResponseEntity.ok(sweepJob.sweep());
+    }
+    
+    @GetMapping("/last")
+    public ResponseEntity<SweepReport> getLastReport() {
+        SweepReport report = sweepJob.getLastReport();
+        return report == null ? ResponseEntity.noContent().build() : ResponseEntity.ok(report);
+    }
+}
@@ -0,0 +1,76 @@
+package be.ucll.craftmanship.DDDDemo.library.api.controllers;
+
+import be.ucll.craftmanship.DDDDemo.library.application.dto.BookResponse;
+import be.ucll.craftmanship.DDDDemo.library.application.dto.LoanResponse;
+import be.ucll.craftmanship.DDDDemo.library.application.dto.MemberResponse;
+import be.ucll.craftmanship.DDDDemo.library.application.services.ReactiveBookService;
+import be.ucll.craftmanship.DDDDemo.library.application.services.ReactiveLoanService;
+import be.ucll.craftmanship.DDDDemo.library.application.services.ReactiveMemberService;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * REST Controller for the non-blocking read API used by the mobile app
+ * 
+ * The request thread is handed back as soon as the Mono/Flux is returned
+ * and the response is written when R2DBC delivers the rows. Lists come back
+ * as a JSON array, or one object per line when application/x-ndjson is
+ * accepted; the NDJSON form is written with backpressure, row by row.
+ */
+@RestController
+@RequestMapping("/api/reactive")
+public class ReactiveReadController {
+    
+    private final ReactiveBookService bookService;
+    private final ReactiveMemberService memberService;
+    private final ReactiveLoanService loanService;
+    
+    public ReactiveReadController(
+        ReactiveBookService bookService,
+        ReactiveMemberService memberService,
+        ReactiveLoanService loanService
+    ) {
+        this.bookService = bookService;
+        this.memberService = memberService;
+        this.loanService = loanService;
+    }
+    
+    @GetMapping("/books/{bookId}")
+    public Mono<BookResponse> getBookById(@PathVariable String bookId) {
+        return bookService.getBookById(bookId);
+    }
+    
+    @GetMapping("/books/by-isbn/{isbn}")
+    public Mono<BookResponse> getBookByIsbn(@PathVariable String isbn) {
+        return bookService.getBookByIsbn(isbn);
+    }
+    
+    @GetMapping("/books/search")
+    public Flux<BookResponse> searchBooks(
+        @RequestParam String q,
+        @RequestParam(required = false) Integer limit
+    ) {
+        return bookService.searchBooks(q, limit);
+    }
+    
+    @GetMapping("/members/{memberId}")
+    public Mono<MemberResponse> getMemberById(@PathVariable String memberId) {
+        return memberService.getMemberById(memberId);
+    }
+    
+    @GetMapping(value = "/members/{memberId}/loans", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<LoanResponse> getLoansByMember(@PathVariable String memberId) {
+        return loanService.getLoansByMember(memberId);
+    }
+    
+    @GetMapping(value = "/loans/overdue", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<LoanResponse> getOverdueLoans() {
+        return loanService.getOverdueLoans();
+    }
+}
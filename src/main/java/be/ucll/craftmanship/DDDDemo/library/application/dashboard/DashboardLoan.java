@@ -0,0 +1,27 @@
+package be.ucll.craftmanship.DDDDemo.library.application.dashboard;
+
+import be.ucll.craftmanship.DDDDemo.library.domain.aggregates.LoanStatus;
+import be.ucll.craftmanship.DDDDemo.library.domain.entities.MemberTier;
+import be.ucll.craftmanship.DDDDemo.library.domain.valueobjects.BookId;
+import be.ucll.craftmanship.DDDDemo.library.domain.valueobjects.LoanId;
+import be.ucll.craftmanship.DDDDemo.library.domain.valueobjects.MemberId;
+
+import java.time.LocalDate;
+
+/**
+ * One loan as stored in the dashboard read model, with the book and member already joined in
+ * 
+ * bookId, bookTitle and borrowedDate are null for the short time between an
+ * extension or overdue event and the borrow event it overtook.
+ */
+public record DashboardLoan(
+    LoanId loanId,
+    BookId bookId,
+    String bookTitle,
+    MemberId memberId,
+    String memberName,
+    MemberTier memberTier,
+    LocalDate borrowedDate,
+    LocalDate dueDate,
+    LoanStatus status
+) {}
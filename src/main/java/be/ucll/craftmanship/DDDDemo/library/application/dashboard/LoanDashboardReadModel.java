@@ -0,0 +1,35 @@
+package be.ucll.craftmanship.DDDDemo.library.application.dashboard;
+
+import be.ucll.craftmanship.DDDDemo.library.domain.valueobjects.MemberId;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Query side of the loans: flat rows projected from the loan events
+ * 
+ * Never reads the loans table, so dashboard queries do not queue behind
+ * borrow and return traffic. Rows lag the write side by the event delivery
+ * delay and converge once every event has been handled, in any order.
+ */
+public interface LoanDashboardReadModel {
+    
+    /**
+     * Open loans of the member, earliest due date first
+     */
+    List<DashboardLoan> findOpenByMember(MemberId memberId);
+    
+    /**
+     * Open loans due strictly before the given day, earliest due date first
+     */
+    List<DashboardLoan> findOpenDueBefore(LocalDate day);
+    
+    /**
+     * Throws the rows away and reprojects them from the current state of the write side
+     * 
+     * @return the number of open loans in the rebuilt model
+     */
+    long rebuild();
+    
+    long size();
+}
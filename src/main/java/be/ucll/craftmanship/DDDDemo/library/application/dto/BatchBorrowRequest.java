@@ -0,0 +1,17 @@
+package be.ucll.craftmanship.DDDDemo.library.application.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object for borrowing a stack of books in one call
+ * Used by the front desk and self-service kiosks
+ */
+public record BatchBorrowRequest(
+    @NotEmpty(message = "At least one item is required")
+    @Size(max = 500, message = "A batch can contain at most 500 items")
+    List<@Valid BorrowBookRequest> items
+) {}
@@ -0,0 +1,20 @@
+package be.ucll.craftmanship.DDDDemo.library.application.dto;
+
+/**
+ * Data Transfer Object for the outcome of a single item in a batch
+ * Each item succeeds or fails on its own, so one bad item does not fail the batch
+ */
+public record BatchItemResult(
+    int index,
+    boolean success,
+    LoanResponse loan,
+    String error
+) {
+    public static BatchItemResult ok(int index, LoanResponse loan) {
+        return new BatchItemResult(index, true, loan, null);
+    }
+    
+    public static BatchItemResult failed(int index, String error) {
+        return new BatchItemResult(index, false, null, error);
+    }
+}
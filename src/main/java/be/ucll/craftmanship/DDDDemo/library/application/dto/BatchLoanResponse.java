@@ -0,0 +1,18 @@
+package be.ucll.craftmanship.DDDDemo.library.application.dto;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object for batch borrow/return responses
+ * Results are in the same order as the items of the request
+ */
+public record BatchLoanResponse(
+    int succeeded,
+    int failed,
+    List<BatchItemResult> results
+) {
+    public static BatchLoanResponse of(List<BatchItemResult> results) {
+        int succeeded = (int) results.stream().filter(BatchItemResult::success).count();
+        return new BatchLoanResponse(succeeded, results.size() - succeeded, results);
+    }
+}
@@ -0,0 +1,16 @@
+package be.ucll.craftmanship.DDDDemo.library.application.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object for returning a stack of books in one call
+ */
+public record BatchReturnRequest(
+    @NotEmpty(message = "At least one loan ID is required")
+    @Size(max = 500, message = "A batch can contain at most 500 items")
+    List<@NotBlank(message = "Loan ID is required") String> loanIds
+) {}
@@ -0,0 +1,39 @@
+package be.ucll.craftmanship.DDDDemo.library.application.dto;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Data Transfer Object for one page of a keyset-paginated list
+ * nextCursor is null on the last page; pass it back to get the next page
+ */
+public record CursorPage<T>(
+    List<T> items,
+    String nextCursor
+) {
+    public static final int DEFAULT_SIZE = 50;
+    public static final int MAX_SIZE = 1000;
+    
+    /**
+     * Builds a page from rows fetched with a limit of size + 1
+     * The extra row only tells whether there is a next page
+     */
+    public static <E, T> CursorPage<T> of(
+        List<E> rows,
+        int size,
+        Function<E, T> mapper,
+        Function<E, KeysetCursor> cursorOf
+    ) {
+        boolean hasMore = rows.size() > size;
+        List<E> pageRows = hasMore ? rows.subList(0, size) : rows;
+        String nextCursor = hasMore ? cursorOf.apply(pageRows.get(size - 1)).encode() : null;
+        return new CursorPage<>(pageRows.stream().map(mapper).toList(), nextCursor);
+    }
+    
+    public static int checkSize(int size) {
+        if (size < 1 || size > MAX_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_SIZE);
+        }
+        return size;
+    }
+}
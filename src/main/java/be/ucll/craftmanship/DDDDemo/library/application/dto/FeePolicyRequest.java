@@ -0,0 +1,34 @@
+package be.ucll.craftmanship.DDDDemo.library.application.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object for replacing a member tier's late fee policy
+ */
+public record FeePolicyRequest(
+    @NotBlank(message = "Currency is required")
+    String currency,
+    
+    @Min(value = 0, message = "Grace days cannot be negative")
+    int graceDays,
+    
+    @NotEmpty(message = "At least one tier is required")
+    List<@Valid Tier> tiers,
+    
+    @Min(value = 0, message = "Fee cap cannot be negative")
+    Long capCents
+) {
+    
+    public record Tier(
+        @Min(value = 1, message = "A tier starts on day 1 or later")
+        int fromDay,
+        
+        @Min(value = 0, message = "Daily fee cannot be negative")
+        long centsPerDay
+    ) {}
+}
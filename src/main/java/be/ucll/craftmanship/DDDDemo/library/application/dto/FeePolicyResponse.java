@@ -0,0 +1,30 @@
+package be.ucll.craftmanship.DDDDemo.library.application.dto;
+
+import be.ucll.craftmanship.DDDDemo.library.domain.entities.MemberTier;
+import be.ucll.craftmanship.DDDDemo.library.domain.valueobjects.FeePolicy;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object for a member tier's late fee policy
+ */
+public record FeePolicyResponse(
+    String memberTier,
+    String currency,
+    int graceDays,
+    List<FeePolicyRequest.Tier> tiers,
+    Long capCents
+) {
+    public static FeePolicyResponse from(MemberTier tier, FeePolicy policy) {
+        return new FeePolicyResponse(
+            tier.name(),
+            policy.currency(),
+            policy.graceDays(),
+            policy.tiers()
+                .stream()
+                .map(feeTier -> new FeePolicyRequest.Tier(feeTier.fromDay(), feeTier.centsPerDay()))
+                .toList(),
+            policy.capCents()
+        );
+    }
+}
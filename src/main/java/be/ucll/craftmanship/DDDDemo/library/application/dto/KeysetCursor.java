@@ -0,0 +1,68 @@
+package be.ucll.craftmanship.DDDDemo.library.application.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Opaque keyset (seek) pagination cursor
+ * 
+ * Holds the sort key(s) of the last row of a page. Clients only see an
+ * URL-safe Base64 token, so the key layout can change without breaking them.
+ */
+public record KeysetCursor(List<String> keys) {
+    
+    /** Lowest possible UUID, used as the "after" key of the first page */
+    public static final UUID FIRST_ID = new UUID(0L, 0L);
+    
+    /** Lowest date a page can start after */
+    public static final LocalDate FIRST_DATE = LocalDate.of(1, 1, 1);
+    
+    private static final String SEPARATOR = "|";
+    
+    public KeysetCursor {
+        keys = List.copyOf(keys);
+    }
+    
+    public static KeysetCursor of(Object... keys) {
+        return new KeysetCursor(Arrays.stream(keys).map(String::valueOf).toList());
+    }
+    
+    public static KeysetCursor decode(String token, int expectedKeys) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            List<String> keys = List.of(raw.split("\\" + SEPARATOR, -1));
+            if (keys.size() != expectedKeys) {
+                throw new IllegalArgumentException("Invalid cursor: " + token);
+            }
+            return new KeysetCursor(keys);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + token);
+        }
+    }
+    
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding()
+            .encodeToString(String.join(SEPARATOR, keys).getBytes(StandardCharsets.UTF_8));
+    }
+    
+    public UUID uuid(int index) {
+        try {
+            return UUID.fromString(keys.get(index));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor key: " + keys.get(index));
+        }
+    }
+    
+    public LocalDate date(int index) {
+        try {
+            return LocalDate.parse(keys.get(index));
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor key: " + keys.get(index));
+        }
+    }
+}
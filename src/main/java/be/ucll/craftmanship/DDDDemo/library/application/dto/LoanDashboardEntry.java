@@ -0,0 +1,41 @@
+package be.ucll.craftmanship.DDDDemo.library.application.dto;
+
+import be.ucll.craftmanship.DDDDemo.library.application.dashboard.DashboardLoan;
+import be.ucll.craftmanship.DDDDemo.library.domain.valueobjects.Money;
+
+import java.util.Objects;
+
+/**
+ * Data Transfer Object for one line of a loan dashboard
+ */
+public record LoanDashboardEntry(
+    String loanId,
+    String bookId,
+    String bookTitle,
+    String memberId,
+    String memberName,
+    String borrowedDate,
+    String dueDate,
+    String status,
+    boolean overdue,
+    long daysOverdue,
+    long lateFeeCents,
+    String currency
+) {
+    public static LoanDashboardEntry from(DashboardLoan loan, long daysOverdue, Money lateFee) {
+        return new LoanDashboardEntry(
+            loan.loanId().toString(),
+            Objects.toString(loan.bookId(), null),
+            loan.bookTitle(),
+            loan.memberId().toString(),
+            loan.memberName(),
+            Objects.toString(loan.borrowedDate(), null),
+            loan.dueDate().toString(),
+            loan.status().toString(),
+            daysOverdue > 0,
+            daysOverdue,
+            lateFee.cents(),
+            lateFee.currency()
+        );
+    }
+}
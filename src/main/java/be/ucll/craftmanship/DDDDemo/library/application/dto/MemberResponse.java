@@ -11,7 +11,8 @@ public record MemberResponse(
     String email,
     String address,
     String memberSince,
-    boolean active
+    boolean active,
+    String tier
 ) {
     public static MemberResponse from(Member member) {
         return new MemberResponse(
@@ -20,7 +21,8 @@ public record MemberResponse(
             member.getEmail().toString(),
             member.getAddress().getFullAddress(),
             member.getMemberSince().toString(),
-            member.isActive()
+            member.isActive(),
+            member.getTier().name()
         );
     }
 }
@@ -0,0 +1,12 @@
+package be.ucll.craftmanship.DDDDemo.library.application.dto;
+
+/**
+ * Data Transfer Object for member autocomplete suggestions
+ * Kept small so suggestions can be served straight from the search index
+ */
+public record MemberSuggestion(
+    String id,
+    String name,
+    String email,
+    boolean active
+) {}
@@ -0,0 +1,20 @@
+package be.ucll.craftmanship.DDDDemo.library.application.dto;
+
+import jakarta.validation.constraints.NotBlank;
+
+/**
+ * Data Transfer Object for changing a member's address
+ */
+public record UpdateAddressRequest(
+    @NotBlank(message = "Street is required")
+    String street,
+    
+    @NotBlank(message = "City is required")
+    String city,
+    
+    @NotBlank(message = "Postal code is required")
+    String postalCode,
+    
+    @NotBlank(message = "Country is required")
+    String country
+) {}
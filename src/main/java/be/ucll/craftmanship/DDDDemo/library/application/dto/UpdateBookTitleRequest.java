@@ -0,0 +1,11 @@
+package be.ucll.craftmanship.DDDDemo.library.application.dto;
+
+import jakarta.validation.constraints.NotBlank;
+
+/**
+ * Data Transfer Object for renaming a book
+ */
+public record UpdateBookTitleRequest(
+    @NotBlank(message = "Title is required")
+    String title
+) {}
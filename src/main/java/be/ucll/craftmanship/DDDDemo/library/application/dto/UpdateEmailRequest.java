@@ -0,0 +1,11 @@
+package be.ucll.craftmanship.DDDDemo.library.application.dto;
+
+import jakarta.validation.constraints.NotBlank;
+
+/**
+ * Data Transfer Object for changing a member's e-mail address
+ */
+public record UpdateEmailRequest(
+    @NotBlank(message = "Email is required")
+    String email
+) {}
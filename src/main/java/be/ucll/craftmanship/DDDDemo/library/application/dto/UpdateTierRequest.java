@@ -0,0 +1,12 @@
+package be.ucll.craftmanship.DDDDemo.library.application.dto;
+
+import be.ucll.craftmanship.DDDDemo.library.domain.entities.MemberTier;
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * Data Transfer Object for changing a member's tier
+ */
+public record UpdateTierRequest(
+    @NotNull(message = "Tier is required")
+    MemberTier tier
+) {}
@@ -0,0 +1,25 @@
+package be.ucll.craftmanship.DDDDemo.library.application.fees;
+
+import be.ucll.craftmanship.DDDDemo.library.domain.entities.MemberTier;
+import be.ucll.craftmanship.DDDDemo.library.domain.valueobjects.FeePolicy;
+
+import java.util.Map;
+
+/**
+ * Where the late fee policies live, so every node charges the same fees
+ * 
+ * LateFeeCalculationService only holds the compiled copy of one JVM; this
+ * store is the source it is loaded from at startup and refreshed from.
+ */
+public interface FeePolicyStore {
+    
+    /**
+     * Stored policy per member tier, tiers without one are absent
+     */
+    Map<MemberTier, FeePolicy> loadAll();
+    
+    /**
+     * Stores the policy of one member tier, replacing the previous one
+     */
+    void save(MemberTier tier, FeePolicy policy);
+}
@@ -0,0 +1,10 @@
+package be.ucll.craftmanship.DDDDemo.library.application.metrics;
+
+/**
+ * Business rule that turned a borrow down
+ */
+public enum BorrowRejection {
+    BOOK_UNAVAILABLE,
+    MEMBER_INACTIVE,
+    LOAN_LIMIT
+}
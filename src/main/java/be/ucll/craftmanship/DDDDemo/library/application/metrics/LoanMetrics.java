@@ -0,0 +1,13 @@
+package be.ucll.craftmanship.DDDDemo.library.application.metrics;
+
+/**
+ * Business-level counters of the loan use cases
+ * 
+ * Timings are taken around the services from the outside; this port is
+ * for what only the service knows, such as why a borrow was refused.
+ * Implementations must be cheap and must never throw.
+ */
+public interface LoanMetrics {
+    
+    void rejected(BorrowRejection reason);
+}
@@ -0,0 +1,30 @@
+package be.ucll.craftmanship.DDDDemo.library.application.reactive;
+
+import be.ucll.craftmanship.DDDDemo.library.application.dto.BookResponse;
+import be.ucll.craftmanship.DDDDemo.library.domain.valueobjects.BookId;
+import be.ucll.craftmanship.DDDDemo.library.domain.valueobjects.ISBN;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+
+/**
+ * Non-blocking read access to books, straight into response rows
+ * Writes go through BookRepository.
+ */
+public interface ReactiveBookRepository {
+    
+    Mono<BookResponse> findById(BookId id);
+    
+    /**
+     * Unordered, callers that ranked the ids put them back in their order
+     */
+    Flux<BookResponse> findAllById(Collection<BookId> ids);
+    
+    Mono<BookResponse> findByIsbn(ISBN isbn);
+    
+    /**
+     * Case-insensitive substring match on title or author
+     */
+    Flux<BookResponse> findByTitleOrAuthorContaining(String text, int limit);
+}
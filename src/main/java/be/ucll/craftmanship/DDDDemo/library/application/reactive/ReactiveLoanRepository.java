@@ -0,0 +1,24 @@
+package be.ucll.craftmanship.DDDDemo.library.application.reactive;
+
+import be.ucll.craftmanship.DDDDemo.library.application.dto.LoanResponse;
+import be.ucll.craftmanship.DDDDemo.library.domain.aggregates.LoanStatus;
+import be.ucll.craftmanship.DDDDemo.library.domain.valueobjects.MemberId;
+import reactor.core.publisher.Flux;
+
+import java.time.LocalDate;
+
+/**
+ * Non-blocking read access to loans
+ * 
+ * Results are emitted as the subscriber requests them, so a long list is
+ * never held in memory. Overdue flags are computed as of the given day.
+ */
+public interface ReactiveLoanRepository {
+    
+    Flux<LoanResponse> findByMemberIdAndStatus(MemberId memberId, LoanStatus status, LocalDate today);
+    
+    /**
+     * Open loans due before today, earliest due date first
+     */
+    Flux<LoanResponse> findOverdue(LocalDate today);
+}
@@ -0,0 +1,13 @@
+package be.ucll.craftmanship.DDDDemo.library.application.reactive;
+
+import be.ucll.craftmanship.DDDDemo.library.application.dto.MemberResponse;
+import be.ucll.craftmanship.DDDDemo.library.domain.valueobjects.MemberId;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking read access to members
+ */
+public interface ReactiveMemberRepository {
+    
+    Mono<MemberResponse> findById(MemberId id);
+}
@@ -0,0 +1,39 @@
+package be.ucll.craftmanship.DDDDemo.library.application.search;
+
+import be.ucll.craftmanship.DDDDemo.library.domain.entities.Book;
+import be.ucll.craftmanship.DDDDemo.library.domain.valueobjects.BookId;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Search index over the book catalogue (title, author and ISBN)
+ * 
+ * Changes made inside a transaction become visible after commit.
+ */
+public interface BookSearchIndex {
+    
+    /**
+     * Returns up to limit books ranked by relevance, best match first
+     */
+    List<SearchHit<BookId>> search(String query, int limit);
+    
+    /**
+     * Adds a book, or re-indexes it if it is already known
+     */
+    void index(Book book);
+    
+    void remove(BookId bookId);
+    
+    /**
+     * Replaces the whole index with the given books
+     */
+    void rebuild(Stream<Book> books);
+    
+    /**
+     * False until the first rebuild has finished
+     */
+    boolean isReady();
+    
+    int size();
+}
@@ -0,0 +1,17 @@
+package be.ucll.craftmanship.DDDDemo.library.application.search;
+
+import be.ucll.craftmanship.DDDDemo.library.domain.aggregates.Loan;
+import be.ucll.craftmanship.DDDDemo.library.domain.valueobjects.LoanId;
+import be.ucll.craftmanship.DDDDemo.library.domain.valueobjects.MemberId;
+
+import java.time.LocalDate;
+
+/**
+ * An open loan as tracked by the LoanDueIndex
+ */
+public record DueLoan(LoanId loanId, MemberId memberId, LocalDate dueDate) {
+    
+    public static DueLoan of(Loan loan) {
+        return new DueLoan(loan.getId(), loan.getMemberId(), loan.getDueDate());
+    }
+}
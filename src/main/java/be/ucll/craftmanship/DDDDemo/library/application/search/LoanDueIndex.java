@@ -0,0 +1,59 @@
+package be.ucll.craftmanship.DDDDemo.library.application.search;
+
+import be.ucll.craftmanship.DDDDemo.library.domain.aggregates.Loan;
+import be.ucll.craftmanship.DDDDemo.library.domain.valueobjects.LoanId;
+import be.ucll.craftmanship.DDDDemo.library.domain.valueobjects.MemberId;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Open (not returned) loans ordered by due date
+ * 
+ * Answers "overdue as of today", "due in the next N days" and per-member
+ * overdue counts without touching the loans table, where returned loans
+ * make every due-date range scan slower over time.
+ * Changes made inside a transaction become visible after commit.
+ */
+public interface LoanDueIndex {
+    
+    /**
+     * Tracks an open loan or moves it to its new due date, forgets it once returned
+     */
+    void index(Loan loan);
+    
+    void remove(LoanId loanId);
+    
+    /**
+     * Replaces the whole index with the given open loans
+     */
+    void rebuild(Stream<DueLoan> loans);
+    
+    /**
+     * Loans due strictly before the given day, earliest due date first
+     */
+    List<LoanId> findDueBefore(LocalDate day);
+    
+    /**
+     * Loans due between start and end (both inclusive), earliest due date first
+     */
+    List<LoanId> findDueBetween(LocalDate start, LocalDate end);
+    
+    /**
+     * Number of loans due strictly before the given day, without listing them
+     */
+    int countDueBefore(LocalDate day);
+    
+    /**
+     * Number of the member's loans due strictly before the given day
+     */
+    int countDueBefore(MemberId memberId, LocalDate day);
+    
+    /**
+     * False until the first rebuild has finished
+     */
+    boolean isReady();
+    
+    int size();
+}
@@ -0,0 +1,44 @@
+package be.ucll.craftmanship.DDDDemo.library.application.search;
+
+import be.ucll.craftmanship.DDDDemo.library.application.dto.MemberSuggestion;
+import be.ucll.craftmanship.DDDDemo.library.domain.entities.Member;
+import be.ucll.craftmanship.DDDDemo.library.domain.valueobjects.Email;
+import be.ucll.craftmanship.DDDDemo.library.domain.valueobjects.MemberId;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Lookup index for members: name autocomplete, fuzzy name match,
+ * exact e-mail and postal code lookups
+ * 
+ * Changes made inside a transaction become visible after commit.
+ */
+public interface MemberSearchIndex {
+    
+    /**
+     * Returns at most limit members whose name starts with (or closely resembles) the query
+     * Prefix matches come before fuzzy matches
+     */
+    List<MemberSuggestion> suggest(String query, int limit);
+    
+    Optional<MemberId> findByEmail(Email email);
+    
+    List<MemberId> findByPostalCode(String postalCode);
+    
+    /**
+     * Adds a member, or re-indexes it if it is already known
+     */
+    void index(Member member);
+    
+    /**
+     * Replaces the whole index with the given members
+     */
+    void rebuild(Stream<Member> members);
+    
+    /**
+     * False until the first rebuild has finished
+     */
+    boolean isReady();
+}
@@ -0,0 +1,6 @@
+package be.ucll.craftmanship.DDDDemo.library.application.search;
+
+/**
+ * A single ranked search result
+ */
+public record SearchHit<T>(T id, float score) {}
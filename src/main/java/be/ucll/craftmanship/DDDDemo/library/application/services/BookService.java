@@ -2,15 +2,29 @@ package be.ucll.craftmanship.DDDDemo.library.application.services;
 
 import be.ucll.craftmanship.DDDDemo.library.application.dto.BookResponse;
 import be.ucll.craftmanship.DDDDemo.library.application.dto.CreateBookRequest;
+import be.ucll.craftmanship.DDDDemo.library.application.dto.CursorPage;
+import be.ucll.craftmanship.DDDDemo.library.application.dto.KeysetCursor;
+import be.ucll.craftmanship.DDDDemo.library.application.search.BookSearchIndex;
+import be.ucll.craftmanship.DDDDemo.library.application.search.SearchHit;
 import be.ucll.craftmanship.DDDDemo.library.domain.entities.Book;
 import be.ucll.craftmanship.DDDDemo.library.domain.repositories.BookRepository;
 import be.ucll.craftmanship.DDDDemo.library.domain.valueobjects.BookId;
 import be.ucll.craftmanship.DDDDemo.library.domain.valueobjects.ISBN;
+import jakarta.persistence.EntityManager;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * APPLICATION SERVICE: BookService
@@ -25,10 +39,19 @@ import java.util.stream.Collectors;
 @Transactional
 public class BookService {
     
+    private static final int DEFAULT_SEARCH_LIMIT = 20;
+    
     private final BookRepository bookRepository;
+    private final EntityManager entityManager;
+    private final BookSearchIndex searchIndex;
+    private final Cache bookCache;
     
-    public BookService(BookRepository bookRepository) {
+    public BookService(BookRepository bookRepository, EntityManager entityManager, BookSearchIndex searchIndex,
+                       CacheManager cacheManager) {
         this.bookRepository = bookRepository;
+        this.entityManager = entityManager;
+        this.searchIndex = searchIndex;
+        this.bookCache = cacheManager.getCache(CacheNames.BOOKS);
     }
     
     /**
@@ -49,6 +72,23 @@ public class BookService {
         );
         
         Book savedBook = bookRepository.save(book);
+        searchIndex.index(savedBook);
+        return BookResponse.from(savedBook);
+    }
+    
+    /**
+     * Renames a book
+     */
+    @RetryOnConflict
+    public BookResponse updateTitle(String bookId, String newTitle) {
+        Book book = bookRepository.findById(BookId.from(bookId))
+            .orElseThrow(() -> new IllegalArgumentException("Book not found: " + bookId));
+        
+        book.updateTitle(newTitle);
+        
+        Book savedBook = bookRepository.save(book);
+        searchIndex.index(savedBook);
+        bookCache.evict(savedBook.getId());
         return BookResponse.from(savedBook);
     }
     
@@ -74,11 +114,57 @@ public class BookService {
     
     /**
      * Gets a book by ID
+     * Read-through: served from the book cache, loaded and cached on a miss
      */
+    @Transactional(readOnly = true)
     public BookResponse getBookById(String bookId) {
-        Book book = bookRepository.findById(BookId.from(bookId))
+        BookId id = BookId.from(bookId);
+        BookResponse cached = bookCache.get(id, BookResponse.class);
+        if (cached != null) {
+            return cached;
+        }
+        
+        Book book = bookRepository.findById(id)
             .orElseThrow(() -> new IllegalArgumentException("Book not found: " + bookId));
-        return BookResponse.from(book);
+        BookResponse response = BookResponse.from(book);
+        bookCache.put(id, response);
+        return response;
+    }
+    
+    /**
+     * Searches books by title, author and ISBN in one query
+     * Results are ranked by relevance and tolerate prefixes and small typos
+     */
+    @Transactional(readOnly = true)
+    public List<BookResponse> searchBooks(String query, Integer limit) {
+        int max = limit == null ? DEFAULT_SEARCH_LIMIT : limit;
+        if (max < 1 || max > 100) {
+            throw new IllegalArgumentException("Search limit must be between 1 and 100");
+        }
+        
+        if (!searchIndex.isReady()) {
+            // Index still building after startup: fall back to the database scan
+            return Stream.concat(
+                    bookRepository.findByTitleContainingIgnoreCase(query).stream(),
+                    bookRepository.findByAuthorContainingIgnoreCase(query).stream())
+                .distinct()
+                .limit(max)
+                .map(BookResponse::from)
+                .collect(Collectors.toList());
+        }
+        
+        List<BookId> ranked = searchIndex.search(query, max)
+            .stream()
+            .map(SearchHit::id)
+            .toList();
+        Map<BookId, Book> books = bookRepository.findAllById(ranked)
+            .stream()
+            .collect(Collectors.toMap(Book::getId, Function.identity()));
+        return ranked.stream()
+            .map(books::get)
+            .filter(Objects::nonNull)
+            .map(BookResponse::from)
+            .collect(Collectors.toList());
     }
     
     /**
@@ -100,5 +186,50 @@ public class BookService {
             .map(BookResponse::from)
             .collect(Collectors.toList());
     }
+    
+    /**
+     * Gets one keyset page of all books
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<BookResponse> getBooksPage(String cursor, int size) {
+        UUID after = cursor == null ? KeysetCursor.FIRST_ID : KeysetCursor.decode(cursor, 1).uuid(0);
+        List<Book> books = bookRepository.findPageAfter(after, Limit.of(CursorPage.checkSize(size) + 1));
+        return CursorPage.of(books, size, BookResponse::from, book -> KeysetCursor.of(book.getId()));
+    }
+    
+    /**
+     * Gets one keyset page of available books
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<BookResponse> getAvailableBooksPage(String cursor, int size) {
+        UUID after = cursor == null ? KeysetCursor.FIRST_ID : KeysetCursor.decode(cursor, 1).uuid(0);
+        List<Book> books = bookRepository.findAvailablePageAfter(after, Limit.of(CursorPage.checkSize(size) + 1));
+        return CursorPage.of(books, size, BookResponse::from, book -> KeysetCursor.of(book.getId()));
+    }
+    
+    /**
+     * Streams all books to the consumer one at a time
+     */
+    @Transactional(readOnly = true)
+    public void streamAllBooks(Consumer<BookResponse> consumer) {
+        try (Stream<Book> books = bookRepository.streamAll()) {
+            books.forEach(book -> emit(book, consumer));
+        }
+    }
+    
+    /**
+     * Streams all available books to the consumer one at a time
+     */
+    @Transactional(readOnly = true)
+    public void streamAvailableBooks(Consumer<BookResponse> consumer) {
+        try (Stream<Book> books = bookRepository.streamAvailable()) {
+            books.forEach(book -> emit(book, consumer));
+        }
+    }
+    
+    // Detach each row once written so the persistence context stays empty
+    private void emit(Book book, Consumer<BookResponse> consumer) {
+        consumer.accept(BookResponse.from(book));
+        entityManager.detach(book);
+    }
 }
-
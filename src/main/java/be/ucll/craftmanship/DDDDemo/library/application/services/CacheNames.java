@@ -0,0 +1,16 @@
+package be.ucll.craftmanship.DDDDemo.library.application.services;
+
+/**
+ * Names of the application read caches
+ * 
+ * Cached values are immutable response DTOs keyed by aggregate id, never
+ * managed entities. Business decisions (e.g. availability when borrowing)
+ * always read the aggregate from the repository.
+ */
+public final class CacheNames {
+    
+    public static final String BOOKS = "books";
+    public static final String MEMBERS = "members";
+    
+    private CacheNames() {}
+}
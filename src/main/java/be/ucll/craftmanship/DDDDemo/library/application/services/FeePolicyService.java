@@ -0,0 +1,68 @@
+package be.ucll.craftmanship.DDDDemo.library.application.services;
+
+import be.ucll.craftmanship.DDDDemo.library.application.dto.FeePolicyRequest;
+import be.ucll.craftmanship.DDDDemo.library.application.dto.FeePolicyResponse;
+import be.ucll.craftmanship.DDDDemo.library.application.fees.FeePolicyStore;
+import be.ucll.craftmanship.DDDDemo.library.domain.entities.MemberTier;
+import be.ucll.craftmanship.DDDDemo.library.domain.services.LateFeeCalculationService;
+import be.ucll.craftmanship.DDDDemo.library.domain.valueobjects.FeePolicy;
+import be.ucll.craftmanship.DDDDemo.library.domain.valueobjects.FeeTier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * APPLICATION SERVICE: FeePolicyService
+ * Reads and replaces the late fee policies at runtime
+ * 
+ * A replaced policy is stored first and then applied on this node; the
+ * other nodes pick it up on their next refresh (FeePolicyStore).
+ */
+@Service
+public class FeePolicyService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(FeePolicyService.class);
+    
+    private final LateFeeCalculationService lateFeeService;
+    private final FeePolicyStore policyStore;
+    
+    public FeePolicyService(LateFeeCalculationService lateFeeService, FeePolicyStore policyStore) {
+        this.lateFeeService = lateFeeService;
+        this.policyStore = policyStore;
+    }
+    
+    /**
+     * Gets the policy of every member tier
+     */
+    public List<FeePolicyResponse> getPolicies() {
+        return lateFeeService.getPolicies()
+            .entrySet()
+            .stream()
+            .map(entry -> FeePolicyResponse.from(entry.getKey(), entry.getValue()))
+            .toList();
+    }
+    
+    /**
+     * Replaces the policy of one member tier
+     * Effective immediately on this node, on the others after their next refresh.
+     */
+    public FeePolicyResponse updatePolicy(MemberTier tier, FeePolicyRequest request) {
+        FeePolicy policy = new FeePolicy(
+            request.currency(),
+            request.graceDays(),
+            request.tiers()
+                .stream()
+                .map(t -> new FeeTier(t.fromDay(), t.centsPerDay()))
+                .toList(),
+            request.capCents()
+        );
+        
+        policyStore.save(tier, policy);
+        lateFeeService.updatePolicy(tier, policy);
+        logger.info("Late fee policy for {} members replaced: {}", tier, policy);
+        
+        return FeePolicyResponse.from(tier, policy);
+    }
+}
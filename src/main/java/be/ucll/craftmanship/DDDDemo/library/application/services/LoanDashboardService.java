@@ -0,0 +1,70 @@
+package be.ucll.craftmanship.DDDDemo.library.application.services;
+
+import be.ucll.craftmanship.DDDDemo.library.application.dashboard.DashboardLoan;
+import be.ucll.craftmanship.DDDDemo.library.application.dashboard.LoanDashboardReadModel;
+import be.ucll.craftmanship.DDDDemo.library.application.dto.LoanDashboardEntry;
+import be.ucll.craftmanship.DDDDemo.library.domain.services.LateFeeCalculationService;
+import be.ucll.craftmanship.DDDDemo.library.domain.valueobjects.MemberId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * APPLICATION SERVICE: LoanDashboardService
+ * 
+ * Query side for the staff dashboards. Reads the projected dashboard rows
+ * only; overdue days and the fee are derived from the stored due date and
+ * member tier, with one "today" per request, so the fee follows the current
+ * policy without loading a Loan.
+ */
+@Service
+public class LoanDashboardService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(LoanDashboardService.class);
+    
+    private final LoanDashboardReadModel readModel;
+    private final LateFeeCalculationService lateFeeService;
+    
+    public LoanDashboardService(LoanDashboardReadModel readModel, LateFeeCalculationService lateFeeService) {
+        this.readModel = readModel;
+        this.lateFeeService = lateFeeService;
+    }
+    
+    /**
+     * Open loans of a member, earliest due date first
+     */
+    public List<LoanDashboardEntry> getMemberDashboard(String memberId) {
+        return toEntries(readModel.findOpenByMember(MemberId.from(memberId)), LocalDate.now());
+    }
+    
+    /**
+     * Loans overdue as of today with their current fee, earliest due date first
+     */
+    public List<LoanDashboardEntry> getOverdueDashboard() {
+        LocalDate today = LocalDate.now();
+        return toEntries(readModel.findOpenDueBefore(today), today);
+    }
+    
+    /**
+     * Reprojects the dashboard from the write side, e.g. after a lost event or a schema change
+     */
+    public long rebuild() {
+        long started = System.nanoTime();
+        long rows = readModel.rebuild();
+        logger.info("Rebuilt loan dashboard: {} open loans in {} ms", rows, (System.nanoTime() - started) / 1_000_000);
+        return rows;
+    }
+    
+    private List<LoanDashboardEntry> toEntries(List<DashboardLoan> loans, LocalDate today) {
+        List<LoanDashboardEntry> entries = new ArrayList<>(loans.size());
+        for (DashboardLoan loan : loans) {
+            long daysOverdue = Math.max(0, today.toEpochDay() - loan.dueDate().toEpochDay());
+            entries.add(LoanDashboardEntry.from(loan, daysOverdue, lateFeeService.calculateLateFee(daysOverdue, loan.memberTier())));
+        }
+        return entries;
+    }
+}
@@ -0,0 +1,30 @@
+package be.ucll.craftmanship.DDDDemo.library.application.services;
+
+import be.ucll.craftmanship.DDDDemo.library.domain.entities.MemberTier;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Maximum number of open loans per member tier (library.loans.limits.*)
+ */
+@ConfigurationProperties(prefix = "library.loans.limits")
+public record LoanLimits(
+    @DefaultValue("5") int standard,
+    @DefaultValue("10") int premium,
+    @DefaultValue("20") int staff
+) {
+    
+    public LoanLimits {
+        if (standard < 0 || premium < 0 || staff < 0) {
+            throw new IllegalArgumentException("Loan limits cannot be negative");
+        }
+    }
+    
+    public int limitFor(MemberTier tier) {
+        return switch (tier) {
+            case STANDARD -> standard;
+            case PREMIUM -> premium;
+            case STAFF -> staff;
+        };
+    }
+}
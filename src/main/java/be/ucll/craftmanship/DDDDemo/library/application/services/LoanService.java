@@ -1,14 +1,23 @@
 package be.ucll.craftmanship.DDDDemo.library.application.services;
 
+import be.ucll.craftmanship.DDDDemo.library.application.dto.BatchBorrowRequest;
+import be.ucll.craftmanship.DDDDemo.library.application.dto.BatchItemResult;
+import be.ucll.craftmanship.DDDDemo.library.application.dto.BatchLoanResponse;
+import be.ucll.craftmanship.DDDDemo.library.application.dto.BatchReturnRequest;
 import be.ucll.craftmanship.DDDDemo.library.application.dto.BorrowBookRequest;
+import be.ucll.craftmanship.DDDDemo.library.application.dto.CursorPage;
+import be.ucll.craftmanship.DDDDemo.library.application.dto.KeysetCursor;
 import be.ucll.craftmanship.DDDDemo.library.application.dto.LoanResponse;
+import be.ucll.craftmanship.DDDDemo.library.application.metrics.BorrowRejection;
+import be.ucll.craftmanship.DDDDemo.library.application.metrics.LoanMetrics;
+import be.ucll.craftmanship.DDDDemo.library.application.search.LoanDueIndex;
 import be.ucll.craftmanship.DDDDemo.library.domain.aggregates.Loan;
 import be.ucll.craftmanship.DDDDemo.library.domain.aggregates.LoanStatus;
 import be.ucll.craftmanship.DDDDemo.library.domain.entities.Book;
 import be.ucll.craftmanship.DDDDemo.library.domain.entities.Member;
-import be.ucll.craftmanship.DDDDemo.library.domain.events.BookBorrowedEvent;
-import be.ucll.craftmanship.DDDDemo.library.domain.events.BookReturnedEvent;
-import be.ucll.craftmanship.DDDDemo.library.domain.events.LoanExtendedEvent;
+import be.ucll.craftmanship.DDDDemo.library.domain.entities.MemberTier;
+import be.ucll.craftmanship.DDDDemo.library.domain.events.DomainEvent;
+import be.ucll.craftmanship.DDDDemo.library.domain.events.DomainEventPublisher;
 import be.ucll.craftmanship.DDDDemo.library.domain.repositories.BookRepository;
 import be.ucll.craftmanship.DDDDemo.library.domain.repositories.LoanRepository;
 import be.ucll.craftmanship.DDDDemo.library.domain.repositories.MemberRepository;
@@ -19,12 +28,28 @@ import be.ucll.craftmanship.DDDDemo.library.domain.valueobjects.MemberId;
 import be.ucll.craftmanship.DDDDemo.library.domain.valueobjects.Money;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * APPLICATION SERVICE: LoanService
@@ -45,23 +70,43 @@ import java.util.stream.Collectors;
 public class LoanService {
     
     private static final Logger logger = LoggerFactory.getLogger(LoanService.class);
-    private static final int MAX_ACTIVE_LOANS_PER_MEMBER = 5;
     
     private final LoanRepository loanRepository;
     private final BookRepository bookRepository;
     private final MemberRepository memberRepository;
     private final LateFeeCalculationService lateFeeService;
+    private final DomainEventPublisher eventPublisher;
+    private final EntityManager entityManager;
+    private final Cache bookCache;
+    private final LockingMode lockingMode;
+    private final LoanLimits loanLimits;
+    private final LoanDueIndex dueIndex;
+    private final LoanMetrics loanMetrics;
     
     public LoanService(
         LoanRepository loanRepository,
         BookRepository bookRepository,
         MemberRepository memberRepository,
-        LateFeeCalculationService lateFeeService
+        LateFeeCalculationService lateFeeService,
+        DomainEventPublisher eventPublisher,
+        EntityManager entityManager,
+        CacheManager cacheManager,
+        @Value("${library.loans.locking:OPTIMISTIC}") LockingMode lockingMode,
+        LoanLimits loanLimits,
+        LoanDueIndex dueIndex,
+        LoanMetrics loanMetrics
     ) {
         this.loanRepository = loanRepository;
         this.bookRepository = bookRepository;
         this.memberRepository = memberRepository;
         this.lateFeeService = lateFeeService;
+        this.eventPublisher = eventPublisher;
+        this.entityManager = entityManager;
+        this.bookCache = cacheManager.getCache(CacheNames.BOOKS);
+        this.lockingMode = lockingMode;
+        this.loanLimits = loanLimits;
+        this.dueIndex = dueIndex;
+        this.loanMetrics = loanMetrics;
     }
     
     /**
@@ -70,34 +115,29 @@ public class LoanService {
      * Business Rules:
      * - Book must be available
      * - Member must be active
-     * - Member can't have more than 5 active loans
+     * - Member can't have more open loans than their tier allows
+     * 
+     * Concurrent borrowers of the same book: in OPTIMISTIC mode the loser's
+     * Book version check fails at commit and the retry finds the book taken,
+     * in PESSIMISTIC mode they wait on the book's row lock.
      */
+    @RetryOnConflict
     public LoanResponse borrowBook(BorrowBookRequest request) {
         BookId bookId = BookId.from(request.bookId());
         MemberId memberId = MemberId.from(request.memberId());
         
-        // Load aggregates
-        Book book = bookRepository.findById(bookId)
+        // Load aggregates (always from the repository: availability must never come from a cache)
+        Book book = (lockingMode == LockingMode.PESSIMISTIC
+                ? bookRepository.findByIdForUpdate(bookId)
+                : bookRepository.findById(bookId))
             .orElseThrow(() -> new IllegalArgumentException("Book not found: " + bookId));
         
         Member member = memberRepository.findById(memberId)
             .orElseThrow(() -> new IllegalArgumentException("Member not found: " + memberId));
         
         // Validate business rules
-        if (!book.isAvailable()) {
-            throw new IllegalStateException("Book is not available: " + book.getTitle());
-        }
-        
-        if (!member.isActive()) {
-            throw new IllegalStateException("Member is not active: " + member.getName());
-        }
-        
-        long activeLoans = loanRepository.countByMemberIdAndStatus(memberId, LoanStatus.ACTIVE);
-        if (activeLoans >= MAX_ACTIVE_LOANS_PER_MEMBER) {
-            throw new IllegalStateException(
-                "Member has reached maximum active loans limit: " + MAX_ACTIVE_LOANS_PER_MEMBER
-            );
-        }
+        checkCanBorrow(book, member);
+        reserveLoanSlot(member);
         
         // Create loan aggregate
         Loan loan = new Loan(LoanId.generate(), bookId, memberId);
@@ -105,17 +145,15 @@ public class LoanService {
         // Mark book as unavailable
         book.markAsUnavailable();
         
-        // Save changes
+        // Save changes (the repository forgets the recorded events once stored)
+        List<DomainEvent> changes = loan.getChanges();
         loanRepository.save(loan);
         bookRepository.save(book);
+        bookCache.evict(bookId);
+        dueIndex.index(loan);
         
-        // Publish domain event
-        publishEvent(new BookBorrowedEvent(
-            loan.getId(),
-            bookId,
-            memberId,
-            loan.getDueDate()
-        ));
+        // Publish the events the loan recorded, the same instances its event stream stores
+        changes.forEach(this::publishEvent);
         
         logger.info("Book borrowed: {} by member: {}", bookId, memberId);
         
@@ -125,6 +163,7 @@ public class LoanService {
     /**
      * Returns a book
      */
+    @RetryOnConflict
     public LoanResponse returnBook(String loanId) {
         LoanId id = LoanId.from(loanId);
         
@@ -135,35 +174,227 @@ public class LoanService {
         Book book = bookRepository.findById(bookId)
             .orElseThrow(() -> new IllegalArgumentException("Book not found: " + bookId));
         
-        boolean wasOverdue = loan.isOverdue();
-        
         // Return the book (domain logic)
         loan.returnBook();
+        memberRepository.releaseLoanSlot(loan.getMemberId());
         
         // Mark book as available
         book.markAsAvailable();
         
         // Save changes
+        List<DomainEvent> changes = loan.getChanges();
         loanRepository.save(loan);
         bookRepository.save(book);
+        bookCache.evict(bookId);
+        dueIndex.remove(loan.getId());
         
-        // Publish domain event
-        publishEvent(new BookReturnedEvent(
-            loan.getId(),
-            bookId,
-            loan.getMemberId(),
-            loan.getReturnedDate(),
-            wasOverdue
-        ));
+        // Publish domain events
+        changes.forEach(this::publishEvent);
         
         logger.info("Book returned: {} by member: {}", bookId, loan.getMemberId());
         
         return LoanResponse.from(loan);
     }
     
+    /**
+     * Borrows a batch of books
+     * 
+     * Loads every referenced Book and Member with one query per type and
+     * saves all changes together. Each item is validated on its own, so a
+     * failing item is reported in its result and does not fail the rest of
+     * the batch, and it leaves nothing behind: no loan, no slot, no book change.
+     * 
+     * Loan slots are reserved per member, one conditional UPDATE for all of
+     * the member's items, before any entity is touched, so the reservations
+     * don't flush half the batch early. When the member has room for only
+     * some of them, the first ones (in request order) get the slots.
+     */
+    @RetryOnConflict
+    public BatchLoanResponse borrowBooks(BatchBorrowRequest request) {
+        List<BorrowBookRequest> items = request.items();
+        BookId[] bookIds = new BookId[items.size()];
+        MemberId[] memberIds = new MemberId[items.size()];
+        String[] parseErrors = new String[items.size()];
+        
+        for (int i = 0; i < items.size(); i++) {
+            try {
+                bookIds[i] = BookId.from(items.get(i).bookId());
+                memberIds[i] = MemberId.from(items.get(i).memberId());
+            } catch (IllegalArgumentException e) {
+                parseErrors[i] = e.getMessage();
+            }
+        }
+        
+        // Load aggregates, one query per type
+        Map<BookId, Book> books = bookRepository.findAllById(nonNull(bookIds))
+            .stream()
+            .collect(Collectors.toMap(Book::getId, Function.identity()));
+        Map<MemberId, Member> members = memberRepository.findAllById(nonNull(memberIds))
+            .stream()
+            .collect(Collectors.toMap(Member::getId, Function.identity()));
+        
+        BatchItemResult[] results = new BatchItemResult[items.size()];
+        Set<BookId> claimedBooks = new HashSet<>();
+        Map<MemberId, List<Integer>> itemsByMember = new LinkedHashMap<>();
+        
+        for (int i = 0; i < items.size(); i++) {
+            if (parseErrors[i] != null) {
+                results[i] = BatchItemResult.failed(i, parseErrors[i]);
+                continue;
+            }
+            
+            try {
+                Book book = books.get(bookIds[i]);
+                if (book == null) {
+                    throw new IllegalArgumentException("Book not found: " + bookIds[i]);
+                }
+                Member member = members.get(memberIds[i]);
+                if (member == null) {
+                    throw new IllegalArgumentException("Member not found: " + memberIds[i]);
+                }
+                if (!claimedBooks.add(bookIds[i])) {
+                    throw new IllegalArgumentException("Book appears more than once in the batch: " + bookIds[i]);
+                }
+                
+                checkCanBorrow(book, member);
+                itemsByMember.computeIfAbsent(memberIds[i], id -> new ArrayList<>()).add(i);
+            } catch (IllegalArgumentException | IllegalStateException e) {
+                results[i] = BatchItemResult.failed(i, e.getMessage());
+            }
+        }
+        
+        List<Loan> loans = new ArrayList<>();
+        Set<Book> changedBooks = new LinkedHashSet<>();
+        List<DomainEvent> events = new ArrayList<>();
+        
+        for (Map.Entry<MemberId, List<Integer>> memberItems : itemsByMember.entrySet()) {
+            Member member = members.get(memberItems.getKey());
+            List<Integer> indexes = memberItems.getValue();
+            int granted = reserveLoanSlots(member, indexes.size());
+            
+            for (int k = 0; k < indexes.size(); k++) {
+                int i = indexes.get(k);
+                if (k >= granted) {
+                    loanMetrics.rejected(BorrowRejection.LOAN_LIMIT);
+                    results[i] = BatchItemResult.failed(i, "Member has reached maximum active loans limit: " +
+                        loanLimits.limitFor(member.getTier()));
+                    continue;
+                }
+                
+                Loan loan = new Loan(LoanId.generate(), bookIds[i], memberIds[i]);
+                Book book = books.get(bookIds[i]);
+                book.markAsUnavailable();
+                
+                loans.add(loan);
+                changedBooks.add(book);
+                events.addAll(loan.getChanges());
+                results[i] = BatchItemResult.ok(i, LoanResponse.from(loan));
+            }
+        }
+        
+        // Save changes in bulk (batched by hibernate.jdbc.batch_size)
+        loanRepository.saveAll(loans);
+        bookRepository.saveAll(changedBooks);
+        changedBooks.forEach(book -> bookCache.evict(book.getId()));
+        loans.forEach(dueIndex::index);
+        
+        events.forEach(this::publishEvent);
+        
+        logger.info("Batch borrow: {} of {} items succeeded", loans.size(), items.size());
+        
+        return BatchLoanResponse.of(List.of(results));
+    }
+    
+    /**
+     * Returns a batch of books
+     * 
+     * Loads every referenced Loan and Book with one query per type and saves
+     * all changes together. Each item succeeds or fails on its own.
+     */
+    @RetryOnConflict
+    public BatchLoanResponse returnBooks(BatchReturnRequest request) {
+        List<String> rawIds = request.loanIds();
+        LoanId[] loanIds = new LoanId[rawIds.size()];
+        String[] parseErrors = new String[rawIds.size()];
+        
+        for (int i = 0; i < rawIds.size(); i++) {
+            try {
+                loanIds[i] = LoanId.from(rawIds.get(i));
+            } catch (IllegalArgumentException e) {
+                parseErrors[i] = e.getMessage();
+            }
+        }
+        
+        // Load aggregates, one query per type
+        Map<LoanId, Loan> loansById = loanRepository.findAllById(nonNull(loanIds))
+            .stream()
+            .collect(Collectors.toMap(Loan::getId, Function.identity()));
+        Set<BookId> bookIds = loansById.values()
+            .stream()
+            .map(Loan::getBookId)
+            .collect(Collectors.toSet());
+        Map<BookId, Book> books = bookRepository.findAllById(bookIds)
+            .stream()
+            .collect(Collectors.toMap(Book::getId, Function.identity()));
+        
+        List<BatchItemResult> results = new ArrayList<>(rawIds.size());
+        Set<Loan> changedLoans = new LinkedHashSet<>();
+        Set<Book> changedBooks = new LinkedHashSet<>();
+        Map<MemberId, Integer> releasedSlots = new LinkedHashMap<>();
+        List<DomainEvent> events = new ArrayList<>();
+        
+        for (int i = 0; i < rawIds.size(); i++) {
+            if (parseErrors[i] != null) {
+                results.add(BatchItemResult.failed(i, parseErrors[i]));
+                continue;
+            }
+            
+            try {
+                Loan loan = loansById.get(loanIds[i]);
+                if (loan == null) {
+                    throw new IllegalArgumentException("Loan not found: " + rawIds.get(i));
+                }
+                Book book = books.get(loan.getBookId());
+                if (book == null) {
+                    throw new IllegalArgumentException("Book not found: " + loan.getBookId());
+                }
+                // Checked up front so a failing item never leaves a half-applied change
+                if (book.isAvailable()) {
+                    throw new IllegalStateException("Book is already available");
+                }
+                
+                loan.returnBook();
+                book.markAsAvailable();
+                releasedSlots.merge(loan.getMemberId(), 1, Integer::sum);
+                
+                changedLoans.add(loan);
+                changedBooks.add(book);
+                events.addAll(loan.getChanges());
+                results.add(BatchItemResult.ok(i, LoanResponse.from(loan)));
+            } catch (IllegalArgumentException | IllegalStateException e) {
+                results.add(BatchItemResult.failed(i, e.getMessage()));
+            }
+        }
+        
+        // Save changes in bulk (batched by hibernate.jdbc.batch_size)
+        loanRepository.saveAll(changedLoans);
+        bookRepository.saveAll(changedBooks);
+        // One UPDATE per member; the first one flushes the batched writes above in one go
+        releasedSlots.forEach(memberRepository::releaseLoanSlots);
+        changedBooks.forEach(book -> bookCache.evict(book.getId()));
+        changedLoans.forEach(loan -> dueIndex.remove(loan.getId()));
+        
+        events.forEach(this::publishEvent);
+        
+        logger.info("Batch return: {} of {} items succeeded", changedLoans.size(), rawIds.size());
+        
+        return BatchLoanResponse.of(results);
+    }
+    
     /**
      * Extends a loan
      */
+    @RetryOnConflict
     public LoanResponse extendLoan(String loanId, int days) {
         LoanId id = LoanId.from(loanId);
         
@@ -173,15 +404,12 @@ public class LoanService {
         // Domain logic handles validation
         loan.extendLoan(days);
         
+        List<DomainEvent> changes = loan.getChanges();
         loanRepository.save(loan);
+        dueIndex.index(loan);
         
-        // Publish domain event
-        publishEvent(new LoanExtendedEvent(
-            loan.getId(),
-            loan.getMemberId(),
-            loan.getDueDate(),
-            days
-        ));
+        // Publish domain events
+        changes.forEach(this::publishEvent);
         
         logger.info("Loan extended: {} by {} days", loanId, days);
         
@@ -200,15 +428,103 @@ public class LoanService {
     }
     
     /**
-     * Gets all overdue loans
+     * Gets all overdue loans, earliest due date first
+     * The due-date index supplies the ids, so only the overdue rows are read.
      */
+    @Transactional(readOnly = true)
     public List<LoanResponse> getOverdueLoans() {
-        return loanRepository.findOverdueLoans(LocalDate.now())
-            .stream()
+        LocalDate today = LocalDate.now();
+        List<Loan> loans = dueIndex.isReady()
+            ? loadInIndexOrder(dueIndex.findDueBefore(today))
+            : loanRepository.findOverdueLoans(today);
+        return loans.stream()
+            .map(LoanResponse::from)
+            .collect(Collectors.toList());
+    }
+    
+    /**
+     * Gets the open loans due within the next number of days (today included), earliest due date first
+     */
+    @Transactional(readOnly = true)
+    public List<LoanResponse> getLoansDueWithin(int days) {
+        if (days < 0) {
+            throw new IllegalArgumentException("Days must be zero or positive");
+        }
+        LocalDate today = LocalDate.now();
+        LocalDate end = today.plusDays(days);
+        List<Loan> loans = dueIndex.isReady()
+            ? loadInIndexOrder(dueIndex.findDueBetween(today, end))
+            : loanRepository.findLoansDueBetween(today, end);
+        return loans.stream()
             .map(LoanResponse::from)
             .collect(Collectors.toList());
     }
     
+    /**
+     * Number of a member's loans that are overdue today
+     */
+    @Transactional(readOnly = true)
+    public long getOverdueLoanCount(String memberId) {
+        MemberId id = MemberId.from(memberId);
+        LocalDate today = LocalDate.now();
+        if (dueIndex.isReady()) {
+            return dueIndex.countDueBefore(id, today);
+        }
+        return loanRepository.countByMemberIdAndStatusNotAndDueDateBefore(id, LoanStatus.RETURNED, today);
+    }
+    
+    /**
+     * Gets one keyset page of a member's active loans
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<LoanResponse> getLoansByMemberPage(String memberId, String cursor, int size) {
+        MemberId id = MemberId.from(memberId);
+        UUID after = cursor == null ? KeysetCursor.FIRST_ID : KeysetCursor.decode(cursor, 1).uuid(0);
+        List<Loan> loans = loanRepository.findByMemberIdAndStatusPageAfter(
+            id, LoanStatus.ACTIVE, after, Limit.of(CursorPage.checkSize(size) + 1)
+        );
+        return CursorPage.of(loans, size, LoanResponse::from, loan -> KeysetCursor.of(loan.getId()));
+    }
+    
+    /**
+     * Streams a member's active loans to the consumer one at a time
+     */
+    @Transactional(readOnly = true)
+    public void streamLoansByMember(String memberId, Consumer<LoanResponse> consumer) {
+        MemberId id = MemberId.from(memberId);
+        try (Stream<Loan> loans = loanRepository.streamByMemberIdAndStatus(id, LoanStatus.ACTIVE)) {
+            loans.forEach(loan -> emit(loan, consumer));
+        }
+    }
+    
+    /**
+     * Gets one keyset page of overdue loans, ordered by due date
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<LoanResponse> getOverdueLoansPage(String cursor, int size) {
+        LocalDate afterDueDate = KeysetCursor.FIRST_DATE;
+        UUID afterId = KeysetCursor.FIRST_ID;
+        if (cursor != null) {
+            KeysetCursor keys = KeysetCursor.decode(cursor, 2);
+            afterDueDate = keys.date(0);
+            afterId = keys.uuid(1);
+        }
+        List<Loan> loans = loanRepository.findOverdueLoansPageAfter(
+            LocalDate.now(), afterDueDate, afterId, Limit.of(CursorPage.checkSize(size) + 1)
+        );
+        return CursorPage.of(loans, size, LoanResponse::from, loan -> KeysetCursor.of(loan.getDueDate(), loan.getId()));
+    }
+    
+    /**
+     * Streams overdue loans to the consumer one at a time
+     */
+    @Transactional(readOnly = true)
+    public void streamOverdueLoans(Consumer<LoanResponse> consumer) {
+        try (Stream<Loan> loans = loanRepository.streamOverdueLoans(LocalDate.now())) {
+            loans.forEach(loan -> emit(loan, consumer));
+        }
+    }
+    
     /**
      * Calculates late fee for a loan
      * Uses the LateFeeCalculationService (Domain Service)
@@ -223,23 +539,97 @@ public class LoanService {
             return "No late fee - loan is not overdue";
         }
         
-        // Use domain service to calculate fee
-        Money lateFee = lateFeeService.calculateLateFee(loan);
+        // Use domain service to calculate fee under the member's tier policy
+        MemberTier tier = memberRepository.findById(loan.getMemberId())
+            .map(Member::getTier)
+            .orElse(MemberTier.STANDARD);
+        Money lateFee = lateFeeService.calculateLateFee(loan, tier);
         
         return String.format("Late fee for loan %s: %s (%d days overdue)",
             loanId, lateFee, loan.getDaysOverdue());
     }
     
+    /**
+     * Cross-aggregate borrowing rules shared by single and batch borrows
+     */
+    private void checkCanBorrow(Book book, Member member) {
+        if (!book.isAvailable()) {
+            loanMetrics.rejected(BorrowRejection.BOOK_UNAVAILABLE);
+            throw new IllegalStateException("Book is not available: " + book.getTitle());
+        }
+        
+        if (!member.isActive()) {
+            loanMetrics.rejected(BorrowRejection.MEMBER_INACTIVE);
+            throw new IllegalStateException("Member is not active: " + member.getName());
+        }
+    }
+    
+    /**
+     * Takes one of the member's loan slots
+     * Limit check and increment are one conditional UPDATE, so concurrent
+     * borrows by the same member can never exceed the limit together
+     */
+    private void reserveLoanSlot(Member member) {
+        int limit = loanLimits.limitFor(member.getTier());
+        if (memberRepository.reserveLoanSlot(member.getId(), limit) == 0) {
+            loanMetrics.rejected(BorrowRejection.LOAN_LIMIT);
+            throw new IllegalStateException("Member has reached maximum active loans limit: " + limit);
+        }
+    }
+    
+    /**
+     * Takes up to wanted loan slots of the member in one conditional UPDATE, returns how many it took
+     * The room left is read from the member loaded by this transaction; if a concurrent borrow
+     * used it up since, the UPDATE matches nothing and the whole call is retried as a lost race.
+     */
+    private int reserveLoanSlots(Member member, int wanted) {
+        int limit = loanLimits.limitFor(member.getTier());
+        int granted = Math.max(0, Math.min(wanted, limit - member.getActiveLoans()));
+        if (granted > 0 && memberRepository.reserveLoanSlots(member.getId(), granted, limit) == 0) {
+            throw new ConcurrencyFailureException("Loan slots of member " + member.getId() + " changed concurrently");
+        }
+        return granted;
+    }
+    
+    // Detach each row once written so the persistence context stays empty
+    private void emit(Loan loan, Consumer<LoanResponse> consumer) {
+        consumer.accept(LoanResponse.from(loan));
+        entityManager.detach(loan);
+    }
+    
+    private static <T> Set<T> nonNull(T[] ids) {
+        Set<T> result = new HashSet<>();
+        for (T id : ids) {
+            if (id != null) {
+                result.add(id);
+            }
+        }
+        return result;
+    }
+    
+    /**
+     * Loads loans with one query and returns them in the order of the given ids
+     */
+    private List<Loan> loadInIndexOrder(List<LoanId> ids) {
+        Map<LoanId, Loan> loans = loanRepository.findAllById(ids)
+            .stream()
+            .collect(Collectors.toMap(Loan::getId, Function.identity()));
+        List<Loan> ordered = new ArrayList<>(loans.size());
+        for (LoanId id : ids) {
+            Loan loan = loans.get(id);
+            if (loan != null) {
+                ordered.add(loan);
+            }
+        }
+        return ordered;
+    }
+    
     /**
      * Publishes a domain event
-     * In a real system, this would use an event bus or message broker
-     * For simplicity, we just log it
-     */
-    private void publishEvent(Object event) {
-        logger.info("Domain Event Published: {}", event);
-        // In a real system:
-        // eventPublisher.publish(event);
-        // Or: applicationEventPublisher.publishEvent(event);
+     * Delivery to subscribers happens asynchronously, after the transaction commits
+     */
+    private void publishEvent(DomainEvent event) {
+        eventPublisher.publish(event);
     }
 }
 
@@ -0,0 +1,9 @@
+package be.ucll.craftmanship.DDDDemo.library.application.services;
+
+/**
+ * How borrowBook guards a book against concurrent borrowers
+ */
+public enum LockingMode {
+    OPTIMISTIC,   // Read without locks, the Book @Version check rejects the loser at commit
+    PESSIMISTIC   // SELECT ... FOR UPDATE on the book row, concurrent borrowers queue behind it
+}
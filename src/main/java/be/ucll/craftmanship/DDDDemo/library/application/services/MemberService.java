@@ -1,17 +1,30 @@
 package be.ucll.craftmanship.DDDDemo.library.application.services;
 
 import be.ucll.craftmanship.DDDDemo.library.application.dto.CreateMemberRequest;
+import be.ucll.craftmanship.DDDDemo.library.application.dto.CursorPage;
+import be.ucll.craftmanship.DDDDemo.library.application.dto.KeysetCursor;
 import be.ucll.craftmanship.DDDDemo.library.application.dto.MemberResponse;
+import be.ucll.craftmanship.DDDDemo.library.application.dto.MemberSuggestion;
+import be.ucll.craftmanship.DDDDemo.library.application.dto.UpdateAddressRequest;
+import be.ucll.craftmanship.DDDDemo.library.application.search.MemberSearchIndex;
 import be.ucll.craftmanship.DDDDemo.library.domain.entities.Member;
+import be.ucll.craftmanship.DDDDemo.library.domain.entities.MemberTier;
 import be.ucll.craftmanship.DDDDemo.library.domain.repositories.MemberRepository;
 import be.ucll.craftmanship.DDDDemo.library.domain.valueobjects.Address;
 import be.ucll.craftmanship.DDDDemo.library.domain.valueobjects.Email;
 import be.ucll.craftmanship.DDDDemo.library.domain.valueobjects.MemberId;
+import jakarta.persistence.EntityManager;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * APPLICATION SERVICE: MemberService
@@ -20,10 +33,19 @@ import java.util.stream.Collectors;
 @Transactional
 public class MemberService {
     
+    private static final int DEFAULT_SUGGESTION_LIMIT = 10;
+    
     private final MemberRepository memberRepository;
+    private final EntityManager entityManager;
+    private final MemberSearchIndex searchIndex;
+    private final Cache memberCache;
     
-    public MemberService(MemberRepository memberRepository) {
+    public MemberService(MemberRepository memberRepository, EntityManager entityManager, MemberSearchIndex searchIndex,
+                         CacheManager cacheManager) {
         this.memberRepository = memberRepository;
+        this.entityManager = entityManager;
+        this.searchIndex = searchIndex;
+        this.memberCache = cacheManager.getCache(CacheNames.MEMBERS);
     }
     
     /**
@@ -51,9 +73,71 @@ public class MemberService {
         );
         
         Member savedMember = memberRepository.save(member);
+        searchIndex.index(savedMember);
         return MemberResponse.from(savedMember);
     }
     
+    /**
+     * Moves a member to a new address
+     */
+    @RetryOnConflict
+    public MemberResponse updateAddress(String memberId, UpdateAddressRequest request) {
+        Member member = findMember(memberId);
+        member.updateAddress(new Address(
+            request.street(),
+            request.city(),
+            request.postalCode(),
+            request.country()
+        ));
+        return save(member);
+    }
+    
+    /**
+     * Changes a member's e-mail address
+     */
+    @RetryOnConflict
+    public MemberResponse updateEmail(String memberId, String newEmail) {
+        Member member = findMember(memberId);
+        Email email = new Email(newEmail);
+        
+        if (!email.equals(member.getEmail()) && memberRepository.existsByEmail(email)) {
+            throw new IllegalArgumentException("Member with email " + email + " already exists");
+        }
+        
+        member.updateEmail(email);
+        return save(member);
+    }
+    
+    /**
+     * Deactivates a member
+     */
+    @RetryOnConflict
+    public MemberResponse deactivateMember(String memberId) {
+        Member member = findMember(memberId);
+        member.deactivate();
+        return save(member);
+    }
+    
+    /**
+     * Reactivates a member
+     */
+    @RetryOnConflict
+    public MemberResponse activateMember(String memberId) {
+        Member member = findMember(memberId);
+        member.activate();
+        return save(member);
+    }
+    
+    /**
+     * Moves a member to another tier, which changes their loan limit
+     */
+    @RetryOnConflict
+    public MemberResponse changeTier(String memberId, MemberTier tier) {
+        Member member = findMember(memberId);
+        member.changeTier(tier);
+        return save(member);
+    }
+    
     /**
      * Gets all members
      */
@@ -76,11 +160,66 @@ public class MemberService {
     
     /**
      * Gets a member by ID
+     * Read-through: served from the member cache, loaded and cached on a miss
      */
+    @Transactional(readOnly = true)
     public MemberResponse getMemberById(String memberId) {
-        Member member = memberRepository.findById(MemberId.from(memberId))
+        MemberId id = MemberId.from(memberId);
+        MemberResponse cached = memberCache.get(id, MemberResponse.class);
+        if (cached != null) {
+            return cached;
+        }
+        
+        Member member = memberRepository.findById(id)
             .orElseThrow(() -> new IllegalArgumentException("Member not found: " + memberId));
-        return MemberResponse.from(member);
+        MemberResponse response = MemberResponse.from(member);
+        memberCache.put(id, response);
+        return response;
+    }
+    
+    /**
+     * Name autocomplete for staff lookups
+     * Answered from the search index, prefix matches first, then fuzzy matches
+     */
+    @Transactional(readOnly = true)
+    public List<MemberSuggestion> suggestMembers(String query, Integer limit) {
+        int max = limit == null ? DEFAULT_SUGGESTION_LIMIT : limit;
+        if (max < 1 || max > 50) {
+            throw new IllegalArgumentException("Suggestion limit must be between 1 and 50");
+        }
+        return searchIndex.suggest(query, max);
+    }
+    
+    /**
+     * Gets a member by e-mail address
+     */
+    @Transactional(readOnly = true)
+    public MemberResponse getMemberByEmail(String email) {
+        Email value = new Email(email);
+        MemberId memberId = searchIndex.isReady()
+            ? searchIndex.findByEmail(value).orElse(null)
+            : memberRepository.findByEmail(value).map(Member::getId).orElse(null);
+        if (memberId == null) {
+            throw new IllegalArgumentException("Member not found: " + email);
+        }
+        return getMemberById(memberId.toString());
+    }
+    
+    /**
+     * Gets all members in a postal code area
+     */
+    @Transactional(readOnly = true)
+    public List<MemberResponse> getMembersByPostalCode(String postalCode) {
+        if (!searchIndex.isReady()) {
+            return memberRepository.findByAddressPostalCode(postalCode)
+                .stream()
+                .map(MemberResponse::from)
+                .collect(Collectors.toList());
+        }
+        return memberRepository.findAllById(searchIndex.findByPostalCode(postalCode))
+            .stream()
+            .map(MemberResponse::from)
+            .collect(Collectors.toList());
     }
     
     /**
@@ -92,5 +231,62 @@ public class MemberService {
             .map(MemberResponse::from)
             .collect(Collectors.toList());
     }
+    
+    /**
+     * Gets one keyset page of all members
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<MemberResponse> getMembersPage(String cursor, int size) {
+        UUID after = cursor == null ? KeysetCursor.FIRST_ID : KeysetCursor.decode(cursor, 1).uuid(0);
+        List<Member> members = memberRepository.findPageAfter(after, Limit.of(CursorPage.checkSize(size) + 1));
+        return CursorPage.of(members, size, MemberResponse::from, member -> KeysetCursor.of(member.getId()));
+    }
+    
+    /**
+     * Gets one keyset page of active members
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<MemberResponse> getActiveMembersPage(String cursor, int size) {
+        UUID after = cursor == null ? KeysetCursor.FIRST_ID : KeysetCursor.decode(cursor, 1).uuid(0);
+        List<Member> members = memberRepository.findActivePageAfter(after, Limit.of(CursorPage.checkSize(size) + 1));
+        return CursorPage.of(members, size, MemberResponse::from, member -> KeysetCursor.of(member.getId()));
+    }
+    
+    /**
+     * Streams all members to the consumer one at a time
+     */
+    @Transactional(readOnly = true)
+    public void streamAllMembers(Consumer<MemberResponse> consumer) {
+        try (Stream<Member> members = memberRepository.streamAll()) {
+            members.forEach(member -> emit(member, consumer));
+        }
+    }
+    
+    /**
+     * Streams all active members to the consumer one at a time
+     */
+    @Transactional(readOnly = true)
+    public void streamActiveMembers(Consumer<MemberResponse> consumer) {
+        try (Stream<Member> members = memberRepository.streamActive()) {
+            members.forEach(member -> emit(member, consumer));
+        }
+    }
+    
+    private Member findMember(String memberId) {
+        return memberRepository.findById(MemberId.from(memberId))
+            .orElseThrow(() -> new IllegalArgumentException("Member not found: " + memberId));
+    }
+    
+    private MemberResponse save(Member member) {
+        Member savedMember = memberRepository.save(member);
+        searchIndex.index(savedMember);
+        memberCache.evict(savedMember.getId());
+        return MemberResponse.from(savedMember);
+    }
+    
+    // Detach each row once written so the persistence context stays empty
+    private void emit(Member member, Consumer<MemberResponse> consumer) {
+        consumer.accept(MemberResponse.from(member));
+        entityManager.detach(member);
+    }
 }
-
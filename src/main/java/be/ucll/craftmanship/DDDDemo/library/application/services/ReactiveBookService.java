@@ -0,0 +1,83 @@
+package be.ucll.craftmanship.DDDDemo.library.application.services;
+
+import be.ucll.craftmanship.DDDDemo.library.application.dto.BookResponse;
+import be.ucll.craftmanship.DDDDemo.library.application.reactive.ReactiveBookRepository;
+import be.ucll.craftmanship.DDDDemo.library.application.search.BookSearchIndex;
+import be.ucll.craftmanship.DDDDemo.library.application.search.SearchHit;
+import be.ucll.craftmanship.DDDDemo.library.domain.valueobjects.BookId;
+import be.ucll.craftmanship.DDDDemo.library.domain.valueobjects.ISBN;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Non-blocking counterpart of BookService's reads
+ * 
+ * Answers the same way: the book cache first, the search index for ranking,
+ * only the database access goes through R2DBC instead of JPA. Writes stay
+ * on BookService, which keeps evicting the shared cache.
+ */
+@Service
+public class ReactiveBookService {
+    
+    private static final int DEFAULT_SEARCH_LIMIT = 20;
+    
+    private final ReactiveBookRepository bookRepository;
+    private final BookSearchIndex searchIndex;
+    private final Cache bookCache;
+    
+    public ReactiveBookService(ReactiveBookRepository bookRepository, BookSearchIndex searchIndex,
+                               CacheManager cacheManager) {
+        this.bookRepository = bookRepository;
+        this.searchIndex = searchIndex;
+        this.bookCache = cacheManager.getCache(CacheNames.BOOKS);
+    }
+    
+    /**
+     * Gets a book by ID, read-through the book cache
+     */
+    public Mono<BookResponse> getBookById(String bookId) {
+        return Mono.fromCallable(() -> BookId.from(bookId))
+            .flatMap(id -> Mono.justOrEmpty(bookCache.get(id, BookResponse.class))
+                .switchIfEmpty(bookRepository.findById(id).doOnNext(book -> bookCache.put(id, book))))
+            .switchIfEmpty(Mono.error(() -> new IllegalArgumentException("Book not found: " + bookId)));
+    }
+    
+    /**
+     * Gets a book by ISBN, hyphenated or not
+     */
+    public Mono<BookResponse> getBookByIsbn(String isbn) {
+        return Mono.fromCallable(() -> new ISBN(isbn))
+            .flatMap(bookRepository::findByIsbn)
+            .switchIfEmpty(Mono.error(() -> new IllegalArgumentException("Book not found: " + isbn)));
+    }
+    
+    /**
+     * Searches books by title, author and ISBN, ranked by relevance
+     * Falls back to a substring scan while the index is still building.
+     */
+    public Flux<BookResponse> searchBooks(String query, Integer limit) {
+        int max = limit == null ? DEFAULT_SEARCH_LIMIT : limit;
+        if (max < 1 || max > 100) {
+            return Flux.error(new IllegalArgumentException("Search limit must be between 1 and 100"));
+        }
+        if (!searchIndex.isReady()) {
+            return bookRepository.findByTitleOrAuthorContaining(query, max);
+        }
+        
+        List<BookId> ranked = searchIndex.search(query, max)
+            .stream()
+            .map(SearchHit::id)
+            .toList();
+        return bookRepository.findAllById(ranked)
+            .collectMap(book -> BookId.from(book.id()))
+            .flatMapIterable(books -> ranked.stream()
+                .filter(books::containsKey)
+                .map(books::get)
+                .toList());
+    }
+}
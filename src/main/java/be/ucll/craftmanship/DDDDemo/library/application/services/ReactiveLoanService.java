@@ -0,0 +1,42 @@
+package be.ucll.craftmanship.DDDDemo.library.application.services;
+
+import be.ucll.craftmanship.DDDDemo.library.application.dto.LoanResponse;
+import be.ucll.craftmanship.DDDDemo.library.application.reactive.ReactiveLoanRepository;
+import be.ucll.craftmanship.DDDDemo.library.domain.aggregates.LoanStatus;
+import be.ucll.craftmanship.DDDDemo.library.domain.valueobjects.MemberId;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+
+import java.time.LocalDate;
+
+/**
+ * Non-blocking counterpart of LoanService's list queries
+ * 
+ * The lists are streamed: rows are fetched as the subscriber asks for
+ * them, so a slow client holds back the query instead of filling memory.
+ */
+@Service
+public class ReactiveLoanService {
+    
+    private final ReactiveLoanRepository loanRepository;
+    
+    public ReactiveLoanService(ReactiveLoanRepository loanRepository) {
+        this.loanRepository = loanRepository;
+    }
+    
+    /**
+     * Gets a member's active loans
+     */
+    public Flux<LoanResponse> getLoansByMember(String memberId) {
+        return Flux.defer(() -> loanRepository.findByMemberIdAndStatus(
+            MemberId.from(memberId), LoanStatus.ACTIVE, LocalDate.now()
+        ));
+    }
+    
+    /**
+     * Gets all overdue loans, earliest due date first
+     */
+    public Flux<LoanResponse> getOverdueLoans() {
+        return Flux.defer(() -> loanRepository.findOverdue(LocalDate.now()));
+    }
+}
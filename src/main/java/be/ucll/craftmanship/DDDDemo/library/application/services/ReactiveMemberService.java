@@ -0,0 +1,34 @@
+package be.ucll.craftmanship.DDDDemo.library.application.services;
+
+import be.ucll.craftmanship.DDDDemo.library.application.dto.MemberResponse;
+import be.ucll.craftmanship.DDDDemo.library.application.reactive.ReactiveMemberRepository;
+import be.ucll.craftmanship.DDDDemo.library.domain.valueobjects.MemberId;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking counterpart of MemberService's lookups, sharing its cache
+ */
+@Service
+public class ReactiveMemberService {
+    
+    private final ReactiveMemberRepository memberRepository;
+    private final Cache memberCache;
+    
+    public ReactiveMemberService(ReactiveMemberRepository memberRepository, CacheManager cacheManager) {
+        this.memberRepository = memberRepository;
+        this.memberCache = cacheManager.getCache(CacheNames.MEMBERS);
+    }
+    
+    /**
+     * Gets a member by ID, read-through the member cache
+     */
+    public Mono<MemberResponse> getMemberById(String memberId) {
+        return Mono.fromCallable(() -> MemberId.from(memberId))
+            .flatMap(id -> Mono.justOrEmpty(memberCache.get(id, MemberResponse.class))
+                .switchIfEmpty(memberRepository.findById(id).doOnNext(member -> memberCache.put(id, member))))
+            .switchIfEmpty(Mono.error(() -> new IllegalArgumentException("Member not found: " + memberId)));
+    }
+}
@@ -0,0 +1,21 @@
+package be.ucll.craftmanship.DDDDemo.library.application.services;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a transactional use case that is safe to run again when it loses a
+ * race with a concurrent writer (optimistic lock or open-loan index conflict)
+ * 
+ * Each attempt runs in a new transaction and re-reads the aggregates, so the
+ * retry sees the winner's changes and re-applies the business rules to them.
+ * Has no effect when called inside an already running transaction.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface RetryOnConflict {
+}
@@ -1,12 +1,23 @@
 package be.ucll.craftmanship.DDDDemo.library.domain.aggregates;
 
+import be.ucll.craftmanship.DDDDemo.library.domain.events.BookBorrowedEvent;
+import be.ucll.craftmanship.DDDDemo.library.domain.events.BookReturnedEvent;
+import be.ucll.craftmanship.DDDDemo.library.domain.events.DomainEvent;
+import be.ucll.craftmanship.DDDDemo.library.domain.events.LoanExtendedEvent;
+import be.ucll.craftmanship.DDDDemo.library.domain.events.LoanNoteAddedEvent;
+import be.ucll.craftmanship.DDDDemo.library.domain.events.LoanOverdueNotifiedEvent;
 import be.ucll.craftmanship.DDDDemo.library.domain.valueobjects.BookId;
 import be.ucll.craftmanship.DDDDemo.library.domain.valueobjects.LoanId;
 import be.ucll.craftmanship.DDDDemo.library.domain.valueobjects.MemberId;
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
+import org.springframework.data.domain.Persistable;
 
 import java.time.LocalDate;
-import java.time.temporal.ChronoUnit;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
 
 /**
  * AGGREGATE ROOT: Loan
@@ -24,14 +35,24 @@ import java.time.temporal.ChronoUnit;
  * - Can't return a loan that's already returned
  * - Can't extend a returned loan
  * - Late fees are calculated based on overdue days
+ * 
+ * Every state change is made by recording an event and applying it, so the
+ * same loan can be stored as a row (JPA) or rebuilt from its event stream
+ * (replay); the recorded events wait in getChanges() until the repository
+ * has stored them.
  */
 @Entity
 @Table(name = "loans")
-public class Loan {
+public class Loan implements Persistable<LoanId> {
     
     @EmbeddedId
     private LoanId id;
     
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+    
     // ✅ CORRECT: Reference other aggregates by ID only
     @Column(nullable = false)
     private BookId bookId;
@@ -55,6 +76,14 @@ public class Loan {
     @Column
     private String notes;
     
+    // Day the overdue sweep announced this loan as overdue, null until then
+    @Column
+    private LocalDate overdueNotifiedOn;
+    
+    // Recorded since the loan was created or loaded, oldest first
+    @Transient
+    private final List<DomainEvent> changes = new ArrayList<>();
+    
     // JPA requires default constructor
     protected Loan() {}
     
@@ -73,13 +102,9 @@ public class Loan {
             throw new IllegalArgumentException("MemberId cannot be null");
         }
         
-        this.id = id;
-        this.bookId = bookId;
-        this.memberId = memberId;
-        this.borrowedDate = LocalDate.now();
-        this.dueDate = borrowedDate.plusDays(30); // Business Rule: 30 days loan period
-        this.status = LoanStatus.ACTIVE;
-        this.returnedDate = null;
+        LocalDateTime now = LocalDateTime.now();
+        LocalDate dueDate = now.toLocalDate().plusDays(30); // Business Rule: 30 days loan period
+        recordChange(new BookBorrowedEvent(UUID.randomUUID(), now, id, bookId, memberId, dueDate));
     }
     
     /**
@@ -91,8 +116,9 @@ public class Loan {
             throw new IllegalStateException("Loan is already returned");
         }
         
-        this.returnedDate = LocalDate.now();
-        this.status = LoanStatus.RETURNED;
+        LocalDateTime now = LocalDateTime.now();
+        recordChange(new BookReturnedEvent(UUID.randomUUID(), now, id, bookId, memberId, now.toLocalDate(),
+            isOverdue(now.toLocalDate())));
     }
     
     /**
@@ -115,28 +141,58 @@ public class Loan {
             throw new IllegalArgumentException("Extension must be between 1 and 14 days");
         }
         
-        this.dueDate = this.dueDate.plusDays(days);
-        this.status = LoanStatus.EXTENDED;
+        recordChange(new LoanExtendedEvent(id, memberId, dueDate.plusDays(days), days));
     }
     
     /**
      * Checks if the loan is overdue
      */
     public boolean isOverdue() {
+        return isOverdue(LocalDate.now());
+    }
+    
+    /**
+     * Checks if the loan is overdue as of the given day
+     */
+    public boolean isOverdue(LocalDate today) {
         if (status == LoanStatus.RETURNED) {
             return false;
         }
-        return LocalDate.now().isAfter(dueDate);
+        return today.isAfter(dueDate);
     }
     
     /**
      * Calculates the number of days overdue
      */
     public long getDaysOverdue() {
-        if (!isOverdue()) {
+        return getDaysOverdue(LocalDate.now());
+    }
+    
+    /**
+     * Calculates the number of days overdue as of the given day
+     */
+    public long getDaysOverdue(LocalDate today) {
+        if (!isOverdue(today)) {
             return 0;
         }
-        return ChronoUnit.DAYS.between(dueDate, LocalDate.now());
+        return today.toEpochDay() - dueDate.toEpochDay();
+    }
+    
+    /**
+     * Records that the loan has been announced as overdue
+     * Business Rule: a loan is announced once per due date
+     * 
+     * @return false if it was already announced
+     */
+    public boolean markOverdueNotified(LocalDate today) {
+        if (!isOverdue(today)) {
+            throw new IllegalStateException("Loan is not overdue");
+        }
+        if (overdueNotifiedOn != null) {
+            return false;
+        }
+        recordChange(new LoanOverdueNotifiedEvent(id, today));
+        return true;
     }
     
     /**
@@ -147,18 +203,120 @@ public class Loan {
             throw new IllegalArgumentException("Note cannot be null or empty");
         }
         
-        if (this.notes == null) {
-            this.notes = note;
-        } else {
-            this.notes += "\n" + note;
+        recordChange(new LoanNoteAddedEvent(id, note));
+    }
+    
+    /**
+     * Rebuilds a loan from its latest snapshot (null if there is none) and the events recorded after it
+     * 
+     * @param version stream version of the last of the events
+     */
+    public static Loan replay(LoanSnapshot snapshot, List<DomainEvent> events, long version) {
+        Loan loan = new Loan();
+        if (snapshot != null) {
+            loan.restore(snapshot);
+        }
+        for (DomainEvent event : events) {
+            loan.apply(event);
+        }
+        if (loan.id == null) {
+            throw new IllegalArgumentException("Loan history must start with a snapshot or a BookBorrowedEvent");
+        }
+        loan.version = version;
+        return loan;
+    }
+    
+    public LoanSnapshot toSnapshot() {
+        return new LoanSnapshot(id, bookId, memberId, borrowedDate, dueDate, returnedDate, status, notes, overdueNotifiedOn);
+    }
+    
+    /**
+     * Events recorded since the loan was created or loaded, oldest first
+     */
+    public List<DomainEvent> getChanges() {
+        return List.copyOf(changes);
+    }
+    
+    /**
+     * Forgets the recorded events once the repository has stored them
+     */
+    public void clearChanges() {
+        changes.clear();
+    }
+    
+    /**
+     * Forgets the recorded events once they are appended to the loan's stream, which is now at the given version
+     */
+    public void changesAppended(long streamVersion) {
+        changes.clear();
+        this.version = streamVersion;
+    }
+    
+    private void recordChange(DomainEvent event) {
+        apply(event);
+        changes.add(event);
+    }
+    
+    private void apply(DomainEvent event) {
+        switch (event) {
+            case BookBorrowedEvent borrowed -> {
+                this.id = borrowed.loanId();
+                this.bookId = borrowed.bookId();
+                this.memberId = borrowed.memberId();
+                this.borrowedDate = borrowed.occurredOn().toLocalDate();
+                this.dueDate = borrowed.dueDate();
+                this.status = LoanStatus.ACTIVE;
+                this.returnedDate = null;
+            }
+            case LoanExtendedEvent extended -> {
+                this.dueDate = extended.newDueDate();
+                this.status = LoanStatus.EXTENDED;
+                // The new due date may be in the future again, so it can become overdue anew
+                this.overdueNotifiedOn = null;
+            }
+            case BookReturnedEvent returned -> {
+                this.returnedDate = returned.returnedDate();
+                this.status = LoanStatus.RETURNED;
+            }
+            case LoanOverdueNotifiedEvent notified -> this.overdueNotifiedOn = notified.notifiedOn();
+            case LoanNoteAddedEvent added -> this.notes = notes == null ? added.note() : notes + "\n" + added.note();
+            default -> throw new IllegalArgumentException("Not a loan event: " + event.getEventType());
         }
     }
     
+    private void restore(LoanSnapshot snapshot) {
+        this.id = snapshot.loanId();
+        this.bookId = snapshot.bookId();
+        this.memberId = snapshot.memberId();
+        this.borrowedDate = snapshot.borrowedDate();
+        this.dueDate = snapshot.dueDate();
+        this.returnedDate = snapshot.returnedDate();
+        this.status = snapshot.status();
+        this.notes = snapshot.notes();
+        this.overdueNotifiedOn = snapshot.overdueNotifiedOn();
+    }
+    
     // Getters
+    @Override
     public LoanId getId() {
         return id;
     }
     
+    /**
+     * True before the first persist (no version yet)
+     */
+    @Override
+    public boolean isNew() {
+        return version == null;
+    }
+    
+    /**
+     * Row version under JPA, stream version under event sourcing; null before the first save
+     */
+    public Long getVersion() {
+        return version;
+    }
+    
     public BookId getBookId() {
         return bookId;
     }
@@ -187,6 +345,10 @@ public class Loan {
         return notes;
     }
     
+    public LocalDate getOverdueNotifiedOn() {
+        return overdueNotifiedOn;
+    }
+    
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -0,0 +1,23 @@
+package be.ucll.craftmanship.DDDDemo.library.domain.aggregates;
+
+import be.ucll.craftmanship.DDDDemo.library.domain.valueobjects.BookId;
+import be.ucll.craftmanship.DDDDemo.library.domain.valueobjects.LoanId;
+import be.ucll.craftmanship.DDDDemo.library.domain.valueobjects.MemberId;
+
+import java.time.LocalDate;
+
+/**
+ * Full state of a Loan at one version of its event stream
+ * Replay starts here instead of at the BookBorrowedEvent.
+ */
+public record LoanSnapshot(
+    LoanId loanId,
+    BookId bookId,
+    MemberId memberId,
+    LocalDate borrowedDate,
+    LocalDate dueDate,
+    LocalDate returnedDate,
+    LoanStatus status,
+    String notes,
+    LocalDate overdueNotifiedOn
+) {}
@@ -3,6 +3,8 @@ package be.ucll.craftmanship.DDDDemo.library.domain.entities;
 import be.ucll.craftmanship.DDDDemo.library.domain.valueobjects.BookId;
 import be.ucll.craftmanship.DDDDemo.library.domain.valueobjects.ISBN;
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
+import org.springframework.data.domain.Persistable;
 
 /**
  * ENTITY: Book
@@ -13,13 +15,21 @@ import jakarta.persistence.*;
  */
 @Entity
 @Table(name = "books")
-public class Book {
+public class Book implements Persistable<BookId> {
     
     @EmbeddedId
     private BookId id;
     
-    @Embedded
-    @AttributeOverride(name = "value", column = @Column(name = "isbn", unique = true))
+    // Optimistic lock: two concurrent borrows of the same book can't both commit.
+    // Null until first persisted, which is what isNew() reports to Spring Data.
+    // Rows created before this column existed start at 0.
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+    
+    // Basic column read through ISBNConverter
+    @Column(name = "isbn", unique = true)
     private ISBN isbn;
     
     @Column(nullable = false)
@@ -78,10 +88,19 @@ public class Book {
     }
     
     // Getters
+    @Override
     public BookId getId() {
         return id;
     }
     
+    /**
+     * New until persist assigns the first version, so save() inserts without a SELECT first
+     */
+    @Override
+    public boolean isNew() {
+        return version == null;
+    }
+    
     public ISBN getIsbn() {
         return isbn;
     }
@@ -4,6 +4,8 @@ import be.ucll.craftmanship.DDDDemo.library.domain.valueobjects.Address;
 import be.ucll.craftmanship.DDDDemo.library.domain.valueobjects.Email;
 import be.ucll.craftmanship.DDDDemo.library.domain.valueobjects.MemberId;
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
+import org.springframework.data.domain.Persistable;
 
 import java.time.LocalDate;
 
@@ -16,16 +18,21 @@ import java.time.LocalDate;
  */
 @Entity
 @Table(name = "members")
-public class Member {
+public class Member implements Persistable<MemberId> {
     
     @EmbeddedId
     private MemberId id;
     
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+    
     @Column(nullable = false)
     private String name;
     
-    @Embedded
-    @AttributeOverride(name = "value", column = @Column(name = "email", unique = true))
+    // Basic column read through EmailConverter
+    @Column(name = "email", unique = true)
     private Email email;
     
     @Embedded
@@ -43,6 +50,16 @@ public class Member {
     @Column(nullable = false)
     private boolean active;
     
+    @Enumerated(EnumType.STRING)
+    @ColumnDefault("'STANDARD'")
+    @Column(nullable = false)
+    private MemberTier tier;
+    
+    // Open (ACTIVE or EXTENDED) loans, maintained by MemberRepository.reserveLoanSlot/releaseLoanSlot
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private int activeLoans;
+    
     // JPA requires default constructor
     protected Member() {}
     
@@ -66,6 +83,8 @@ public class Member {
         this.address = address;
         this.memberSince = LocalDate.now();
         this.active = true;
+        this.tier = MemberTier.STANDARD;
+        this.activeLoans = 0;
     }
     
     // Business methods
@@ -98,11 +117,27 @@ public class Member {
         this.active = true;
     }
     
+    public void changeTier(MemberTier newTier) {
+        if (newTier == null) {
+            throw new IllegalArgumentException("Tier cannot be null");
+        }
+        this.tier = newTier;
+    }
+    
     // Getters
+    @Override
     public MemberId getId() {
         return id;
     }
     
+    /**
+     * Spring Data's new-entity check, the assigned id can't tell it
+     */
+    @Override
+    public boolean isNew() {
+        return version == null;
+    }
+    
     public String getName() {
         return name;
     }
@@ -123,6 +158,14 @@ public class Member {
         return active;
     }
     
+    public MemberTier getTier() {
+        return tier;
+    }
+    
+    public int getActiveLoans() {
+        return activeLoans;
+    }
+    
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -0,0 +1,10 @@
+package be.ucll.craftmanship.DDDDemo.library.domain.entities;
+
+/**
+ * Membership tier, determines how many books a member may have on loan
+ */
+public enum MemberTier {
+    STANDARD,
+    PREMIUM,
+    STAFF
+}
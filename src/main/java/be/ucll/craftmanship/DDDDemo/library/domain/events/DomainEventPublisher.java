@@ -0,0 +1,12 @@
+package be.ucll.craftmanship.DDDDemo.library.domain.events;
+
+/**
+ * Port for publishing domain events
+ * 
+ * The domain and application layers only know this interface;
+ * how events reach their subscribers is an infrastructure concern.
+ */
+public interface DomainEventPublisher {
+    
+    void publish(DomainEvent event);
+}
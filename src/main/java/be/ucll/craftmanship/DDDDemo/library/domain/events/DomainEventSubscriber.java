@@ -0,0 +1,16 @@
+package be.ucll.craftmanship.DDDDemo.library.domain.events;
+
+/**
+ * Typed subscriber for domain events
+ * 
+ * A subscriber receives every published event that is an instance of
+ * its event type (subscribing to DomainEvent receives all events).
+ * Subscribers are called off the request thread, after the transaction
+ * that produced the event has committed.
+ */
+public interface DomainEventSubscriber<E extends DomainEvent> {
+    
+    Class<E> eventType();
+    
+    void handle(E event);
+}
@@ -0,0 +1,44 @@
+package be.ucll.craftmanship.DDDDemo.library.domain.events;
+
+import be.ucll.craftmanship.DDDDemo.library.domain.valueobjects.LoanId;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * DOMAIN EVENT: LoanNoteAddedEvent
+ * 
+ * Recorded by a Loan when staff add a note to it; part of the loan's
+ * event stream, not published to subscribers
+ */
+public record LoanNoteAddedEvent(
+    UUID eventId,
+    LocalDateTime occurredOn,
+    LoanId loanId,
+    String note
+) implements DomainEvent {
+    
+    public LoanNoteAddedEvent(LoanId loanId, String note) {
+        this(UUID.randomUUID(), LocalDateTime.now(), loanId, note);
+    }
+    
+    @Override
+    public UUID getEventId() {
+        return eventId;
+    }
+    
+    @Override
+    public LocalDateTime getOccurredOn() {
+        return occurredOn;
+    }
+    
+    @Override
+    public String getEventType() {
+        return "LoanNoteAdded";
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("LoanNoteAddedEvent[loanId=%s]", loanId);
+    }
+}
@@ -3,6 +3,7 @@ package be.ucll.craftmanship.DDDDemo.library.domain.events;
 import be.ucll.craftmanship.DDDDemo.library.domain.valueobjects.BookId;
 import be.ucll.craftmanship.DDDDemo.library.domain.valueobjects.LoanId;
 import be.ucll.craftmanship.DDDDemo.library.domain.valueobjects.MemberId;
+import be.ucll.craftmanship.DDDDemo.library.domain.valueobjects.Money;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -26,7 +27,8 @@ public record LoanOverdueEvent(
     BookId bookId,
     MemberId memberId,
     LocalDate dueDate,
-    long daysOverdue
+    long daysOverdue,
+    Money lateFee
 ) implements DomainEvent {
     
     public LoanOverdueEvent(
@@ -34,7 +36,8 @@ public record LoanOverdueEvent(
         BookId bookId,
         MemberId memberId,
         LocalDate dueDate,
-        long daysOverdue
+        long daysOverdue,
+        Money lateFee
     ) {
         this(
             UUID.randomUUID(),
@@ -43,7 +46,8 @@ public record LoanOverdueEvent(
             bookId,
             memberId,
             dueDate,
-            daysOverdue
+            daysOverdue,
+            lateFee
         );
     }
     
@@ -64,8 +68,8 @@ public record LoanOverdueEvent(
     
     @Override
     public String toString() {
-        return String.format("LoanOverdueEvent[loanId=%s, bookId=%s, memberId=%s, daysOverdue=%d]",
-            loanId, bookId, memberId, daysOverdue);
+        return String.format("LoanOverdueEvent[loanId=%s, bookId=%s, memberId=%s, daysOverdue=%d, lateFee=%s]",
+            loanId, bookId, memberId, daysOverdue, lateFee);
     }
 }
 
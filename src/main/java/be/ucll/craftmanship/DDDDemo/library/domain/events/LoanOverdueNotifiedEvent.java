@@ -0,0 +1,46 @@
+package be.ucll.craftmanship.DDDDemo.library.domain.events;
+
+import be.ucll.craftmanship.DDDDemo.library.domain.valueobjects.LoanId;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * DOMAIN EVENT: LoanOverdueNotifiedEvent
+ * 
+ * Recorded by a Loan when it is announced as overdue. The announcement
+ * itself, with the fee, is the LoanOverdueEvent published by the sweep;
+ * this is only the state change of the loan, for its event stream.
+ */
+public record LoanOverdueNotifiedEvent(
+    UUID eventId,
+    LocalDateTime occurredOn,
+    LoanId loanId,
+    LocalDate notifiedOn
+) implements DomainEvent {
+    
+    public LoanOverdueNotifiedEvent(LoanId loanId, LocalDate notifiedOn) {
+        this(UUID.randomUUID(), LocalDateTime.now(), loanId, notifiedOn);
+    }
+    
+    @Override
+    public UUID getEventId() {
+        return eventId;
+    }
+    
+    @Override
+    public LocalDateTime getOccurredOn() {
+        return occurredOn;
+    }
+    
+    @Override
+    public String getEventType() {
+        return "LoanOverdueNotified";
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("LoanOverdueNotifiedEvent[loanId=%s, notifiedOn=%s]", loanId, notifiedOn);
+    }
+}
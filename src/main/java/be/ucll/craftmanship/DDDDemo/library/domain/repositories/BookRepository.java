@@ -3,11 +3,21 @@ package be.ucll.craftmanship.DDDDemo.library.domain.repositories;
 import be.ucll.craftmanship.DDDDemo.library.domain.entities.Book;
 import be.ucll.craftmanship.DDDDemo.library.domain.valueobjects.BookId;
 import be.ucll.craftmanship.DDDDemo.library.domain.valueobjects.ISBN;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 /**
  * Repository for Book Entity
@@ -44,5 +54,38 @@ public interface BookRepository extends JpaRepository<Book, BookId> {
      * Checks if a book with given ISBN exists
      */
     boolean existsByIsbn(ISBN isbn);
+    
+    /**
+     * Finds a book and locks its row (SELECT ... FOR UPDATE) until the transaction ends
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM Book b WHERE b.id = :id")
+    Optional<Book> findByIdForUpdate(BookId id);
+    
+    /**
+     * Keyset page: books ordered by id, starting after the given id
+     */
+    @Query("SELECT b FROM Book b WHERE b.id.value > :after ORDER BY b.id.value")
+    List<Book> findPageAfter(UUID after, Limit limit);
+    
+    /**
+     * Keyset page: available books ordered by id, starting after the given id
+     */
+    @Query("SELECT b FROM Book b WHERE b.available = true AND b.id.value > :after ORDER BY b.id.value")
+    List<Book> findAvailablePageAfter(UUID after, Limit limit);
+    
+    /**
+     * Streams all books with a JDBC fetch size, must be consumed inside a transaction
+     */
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT b FROM Book b ORDER BY b.id.value")
+    Stream<Book> streamAll();
+    
+    /**
+     * Streams all available books with a JDBC fetch size, must be consumed inside a transaction
+     */
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT b FROM Book b WHERE b.available = true ORDER BY b.id.value")
+    Stream<Book> streamAvailable();
 }
 
@@ -0,0 +1,30 @@
+package be.ucll.craftmanship.DDDDemo.library.domain.repositories;
+
+import be.ucll.craftmanship.DDDDemo.library.domain.aggregates.Loan;
+import be.ucll.craftmanship.DDDDemo.library.domain.valueobjects.LoanId;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Loading and saving whole Loan aggregates
+ * 
+ * Overrides the JpaRepository methods of the same name in LoanRepository.
+ * The implementation either maps a loan to its row, or appends its changes
+ * to the loan's event stream and rebuilds it by replay
+ * (library.loans.event-store.enabled). The finders of LoanRepository read
+ * the loans rows in both modes.
+ */
+public interface LoanAggregateStore {
+    
+    <S extends Loan> S save(S loan);
+    
+    /**
+     * Saves many loans at once; under event sourcing their events are appended in one batch
+     */
+    <S extends Loan> List<S> saveAll(Iterable<S> loans);
+    
+    Optional<Loan> findById(LoanId id);
+    
+    List<Loan> findAllById(Iterable<LoanId> ids);
+}
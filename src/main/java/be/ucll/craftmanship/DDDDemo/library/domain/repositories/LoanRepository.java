@@ -5,13 +5,21 @@ import be.ucll.craftmanship.DDDDemo.library.domain.aggregates.LoanStatus;
 import be.ucll.craftmanship.DDDDemo.library.domain.valueobjects.BookId;
 import be.ucll.craftmanship.DDDDemo.library.domain.valueobjects.LoanId;
 import be.ucll.craftmanship.DDDDemo.library.domain.valueobjects.MemberId;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 /**
  * DDD REPOSITORY: LoanRepository
@@ -23,9 +31,24 @@ import java.util.Optional;
  * - Hides database implementation details from domain
  * 
  * IMPORTANT: In DDD, you save/load ENTIRE aggregates, not parts of them
+ * save, saveAll, findById and findAllById come from LoanAggregateStore.
  */
 @Repository
-public interface LoanRepository extends JpaRepository<Loan, LoanId> {
+public interface LoanRepository extends JpaRepository<Loan, LoanId>, LoanAggregateStore {
+    
+    /**
+     * Implemented by the LoanAggregateStore fragment
+     * Declared here as well, so calls don't have to choose between the
+     * fragment's save and the one inherited from CrudRepository
+     */
+    @Override
+    <S extends Loan> S save(S loan);
+    
+    /**
+     * Implemented by the LoanAggregateStore fragment, declared here for the same reason as save
+     */
+    @Override
+    Optional<Loan> findById(LoanId id);
     
     /**
      * Finds all active loans for a specific member
@@ -58,11 +81,100 @@ public interface LoanRepository extends JpaRepository<Loan, LoanId> {
      */
     long countByMemberIdAndStatus(MemberId memberId, LoanStatus status);
     
+    /**
+     * Counts open loans per member, for every member that has any
+     * Used to rebuild the maintained Member.activeLoans counters
+     */
+    @Query("SELECT l.memberId AS memberId, COUNT(l) AS loanCount FROM Loan l " +
+           "WHERE l.status IN :statuses GROUP BY l.memberId")
+    List<MemberLoanCount> countByStatusGroupByMember(Collection<LoanStatus> statuses);
+    
     /**
      * Finds all loans due within a certain number of days
      * Useful for sending reminder notifications
      */
     @Query("SELECT l FROM Loan l WHERE l.dueDate BETWEEN :startDate AND :endDate AND l.status != 'RETURNED'")
     List<Loan> findLoansDueBetween(LocalDate startDate, LocalDate endDate);
+    
+    /**
+     * Keyset page: overdue loans ordered by (dueDate, id), starting after the given key
+     */
+    @Query("SELECT l FROM Loan l WHERE l.dueDate < :today AND l.status != 'RETURNED' " +
+           "AND (l.dueDate > :afterDueDate OR (l.dueDate = :afterDueDate AND l.id.value > :afterId)) " +
+           "ORDER BY l.dueDate, l.id.value")
+    List<Loan> findOverdueLoansPageAfter(LocalDate today, LocalDate afterDueDate, UUID afterId, Limit limit);
+    
+    /**
+     * Keyset page of overdue loans that have not been announced yet, ordered by due date then id
+     * Returns only the keys, the overdue sweep loads each chunk in its own transaction
+     */
+    @Query("SELECT l.id.value AS id, l.dueDate AS dueDate FROM Loan l " +
+           "WHERE l.dueDate < :today AND l.status != 'RETURNED' AND l.overdueNotifiedOn IS NULL " +
+           "AND (l.dueDate > :afterDueDate OR (l.dueDate = :afterDueDate AND l.id.value > :afterId)) " +
+           "ORDER BY l.dueDate, l.id.value")
+    List<OverdueCandidate> findNewlyOverduePageAfter(LocalDate today, LocalDate afterDueDate, UUID afterId, Limit limit);
+    
+    /**
+     * Streams overdue loans with a JDBC fetch size, must be consumed inside a transaction
+     */
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT l FROM Loan l WHERE l.dueDate < :today AND l.status != 'RETURNED' ORDER BY l.dueDate, l.id.value")
+    Stream<Loan> streamOverdueLoans(LocalDate today);
+    
+    /**
+     * Streams (id, member, due date) of every open loan, must be consumed inside a transaction
+     */
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "5000"))
+    @Query("SELECT l.id.value AS loanId, l.memberId AS memberId, l.dueDate AS dueDate FROM Loan l " +
+           "WHERE l.status != 'RETURNED'")
+    Stream<OpenLoanDue> streamOpenLoanDueDates();
+    
+    /**
+     * Counts a member's open loans due before the given day
+     */
+    long countByMemberIdAndStatusNotAndDueDateBefore(MemberId memberId, LoanStatus status, LocalDate day);
+    
+    /**
+     * Keyset page: a member's loans with the given status ordered by id, starting after the given id
+     */
+    @Query("SELECT l FROM Loan l WHERE l.memberId = :memberId AND l.status = :status " +
+           "AND l.id.value > :after ORDER BY l.id.value")
+    List<Loan> findByMemberIdAndStatusPageAfter(MemberId memberId, LoanStatus status, UUID after, Limit limit);
+    
+    /**
+     * Streams a member's loans with the given status, must be consumed inside a transaction
+     */
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT l FROM Loan l WHERE l.memberId = :memberId AND l.status = :status ORDER BY l.id.value")
+    Stream<Loan> streamByMemberIdAndStatus(MemberId memberId, LoanStatus status);
+    
+    /**
+     * Projection for rebuilding the due-date index
+     */
+    interface OpenLoanDue {
+        UUID getLoanId();
+        
+        MemberId getMemberId();
+        
+        LocalDate getDueDate();
+    }
+    
+    /**
+     * Keyset projection for the overdue sweep
+     */
+    interface OverdueCandidate {
+        UUID getId();
+        
+        LocalDate getDueDate();
+    }
+    
+    /**
+     * Projection for per-member loan counts
+     */
+    interface MemberLoanCount {
+        MemberId getMemberId();
+        
+        long getLoanCount();
+    }
 }
 
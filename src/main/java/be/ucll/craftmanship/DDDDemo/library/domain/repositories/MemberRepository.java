@@ -3,11 +3,20 @@ package be.ucll.craftmanship.DDDDemo.library.domain.repositories;
 import be.ucll.craftmanship.DDDDemo.library.domain.entities.Member;
 import be.ucll.craftmanship.DDDDemo.library.domain.valueobjects.Email;
 import be.ucll.craftmanship.DDDDemo.library.domain.valueobjects.MemberId;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 /**
  * Repository for Member Entity
@@ -31,9 +40,96 @@ public interface MemberRepository extends JpaRepository<Member, MemberId> {
      */
     List<Member> findByNameContainingIgnoreCase(String name);
     
+    /**
+     * Finds all members living in a postal code area
+     */
+    List<Member> findByAddressPostalCode(String postalCode);
+    
+    /**
+     * Name autocomplete with PostgreSQL pg_trgm: prefix matches first, then by trigram similarity
+     * Both conditions can use a GIN index on lower(name) gin_trgm_ops
+     */
+    @Query(nativeQuery = true, value =
+        "SELECT * FROM members WHERE lower(name) LIKE :query || '%' OR lower(name) % :query " +
+        "ORDER BY (lower(name) LIKE :query || '%') DESC, similarity(lower(name), :query) DESC " +
+        "LIMIT :limit")
+    List<Member> findByNameTrigram(String query, int limit);
+    
     /**
      * Checks if a member with given email exists
      */
     boolean existsByEmail(Email email);
+    
+    /**
+     * Keyset page: members ordered by id, starting after the given id
+     */
+    @Query("SELECT m FROM Member m WHERE m.id.value > :after ORDER BY m.id.value")
+    List<Member> findPageAfter(UUID after, Limit limit);
+    
+    /**
+     * Keyset page: active members ordered by id, starting after the given id
+     */
+    @Query("SELECT m FROM Member m WHERE m.active = true AND m.id.value > :after ORDER BY m.id.value")
+    List<Member> findActivePageAfter(UUID after, Limit limit);
+    
+    /**
+     * Streams all members with a JDBC fetch size, must be consumed inside a transaction
+     */
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT m FROM Member m ORDER BY m.id.value")
+    Stream<Member> streamAll();
+    
+    /**
+     * Streams all active members with a JDBC fetch size, must be consumed inside a transaction
+     */
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT m FROM Member m WHERE m.active = true ORDER BY m.id.value")
+    Stream<Member> streamActive();
+    
+    /**
+     * Takes n loan slots at once if the member stays within the limit
+     * Check and increment are a single atomic UPDATE, returns 0 (and takes nothing) when
+     * the n slots would exceed the limit.
+     * Bumps the version so a concurrent save of a stale Member can't overwrite the counter.
+     */
+    @Modifying
+    @Query("UPDATE Member m SET m.activeLoans = m.activeLoans + :n, m.version = m.version + 1 " +
+           "WHERE m.id = :id AND m.activeLoans + :n <= :limit")
+    int reserveLoanSlots(MemberId id, int n, int limit);
+    
+    /**
+     * Takes one loan slot if the member is below the limit, returns 0 when the limit is reached
+     */
+    default int reserveLoanSlot(MemberId id, int limit) {
+        return reserveLoanSlots(id, 1, limit);
+    }
+    
+    /**
+     * Gives back n loan slots when loans are closed, never going below 0
+     */
+    @Modifying
+    @Query("UPDATE Member m SET m.activeLoans = CASE WHEN m.activeLoans > :n THEN m.activeLoans - :n ELSE 0 END, " +
+           "m.version = m.version + 1 WHERE m.id = :id AND m.activeLoans > 0")
+    int releaseLoanSlots(MemberId id, int n);
+    
+    /**
+     * Gives back one loan slot when a loan is closed
+     */
+    default int releaseLoanSlot(MemberId id) {
+        return releaseLoanSlots(id, 1);
+    }
+    
+    /**
+     * Overwrites a member's loan counter, used to rebuild it from the loans table
+     */
+    @Modifying
+    @Query("UPDATE Member m SET m.activeLoans = :activeLoans, m.version = m.version + 1 WHERE m.id = :id")
+    int setActiveLoans(MemberId id, int activeLoans);
+    
+    /**
+     * Resets every member's loan counter, used to rebuild it from the loans table
+     */
+    @Modifying
+    @Query("UPDATE Member m SET m.activeLoans = 0, m.version = m.version + 1 WHERE m.activeLoans <> 0")
+    int resetActiveLoans();
 }
-
@@ -0,0 +1,79 @@
+package be.ucll.craftmanship.DDDDemo.library.domain.services;
+
+import be.ucll.craftmanship.DDDDemo.library.domain.valueobjects.FeePolicy;
+import be.ucll.craftmanship.DDDDemo.library.domain.valueobjects.FeeTier;
+
+import java.util.List;
+
+/**
+ * A FeePolicy compiled into a cumulative fee table
+ * 
+ * cumulative[d] is the fee for d chargeable days up to the start of the last
+ * tier; past that the fee grows linearly at the last tier's rate. Any day
+ * count is therefore one array read or one multiply-add. Immutable, so a
+ * schedule can be shared between threads and replaced as a whole.
+ */
+final class FeeSchedule {
+    
+    private final FeePolicy policy;
+    private final long[] cumulative;
+    private final long[] dailyRate;
+    private final long lastRate;
+    private final long cap;
+    
+    FeeSchedule(FeePolicy policy) {
+        this.policy = policy;
+        
+        List<FeeTier> tiers = policy.tiers();
+        FeeTier last = tiers.get(tiers.size() - 1);
+        int tableDays = last.fromDay() - 1;
+        
+        this.cumulative = new long[tableDays + 1];
+        this.dailyRate = new long[tableDays + 1];
+        int tier = 0;
+        for (int day = 1; day <= tableDays; day++) {
+            while (tier + 1 < tiers.size() && tiers.get(tier + 1).fromDay() <= day) {
+                tier++;
+            }
+            dailyRate[day] = tiers.get(tier).centsPerDay();
+            cumulative[day] = Math.addExact(cumulative[day - 1], dailyRate[day]);
+        }
+        this.lastRate = last.centsPerDay();
+        this.cap = policy.capCents() == null ? Long.MAX_VALUE : policy.capCents();
+    }
+    
+    FeePolicy policy() {
+        return policy;
+    }
+    
+    String currency() {
+        return policy.currency();
+    }
+    
+    /**
+     * Fee in minor units for a loan that is the given number of days overdue
+     */
+    long feeCents(long daysOverdue) {
+        long days = daysOverdue - policy.graceDays();
+        if (days <= 0) {
+            return 0;
+        }
+        
+        int tableDays = cumulative.length - 1;
+        long fee = days <= tableDays
+            ? cumulative[(int) days]
+            : Math.addExact(cumulative[tableDays], Math.multiplyExact(days - tableDays, lastRate));
+        return Math.min(fee, cap);
+    }
+    
+    /**
+     * Daily rate charged on the given overdue day, 0 inside the grace period
+     */
+    long dailyRateCents(long daysOverdue) {
+        long day = daysOverdue - policy.graceDays();
+        if (day <= 0) {
+            return 0;
+        }
+        return day < dailyRate.length ? dailyRate[(int) day] : lastRate;
+    }
+}
@@ -1,25 +1,41 @@
 package be.ucll.craftmanship.DDDDemo.library.domain.services;
 
 import be.ucll.craftmanship.DDDDemo.library.domain.aggregates.Loan;
+import be.ucll.craftmanship.DDDDemo.library.domain.entities.MemberTier;
+import be.ucll.craftmanship.DDDDemo.library.domain.valueobjects.FeePolicy;
+import be.ucll.craftmanship.DDDDemo.library.domain.valueobjects.LoanId;
+import be.ucll.craftmanship.DDDDemo.library.domain.valueobjects.MemberId;
 import be.ucll.craftmanship.DDDDemo.library.domain.valueobjects.Money;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
 /**
  * DOMAIN SERVICE: LateFeeCalculationService
  * 
  * WHY A DOMAIN SERVICE?
- * - Stateless operation
  * - Business logic that doesn't naturally belong to Loan, Book, or Member
  * - Calculation involves business rules that might depend on:
  *   - Number of days overdue
- *   - Book type (e.g., rare books have higher fees)
- *   - Member type (e.g., students get discounted fees)
+ *   - Member type (e.g., staff get different fees)
  *   - Library policies
  * 
  * This prevents "anemic domain model" by keeping business logic in domain layer,
  * not in application services.
  * 
- * Business Rules:
+ * Fee rules are FeePolicy data, one per member tier, compiled into cumulative
+ * tables (FeeSchedule) so a fee for any number of days is O(1). Replacing a
+ * policy swaps in a new immutable table set: running calculations finish on
+ * the old one, new calculations see the new one, nothing is half-updated.
+ * The policies themselves are stored outside this service (FeePolicyStore);
+ * this is the compiled copy of one node, loaded and refreshed from there.
+ * 
+ * Default policy for every tier:
  * - First 7 days: €0.50 per day
  * - 8-14 days: €1.00 per day
  * - 15+ days: €2.00 per day
@@ -27,56 +43,108 @@ import org.springframework.stereotype.Service;
 @Service
 public class LateFeeCalculationService {
     
-    private static final Money TIER_1_FEE = Money.euro(0.50); // First 7 days
-    private static final Money TIER_2_FEE = Money.euro(1.00); // Days 8-14
-    private static final Money TIER_3_FEE = Money.euro(2.00); // Days 15+
+    private static final MemberTier DEFAULT_TIER = MemberTier.STANDARD;
+    
+    private volatile Map<MemberTier, FeeSchedule> schedules;
+    
+    public LateFeeCalculationService() {
+        Map<MemberTier, FeeSchedule> initial = new EnumMap<>(MemberTier.class);
+        FeeSchedule standard = new FeeSchedule(FeePolicy.standard());
+        for (MemberTier tier : MemberTier.values()) {
+            initial.put(tier, standard);
+        }
+        this.schedules = initial;
+    }
     
     /**
-     * Calculates late fee for an overdue loan
+     * Calculates late fee for an overdue loan under the standard policy
      * 
      * @param loan The overdue loan
      * @return The calculated late fee
      * @throws IllegalArgumentException if loan is not overdue
      */
     public Money calculateLateFee(Loan loan) {
+        return calculateLateFee(loan, DEFAULT_TIER);
+    }
+    
+    /**
+     * Calculates late fee for an overdue loan under the policy of the member's tier
+     */
+    public Money calculateLateFee(Loan loan, MemberTier tier) {
         if (!loan.isOverdue()) {
             throw new IllegalArgumentException("Cannot calculate late fee for non-overdue loan");
         }
         
-        long daysOverdue = loan.getDaysOverdue();
-        return calculateFeeByDays(daysOverdue);
+        FeeSchedule schedule = schedule(tier);
+        return new Money(schedule.feeCents(loan.getDaysOverdue()), schedule.currency());
+    }
+    
+    /**
+     * Late fee for a number of days overdue under the policy of the tier, zero for 0 days
+     * For callers that only keep the due date of a loan, not the Loan itself.
+     */
+    public Money calculateLateFee(long daysOverdue, MemberTier tier) {
+        FeeSchedule schedule = schedule(tier);
+        return new Money(schedule.feeCents(daysOverdue), schedule.currency());
     }
     
     /**
-     * Calculates fee based on number of days overdue
+     * Late fee in minor units under the standard policy as of the given day, 0 if not overdue
      * 
-     * Business Logic:
-     * - Days 1-7: €0.50/day
-     * - Days 8-14: €1.00/day
-     * - Days 15+: €2.00/day
+     * Allocation-free: for fee runs over many loans that pass the same
+     * "today" and sum the cents, converting to Money once at the end.
      */
-    private Money calculateFeeByDays(long daysOverdue) {
-        Money totalFee = Money.euro(0);
-        
-        // Tier 1: First 7 days at €0.50/day
-        if (daysOverdue > 0) {
-            long tier1Days = Math.min(daysOverdue, 7);
-            totalFee = totalFee.add(TIER_1_FEE.multiply((int) tier1Days));
-        }
+    public long calculateLateFeeCents(Loan loan, LocalDate today) {
+        return schedule(DEFAULT_TIER).feeCents(loan.getDaysOverdue(today));
+    }
+    
+    /**
+     * Late fees for many loans, all under the standard policy
+     */
+    public Map<LoanId, Money> calculateLateFees(Collection<Loan> loans) {
+        return calculateLateFees(loans, memberId -> DEFAULT_TIER);
+    }
+    
+    /**
+     * Late fees for many loans, each under the policy of its member's tier
+     * Loans that are not overdue get a zero fee.
+     */
+    public Map<LoanId, Money> calculateLateFees(Collection<Loan> loans, Function<MemberId, MemberTier> tierOf) {
+        return calculateLateFees(loans, tierOf, LocalDate.now());
+    }
+    
+    /**
+     * Late fees for many loans as of the given day, each under the policy of its member's tier
+     */
+    public Map<LoanId, Money> calculateLateFees(
+        Collection<Loan> loans,
+        Function<MemberId, MemberTier> tierOf,
+        LocalDate today
+    ) {
+        Map<MemberTier, FeeSchedule> snapshot = schedules;
         
-        // Tier 2: Days 8-14 at €1.00/day
-        if (daysOverdue > 7) {
-            long tier2Days = Math.min(daysOverdue - 7, 7);
-            totalFee = totalFee.add(TIER_2_FEE.multiply((int) tier2Days));
+        Map<LoanId, Money> fees = new LinkedHashMap<>();
+        for (Loan loan : loans) {
+            FeeSchedule schedule = snapshot.get(tierOf.apply(loan.getMemberId()));
+            fees.put(loan.getId(), new Money(schedule.feeCents(loan.getDaysOverdue(today)), schedule.currency()));
         }
-        
-        // Tier 3: Days 15+ at €2.00/day
-        if (daysOverdue > 14) {
-            long tier3Days = daysOverdue - 14;
-            totalFee = totalFee.add(TIER_3_FEE.multiply((int) tier3Days));
+        return fees;
+    }
+    
+    /**
+     * Bulk fee run: fee in minor units per loan, in iteration order
+     * 
+     * Reads the policy tables once, so the whole run uses one consistent
+     * set of policies even if they are replaced half-way through.
+     */
+    public long[] calculateLateFeeCents(Collection<Loan> loans, Function<MemberId, MemberTier> tierOf, LocalDate today) {
+        Map<MemberTier, FeeSchedule> snapshot = schedules;
+        long[] cents = new long[loans.size()];
+        int i = 0;
+        for (Loan loan : loans) {
+            cents[i++] = snapshot.get(tierOf.apply(loan.getMemberId())).feeCents(loan.getDaysOverdue(today));
         }
-        
-        return totalFee;
+        return cents;
     }
     
     /**
@@ -84,25 +152,67 @@ public class LateFeeCalculationService {
      * Useful for showing warnings to members
      */
     public Money estimateFutureLateFee(int projectedDaysLate) {
-        if (projectedDaysLate <= 0) {
-            return Money.euro(0);
-        }
-        return calculateFeeByDays(projectedDaysLate);
+        FeeSchedule schedule = schedule(DEFAULT_TIER);
+        return new Money(schedule.feeCents(projectedDaysLate), schedule.currency());
     }
     
     /**
      * Calculates daily late fee rate based on how many days overdue
      */
     public Money getCurrentDailyRate(long daysOverdue) {
-        if (daysOverdue <= 0) {
-            return Money.euro(0);
-        } else if (daysOverdue <= 7) {
-            return TIER_1_FEE;
-        } else if (daysOverdue <= 14) {
-            return TIER_2_FEE;
-        } else {
-            return TIER_3_FEE;
+        FeeSchedule schedule = schedule(DEFAULT_TIER);
+        return new Money(schedule.dailyRateCents(daysOverdue), schedule.currency());
+    }
+    
+    /**
+     * Current policy per member tier
+     */
+    public Map<MemberTier, FeePolicy> getPolicies() {
+        Map<MemberTier, FeePolicy> policies = new EnumMap<>(MemberTier.class);
+        schedules.forEach((tier, schedule) -> policies.put(tier, schedule.policy()));
+        return policies;
+    }
+    
+    /**
+     * Replaces the policy for one member tier, effective for the next calculation
+     */
+    public void updatePolicy(MemberTier tier, FeePolicy policy) {
+        if (tier == null || policy == null) {
+            throw new IllegalArgumentException("Tier and policy are required");
+        }
+        FeeSchedule schedule = new FeeSchedule(policy);
+        synchronized (this) {
+            Map<MemberTier, FeeSchedule> next = new EnumMap<>(schedules);
+            next.put(tier, schedule);
+            schedules = next;
         }
     }
+    
+    /**
+     * Replaces all policies at once, tiers missing from the map fall back to the standard policy
+     * Tiers whose policy is unchanged keep their compiled schedule.
+     * 
+     * @return the number of tiers whose policy changed
+     */
+    public int replacePolicies(Map<MemberTier, FeePolicy> policies) {
+        synchronized (this) {
+            Map<MemberTier, FeeSchedule> next = new EnumMap<>(schedules);
+            int changed = 0;
+            for (MemberTier tier : MemberTier.values()) {
+                FeePolicy policy = policies.getOrDefault(tier, FeePolicy.standard());
+                if (!policy.equals(next.get(tier).policy())) {
+                    next.put(tier, new FeeSchedule(policy));
+                    changed++;
+                }
+            }
+            if (changed > 0) {
+                schedules = next;
+            }
+            return changed;
+        }
+    }
+    
+    private FeeSchedule schedule(MemberTier tier) {
+        return schedules.get(tier);
+    }
 }
-
@@ -16,8 +16,11 @@ public record BookId(UUID value) {
         }
     }
     
+    /**
+     * New time-ordered id (UUIDv7); random v4 ids created before stay valid
+     */
     public static BookId generate() {
-        return new BookId(UUID.randomUUID());
+        return new BookId(TimeOrderedUuid.next());
     }
     
     public static BookId from(String uuid) {
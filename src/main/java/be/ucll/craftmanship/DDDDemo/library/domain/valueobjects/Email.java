@@ -5,17 +5,48 @@ package be.ucll.craftmanship.DDDDemo.library.domain.valueobjects;
  * - Immutable
  * - Validates email format
  * - No identity tracking needed
+ * 
+ * A class rather than a record so trusted values can skip the validation.
  */
-public record Email(String value) {
+public final class Email {
     
-    public Email {
+    private final String value;
+    
+    public Email(String value) {
         if (value == null || value.isBlank()) {
             throw new IllegalArgumentException("Email cannot be null or empty");
         }
         
-        if (!value.matches("^[A-Za-z0-9+_.-]+@[A-Za-z0-9.-]+\\.[A-Za-z]{2,}$")) {
+        if (!EmailFormat.isValid(value)) {
             throw new IllegalArgumentException("Invalid email format: " + value);
         }
+        this.value = value;
+    }
+    
+    private Email(String value, boolean trusted) {
+        this.value = value;
+    }
+    
+    /**
+     * Wraps an address without checking its format again
+     * Only for addresses this application validated before storing them (loaded rows).
+     */
+    public static Email trusted(String value) {
+        return new Email(value, true);
+    }
+    
+    public String value() {
+        return value;
+    }
+    
+    @Override
+    public boolean equals(Object o) {
+        return this == o || (o instanceof Email other && value.equals(other.value));
+    }
+    
+    @Override
+    public int hashCode() {
+        return value.hashCode();
     }
     
     @Override
@@ -23,4 +54,3 @@ public record Email(String value) {
         return value;
     }
 }
-
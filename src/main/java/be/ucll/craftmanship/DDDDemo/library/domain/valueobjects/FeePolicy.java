@@ -0,0 +1,54 @@
+package be.ucll.craftmanship.DDDDemo.library.domain.valueobjects;
+
+import java.util.List;
+
+/**
+ * VALUE OBJECT: FeePolicy
+ * - Late fee rules as data, so they can change without a code change
+ * - graceDays: overdue days that are not charged
+ * - tiers: daily rates by chargeable day, the first tier starts on day 1
+ * - capCents: maximum fee per loan, null for no cap
+ */
+public record FeePolicy(String currency, int graceDays, List<FeeTier> tiers, Long capCents) {
+    
+    // Tier boundaries are tabulated day by day, keep the table small
+    public static final int MAX_TIER_START_DAY = 3650;
+    
+    public FeePolicy {
+        if (currency == null || currency.isBlank()) {
+            throw new IllegalArgumentException("Currency cannot be null or empty");
+        }
+        if (graceDays < 0) {
+            throw new IllegalArgumentException("Grace days cannot be negative");
+        }
+        if (tiers == null || tiers.isEmpty()) {
+            throw new IllegalArgumentException("A fee policy needs at least one tier");
+        }
+        if (tiers.get(0).fromDay() != 1) {
+            throw new IllegalArgumentException("The first fee tier must start on day 1");
+        }
+        for (int i = 1; i < tiers.size(); i++) {
+            if (tiers.get(i).fromDay() <= tiers.get(i - 1).fromDay()) {
+                throw new IllegalArgumentException("Fee tiers must be in increasing day order");
+            }
+        }
+        if (tiers.get(tiers.size() - 1).fromDay() > MAX_TIER_START_DAY) {
+            throw new IllegalArgumentException("Fee tiers must start within " + MAX_TIER_START_DAY + " days");
+        }
+        if (capCents != null && capCents < 0) {
+            throw new IllegalArgumentException("Fee cap cannot be negative");
+        }
+        tiers = List.copyOf(tiers);
+    }
+    
+    /**
+     * The library's standard policy: €0.50/day for days 1-7, €1.00/day for 8-14, €2.00/day after
+     */
+    public static FeePolicy standard() {
+        return new FeePolicy(Money.EUR, 0, List.of(
+            new FeeTier(1, 50),
+            new FeeTier(8, 100),
+            new FeeTier(15, 200)
+        ), null);
+    }
+}
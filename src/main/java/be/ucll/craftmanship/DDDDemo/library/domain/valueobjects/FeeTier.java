@@ -0,0 +1,18 @@
+package be.ucll.craftmanship.DDDDemo.library.domain.valueobjects;
+
+/**
+ * VALUE OBJECT: FeeTier
+ * - Daily late fee charged from a given chargeable day onwards
+ * - A tier runs until the next tier of its policy starts, the last one is open-ended
+ */
+public record FeeTier(int fromDay, long centsPerDay) {
+    
+    public FeeTier {
+        if (fromDay < 1) {
+            throw new IllegalArgumentException("Fee tier must start on day 1 or later");
+        }
+        if (centsPerDay < 0) {
+            throw new IllegalArgumentException("Daily fee cannot be negative");
+        }
+    }
+}
@@ -2,30 +2,48 @@ package be.ucll.craftmanship.DDDDemo.library.domain.valueobjects;
 
 /**
  * VALUE OBJECT: ISBN
- * - Immutable (Java Record)
+ * - Immutable
  * - No unique ID
  * - Two ISBNs with same value are equal
- * - Validates format on creation
+ * - Validates format and check digit on creation
+ * - Normalized: "978-0-13-235088-4" and "9780132350884" are the same ISBN
+ * 
+ * A class rather than a record: a record can't be created without running
+ * its canonical constructor, and trusted values skip the validation.
  */
-public record ISBN(String value) {
-    
-    public ISBN {
-        if (value == null || value.isBlank()) {
-            throw new IllegalArgumentException("ISBN cannot be null or empty");
-        }
-        
-        // Remove hyphens for validation
-        String cleanedISBN = value.replace("-", "").replace(" ", "");
-        
-        if (cleanedISBN.length() != 10 && cleanedISBN.length() != 13) {
-            throw new IllegalArgumentException(
-                "ISBN must be either 10 or 13 characters long (excluding hyphens)"
-            );
-        }
-        
-        if (!cleanedISBN.matches("\\d+")) {
-            throw new IllegalArgumentException("ISBN must contain only digits");
-        }
+public final class ISBN {
+    
+    private final String value;
+    
+    public ISBN(String value) {
+        this.value = IsbnFormat.canonicalize(value);
+    }
+    
+    private ISBN(String canonical, boolean trusted) {
+        this.value = canonical;
+    }
+    
+    /**
+     * Wraps an ISBN that is already canonical without checking it again
+     * Only for values this application validated before storing them (loaded rows);
+     * anything coming from outside goes through the constructor.
+     */
+    public static ISBN trusted(String canonical) {
+        return new ISBN(canonical, true);
+    }
+    
+    public String value() {
+        return value;
+    }
+    
+    @Override
+    public boolean equals(Object o) {
+        return this == o || (o instanceof ISBN other && value.equals(other.value));
+    }
+    
+    @Override
+    public int hashCode() {
+        return value.hashCode();
     }
     
     @Override
@@ -33,4 +51,3 @@ public record ISBN(String value) {
         return value;
     }
 }
-
@@ -0,0 +1,97 @@
+package be.ucll.craftmanship.DDDDemo.library.domain.valueobjects;
+
+/**
+ * Single-pass ISBN-10 / ISBN-13 validation and normalization
+ * 
+ * Hyphens and spaces are ignored; the canonical form is the bare digits,
+ * with an upper-case X as ISBN-10 check digit. The check digit is verified:
+ * ISBN-10 weights 10..1 modulo 11, ISBN-13 weights 1,3,1,3.. modulo 10.
+ * No regex and no intermediate strings unless separators have to go.
+ */
+public final class IsbnFormat {
+    
+    private IsbnFormat() {}
+    
+    /**
+     * The canonical form of a valid ISBN
+     * 
+     * @throws IllegalArgumentException with the reason the value is not an ISBN
+     */
+    public static String canonicalize(String value) {
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException("ISBN cannot be null or empty");
+        }
+        return scan(value, true);
+    }
+    
+    /**
+     * Whether the value is a valid ISBN-10 or ISBN-13, without throwing
+     */
+    public static boolean isValid(String value) {
+        return value != null && scan(value, false) != null;
+    }
+    
+    // The canonical form, or null (strict: an exception) for an invalid value
+    private static String scan(String value, boolean strict) {
+        char[] kept = new char[13];
+        int length = 0;
+        int firstInvalid = -1;
+        boolean rewrite = false;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '-' || c == ' ') {
+                rewrite = true;
+                continue;
+            }
+            if ((c < '0' || c > '9') && firstInvalid < 0) {
+                firstInvalid = length;
+            }
+            if (length < kept.length) {
+                kept[length] = c;
+            }
+            length++;
+        }
+        
+        if (length != 10 && length != 13) {
+            return reject(strict, "ISBN must be either 10 or 13 characters long (excluding hyphens)");
+        }
+        if (firstInvalid >= 0) {
+            // Only an ISBN-10 check digit may be X
+            if (length != 10 || firstInvalid != 9 || (kept[9] != 'X' && kept[9] != 'x')) {
+                return reject(strict, "ISBN must contain only digits");
+            }
+            if (kept[9] == 'x') {
+                kept[9] = 'X';
+                rewrite = true;
+            }
+        }
+        if (!(length == 10 ? isbn10CheckDigitMatches(kept) : isbn13CheckDigitMatches(kept))) {
+            return reject(strict, "Invalid ISBN check digit: " + value);
+        }
+        return rewrite ? new String(kept, 0, length) : value;
+    }
+    
+    private static String reject(boolean strict, String reason) {
+        if (strict) {
+            throw new IllegalArgumentException(reason);
+        }
+        return null;
+    }
+    
+    private static boolean isbn10CheckDigitMatches(char[] digits) {
+        int sum = 0;
+        for (int i = 0; i < 9; i++) {
+            sum += (10 - i) * (digits[i] - '0');
+        }
+        sum += digits[9] == 'X' ? 10 : digits[9] - '0';
+        return sum % 11 == 0;
+    }
+    
+    private static boolean isbn13CheckDigitMatches(char[] digits) {
+        int sum = 0;
+        for (int i = 0; i < 13; i++) {
+            sum += (i % 2 == 0 ? 1 : 3) * (digits[i] - '0');
+        }
+        return sum % 10 == 0;
+    }
+}
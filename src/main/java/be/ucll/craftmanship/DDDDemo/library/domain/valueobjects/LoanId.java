@@ -17,7 +17,7 @@ public record LoanId(UUID value) {
     }
     
     public static LoanId generate() {
-        return new LoanId(UUID.randomUUID());
+        return new LoanId(TimeOrderedUuid.next());
     }
     
     public static LoanId from(String uuid) {
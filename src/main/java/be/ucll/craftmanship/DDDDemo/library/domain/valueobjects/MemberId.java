@@ -21,7 +21,7 @@ public record MemberId(UUID value) {
     }
     
     public static MemberId generate() {
-        return new MemberId(UUID.randomUUID());
+        return new MemberId(TimeOrderedUuid.next());
     }
     
     public static MemberId from(String uuid) {
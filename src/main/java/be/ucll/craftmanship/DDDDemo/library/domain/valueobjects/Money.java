@@ -7,43 +7,83 @@ import java.math.RoundingMode;
  * VALUE OBJECT: Money
  * - Immutable
  * - Encapsulates currency logic
- * - Prevents precision errors with BigDecimal
+ * - Stored as a whole number of cents: arithmetic is exact and allocation
+ *   free, overflow throws ArithmeticException instead of wrapping
+ * - BigDecimal only at the edges (construction from and conversion to decimals)
  */
-public record Money(BigDecimal amount, String currency) {
+public record Money(long cents, String currency) {
+    
+    public static final String EUR = "EUR";
+    
+    private static final Money ZERO_EUR = new Money(0, EUR);
     
     public Money {
-        if (amount == null) {
-            throw new IllegalArgumentException("Amount cannot be null");
-        }
-        if (amount.compareTo(BigDecimal.ZERO) < 0) {
+        if (cents < 0) {
             throw new IllegalArgumentException("Amount cannot be negative");
         }
         if (currency == null || currency.isBlank()) {
             throw new IllegalArgumentException("Currency cannot be null or empty");
         }
-        
-        // Ensure 2 decimal places
-        amount = amount.setScale(2, RoundingMode.HALF_UP);
+    }
+    
+    /**
+     * Creates money from a decimal amount, rounded to 2 decimal places (HALF_UP)
+     */
+    public Money(BigDecimal amount, String currency) {
+        this(toCents(amount), currency);
     }
     
     public Money add(Money other) {
-        if (!this.currency.equals(other.currency)) {
+        if (!sameCurrency(other)) {
             throw new IllegalArgumentException("Cannot add money with different currencies");
         }
-        return new Money(this.amount.add(other.amount), this.currency);
+        return new Money(Math.addExact(this.cents, other.cents), this.currency);
     }
     
     public Money multiply(int factor) {
-        return new Money(this.amount.multiply(BigDecimal.valueOf(factor)), this.currency);
+        return multiply((long) factor);
+    }
+    
+    public Money multiply(long factor) {
+        return new Money(Math.multiplyExact(this.cents, factor), this.currency);
+    }
+    
+    /**
+     * The amount as a decimal with 2 decimal places
+     */
+    public BigDecimal amount() {
+        return BigDecimal.valueOf(cents, 2);
     }
     
     public static Money euro(double amount) {
-        return new Money(BigDecimal.valueOf(amount), "EUR");
+        return new Money(BigDecimal.valueOf(amount), EUR);
+    }
+    
+    public static Money euroCents(long cents) {
+        return cents == 0 ? ZERO_EUR : new Money(cents, EUR);
+    }
+    
+    private boolean sameCurrency(Money other) {
+        // Currencies are usually the shared EUR constant, so try identity first
+        return this.currency == other.currency || this.currency.equals(other.currency);
+    }
+    
+    private static long toCents(BigDecimal amount) {
+        if (amount == null) {
+            throw new IllegalArgumentException("Amount cannot be null");
+        }
+        if (amount.signum() < 0) {
+            throw new IllegalArgumentException("Amount cannot be negative");
+        }
+        try {
+            return amount.setScale(2, RoundingMode.HALF_UP).movePointRight(2).longValueExact();
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Amount out of range: " + amount, e);
+        }
     }
     
     @Override
     public String toString() {
-        return String.format("%s %.2f", currency, amount);
+        return String.format("%s %.2f", currency, amount());
     }
 }
-
@@ -0,0 +1,68 @@
+package be.ucll.craftmanship.DDDDemo.library.domain.valueobjects;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * UUIDv7 generator (RFC 9562): 48-bit Unix milliseconds, then a counter, then random bits
+ * 
+ * Keys created close together in time sort close together, so inserts land
+ * on the right-hand edge of a primary-key B-tree instead of on random pages.
+ * 
+ * Layout after the timestamp: 12 bits rand_a + 30 bits of rand_b hold a
+ * 42-bit counter, the last 32 bits are random per UUID. Each thread keeps
+ * its own (millisecond, counter) state, so there is no lock and no shared
+ * SecureRandom: a new millisecond reseeds the counter randomly (top bit
+ * clear, leaving room to count up), the same or an earlier millisecond
+ * increments it. UUIDs from one thread are strictly increasing even if the
+ * clock steps back; if the counter runs out the timestamp moves ahead by one.
+ * 
+ * The random parts come from ThreadLocalRandom: unique, but not meant to be
+ * unguessable, and the creation time can be read from the id.
+ */
+final class TimeOrderedUuid {
+    
+    private static final int COUNTER_BITS = 42;
+    private static final long COUNTER_MAX = (1L << COUNTER_BITS) - 1;
+    private static final long VERSION_7 = 0x7000L;
+    private static final long VARIANT_RFC_9562 = 0x8000_0000_0000_0000L;
+    
+    private static final ThreadLocal<State> STATE = ThreadLocal.withInitial(State::new);
+    
+    private TimeOrderedUuid() {}
+    
+    static UUID next() {
+        return STATE.get().next(System.currentTimeMillis());
+    }
+    
+    /**
+     * Extracts the creation time in Unix milliseconds from a version 7 UUID
+     */
+    static long unixMillis(UUID uuid) {
+        if (uuid.version() != 7) {
+            throw new IllegalArgumentException("Not a version 7 UUID: " + uuid);
+        }
+        return uuid.getMostSignificantBits() >>> 16;
+    }
+    
+    static final class State {
+        
+        private long lastMillis = -1;
+        private long counter;
+        
+        UUID next(long nowMillis) {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            if (nowMillis > lastMillis) {
+                lastMillis = nowMillis;
+                counter = random.nextLong() >>> (64 - COUNTER_BITS + 1);
+            } else if (++counter > COUNTER_MAX) {
+                lastMillis++;
+                counter = random.nextLong() >>> (64 - COUNTER_BITS + 1);
+            }
+            
+            long msb = (lastMillis << 16) | VERSION_7 | (counter >>> 30);
+            long lsb = VARIANT_RFC_9562 | ((counter & 0x3FFF_FFFFL) << 32) | (random.nextInt() & 0xFFFF_FFFFL);
+            return new UUID(msb, lsb);
+        }
+    }
+}
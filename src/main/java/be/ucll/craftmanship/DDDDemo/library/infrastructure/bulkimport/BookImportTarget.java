@@ -0,0 +1,73 @@
+package be.ucll.craftmanship.DDDDemo.library.infrastructure.bulkimport;
+
+import be.ucll.craftmanship.DDDDemo.library.application.search.BookSearchIndex;
+import be.ucll.craftmanship.DDDDemo.library.domain.entities.Book;
+import be.ucll.craftmanship.DDDDemo.library.domain.valueobjects.BookId;
+import be.ucll.craftmanship.DDDDemo.library.domain.valueobjects.ISBN;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Books from columns isbn, title and author
+ */
+final class BookImportTarget implements ImportTarget<Book> {
+    
+    private static final String INSERT =
+        "INSERT INTO books (value, version, isbn, title, author, available) VALUES (?, 0, ?, ?, ?, ?)";
+    
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final BookSearchIndex searchIndex;
+    
+    BookImportTarget(NamedParameterJdbcTemplate jdbcTemplate, BookSearchIndex searchIndex) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.searchIndex = searchIndex;
+    }
+    
+    @Override
+    public String kind() {
+        return "books";
+    }
+    
+    @Override
+    public Book parse(ImportRow row) {
+        return new Book(BookId.generate(), new ISBN(row.get("isbn")), row.get("title"), row.get("author"));
+    }
+    
+    @Override
+    public String key(Book book) {
+        return book.getIsbn().value();
+    }
+    
+    @Override
+    public Set<String> existingKeys(Collection<String> isbns) {
+        return new HashSet<>(jdbcTemplate.queryForList(
+            "SELECT isbn FROM books WHERE isbn IN (:isbns)", Map.of("isbns", isbns), String.class
+        ));
+    }
+    
+    @Override
+    public String duplicateMessage(String isbn) {
+        return "Book with ISBN " + isbn + " already exists";
+    }
+    
+    @Override
+    public void insert(List<Book> books) {
+        jdbcTemplate.getJdbcTemplate().batchUpdate(INSERT, books, books.size(), (statement, book) -> {
+            statement.setObject(1, book.getId().value());
+            statement.setString(2, book.getIsbn().value());
+            statement.setString(3, book.getTitle());
+            statement.setString(4, book.getAuthor());
+            statement.setBoolean(5, book.isAvailable());
+        });
+    }
+    
+    @Override
+    public void index(List<Book> books) {
+        books.forEach(searchIndex::index);
+    }
+}
@@ -0,0 +1,88 @@
+package be.ucll.craftmanship.DDDDemo.library.infrastructure.bulkimport;
+
+import jakarta.persistence.*;
+
+import java.time.Instant;
+
+/**
+ * Progress of one bulk import, keyed by the client-chosen import id
+ * 
+ * rowsDone is the number of the last feed row whose chunk has committed.
+ * Re-sending the same feed under the same id skips those rows and carries
+ * on after them.
+ */
+@Entity
+@Table(name = "bulk_import_checkpoints")
+public class BulkImportCheckpoint {
+    
+    @Id
+    @Column(length = 100)
+    private String importId;
+    
+    @Column(nullable = false)
+    private String kind;
+    
+    @Column(nullable = false)
+    private long rowsDone;
+    
+    @Column(nullable = false)
+    private long inserted;
+    
+    @Column(nullable = false)
+    private long rejected;
+    
+    @Column(nullable = false)
+    private boolean completed;
+    
+    @Column(nullable = false)
+    private Instant updatedAt;
+    
+    // JPA requires default constructor
+    protected BulkImportCheckpoint() {}
+    
+    public BulkImportCheckpoint(String importId, String kind) {
+        this.importId = importId;
+        this.kind = kind;
+        this.updatedAt = Instant.now();
+    }
+    
+    public void advance(long lastRow, long insertedInChunk, long rejectedInChunk) {
+        this.rowsDone = lastRow;
+        this.inserted += insertedInChunk;
+        this.rejected += rejectedInChunk;
+        this.updatedAt = Instant.now();
+    }
+    
+    public void complete() {
+        this.completed = true;
+        this.updatedAt = Instant.now();
+    }
+    
+    public String getImportId() {
+        return importId;
+    }
+    
+    public String getKind() {
+        return kind;
+    }
+    
+    public long getRowsDone() {
+        return rowsDone;
+    }
+    
+    public long getInserted() {
+        return inserted;
+    }
+    
+    public long getRejected() {
+        return rejected;
+    }
+    
+    public boolean isCompleted() {
+        return completed;
+    }
+    
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+}
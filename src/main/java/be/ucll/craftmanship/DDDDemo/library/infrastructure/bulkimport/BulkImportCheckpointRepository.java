@@ -0,0 +1,11 @@
+package be.ucll.craftmanship.DDDDemo.library.infrastructure.bulkimport;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository for bulk import checkpoints, one row per import id
+ */
+@Repository
+public interface BulkImportCheckpointRepository extends JpaRepository<BulkImportCheckpoint, String> {
+}
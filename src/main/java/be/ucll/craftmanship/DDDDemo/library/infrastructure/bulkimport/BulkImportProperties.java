@@ -0,0 +1,26 @@
+package be.ucll.craftmanship.DDDDemo.library.infrastructure.bulkimport;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.nio.file.Path;
+
+/**
+ * Configuration for bulk catalogue imports (library.bulk-import.*)
+ */
+@ConfigurationProperties(prefix = "library.bulk-import")
+public record BulkImportProperties(
+    @DefaultValue("5000") int chunkSize,
+    @DefaultValue("4") int workers,
+    @DefaultValue("library-imports") Path errorDirectory
+) {
+    
+    public BulkImportProperties {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("Bulk import chunk size must be positive");
+        }
+        if (workers <= 0) {
+            throw new IllegalArgumentException("Bulk import needs at least one validation worker");
+        }
+    }
+}
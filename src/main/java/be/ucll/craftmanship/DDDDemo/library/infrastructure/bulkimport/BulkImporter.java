@@ -0,0 +1,363 @@
+package be.ucll.craftmanship.DDDDemo.library.infrastructure.bulkimport;
+
+import be.ucll.craftmanship.DDDDemo.library.application.search.BookSearchIndex;
+import be.ucll.craftmanship.DDDDemo.library.application.search.MemberSearchIndex;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.regex.Pattern;
+
+/**
+ * Streams a CSV or NDJSON feed of books or members into the database
+ * 
+ * Per chunk of rows:
+ * 1. read incrementally from the request body, never the whole feed
+ * 2. build and validate the aggregates (ISBN, Email, Address...) in
+ *    parallel on a small worker pool
+ * 3. drop rows whose key repeats within the chunk, then one IN query per
+ *    chunk finds the keys that already exist
+ * 4. one transaction: JDBC batch insert of the new rows plus the checkpoint
+ * 5. rejected rows go to the import's error file with their reason
+ * 
+ * Rows are written with plain JDBC instead of going through the
+ * persistence context, so the application services and the one-by-one
+ * POST endpoints are not involved. The search indexes are updated after
+ * each commit. Re-sending a feed under the same import id resumes after
+ * the last committed chunk.
+ */
+@Component
+@EnableConfigurationProperties(BulkImportProperties.class)
+public class BulkImporter {
+    
+    private static final Logger logger = LoggerFactory.getLogger(BulkImporter.class);
+    
+    private static final Pattern IMPORT_ID = Pattern.compile("[A-Za-z0-9._-]{1,100}");
+    
+    // A concurrent single insert can take a key between the existence check and the insert
+    private static final int MAX_ATTEMPTS = 2;
+    
+    private final BookImportTarget books;
+    private final MemberImportTarget members;
+    private final BulkImportCheckpointRepository checkpointRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTemplate;
+    private final ObjectMapper objectMapper;
+    private final BulkImportProperties properties;
+    private final Map<String, Run> running = new ConcurrentHashMap<>();
+    
+    public BulkImporter(
+        NamedParameterJdbcTemplate jdbcTemplate,
+        BookSearchIndex bookSearchIndex,
+        MemberSearchIndex memberSearchIndex,
+        BulkImportCheckpointRepository checkpointRepository,
+        PlatformTransactionManager transactionManager,
+        ObjectMapper objectMapper,
+        BulkImportProperties properties
+    ) {
+        this.books = new BookImportTarget(jdbcTemplate, bookSearchIndex);
+        this.members = new MemberImportTarget(jdbcTemplate, memberSearchIndex);
+        this.checkpointRepository = checkpointRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTemplate.setReadOnly(true);
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+    }
+    
+    /**
+     * Imports books (isbn, title, author), blocking until the feed is consumed
+     * 
+     * @param importId client-chosen id to resume under, null for a new random one
+     */
+    public ImportReport importBooks(String importId, ImportFormat format, InputStream input) {
+        return run(importId, books, format, input);
+    }
+    
+    /**
+     * Imports members (name, email, street, city, postalCode, country), blocking until the feed is consumed
+     * 
+     * @param importId client-chosen id to resume under, null for a new random one
+     */
+    public ImportReport importMembers(String importId, ImportFormat format, InputStream input) {
+        return run(importId, members, format, input);
+    }
+    
+    /**
+     * Live progress of a running import, or the state of its last checkpoint
+     */
+    public ImportReport getReport(String importId) {
+        Run run = running.get(importId);
+        if (run != null) {
+            return run.report();
+        }
+        BulkImportCheckpoint checkpoint = findCheckpoint(importId);
+        if (checkpoint == null) {
+            throw new IllegalArgumentException("Import not found: " + importId);
+        }
+        return ImportReport.of(importId, checkpoint.getKind(), checkpoint.getRowsDone(), checkpoint.getInserted(),
+            checkpoint.getRejected(), 0, false, checkpoint.isCompleted(), 0, errorFileOf(importId, checkpoint.getRejected()));
+    }
+    
+    /**
+     * The rejected rows of an import, one JSON object per line
+     */
+    public Path getErrorFile(String importId) {
+        checkImportId(importId);
+        Path path = errorPath(importId);
+        if (!Files.exists(path)) {
+            throw new IllegalArgumentException("No rejected rows for import: " + importId);
+        }
+        return path;
+    }
+    
+    private <T> ImportReport run(String requestedId, ImportTarget<T> target, ImportFormat format, InputStream input) {
+        String importId = requestedId == null ? UUID.randomUUID().toString() : requestedId;
+        checkImportId(importId);
+        Run run = new Run(importId, target.kind());
+        if (running.putIfAbsent(importId, run) != null) {
+            throw new IllegalStateException("Import " + importId + " is already running");
+        }
+        try {
+            BulkImportCheckpoint checkpoint = findCheckpoint(importId);
+            if (checkpoint != null) {
+                if (!checkpoint.getKind().equals(target.kind())) {
+                    throw new IllegalArgumentException("Import " + importId + " is an import of " + checkpoint.getKind());
+                }
+                if (checkpoint.isCompleted()) {
+                    throw new IllegalStateException("Import " + importId + " has already completed");
+                }
+                run.resumeFrom(checkpoint);
+            }
+            
+            try (ImportRowReader reader = format.open(input, objectMapper);
+                 RejectedRowsFile rejectedRows = new RejectedRowsFile(errorPath(importId), objectMapper);
+                 ExecutorService workers = newWorkerPool()) {
+                List<ImportRow> chunk = new ArrayList<>(properties.chunkSize());
+                ImportRow row;
+                while ((row = reader.next()) != null) {
+                    if (row.number() <= run.skipped) {
+                        continue;
+                    }
+                    chunk.add(row);
+                    if (chunk.size() == properties.chunkSize()) {
+                        importChunk(target, chunk, run, rejectedRows, workers);
+                        chunk.clear();
+                    }
+                }
+                if (!chunk.isEmpty()) {
+                    importChunk(target, chunk, run, rejectedRows, workers);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Bulk import " + importId + " failed reading its feed", e);
+            }
+            
+            transactionTemplate.executeWithoutResult(status -> checkpointFor(importId, target.kind()).complete());
+            run.completed = true;
+            ImportReport report = run.report();
+            logger.info("Bulk import {} ({}): rows={}, inserted={}, rejected={}, skipped={}, {} ms, {} rows/s",
+                importId, target.kind(), report.rowsDone(), report.inserted(), report.rejected(),
+                report.skippedOnResume(), report.elapsedMillis(), Math.round(report.rowsPerSecond()));
+            return report;
+        } finally {
+            running.remove(importId);
+        }
+    }
+    
+    private <T> void importChunk(
+        ImportTarget<T> target,
+        List<ImportRow> chunk,
+        Run run,
+        RejectedRowsFile rejectedRows,
+        ExecutorService workers
+    ) throws IOException {
+        List<Rejection> rejections = new ArrayList<>();
+        Map<String, Validated<T>> unique = new LinkedHashMap<>();
+        for (Validated<T> validated : validate(target, chunk, workers)) {
+            if (validated.error() != null) {
+                rejections.add(new Rejection(validated.row(), validated.error()));
+            } else if (unique.putIfAbsent(target.key(validated.item()), validated) != null) {
+                rejections.add(new Rejection(validated.row(), "Duplicate of an earlier row: " + target.key(validated.item())));
+            }
+        }
+        long lastRow = chunk.get(chunk.size() - 1).number();
+        
+        for (int attempt = 1; ; attempt++) {
+            List<Rejection> existing = new ArrayList<>();
+            List<T> fresh = new ArrayList<>(unique.size());
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    Set<String> existingKeys = unique.isEmpty() ? Set.of() : target.existingKeys(unique.keySet());
+                    unique.forEach((key, validated) -> {
+                        if (existingKeys.contains(key)) {
+                            existing.add(new Rejection(validated.row(), target.duplicateMessage(key)));
+                        } else {
+                            fresh.add(validated.item());
+                        }
+                    });
+                    if (!fresh.isEmpty()) {
+                        target.insert(fresh);
+                        target.index(fresh);
+                    }
+                    checkpointFor(run.importId, target.kind())
+                        .advance(lastRow, fresh.size(), rejections.size() + existing.size());
+                });
+                rejections.addAll(existing);
+                run.advance(lastRow, fresh.size(), rejections.size());
+                break;
+            } catch (DataIntegrityViolationException e) {
+                if (attempt < MAX_ATTEMPTS) {
+                    logger.debug("Bulk import {}: chunk ending at row {} raced a concurrent insert, retrying",
+                        run.importId, lastRow);
+                    continue;
+                }
+                // Give up on the chunk's rows but keep the import going; they can be re-sent from the error file
+                String reason = "Not imported, conflicts with a concurrent insert: " + e.getMostSpecificCause().getMessage();
+                unique.values().forEach(validated -> rejections.add(new Rejection(validated.row(), reason)));
+                transactionTemplate.executeWithoutResult(status ->
+                    checkpointFor(run.importId, target.kind()).advance(lastRow, 0, rejections.size())
+                );
+                run.advance(lastRow, 0, rejections.size());
+                break;
+            }
+        }
+        
+        for (Rejection rejection : rejections) {
+            rejectedRows.write(rejection.row(), rejection.error());
+        }
+        rejectedRows.flush();
+        logger.debug("Bulk import {}: committed up to row {}", run.importId, lastRow);
+    }
+    
+    // Splits the chunk into one slice per worker; results keep the row order
+    private <T> List<Validated<T>> validate(ImportTarget<T> target, List<ImportRow> chunk, ExecutorService workers) {
+        int sliceSize = Math.ceilDiv(chunk.size(), properties.workers());
+        List<Callable<List<Validated<T>>>> slices = new ArrayList<>();
+        for (int from = 0; from < chunk.size(); from += sliceSize) {
+            List<ImportRow> slice = chunk.subList(from, Math.min(from + sliceSize, chunk.size()));
+            slices.add(() -> slice.stream().map(row -> validate(target, row)).toList());
+        }
+        
+        List<Validated<T>> validated = new ArrayList<>(chunk.size());
+        try {
+            for (Future<List<Validated<T>>> slice : workers.invokeAll(slices)) {
+                validated.addAll(slice.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Bulk import interrupted", e);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof RuntimeException runtime ? runtime : new IllegalStateException(e.getCause());
+        }
+        return validated;
+    }
+    
+    private static <T> Validated<T> validate(ImportTarget<T> target, ImportRow row) {
+        if (row.parseError() != null) {
+            return new Validated<>(row, null, row.parseError());
+        }
+        try {
+            return new Validated<>(row, target.parse(row), null);
+        } catch (IllegalArgumentException e) {
+            return new Validated<>(row, null, e.getMessage());
+        }
+    }
+    
+    // Loads (or creates) the checkpoint as a managed entity of the current transaction
+    private BulkImportCheckpoint checkpointFor(String importId, String kind) {
+        return checkpointRepository.findById(importId)
+            .orElseGet(() -> checkpointRepository.save(new BulkImportCheckpoint(importId, kind)));
+    }
+    
+    private BulkImportCheckpoint findCheckpoint(String importId) {
+        checkImportId(importId);
+        return readOnlyTemplate.execute(status -> checkpointRepository.findById(importId).orElse(null));
+    }
+    
+    private static void checkImportId(String importId) {
+        if (!IMPORT_ID.matcher(importId).matches()) {
+            throw new IllegalArgumentException("Import id must be 1-100 letters, digits, '.', '_' or '-'");
+        }
+    }
+    
+    private Path errorPath(String importId) {
+        return properties.errorDirectory().resolve(importId + ".errors.ndjson");
+    }
+    
+    private String errorFileOf(String importId, long rejected) {
+        return rejected > 0 ? errorPath(importId).toString() : null;
+    }
+    
+    private ExecutorService newWorkerPool() {
+        return Executors.newFixedThreadPool(
+            properties.workers(),
+            Thread.ofPlatform().daemon(true).name("bulk-import-", 0).factory()
+        );
+    }
+    
+    private record Validated<T>(ImportRow row, T item, String error) {}
+    
+    private record Rejection(ImportRow row, String error) {}
+    
+    /**
+     * Counters of one running import, written by the importing thread and read by progress requests
+     */
+    private final class Run {
+        
+        private final String importId;
+        private final String kind;
+        private final long started = System.nanoTime();
+        private long skipped;
+        private volatile long rowsDone;
+        private volatile long inserted;
+        private volatile long rejected;
+        private volatile boolean completed;
+        
+        Run(String importId, String kind) {
+            this.importId = importId;
+            this.kind = kind;
+        }
+        
+        void resumeFrom(BulkImportCheckpoint checkpoint) {
+            skipped = checkpoint.getRowsDone();
+            rowsDone = checkpoint.getRowsDone();
+            inserted = checkpoint.getInserted();
+            rejected = checkpoint.getRejected();
+        }
+        
+        void advance(long lastRow, long insertedInChunk, long rejectedInChunk) {
+            rowsDone = lastRow;
+            inserted += insertedInChunk;
+            rejected += rejectedInChunk;
+        }
+        
+        ImportReport report() {
+            long elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+            return ImportReport.of(importId, kind, rowsDone, inserted, rejected, skipped,
+                !completed, completed, elapsedMillis, errorFileOf(importId, rejected));
+        }
+    }
+}
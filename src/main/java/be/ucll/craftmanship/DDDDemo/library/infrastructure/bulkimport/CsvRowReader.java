@@ -0,0 +1,99 @@
+package be.ucll.craftmanship.DDDDemo.library.infrastructure.bulkimport;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Incremental RFC 4180 CSV reader
+ * 
+ * The first record is the header and names the columns. Fields may be
+ * quoted; quoted fields can hold commas, line breaks and doubled quotes.
+ * Blank lines are skipped, CRLF and LF line endings are both accepted and
+ * a leading byte order mark is dropped.
+ */
+final class CsvRowReader implements ImportRowReader {
+    
+    private final Reader in;
+    private final String[] header;
+    private long number;
+    
+    CsvRowReader(InputStream input) throws IOException {
+        this.in = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8), 1 << 16);
+        List<String> names = readRecord();
+        if (names == null) {
+            throw new IllegalArgumentException("CSV import has no header row");
+        }
+        if (!names.isEmpty() && names.get(0).startsWith("\uFEFF")) {
+            names.set(0, names.get(0).substring(1));
+        }
+        this.header = names.stream().map(String::strip).toArray(String[]::new);
+    }
+    
+    @Override
+    public ImportRow next() throws IOException {
+        while (true) {
+            List<String> record = readRecord();
+            if (record == null) {
+                return null;
+            }
+            if (record.size() == 1 && record.get(0).isBlank()) {
+                continue;
+            }
+            number++;
+            Map<String, String> fields = HashMap.newHashMap(header.length);
+            for (int i = 0; i < header.length && i < record.size(); i++) {
+                fields.put(header[i], record.get(i));
+            }
+            return ImportRow.of(number, fields);
+        }
+    }
+    
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+    
+    private List<String> readRecord() throws IOException {
+        int c = in.read();
+        if (c == -1) {
+            return null;
+        }
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        while (true) {
+            if (quoted) {
+                if (c == -1) {
+                    throw new IllegalArgumentException("Unterminated quoted field after CSV row " + number);
+                }
+                if (c == '"') {
+                    c = in.read();
+                    if (c != '"') {
+                        quoted = false;
+                        continue;
+                    }
+                }
+                field.append((char) c);
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n' || c == -1) {
+                fields.add(field.toString());
+                return fields;
+            } else if (c != '\r') {
+                field.append((char) c);
+            }
+            c = in.read();
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package be.ucll.craftmanship.DDDDemo.library.infrastructure.bulkimport;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.MediaType;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Supported feed formats, chosen by the request's Content-Type
+ */
+public enum ImportFormat {
+    CSV,
+    NDJSON;
+    
+    public static ImportFormat of(MediaType contentType) {
+        if (contentType != null) {
+            if (contentType.isCompatibleWith(MediaType.valueOf("text/csv"))) {
+                return CSV;
+            }
+            if (contentType.isCompatibleWith(MediaType.APPLICATION_NDJSON)
+                    || contentType.isCompatibleWith(MediaType.valueOf("application/x-ndjson"))) {
+                return NDJSON;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported import format " + contentType + ", use text/csv or application/x-ndjson");
+    }
+    
+    ImportRowReader open(InputStream input, ObjectMapper objectMapper) throws IOException {
+        return this == CSV ? new CsvRowReader(input) : new NdjsonRowReader(input, objectMapper);
+    }
+}
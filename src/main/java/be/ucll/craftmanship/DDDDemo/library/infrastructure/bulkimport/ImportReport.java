@@ -0,0 +1,42 @@
+package be.ucll.craftmanship.DDDDemo.library.infrastructure.bulkimport;
+
+/**
+ * Progress or outcome of a bulk import
+ * 
+ * rowsDone, inserted and rejected are totals over every run of the import
+ * id; rowsPerSecond covers the rows read by the current (or last) run only.
+ * Rejected rows are listed with their reason in errorFile, one JSON object
+ * per line.
+ */
+public record ImportReport(
+    String importId,
+    String kind,
+    long rowsDone,
+    long inserted,
+    long rejected,
+    long skippedOnResume,
+    boolean running,
+    boolean completed,
+    long elapsedMillis,
+    double rowsPerSecond,
+    String errorFile
+) {
+    
+    static ImportReport of(
+        String importId,
+        String kind,
+        long rowsDone,
+        long inserted,
+        long rejected,
+        long skippedOnResume,
+        boolean running,
+        boolean completed,
+        long elapsedMillis,
+        String errorFile
+    ) {
+        long readThisRun = rowsDone - skippedOnResume;
+        double rowsPerSecond = elapsedMillis <= 0 ? 0 : readThisRun * 1000.0 / elapsedMillis;
+        return new ImportReport(importId, kind, rowsDone, inserted, rejected, skippedOnResume,
+            running, completed, elapsedMillis, rowsPerSecond, errorFile);
+    }
+}
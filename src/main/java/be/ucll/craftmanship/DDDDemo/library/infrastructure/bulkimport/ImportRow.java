@@ -0,0 +1,32 @@
+package be.ucll.craftmanship.DDDDemo.library.infrastructure.bulkimport;
+
+import java.util.Map;
+
+/**
+ * One record of an import feed, numbered from 1 in file order
+ * 
+ * A record that could not be parsed at all (a broken NDJSON line) carries
+ * the parse error instead of fields; it is rejected like an invalid row.
+ */
+record ImportRow(long number, Map<String, String> fields, String parseError) {
+    
+    static ImportRow of(long number, Map<String, String> fields) {
+        return new ImportRow(number, fields, null);
+    }
+    
+    static ImportRow malformed(long number, String parseError) {
+        return new ImportRow(number, Map.of(), parseError);
+    }
+    
+    /**
+     * The trimmed value of a column, null if absent or empty
+     */
+    String get(String column) {
+        String value = fields.get(column);
+        if (value == null) {
+            return null;
+        }
+        value = value.strip();
+        return value.isEmpty() ? null : value;
+    }
+}
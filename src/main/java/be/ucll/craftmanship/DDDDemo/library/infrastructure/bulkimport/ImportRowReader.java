@@ -0,0 +1,15 @@
+package be.ucll.craftmanship.DDDDemo.library.infrastructure.bulkimport;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Pulls records from an import feed one at a time, never holding more than the current one
+ */
+interface ImportRowReader extends Closeable {
+    
+    /**
+     * The next record, or null at the end of the feed
+     */
+    ImportRow next() throws IOException;
+}
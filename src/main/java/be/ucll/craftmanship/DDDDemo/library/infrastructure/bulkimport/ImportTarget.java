@@ -0,0 +1,45 @@
+package be.ucll.craftmanship.DDDDemo.library.infrastructure.bulkimport;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * What a bulk import writes: how rows become aggregates, their natural key and the batch insert
+ */
+interface ImportTarget<T> {
+    
+    /**
+     * Name recorded on the checkpoint, "books" or "members"
+     */
+    String kind();
+    
+    /**
+     * Builds and validates one aggregate, thread-safe
+     * 
+     * @throws IllegalArgumentException if the row is not valid
+     */
+    T parse(ImportRow row);
+    
+    /**
+     * The unique natural key (ISBN, email) the import deduplicates on
+     */
+    String key(T item);
+    
+    /**
+     * Which of the given keys already exist, one query for the whole chunk
+     */
+    Set<String> existingKeys(Collection<String> keys);
+    
+    String duplicateMessage(String key);
+    
+    /**
+     * Inserts the chunk with JDBC batching, inside the caller's transaction
+     */
+    void insert(List<T> items);
+    
+    /**
+     * Registers the new aggregates with the in-memory indexes once the transaction commits
+     */
+    void index(List<T> items);
+}
@@ -0,0 +1,82 @@
+package be.ucll.craftmanship.DDDDemo.library.infrastructure.bulkimport;
+
+import be.ucll.craftmanship.DDDDemo.library.application.search.MemberSearchIndex;
+import be.ucll.craftmanship.DDDDemo.library.domain.entities.Member;
+import be.ucll.craftmanship.DDDDemo.library.domain.valueobjects.Address;
+import be.ucll.craftmanship.DDDDemo.library.domain.valueobjects.Email;
+import be.ucll.craftmanship.DDDDemo.library.domain.valueobjects.MemberId;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Members from columns name, email, street, city, postalCode and country (the CreateMemberRequest fields)
+ */
+final class MemberImportTarget implements ImportTarget<Member> {
+    
+    private static final String INSERT =
+        "INSERT INTO members (value, version, name, email, address_street, address_city, address_postal_code, " +
+        "address_country, member_since, active, tier, active_loans) VALUES (?, 0, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0)";
+    
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final MemberSearchIndex searchIndex;
+    
+    MemberImportTarget(NamedParameterJdbcTemplate jdbcTemplate, MemberSearchIndex searchIndex) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.searchIndex = searchIndex;
+    }
+    
+    @Override
+    public String kind() {
+        return "members";
+    }
+    
+    @Override
+    public Member parse(ImportRow row) {
+        Address address = new Address(row.get("street"), row.get("city"), row.get("postalCode"), row.get("country"));
+        return new Member(MemberId.generate(), row.get("name"), new Email(row.get("email")), address);
+    }
+    
+    @Override
+    public String key(Member member) {
+        return member.getEmail().value();
+    }
+    
+    @Override
+    public Set<String> existingKeys(Collection<String> emails) {
+        return new HashSet<>(jdbcTemplate.queryForList(
+            "SELECT email FROM members WHERE email IN (:emails)", Map.of("emails", emails), String.class
+        ));
+    }
+    
+    @Override
+    public String duplicateMessage(String email) {
+        return "Member with email " + email + " already exists";
+    }
+    
+    @Override
+    public void insert(List<Member> members) {
+        jdbcTemplate.getJdbcTemplate().batchUpdate(INSERT, members, members.size(), (statement, member) -> {
+            Address address = member.getAddress();
+            statement.setObject(1, member.getId().value());
+            statement.setString(2, member.getName());
+            statement.setString(3, member.getEmail().value());
+            statement.setString(4, address.street());
+            statement.setString(5, address.city());
+            statement.setString(6, address.postalCode());
+            statement.setString(7, address.country());
+            statement.setObject(8, member.getMemberSince());
+            statement.setBoolean(9, member.isActive());
+            statement.setString(10, member.getTier().name());
+        });
+    }
+    
+    @Override
+    public void index(List<Member> members) {
+        members.forEach(searchIndex::index);
+    }
+}
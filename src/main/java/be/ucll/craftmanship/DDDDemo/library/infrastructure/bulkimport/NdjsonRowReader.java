@@ -0,0 +1,66 @@
+package be.ucll.craftmanship.DDDDemo.library.infrastructure.bulkimport;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Newline-delimited JSON reader: one flat JSON object per line
+ * 
+ * Lines are parsed one by one, so a broken line becomes a rejected row and
+ * the lines after it still import.
+ */
+final class NdjsonRowReader implements ImportRowReader {
+    
+    private final BufferedReader in;
+    private final ObjectReader reader;
+    private long number;
+    
+    NdjsonRowReader(InputStream input, ObjectMapper objectMapper) {
+        this.in = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8), 1 << 16);
+        this.reader = objectMapper.readerFor(JsonNode.class);
+    }
+    
+    @Override
+    public ImportRow next() throws IOException {
+        String line;
+        do {
+            line = in.readLine();
+            if (line == null) {
+                return null;
+            }
+        } while (line.isBlank());
+        number++;
+        
+        JsonNode node;
+        try {
+            node = reader.readValue(line);
+        } catch (JsonProcessingException e) {
+            return ImportRow.malformed(number, "Malformed JSON: " + e.getOriginalMessage());
+        }
+        if (!node.isObject()) {
+            return ImportRow.malformed(number, "Expected a JSON object");
+        }
+        Map<String, String> fields = HashMap.newHashMap(node.size());
+        node.fields().forEachRemaining(field -> {
+            if (!field.getValue().isNull()) {
+                fields.put(field.getKey(), field.getValue().asText());
+            }
+        });
+        return ImportRow.of(number, fields);
+    }
+    
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+}
@@ -0,0 +1,59 @@
+package be.ucll.craftmanship.DDDDemo.library.infrastructure.bulkimport;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Appends rejected rows to the import's error file as NDJSON: {"row", "error", "fields"}
+ * 
+ * Opened on the first rejection and in append mode, so a resumed import
+ * adds to the rows its earlier runs rejected.
+ */
+final class RejectedRowsFile implements Closeable {
+    
+    private final Path path;
+    private final ObjectWriter writer;
+    private BufferedWriter out;
+    
+    RejectedRowsFile(Path path, ObjectMapper objectMapper) {
+        this.path = path;
+        this.writer = objectMapper.writer();
+    }
+    
+    void write(ImportRow row, String error) throws IOException {
+        if (out == null) {
+            Files.createDirectories(path.getParent());
+            out = Files.newBufferedWriter(path, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        }
+        Map<String, Object> line = new LinkedHashMap<>();
+        line.put("row", row.number());
+        line.put("error", error);
+        line.put("fields", row.fields());
+        out.write(writer.writeValueAsString(line));
+        out.newLine();
+    }
+    
+    void flush() throws IOException {
+        if (out != null) {
+            out.flush();
+        }
+    }
+    
+    @Override
+    public void close() throws IOException {
+        if (out != null) {
+            out.close();
+        }
+    }
+}
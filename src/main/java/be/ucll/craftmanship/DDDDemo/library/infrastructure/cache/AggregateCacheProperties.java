@@ -0,0 +1,35 @@
+package be.ucll.craftmanship.DDDDemo.library.infrastructure.cache;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Configuration for the book and member read caches (library.cache.*)
+ */
+@ConfigurationProperties(prefix = "library.cache")
+public record AggregateCacheProperties(
+    @DefaultValue("true") boolean enabled,
+    @DefaultValue Spec books,
+    @DefaultValue Spec members
+) {
+    
+    /**
+     * Size and time bound for one cache
+     */
+    public record Spec(
+        @DefaultValue("100000") long maxSize,
+        @DefaultValue("10m") Duration ttl
+    ) {
+        
+        public Spec {
+            if (maxSize <= 0) {
+                throw new IllegalArgumentException("Cache max size must be positive");
+            }
+            if (ttl == null || ttl.isNegative() || ttl.isZero()) {
+                throw new IllegalArgumentException("Cache TTL must be positive");
+            }
+        }
+    }
+}
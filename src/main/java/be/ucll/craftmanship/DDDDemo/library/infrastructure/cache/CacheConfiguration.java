@@ -0,0 +1,51 @@
+package be.ucll.craftmanship.DDDDemo.library.infrastructure.cache;
+
+import be.ucll.craftmanship.DDDDemo.library.application.services.CacheNames;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.support.NoOpCacheManager;
+import org.springframework.cache.support.SimpleCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+/**
+ * Read caches for Book and Member responses
+ * 
+ * - Caffeine (W-TinyLFU admission) bounded by size and time-to-live
+ * - Transaction aware: puts and evictions made inside a transaction are
+ *   applied after it commits, so a rolled-back change never evicts and
+ *   a reader never caches uncommitted state
+ * - library.cache.enabled=false swaps in a no-op cache manager
+ */
+@Configuration
+@EnableConfigurationProperties(AggregateCacheProperties.class)
+public class CacheConfiguration {
+    
+    @Bean
+    public CacheManager cacheManager(AggregateCacheProperties properties) {
+        if (!properties.enabled()) {
+            return new NoOpCacheManager();
+        }
+        
+        SimpleCacheManager caches = new SimpleCacheManager();
+        caches.setCaches(List.of(
+            caffeine(CacheNames.BOOKS, properties.books()),
+            caffeine(CacheNames.MEMBERS, properties.members())
+        ));
+        caches.initializeCaches();
+        return new TransactionAwareCacheManagerProxy(caches);
+    }
+    
+    private static CaffeineCache caffeine(String name, AggregateCacheProperties.Spec spec) {
+        return new CaffeineCache(name, Caffeine.newBuilder()
+            .maximumSize(spec.maxSize())
+            .expireAfterWrite(spec.ttl())
+            .recordStats()
+            .build(), false);
+    }
+}
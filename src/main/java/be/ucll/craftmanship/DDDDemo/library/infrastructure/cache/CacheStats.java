@@ -0,0 +1,13 @@
+package be.ucll.craftmanship.DDDDemo.library.infrastructure.cache;
+
+/**
+ * Point-in-time snapshot of one cache's statistics
+ */
+public record CacheStats(
+    String name,
+    long size,
+    long hits,
+    long misses,
+    double hitRate,
+    long evictions
+) {}
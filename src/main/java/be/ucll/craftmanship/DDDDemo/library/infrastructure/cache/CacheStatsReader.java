@@ -0,0 +1,47 @@
+package be.ucll.craftmanship.DDDDemo.library.infrastructure.cache;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads hit/miss/eviction statistics from the Caffeine caches
+ * Returns nothing when caching is disabled
+ */
+@Component
+public class CacheStatsReader {
+    
+    private final CacheManager cacheManager;
+    
+    public CacheStatsReader(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+    
+    public List<CacheStats> stats() {
+        List<CacheStats> stats = new ArrayList<>();
+        for (String name : cacheManager.getCacheNames()) {
+            Cache cache = cacheManager.getCache(name);
+            if (cache instanceof TransactionAwareCacheDecorator decorator) {
+                cache = decorator.getTargetCache();
+            }
+            if (cache instanceof CaffeineCache caffeine) {
+                com.github.benmanes.caffeine.cache.Cache<Object, Object> nativeCache = caffeine.getNativeCache();
+                com.github.benmanes.caffeine.cache.stats.CacheStats counters = nativeCache.stats();
+                stats.add(new CacheStats(
+                    name,
+                    nativeCache.estimatedSize(),
+                    counters.hitCount(),
+                    counters.missCount(),
+                    counters.hitRate(),
+                    counters.evictionCount()
+                ));
+            }
+        }
+        return stats;
+    }
+}
@@ -0,0 +1,281 @@
+package be.ucll.craftmanship.DDDDemo.library.infrastructure.events;
+
+import be.ucll.craftmanship.DDDDemo.library.domain.events.DomainEvent;
+import be.ucll.craftmanship.DDDDemo.library.domain.events.DomainEventPublisher;
+import be.ucll.craftmanship.DDDDemo.library.domain.events.DomainEventSubscriber;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-process asynchronous domain event bus
+ * 
+ * - Events are handed to the bus only after the surrounding transaction commits
+ * - Events wait in a bounded lock-free ring buffer
+ * - A dedicated pool of dispatcher threads (platform or virtual) delivers
+ *   each event to every subscriber whose event type matches
+ * - When the buffer is full the configured BackpressurePolicy applies
+ * 
+ * An idle dispatcher spins briefly and then waits on a condition until a
+ * publish signals it; a producer blocked on a full buffer waits until a
+ * dispatcher makes room. Signals are only sent when someone is waiting,
+ * so the busy path stays lock-free.
+ */
+@Component
+public class AsyncDomainEventBus implements DomainEventPublisher {
+    
+    private static final Logger logger = LoggerFactory.getLogger(AsyncDomainEventBus.class);
+    private static final int IDLE_SPINS = 200;
+    
+    private final EventBusProperties properties;
+    private final List<DomainEventSubscriber<?>> subscribers;
+    private final Map<Class<?>, List<DomainEventSubscriber<?>>> subscribersByType = new ConcurrentHashMap<>();
+    private final RingBuffer<Envelope> ringBuffer;
+    private final List<Thread> dispatchers = new ArrayList<>();
+    private volatile boolean running;
+    
+    // Idle dispatchers wait for notEmpty, producers blocked on a full buffer for notFull
+    private final ReentrantLock signalLock = new ReentrantLock();
+    private final Condition notEmpty = signalLock.newCondition();
+    private final Condition notFull = signalLock.newCondition();
+    private final AtomicInteger idleDispatchers = new AtomicInteger();
+    private final AtomicInteger blockedProducers = new AtomicInteger();
+    
+    // Metrics
+    private final LongAdder published = new LongAdder();
+    private final LongAdder dispatched = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder callerRuns = new LongAdder();
+    private final LongAdder subscriberFailures = new LongAdder();
+    private final LongAdder totalLatencyNanos = new LongAdder();
+    private final AtomicLong maxLatencyNanos = new AtomicLong();
+    
+    public AsyncDomainEventBus(EventBusProperties properties, List<DomainEventSubscriber<?>> subscribers) {
+        this.properties = properties;
+        this.subscribers = List.copyOf(subscribers);
+        this.ringBuffer = new RingBuffer<>(properties.capacity());
+    }
+    
+    @PostConstruct
+    public void start() {
+        running = true;
+        Thread.Builder builder = properties.virtualThreads()
+            ? Thread.ofVirtual().name("domain-events-", 0)
+            : Thread.ofPlatform().daemon(true).name("domain-events-", 0);
+        for (int i = 0; i < properties.dispatcherThreads(); i++) {
+            dispatchers.add(builder.start(this::dispatchLoop));
+        }
+        logger.info("Domain event bus started: capacity={}, dispatchers={}, virtualThreads={}, backpressure={}",
+            ringBuffer.capacity(), properties.dispatcherThreads(), properties.virtualThreads(), properties.backpressure());
+    }
+    
+    /**
+     * Stops accepting new work and drains what is already queued
+     */
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        signalLock.lock();
+        try {
+            notEmpty.signalAll();
+            notFull.signalAll();
+        } finally {
+            signalLock.unlock();
+        }
+        for (Thread dispatcher : dispatchers) {
+            dispatcher.join(TimeUnit.SECONDS.toMillis(10));
+        }
+        logger.info("Domain event bus stopped: {}", stats());
+    }
+    
+    /**
+     * Publishes an event
+     * Inside a transaction the event is queued after commit and discarded on rollback
+     */
+    @Override
+    public void publish(DomainEvent event) {
+        if (event == null) {
+            throw new IllegalArgumentException("Event cannot be null");
+        }
+        
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    enqueue(event);
+                }
+            });
+        } else {
+            enqueue(event);
+        }
+    }
+    
+    public EventBusStats stats() {
+        long count = dispatched.sum();
+        double avgMicros = count == 0 ? 0 : totalLatencyNanos.sum() / 1_000.0 / count;
+        return new EventBusStats(
+            ringBuffer.size(),
+            ringBuffer.capacity(),
+            published.sum(),
+            count,
+            dropped.sum(),
+            callerRuns.sum(),
+            subscriberFailures.sum(),
+            avgMicros,
+            TimeUnit.NANOSECONDS.toMicros(maxLatencyNanos.get())
+        );
+    }
+    
+    private void enqueue(DomainEvent event) {
+        published.increment();
+        Envelope envelope = new Envelope(event, System.nanoTime());
+        if (running && ringBuffer.offer(envelope)) {
+            signalIfWaiting(idleDispatchers, notEmpty);
+            return;
+        }
+        
+        switch (properties.backpressure()) {
+            case BLOCK -> {
+                if (awaitRoom(envelope)) {
+                    return;
+                }
+                // Bus is shutting down, never lose the event
+                callerRuns.increment();
+                dispatch(envelope);
+            }
+            case DROP -> {
+                dropped.increment();
+                logger.warn("Event bus full, dropped event: {}", event);
+            }
+            case CALLER_RUNS -> {
+                callerRuns.increment();
+                dispatch(envelope);
+            }
+        }
+    }
+    
+    /**
+     * Waits until the envelope fits in the buffer, returns false if the bus stops first
+     * 
+     * The waiter is counted before the retry, under the lock, so a dispatcher
+     * that frees a slot afterwards always signals it.
+     */
+    private boolean awaitRoom(Envelope envelope) {
+        signalLock.lock();
+        blockedProducers.incrementAndGet();
+        try {
+            while (running) {
+                if (ringBuffer.offer(envelope)) {
+                    if (idleDispatchers.get() > 0) {
+                        notEmpty.signal();
+                    }
+                    return true;
+                }
+                notFull.await();
+            }
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } finally {
+            blockedProducers.decrementAndGet();
+            signalLock.unlock();
+        }
+    }
+    
+    private void dispatchLoop() {
+        int spins = 0;
+        while (running || !ringBuffer.isEmpty()) {
+            Envelope envelope = ringBuffer.poll();
+            if (envelope != null) {
+                spins = 0;
+                signalIfWaiting(blockedProducers, notFull);
+                dispatch(envelope);
+            } else if (spins < IDLE_SPINS) {
+                spins++;
+                Thread.onSpinWait();
+            } else if (awaitEvents()) {
+                spins = 0;
+            } else {
+                // Interrupted, leave whatever is left to the other dispatchers
+                return;
+            }
+        }
+    }
+    
+    /**
+     * Blocks an idle dispatcher until an event is published or the bus stops, false if interrupted
+     * 
+     * Counting the waiter before checking the buffer again closes the gap
+     * with a publish that found no waiter: either the publish sees the count
+     * and signals, or this check sees its event.
+     */
+    private boolean awaitEvents() {
+        signalLock.lock();
+        idleDispatchers.incrementAndGet();
+        try {
+            while (running && ringBuffer.isEmpty()) {
+                notEmpty.await();
+            }
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } finally {
+            idleDispatchers.decrementAndGet();
+            signalLock.unlock();
+        }
+    }
+    
+    private void signalIfWaiting(AtomicInteger waiters, Condition condition) {
+        if (waiters.get() > 0) {
+            signalLock.lock();
+            try {
+                condition.signal();
+            } finally {
+                signalLock.unlock();
+            }
+        }
+    }
+    
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private void dispatch(Envelope envelope) {
+        DomainEvent event = envelope.event();
+        for (DomainEventSubscriber subscriber : subscribersFor(event.getClass())) {
+            try {
+                subscriber.handle(event);
+            } catch (RuntimeException e) {
+                subscriberFailures.increment();
+                logger.error("Subscriber {} failed on event {}", subscriber.getClass().getSimpleName(), event, e);
+            }
+        }
+        
+        long latency = System.nanoTime() - envelope.enqueuedAt();
+        dispatched.increment();
+        totalLatencyNanos.add(latency);
+        maxLatencyNanos.accumulateAndGet(latency, Math::max);
+    }
+    
+    private List<DomainEventSubscriber<?>> subscribersFor(Class<?> eventClass) {
+        return subscribersByType.computeIfAbsent(eventClass, type -> subscribers.stream()
+            .filter(subscriber -> subscriber.eventType().isAssignableFrom(type))
+            .toList());
+    }
+    
+    private record Envelope(DomainEvent event, long enqueuedAt) {}
+}
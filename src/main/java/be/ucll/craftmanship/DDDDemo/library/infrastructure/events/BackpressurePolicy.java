@@ -0,0 +1,10 @@
+package be.ucll.craftmanship.DDDDemo.library.infrastructure.events;
+
+/**
+ * What the event bus does when its ring buffer is full
+ */
+public enum BackpressurePolicy {
+    BLOCK,        // Wait until a dispatcher frees a slot
+    DROP,         // Drop the event and count it
+    CALLER_RUNS   // Dispatch the event on the publishing thread
+}
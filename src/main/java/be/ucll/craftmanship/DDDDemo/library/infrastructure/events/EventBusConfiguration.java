@@ -0,0 +1,12 @@
+package be.ucll.craftmanship.DDDDemo.library.infrastructure.events;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Registers the event bus configuration properties
+ */
+@Configuration
+@EnableConfigurationProperties(EventBusProperties.class)
+public class EventBusConfiguration {
+}
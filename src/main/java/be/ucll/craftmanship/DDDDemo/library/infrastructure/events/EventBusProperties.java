@@ -0,0 +1,28 @@
+package be.ucll.craftmanship.DDDDemo.library.infrastructure.events;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Configuration for the in-process domain event bus (library.events.*)
+ */
+@ConfigurationProperties(prefix = "library.events")
+public record EventBusProperties(
+    @DefaultValue("8192") int capacity,
+    @DefaultValue("2") int dispatcherThreads,
+    @DefaultValue("false") boolean virtualThreads,
+    @DefaultValue("BLOCK") BackpressurePolicy backpressure
+) {
+    
+    public EventBusProperties {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Event bus capacity must be positive");
+        }
+        if (dispatcherThreads <= 0) {
+            throw new IllegalArgumentException("Event bus needs at least one dispatcher thread");
+        }
+        if (backpressure == null) {
+            throw new IllegalArgumentException("Backpressure policy cannot be null");
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package be.ucll.craftmanship.DDDDemo.library.infrastructure.events;
+
+/**
+ * Point-in-time snapshot of the event bus metrics
+ * 
+ * Dispatch latency is measured from the moment an event enters the
+ * ring buffer until all of its subscribers have handled it, so a
+ * growing latency or queue depth means subscribers are falling behind.
+ */
+public record EventBusStats(
+    int queueDepth,
+    int capacity,
+    long published,
+    long dispatched,
+    long dropped,
+    long callerRuns,
+    long subscriberFailures,
+    double avgDispatchLatencyMicros,
+    long maxDispatchLatencyMicros
+) {}
@@ -0,0 +1,27 @@
+package be.ucll.craftmanship.DDDDemo.library.infrastructure.events;
+
+import be.ucll.craftmanship.DDDDemo.library.domain.events.DomainEvent;
+import be.ucll.craftmanship.DDDDemo.library.domain.events.DomainEventSubscriber;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Logs every domain event
+ * Runs on the event bus dispatcher threads, not on the request thread
+ */
+@Component
+public class LoggingEventSubscriber implements DomainEventSubscriber<DomainEvent> {
+    
+    private static final Logger logger = LoggerFactory.getLogger(LoggingEventSubscriber.class);
+    
+    @Override
+    public Class<DomainEvent> eventType() {
+        return DomainEvent.class;
+    }
+    
+    @Override
+    public void handle(DomainEvent event) {
+        logger.info("Domain Event Published: {}", event);
+    }
+}
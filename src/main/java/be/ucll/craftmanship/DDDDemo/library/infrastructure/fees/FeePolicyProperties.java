@@ -0,0 +1,24 @@
+package be.ucll.craftmanship.DDDDemo.library.infrastructure.fees;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Configuration for sharing fee policies between nodes (library.fee-policies.*)
+ * 
+ * refreshInterval: how often each node reloads the stored policies, so a
+ * change made on another node is charged here at most this much later.
+ */
+@ConfigurationProperties(prefix = "library.fee-policies")
+public record FeePolicyProperties(
+    @DefaultValue("30s") Duration refreshInterval
+) {
+    
+    public FeePolicyProperties {
+        if (refreshInterval.isNegative() || refreshInterval.isZero()) {
+            throw new IllegalArgumentException("Fee policy refresh interval must be positive");
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package be.ucll.craftmanship.DDDDemo.library.infrastructure.fees;
+
+import be.ucll.craftmanship.DDDDemo.library.domain.entities.MemberTier;
+import be.ucll.craftmanship.DDDDemo.library.domain.valueobjects.FeePolicy;
+import be.ucll.craftmanship.DDDDemo.library.domain.valueobjects.FeeTier;
+import jakarta.persistence.*;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Stored late fee policy of one member tier
+ * 
+ * The fee tiers are kept as "fromDay:centsPerDay" pairs in one column:
+ * a policy is always read and replaced as a whole.
+ */
+@Entity
+@Table(name = "fee_policies")
+public class FeePolicyRecord {
+    
+    @Id
+    @Enumerated(EnumType.STRING)
+    private MemberTier memberTier;
+    
+    @Version
+    private long version;
+    
+    @Column(nullable = false, length = 3)
+    private String currency;
+    
+    @Column(nullable = false)
+    private int graceDays;
+    
+    @Column(nullable = false, length = 2000)
+    private String tiers;
+    
+    private Long capCents;
+    
+    @Column(nullable = false)
+    private Instant updatedAt;
+    
+    // JPA requires default constructor
+    protected FeePolicyRecord() {}
+    
+    public FeePolicyRecord(MemberTier memberTier, FeePolicy policy) {
+        this.memberTier = memberTier;
+        replace(policy);
+    }
+    
+    public void replace(FeePolicy policy) {
+        this.currency = policy.currency();
+        this.graceDays = policy.graceDays();
+        this.tiers = policy.tiers()
+            .stream()
+            .map(tier -> tier.fromDay() + ":" + tier.centsPerDay())
+            .collect(Collectors.joining(","));
+        this.capCents = policy.capCents();
+        this.updatedAt = Instant.now();
+    }
+    
+    public FeePolicy toPolicy() {
+        List<FeeTier> feeTiers = Arrays.stream(tiers.split(","))
+            .map(pair -> pair.split(":"))
+            .map(pair -> new FeeTier(Integer.parseInt(pair[0]), Long.parseLong(pair[1])))
+            .toList();
+        return new FeePolicy(currency, graceDays, feeTiers, capCents);
+    }
+    
+    public MemberTier getMemberTier() {
+        return memberTier;
+    }
+    
+    public long getVersion() {
+        return version;
+    }
+    
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+}
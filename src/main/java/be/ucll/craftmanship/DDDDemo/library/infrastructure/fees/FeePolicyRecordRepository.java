@@ -0,0 +1,12 @@
+package be.ucll.craftmanship.DDDDemo.library.infrastructure.fees;
+
+import be.ucll.craftmanship.DDDDemo.library.domain.entities.MemberTier;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository for stored fee policies, one row per member tier
+ */
+@Repository
+public interface FeePolicyRecordRepository extends JpaRepository<FeePolicyRecord, MemberTier> {
+}
@@ -0,0 +1,56 @@
+package be.ucll.craftmanship.DDDDemo.library.infrastructure.fees;
+
+import be.ucll.craftmanship.DDDDemo.library.application.fees.FeePolicyStore;
+import be.ucll.craftmanship.DDDDemo.library.domain.services.LateFeeCalculationService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps the fee policies of this node in line with the stored ones
+ * 
+ * Loads them once the application is up and reloads them every
+ * library.fee-policies.refresh-interval, which is how a policy replaced
+ * on one node reaches all the others.
+ */
+@Component
+@EnableScheduling
+@EnableConfigurationProperties(FeePolicyProperties.class)
+public class FeePolicyRefresher {
+    
+    private static final Logger logger = LoggerFactory.getLogger(FeePolicyRefresher.class);
+    
+    private final FeePolicyStore store;
+    private final LateFeeCalculationService lateFeeService;
+    
+    public FeePolicyRefresher(FeePolicyStore store, LateFeeCalculationService lateFeeService) {
+        this.store = store;
+        this.lateFeeService = lateFeeService;
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        int changed = lateFeeService.replacePolicies(store.loadAll());
+        logger.info("Fee policies loaded, {} tier(s) differ from the standard policy", changed);
+    }
+    
+    @Scheduled(
+        fixedDelayString = "${library.fee-policies.refresh-interval:30s}",
+        initialDelayString = "${library.fee-policies.refresh-interval:30s}"
+    )
+    public void refresh() {
+        try {
+            int changed = lateFeeService.replacePolicies(store.loadAll());
+            if (changed > 0) {
+                logger.info("Fee policies refreshed, {} tier(s) changed", changed);
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Fee policy refresh failed, keeping the current policies", e);
+        }
+    }
+}
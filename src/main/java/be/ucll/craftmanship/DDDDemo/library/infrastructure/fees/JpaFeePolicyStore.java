@@ -0,0 +1,49 @@
+package be.ucll.craftmanship.DDDDemo.library.infrastructure.fees;
+
+import be.ucll.craftmanship.DDDDemo.library.application.fees.FeePolicyStore;
+import be.ucll.craftmanship.DDDDemo.library.domain.entities.MemberTier;
+import be.ucll.craftmanship.DDDDemo.library.domain.valueobjects.FeePolicy;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Fee policies in the fee_policies table (V8)
+ */
+@Component
+public class JpaFeePolicyStore implements FeePolicyStore {
+    
+    private final FeePolicyRecordRepository repository;
+    
+    public JpaFeePolicyStore(FeePolicyRecordRepository repository) {
+        this.repository = repository;
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public Map<MemberTier, FeePolicy> loadAll() {
+        Map<MemberTier, FeePolicy> policies = new EnumMap<>(MemberTier.class);
+        for (FeePolicyRecord record : repository.findAll()) {
+            policies.put(record.getMemberTier(), record.toPolicy());
+        }
+        return policies;
+    }
+    
+    /**
+     * Saving the policy that is already stored leaves the row, and its version, alone
+     */
+    @Override
+    @Transactional
+    public void save(MemberTier tier, FeePolicy policy) {
+        repository.findById(tier).ifPresentOrElse(
+            record -> {
+                if (!record.toPolicy().equals(policy)) {
+                    record.replace(policy);
+                }
+            },
+            () -> repository.save(new FeePolicyRecord(tier, policy))
+        );
+    }
+}
@@ -0,0 +1,87 @@
+package be.ucll.craftmanship.DDDDemo.library.infrastructure.metrics;
+
+import be.ucll.craftmanship.DDDDemo.library.application.search.LoanDueIndex;
+import be.ucll.craftmanship.DDDDemo.library.infrastructure.events.AsyncDomainEventBus;
+import be.ucll.craftmanship.DDDDemo.library.infrastructure.persistence.ConflictRetryAspect;
+import be.ucll.craftmanship.DDDDemo.library.infrastructure.threads.PinnedThreadMonitor;
+import be.ucll.craftmanship.DDDDemo.library.infrastructure.threads.RequestAdmissionFilter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+
+/**
+ * Publishes the library's existing counters as meters
+ * 
+ * Open and overdue loans come from the in-memory due index, so a scrape
+ * never queries the loans table; both read NaN until the index is built.
+ * Everything else wraps the counters the components already keep: nothing
+ * is counted twice, the meters only read.
+ */
+@Component
+public class LibraryMeterBinder implements MeterBinder {
+    
+    private final LoanDueIndex dueIndex;
+    private final AsyncDomainEventBus eventBus;
+    private final ConflictRetryAspect conflictRetry;
+    private final ObjectProvider<RequestAdmissionFilter> admissionFilter;
+    private final ObjectProvider<PinnedThreadMonitor> pinnedThreadMonitor;
+    
+    public LibraryMeterBinder(
+        LoanDueIndex dueIndex,
+        AsyncDomainEventBus eventBus,
+        ConflictRetryAspect conflictRetry,
+        ObjectProvider<RequestAdmissionFilter> admissionFilter,
+        ObjectProvider<PinnedThreadMonitor> pinnedThreadMonitor
+    ) {
+        this.dueIndex = dueIndex;
+        this.eventBus = eventBus;
+        this.conflictRetry = conflictRetry;
+        this.admissionFilter = admissionFilter;
+        this.pinnedThreadMonitor = pinnedThreadMonitor;
+    }
+    
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("library.loans.open", dueIndex, index -> index.isReady() ? index.size() : Double.NaN)
+            .description("Loans not returned yet")
+            .register(registry);
+        Gauge.builder("library.loans.overdue", dueIndex,
+                index -> index.isReady() ? index.countDueBefore(LocalDate.now()) : Double.NaN)
+            .description("Open loans past their due date")
+            .register(registry);
+        
+        Gauge.builder("library.events.queue.depth", eventBus, bus -> bus.stats().queueDepth())
+            .register(registry);
+        FunctionCounter.builder("library.events.published", eventBus, bus -> bus.stats().published())
+            .register(registry);
+        FunctionCounter.builder("library.events.dispatched", eventBus, bus -> bus.stats().dispatched())
+            .register(registry);
+        FunctionCounter.builder("library.events.dropped", eventBus, bus -> bus.stats().dropped())
+            .register(registry);
+        FunctionCounter.builder("library.events.subscriber.failures", eventBus, bus -> bus.stats().subscriberFailures())
+            .register(registry);
+        
+        FunctionCounter.builder("library.conflicts.retries", conflictRetry, ConflictRetryAspect::getRetries)
+            .description("Attempts re-run after losing a race with a concurrent writer")
+            .register(registry);
+        FunctionCounter.builder("library.conflicts.exhausted", conflictRetry, ConflictRetryAspect::getExhausted)
+            .description("Calls that still conflicted after the last attempt")
+            .register(registry);
+        
+        admissionFilter.ifAvailable(filter -> {
+            Gauge.builder("library.requests.in-flight", filter, RequestAdmissionFilter::getInFlight).register(registry);
+            Gauge.builder("library.requests.queued", filter, RequestAdmissionFilter::getQueued).register(registry);
+            FunctionCounter.builder("library.requests.rejected", filter, RequestAdmissionFilter::getRejected)
+                .description("Requests turned away with a 503 after the admission timeout")
+                .register(registry);
+        });
+        pinnedThreadMonitor.ifAvailable(monitor ->
+            FunctionCounter.builder("library.virtual-threads.pinned", monitor, PinnedThreadMonitor::getPinnedCount)
+                .register(registry));
+    }
+}
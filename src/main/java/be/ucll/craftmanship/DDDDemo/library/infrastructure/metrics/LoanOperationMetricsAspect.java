@@ -0,0 +1,179 @@
+package be.ucll.craftmanship.DDDDemo.library.infrastructure.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times the loan hot path, and every repository call inside it
+ * 
+ * borrowBook, returnBook, extendLoan and calculateLateFee of LoanService
+ * each run as an Observation named library.loan.operations: a timer tagged
+ * with the operation (and the exception, if any), plus a trace span when
+ * tracing samples the request. Repository calls are plain timers tagged with
+ * repository, method and the operation they ran in, so a slow borrow can be
+ * broken down per query without a span per call. The domain fee calculation
+ * gets its own timer, it runs once per entry of the dashboards.
+ * 
+ * Ordered ahead of the conflict retry: an operation is timed once, retries
+ * included, the way its caller waits for it.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@EnableConfigurationProperties(MetricsProperties.class)
+public class LoanOperationMetricsAspect {
+    
+    static final String OPERATIONS = "library.loan.operations";
+    static final String REPOSITORY_CALLS = "library.repository.calls";
+    
+    private static final Logger logger = LoggerFactory.getLogger(LoanOperationMetricsAspect.class);
+    
+    private static final String NO_OPERATION = "none";
+    
+    // Operation the current thread is in, for the tag of its repository calls
+    private static final ThreadLocal<String> currentOperation = new ThreadLocal<>();
+    
+    // Repository interface name per proxy class
+    private static final ClassValue<String> repositoryNames = new ClassValue<>() {
+        @Override
+        protected String computeValue(Class<?> proxyClass) {
+            for (Class<?> type : proxyClass.getInterfaces()) {
+                if (type.getSimpleName().endsWith("Repository") && !type.getName().startsWith("org.springframework")) {
+                    return type.getSimpleName();
+                }
+            }
+            return proxyClass.getSimpleName();
+        }
+    };
+    
+    private final ObservationRegistry observationRegistry;
+    private final MeterRegistry meterRegistry;
+    private final MetricsProperties properties;
+    private final Timer lateFeeTimer;
+    private final Map<RepositoryCall, Timer> repositoryTimers = new ConcurrentHashMap<>();
+    
+    public LoanOperationMetricsAspect(
+        ObservationRegistry observationRegistry,
+        MeterRegistry meterRegistry,
+        MetricsProperties properties
+    ) {
+        this.observationRegistry = observationRegistry;
+        this.meterRegistry = meterRegistry;
+        this.properties = properties;
+        this.lateFeeTimer = Timer.builder("library.late-fee.calculations")
+            .description("Late fee calculations of the domain service")
+            .register(meterRegistry);
+    }
+    
+    @Around("execution(* be.ucll.craftmanship.DDDDemo.library.application.services.LoanService.borrowBook(..))")
+    public Object borrow(ProceedingJoinPoint call) throws Throwable {
+        return observe(call, "borrow");
+    }
+    
+    @Around("execution(* be.ucll.craftmanship.DDDDemo.library.application.services.LoanService.returnBook(..))")
+    public Object returnBook(ProceedingJoinPoint call) throws Throwable {
+        return observe(call, "return");
+    }
+    
+    @Around("execution(* be.ucll.craftmanship.DDDDemo.library.application.services.LoanService.extendLoan(..))")
+    public Object extend(ProceedingJoinPoint call) throws Throwable {
+        return observe(call, "extend");
+    }
+    
+    @Around("execution(* be.ucll.craftmanship.DDDDemo.library.application.services.LoanService.calculateLateFee(..))")
+    public Object lateFee(ProceedingJoinPoint call) throws Throwable {
+        return observe(call, "late-fee");
+    }
+    
+    @Around("execution(* be.ucll.craftmanship.DDDDemo.library.domain.services.LateFeeCalculationService.calculateLateFee(..))")
+    public Object calculateLateFee(ProceedingJoinPoint call) throws Throwable {
+        long start = System.nanoTime();
+        try {
+            return call.proceed();
+        } finally {
+            lateFeeTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+    
+    // this(), not execution(): most repository methods are declared by Spring Data, not by our interfaces
+    @Around("this(org.springframework.data.repository.Repository)")
+    public Object repositoryCall(ProceedingJoinPoint call) throws Throwable {
+        if (!properties.repositoryTimings()) {
+            return call.proceed();
+        }
+        long start = System.nanoTime();
+        try {
+            return call.proceed();
+        } finally {
+            String operation = currentOperation.get();
+            RepositoryCall key = new RepositoryCall(
+                call.getThis().getClass(),
+                call.getSignature().getName(),
+                operation == null ? NO_OPERATION : operation
+            );
+            repositoryTimers.computeIfAbsent(key, this::repositoryTimer)
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+    
+    private Object observe(ProceedingJoinPoint call, String operation) throws Throwable {
+        String outer = currentOperation.get();
+        currentOperation.set(operation);
+        Observation observation = Observation.createNotStarted(OPERATIONS, observationRegistry)
+            .contextualName("loan " + operation)
+            .lowCardinalityKeyValue("operation", operation)
+            .start();
+        long start = System.nanoTime();
+        try (Observation.Scope scope = observation.openScope()) {
+            try {
+                return call.proceed();
+            } catch (Throwable e) {
+                observation.error(e);
+                throw e;
+            } finally {
+                // Still inside the scope, so the log line carries the trace id
+                logIfSlow(operation, System.nanoTime() - start);
+            }
+        } finally {
+            observation.stop();
+            if (outer == null) {
+                currentOperation.remove();
+            } else {
+                currentOperation.set(outer);
+            }
+        }
+    }
+    
+    private Timer repositoryTimer(RepositoryCall key) {
+        return Timer.builder(REPOSITORY_CALLS)
+            .description("Repository calls, by the loan operation they ran in")
+            .tag("repository", repositoryNames.get(key.proxyClass()))
+            .tag("method", key.method())
+            .tag("operation", key.operation())
+            .register(meterRegistry);
+    }
+    
+    private void logIfSlow(String operation, long nanos) {
+        long threshold = properties.slowOperationThreshold().toNanos();
+        if (threshold > 0 && nanos >= threshold) {
+            logger.warn("Slow loan {}: {} ms", operation, TimeUnit.NANOSECONDS.toMillis(nanos));
+        }
+    }
+    
+    private record RepositoryCall(Class<?> proxyClass, String method, String operation) {}
+}
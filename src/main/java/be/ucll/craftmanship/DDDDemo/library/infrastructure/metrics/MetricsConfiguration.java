@@ -0,0 +1,24 @@
+package be.ucll.craftmanship.DDDDemo.library.infrastructure.metrics;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Hooks the per-request statement count into Hibernate, and its
+ * statistics when library.metrics.hibernate-statistics is on
+ */
+@Configuration
+public class MetricsConfiguration {
+    
+    @Bean
+    HibernatePropertiesCustomizer sqlStatementCounter(MetricsProperties metricsProperties) {
+        return properties -> {
+            properties.put(AvailableSettings.STATEMENT_INSPECTOR, new SqlStatementCounter());
+            if (metricsProperties.hibernateStatistics()) {
+                properties.put(AvailableSettings.GENERATE_STATISTICS, true);
+            }
+        };
+    }
+}
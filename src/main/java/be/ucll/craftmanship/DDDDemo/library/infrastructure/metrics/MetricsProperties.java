@@ -0,0 +1,30 @@
+package be.ucll.craftmanship.DDDDemo.library.infrastructure.metrics;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings of the library's own meters (library.metrics.*)
+ * 
+ * A loan operation slower than slowOperationThreshold is logged with its
+ * trace id; a threshold of 0 turns the log off. repositoryTimings times
+ * every repository call, tagged with the operation it ran in.
+ * hibernateStatistics turns on Hibernate's statistics, which feed the
+ * hibernate.* meters; off by default, as collecting them costs on every
+ * session and query.
+ */
+@ConfigurationProperties(prefix = "library.metrics")
+public record MetricsProperties(
+    @DefaultValue("500ms") Duration slowOperationThreshold,
+    @DefaultValue("true") boolean repositoryTimings,
+    @DefaultValue("false") boolean hibernateStatistics
+) {
+    
+    public MetricsProperties {
+        if (slowOperationThreshold == null || slowOperationThreshold.isNegative()) {
+            throw new IllegalArgumentException("Slow operation threshold cannot be negative");
+        }
+    }
+}
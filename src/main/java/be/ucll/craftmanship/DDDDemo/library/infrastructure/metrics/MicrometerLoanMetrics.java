@@ -0,0 +1,37 @@
+package be.ucll.craftmanship.DDDDemo.library.infrastructure.metrics;
+
+import be.ucll.craftmanship.DDDDemo.library.application.metrics.BorrowRejection;
+import be.ucll.craftmanship.DDDDemo.library.application.metrics.LoanMetrics;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * LoanMetrics as Micrometer counters, one per rejection reason
+ * 
+ * The counters are registered up front, so every reason is reported
+ * (as 0) from the first scrape and a rejection is a single increment.
+ */
+@Component
+public class MicrometerLoanMetrics implements LoanMetrics {
+    
+    private final Map<BorrowRejection, Counter> rejections = new EnumMap<>(BorrowRejection.class);
+    
+    public MicrometerLoanMetrics(MeterRegistry registry) {
+        for (BorrowRejection reason : BorrowRejection.values()) {
+            rejections.put(reason, Counter.builder("library.loans.rejections")
+                .description("Borrows refused by a business rule")
+                .tag("reason", reason.name().toLowerCase(Locale.ROOT))
+                .register(registry));
+        }
+    }
+    
+    @Override
+    public void rejected(BorrowRejection reason) {
+        rejections.get(reason).increment();
+    }
+}
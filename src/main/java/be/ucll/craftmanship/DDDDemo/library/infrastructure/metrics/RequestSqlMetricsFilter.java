@@ -0,0 +1,55 @@
+package be.ucll.craftmanship.DDDDemo.library.infrastructure.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Records the number of SQL statements each /api request prepared
+ * 
+ * Tagged with the matched URI template, not the raw path, so the number of
+ * series stays bounded. Work a request hands to another thread (NDJSON
+ * streams, event subscribers) is not counted here.
+ */
+@Component
+public class RequestSqlMetricsFilter extends OncePerRequestFilter {
+    
+    private static final String UNKNOWN_URI = "UNKNOWN";
+    
+    private final MeterRegistry registry;
+    
+    public RequestSqlMetricsFilter(MeterRegistry registry) {
+        this.registry = registry;
+    }
+    
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getServletPath().startsWith("/api/");
+    }
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+        throws ServletException, IOException {
+        long before = SqlStatementCounter.current();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            Object uri = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            DistributionSummary.builder("library.requests.sql.statements")
+                .description("SQL statements prepared per request")
+                .baseUnit("statements")
+                .tag("method", request.getMethod())
+                .tag("uri", uri == null ? UNKNOWN_URI : uri.toString())
+                .register(registry)
+                .record(SqlStatementCounter.current() - before);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package be.ucll.craftmanship.DDDDemo.library.infrastructure.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread
+ * 
+ * Hibernate's own statistics are totals for the whole application; this
+ * count lets a request see how many statements it caused. A JDBC batch
+ * counts once, like the round trip it is.
+ */
+public class SqlStatementCounter implements StatementInspector {
+    
+    private static final ThreadLocal<long[]> statements = ThreadLocal.withInitial(() -> new long[1]);
+    
+    @Override
+    public String inspect(String sql) {
+        statements.get()[0]++;
+        return sql;
+    }
+    
+    /**
+     * Statements prepared on this thread so far; subtract two readings for a count per unit of work
+     */
+    public static long current() {
+        return statements.get()[0];
+    }
+}
@@ -0,0 +1,43 @@
+package be.ucll.craftmanship.DDDDemo.library.infrastructure.outbox;
+
+import be.ucll.craftmanship.DDDDemo.library.domain.events.DomainEvent;
+import be.ucll.craftmanship.DDDDemo.library.infrastructure.events.AsyncDomainEventBus;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+
+/**
+ * Default outbox sink: rehydrates events and hands them to the in-process bus
+ * 
+ * The relay calls this inside its transaction, so the bus only receives
+ * the events after the outbox rows have been deleted and committed.
+ */
+public class DomainEventBusSink implements OutboxSink {
+    
+    private static final Logger logger = LoggerFactory.getLogger(DomainEventBusSink.class);
+    
+    private final AsyncDomainEventBus eventBus;
+    private final ObjectMapper objectMapper;
+    
+    public DomainEventBusSink(AsyncDomainEventBus eventBus, ObjectMapper objectMapper) {
+        this.eventBus = eventBus;
+        this.objectMapper = objectMapper;
+    }
+    
+    @Override
+    public void publish(List<OutboxMessage> batch) {
+        for (OutboxMessage message : batch) {
+            try {
+                Class<?> eventClass = Class.forName(message.eventClass());
+                DomainEvent event = (DomainEvent) objectMapper.readValue(message.payload(), eventClass);
+                eventBus.publish(event);
+            } catch (ClassNotFoundException | ClassCastException | JsonProcessingException e) {
+                // A poison message must not block the rest of the outbox
+                logger.error("Skipping unreadable outbox event {} ({})", message.eventId(), message.eventClass(), e);
+            }
+        }
+    }
+}
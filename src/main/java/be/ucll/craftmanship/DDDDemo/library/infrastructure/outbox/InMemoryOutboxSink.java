@@ -0,0 +1,27 @@
+package be.ucll.craftmanship.DDDDemo.library.infrastructure.outbox;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Outbox sink that keeps relayed messages in memory
+ * Intended for tests and local experiments
+ */
+public class InMemoryOutboxSink implements OutboxSink {
+    
+    private final ConcurrentLinkedQueue<OutboxMessage> messages = new ConcurrentLinkedQueue<>();
+    
+    @Override
+    public void publish(List<OutboxMessage> batch) {
+        messages.addAll(batch);
+    }
+    
+    public List<OutboxMessage> getMessages() {
+        return new ArrayList<>(messages);
+    }
+    
+    public void clear() {
+        messages.clear();
+    }
+}
@@ -0,0 +1,49 @@
+package be.ucll.craftmanship.DDDDemo.library.infrastructure.outbox;
+
+import be.ucll.craftmanship.DDDDemo.library.domain.events.DomainEventPublisher;
+import be.ucll.craftmanship.DDDDemo.library.infrastructure.events.AsyncDomainEventBus;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Wires the transactional outbox
+ * 
+ * When enabled (the default) the outbox publisher becomes the primary
+ * DomainEventPublisher, and the relay forwards committed events to the
+ * OutboxSink bean (by default the in-process event bus).
+ */
+@Configuration
+@EnableConfigurationProperties(OutboxProperties.class)
+@ConditionalOnProperty(prefix = "library.outbox", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class OutboxConfiguration {
+    
+    @Bean
+    @Primary
+    public DomainEventPublisher outboxDomainEventPublisher(
+        OutboxEventRepository outboxEventRepository,
+        ObjectMapper objectMapper
+    ) {
+        return new OutboxDomainEventPublisher(outboxEventRepository, objectMapper);
+    }
+    
+    @Bean
+    public OutboxSink domainEventBusSink(AsyncDomainEventBus eventBus, ObjectMapper objectMapper) {
+        return new DomainEventBusSink(eventBus, objectMapper);
+    }
+    
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    public OutboxRelay outboxRelay(
+        JdbcTemplate jdbcTemplate,
+        TransactionTemplate transactionTemplate,
+        OutboxSink outboxSink,
+        OutboxProperties properties
+    ) {
+        return new OutboxRelay(jdbcTemplate, transactionTemplate, outboxSink, properties);
+    }
+}
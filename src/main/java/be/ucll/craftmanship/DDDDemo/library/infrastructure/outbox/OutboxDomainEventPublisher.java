@@ -0,0 +1,50 @@
+package be.ucll.craftmanship.DDDDemo.library.infrastructure.outbox;
+
+import be.ucll.craftmanship.DDDDemo.library.domain.events.DomainEvent;
+import be.ucll.craftmanship.DDDDemo.library.domain.events.DomainEventPublisher;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Publishes domain events by writing them to the outbox table
+ * 
+ * Must run inside the transaction that saves the aggregates, so the
+ * event and the state change commit (or roll back) together.
+ * The OutboxRelay delivers the rows to the configured OutboxSink.
+ */
+public class OutboxDomainEventPublisher implements DomainEventPublisher {
+    
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+    
+    public OutboxDomainEventPublisher(OutboxEventRepository outboxEventRepository, ObjectMapper objectMapper) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.objectMapper = objectMapper;
+    }
+    
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publish(DomainEvent event) {
+        if (event == null) {
+            throw new IllegalArgumentException("Event cannot be null");
+        }
+        
+        outboxEventRepository.save(new OutboxEvent(
+            event.getEventId(),
+            event.getEventType(),
+            event.getClass().getName(),
+            toJson(event),
+            event.getOccurredOn()
+        ));
+    }
+    
+    private String toJson(DomainEvent event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize domain event: " + event, e);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package be.ucll.craftmanship.DDDDemo.library.infrastructure.outbox;
+
+import jakarta.persistence.*;
+import org.springframework.data.domain.Persistable;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Row of the transactional outbox
+ * 
+ * Written in the same transaction as the aggregate changes that raised
+ * the event, so an event is stored if and only if the change commits.
+ * The table is insert-only: rows are deleted by the relay once handed
+ * to the sink, so every instance is new (no SELECT before INSERT).
+ */
+@Entity
+@Table(
+    name = "outbox_events",
+    indexes = @Index(name = "idx_outbox_events_created_at", columnList = "createdAt")
+)
+public class OutboxEvent implements Persistable<UUID> {
+    
+    @Id
+    private UUID id;
+    
+    @Column(nullable = false)
+    private String eventType;
+    
+    @Column(nullable = false)
+    private String eventClass;
+    
+    @Column(nullable = false, columnDefinition = "text")
+    private String payload;
+    
+    @Column(nullable = false)
+    private LocalDateTime occurredOn;
+    
+    @Column(nullable = false)
+    private Instant createdAt;
+    
+    @Transient
+    private boolean isNew = true;
+    
+    // JPA requires default constructor
+    protected OutboxEvent() {}
+    
+    public OutboxEvent(UUID id, String eventType, String eventClass, String payload, LocalDateTime occurredOn) {
+        this.id = id;
+        this.eventType = eventType;
+        this.eventClass = eventClass;
+        this.payload = payload;
+        this.occurredOn = occurredOn;
+        this.createdAt = Instant.now();
+    }
+    
+    @PostLoad
+    void markNotNew() {
+        this.isNew = false;
+    }
+    
+    @Override
+    public UUID getId() {
+        return id;
+    }
+    
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+    
+    public String getEventType() {
+        return eventType;
+    }
+    
+    public String getEventClass() {
+        return eventClass;
+    }
+    
+    public String getPayload() {
+        return payload;
+    }
+    
+    public LocalDateTime getOccurredOn() {
+        return occurredOn;
+    }
+    
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+}
@@ -0,0 +1,14 @@
+package be.ucll.craftmanship.DDDDemo.library.infrastructure.outbox;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.UUID;
+
+/**
+ * Repository for outbox rows
+ * Only used for writing; the relay reads with SKIP LOCKED through JDBC
+ */
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, UUID> {
+}
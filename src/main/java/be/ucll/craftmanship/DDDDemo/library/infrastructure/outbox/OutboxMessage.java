@@ -0,0 +1,15 @@
+package be.ucll.craftmanship.DDDDemo.library.infrastructure.outbox;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * An outbox row as handed to an OutboxSink
+ */
+public record OutboxMessage(
+    UUID eventId,
+    String eventType,
+    String eventClass,
+    String payload,
+    LocalDateTime occurredOn
+) {}
@@ -0,0 +1,31 @@
+package be.ucll.craftmanship.DDDDemo.library.infrastructure.outbox;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Configuration for the transactional outbox (library.outbox.*)
+ */
+@ConfigurationProperties(prefix = "library.outbox")
+public record OutboxProperties(
+    @DefaultValue("true") boolean enabled,
+    @DefaultValue("true") boolean relayEnabled,
+    @DefaultValue("1") int relayThreads,
+    @DefaultValue("500") int batchSize,
+    @DefaultValue("200ms") Duration pollInterval
+) {
+    
+    public OutboxProperties {
+        if (relayThreads <= 0) {
+            throw new IllegalArgumentException("Outbox needs at least one relay thread");
+        }
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Outbox batch size must be positive");
+        }
+        if (pollInterval == null || pollInterval.isNegative()) {
+            throw new IllegalArgumentException("Outbox poll interval cannot be negative");
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package be.ucll.craftmanship.DDDDemo.library.infrastructure.outbox;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Moves events from the outbox table to the OutboxSink
+ * 
+ * Each batch runs in its own transaction:
+ * 1. SELECT ... FOR UPDATE SKIP LOCKED claims up to batchSize rows
+ * 2. The sink receives the whole batch
+ * 3. The rows are deleted with one JDBC batch
+ * If the sink throws, the transaction rolls back and the rows are retried.
+ * SKIP LOCKED lets several relay threads (or application instances) share
+ * the table without ever handing out the same row twice at the same time.
+ */
+public class OutboxRelay {
+    
+    private static final Logger logger = LoggerFactory.getLogger(OutboxRelay.class);
+    
+    private static final String SELECT_BATCH =
+        "SELECT id, event_type, event_class, payload, occurred_on FROM outbox_events " +
+        "ORDER BY created_at LIMIT ? FOR UPDATE SKIP LOCKED";
+    private static final String DELETE_BY_ID = "DELETE FROM outbox_events WHERE id = ?";
+    
+    private static final RowMapper<OutboxMessage> ROW_MAPPER = (rs, rowNum) -> new OutboxMessage(
+        rs.getObject("id", UUID.class),
+        rs.getString("event_type"),
+        rs.getString("event_class"),
+        rs.getString("payload"),
+        rs.getObject("occurred_on", LocalDateTime.class)
+    );
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final OutboxSink sink;
+    private final OutboxProperties properties;
+    private final List<Thread> relayThreads = new ArrayList<>();
+    private final LongAdder relayed = new LongAdder();
+    private volatile boolean running;
+    
+    public OutboxRelay(
+        JdbcTemplate jdbcTemplate,
+        TransactionTemplate transactionTemplate,
+        OutboxSink sink,
+        OutboxProperties properties
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.sink = sink;
+        this.properties = properties;
+    }
+    
+    public void start() {
+        if (!properties.relayEnabled()) {
+            logger.info("Outbox relay disabled");
+            return;
+        }
+        running = true;
+        Thread.Builder builder = Thread.ofPlatform().daemon(true).name("outbox-relay-", 0);
+        for (int i = 0; i < properties.relayThreads(); i++) {
+            relayThreads.add(builder.start(this::relayLoop));
+        }
+        logger.info("Outbox relay started: threads={}, batchSize={}, pollInterval={}",
+            properties.relayThreads(), properties.batchSize(), properties.pollInterval());
+    }
+    
+    public void stop() throws InterruptedException {
+        running = false;
+        for (Thread thread : relayThreads) {
+            thread.interrupt();
+            thread.join(properties.pollInterval().toMillis() + 5_000);
+        }
+        logger.info("Outbox relay stopped after relaying {} events", relayed.sum());
+    }
+    
+    /**
+     * Relays one batch, returns the number of events handed to the sink
+     */
+    public int relayBatch() {
+        Integer count = transactionTemplate.execute(status -> {
+            List<OutboxMessage> batch = jdbcTemplate.query(SELECT_BATCH, ROW_MAPPER, properties.batchSize());
+            if (batch.isEmpty()) {
+                return 0;
+            }
+            
+            sink.publish(batch);
+            
+            List<Object[]> ids = new ArrayList<>(batch.size());
+            for (OutboxMessage message : batch) {
+                ids.add(new Object[] {message.eventId()});
+            }
+            jdbcTemplate.batchUpdate(DELETE_BY_ID, ids);
+            return batch.size();
+        });
+        int relayedNow = count == null ? 0 : count;
+        relayed.add(relayedNow);
+        return relayedNow;
+    }
+    
+    /**
+     * Relays until the outbox is empty, returns the number of events relayed
+     */
+    public int drain() {
+        int total = 0;
+        int count;
+        while ((count = relayBatch()) > 0) {
+            total += count;
+        }
+        return total;
+    }
+    
+    public long getRelayedCount() {
+        return relayed.sum();
+    }
+    
+    private void relayLoop() {
+        while (running) {
+            try {
+                // A full batch means there is probably more waiting, so go again right away
+                if (relayBatch() < properties.batchSize()) {
+                    Thread.sleep(properties.pollInterval());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                logger.error("Outbox relay batch failed, retrying after {}", properties.pollInterval(), e);
+                try {
+                    Thread.sleep(properties.pollInterval());
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+}
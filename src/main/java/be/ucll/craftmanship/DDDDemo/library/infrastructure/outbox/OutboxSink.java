@@ -0,0 +1,15 @@
+package be.ucll.craftmanship.DDDDemo.library.infrastructure.outbox;
+
+import java.util.List;
+
+/**
+ * Destination for relayed outbox events (event bus, message broker, ...)
+ * 
+ * The relay calls the sink while it still holds the row locks and only
+ * deletes the rows when the sink returns normally, so delivery is
+ * at-least-once: a sink must tolerate seeing the same event id twice.
+ */
+public interface OutboxSink {
+    
+    void publish(List<OutboxMessage> batch);
+}
@@ -0,0 +1,125 @@
+package be.ucll.craftmanship.DDDDemo.library.infrastructure.persistence;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.hibernate.exception.ConstraintViolationException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Re-runs @RetryOnConflict methods that lost a race with a concurrent writer
+ * 
+ * Retryable:
+ * - optimistic lock failures (stale @Version) and lock/deadlock failures
+ * - violations of the one-open-loan-per-book index
+ * 
+ * Backoff is exponential with full jitter, so competing callers spread out
+ * instead of colliding again. Ordered ahead of the transaction interceptor:
+ * every attempt gets its own transaction. Only the operation metrics run
+ * outside it, so their timings include the retries.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+@EnableConfigurationProperties(ConflictRetryProperties.class)
+public class ConflictRetryAspect {
+    
+    // Unique partial index on loans (book_id) for ACTIVE/EXTENDED, see V2__loan_hot_path_indexes.sql
+    static final String OPEN_LOAN_INDEX = "ux_loans_open_book";
+    
+    private static final Logger logger = LoggerFactory.getLogger(ConflictRetryAspect.class);
+    
+    private final ConflictRetryProperties properties;
+    private final LongAdder retries = new LongAdder();
+    private final LongAdder exhausted = new LongAdder();
+    
+    public ConflictRetryAspect(ConflictRetryProperties properties) {
+        this.properties = properties;
+    }
+    
+    @Around("@annotation(be.ucll.craftmanship.DDDDemo.library.application.services.RetryOnConflict)")
+    public Object retry(ProceedingJoinPoint call) throws Throwable {
+        // A conflict inside an outer transaction has already marked it rollback-only
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return call.proceed();
+        }
+        
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return call.proceed();
+            } catch (RuntimeException e) {
+                if (!isRetryable(e)) {
+                    throw e;
+                }
+                if (attempt >= properties.maxAttempts()) {
+                    exhausted.increment();
+                    throw e;
+                }
+                retries.increment();
+                logger.debug("Conflict in {} (attempt {}), retrying: {}",
+                    call.getSignature().toShortString(), attempt, e.getMessage());
+                if (!backoff(attempt)) {
+                    throw e;
+                }
+            }
+        }
+    }
+    
+    /**
+     * Total number of retried attempts
+     */
+    public long getRetries() {
+        return retries.sum();
+    }
+    
+    /**
+     * Number of calls that still conflicted after the last attempt
+     */
+    public long getExhausted() {
+        return exhausted.sum();
+    }
+    
+    static boolean isRetryable(Throwable e) {
+        if (e instanceof ConcurrencyFailureException) {
+            return true;
+        }
+        if (e instanceof DataIntegrityViolationException) {
+            for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+                if (cause instanceof ConstraintViolationException violation
+                        && violation.getConstraintName() != null
+                        && violation.getConstraintName().toLowerCase(Locale.ROOT).contains(OPEN_LOAN_INDEX)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+    
+    // Full jitter: sleep uniformly in [0, min(max, initial * 2^(attempt-1))]
+    private boolean backoff(int attempt) {
+        long cap = Math.min(
+            properties.maxBackoff().toNanos(),
+            properties.initialBackoff().toNanos() << Math.min(attempt - 1, 20)
+        );
+        long sleep = cap <= 0 ? 0 : ThreadLocalRandom.current().nextLong(cap + 1);
+        try {
+            Thread.sleep(sleep / 1_000_000, (int) (sleep % 1_000_000));
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
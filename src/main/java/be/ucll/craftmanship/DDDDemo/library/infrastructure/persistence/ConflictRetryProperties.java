@@ -0,0 +1,26 @@
+package be.ucll.craftmanship.DDDDemo.library.infrastructure.persistence;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Configuration for retrying conflicting transactions (library.retry.*)
+ */
+@ConfigurationProperties(prefix = "library.retry")
+public record ConflictRetryProperties(
+    @DefaultValue("5") int maxAttempts,
+    @DefaultValue("5ms") Duration initialBackoff,
+    @DefaultValue("200ms") Duration maxBackoff
+) {
+    
+    public ConflictRetryProperties {
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("Retry max attempts must be at least 1");
+        }
+        if (initialBackoff.isNegative() || maxBackoff.compareTo(initialBackoff) < 0) {
+            throw new IllegalArgumentException("Retry backoff must satisfy 0 <= initial <= max");
+        }
+    }
+}
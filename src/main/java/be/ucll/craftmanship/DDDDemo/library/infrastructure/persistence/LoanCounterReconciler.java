@@ -0,0 +1,57 @@
+package be.ucll.craftmanship.DDDDemo.library.infrastructure.persistence;
+
+import be.ucll.craftmanship.DDDDemo.library.domain.aggregates.LoanStatus;
+import be.ucll.craftmanship.DDDDemo.library.domain.repositories.LoanRepository;
+import be.ucll.craftmanship.DDDDemo.library.domain.repositories.MemberRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.EnumSet;
+
+/**
+ * Rebuilds Member.activeLoans from the loans table
+ * 
+ * The initial backfill is done by the V3 migration; this is the repair
+ * tool for counters that drifted afterwards. Borrows that commit while
+ * it runs can be miscounted, so run it before taking traffic.
+ */
+@Component
+@ConditionalOnProperty(prefix = "library.loans", name = "reconcile-counters-on-startup", havingValue = "true")
+public class LoanCounterReconciler {
+    
+    private static final Logger logger = LoggerFactory.getLogger(LoanCounterReconciler.class);
+    
+    private final LoanRepository loanRepository;
+    private final MemberRepository memberRepository;
+    private final TransactionTemplate transaction;
+    
+    public LoanCounterReconciler(
+        LoanRepository loanRepository,
+        MemberRepository memberRepository,
+        PlatformTransactionManager transactionManager
+    ) {
+        this.loanRepository = loanRepository;
+        this.memberRepository = memberRepository;
+        this.transaction = new TransactionTemplate(transactionManager);
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconcile() {
+        int members = transaction.execute(status -> {
+            memberRepository.resetActiveLoans();
+            int updated = 0;
+            for (LoanRepository.MemberLoanCount count :
+                    loanRepository.countByStatusGroupByMember(EnumSet.of(LoanStatus.ACTIVE, LoanStatus.EXTENDED))) {
+                updated += memberRepository.setActiveLoans(count.getMemberId(), Math.toIntExact(count.getLoanCount()));
+            }
+            return updated;
+        });
+        logger.info("Loan counters reconciled for {} members with open loans", members);
+    }
+}
@@ -3,14 +3,18 @@ package be.ucll.craftmanship.DDDDemo.library.infrastructure.persistence.converte
 import be.ucll.craftmanship.DDDDemo.library.domain.valueobjects.BookId;
 import jakarta.persistence.AttributeConverter;
 import jakarta.persistence.Converter;
+import org.hibernate.annotations.Immutable;
 
 import java.util.UUID;
 
 /**
  * JPA Converter for BookId value object
  * Converts between BookId and UUID for database storage
+ * 
+ * @Immutable tells Hibernate it can skip the dirty-checking snapshot copy.
  */
 @Converter(autoApply = true)
+@Immutable
 public class BookIdConverter implements AttributeConverter<BookId, UUID> {
     
     @Override
@@ -23,4 +27,3 @@ public class BookIdConverter implements AttributeConverter<BookId, UUID> {
         return uuid == null ? null : new BookId(uuid);
     }
 }
-
@@ -3,11 +3,16 @@ package be.ucll.craftmanship.DDDDemo.library.infrastructure.persistence.converte
 import be.ucll.craftmanship.DDDDemo.library.domain.valueobjects.Email;
 import jakarta.persistence.AttributeConverter;
 import jakarta.persistence.Converter;
+import org.hibernate.annotations.Immutable;
 
 /**
  * JPA Converter for Email value object
+ * 
+ * Stored addresses passed the format check when they were written, so
+ * loaded values are wrapped as trusted without checking them again.
  */
 @Converter(autoApply = true)
+@Immutable
 public class EmailConverter implements AttributeConverter<Email, String> {
     
     @Override
@@ -17,7 +22,6 @@ public class EmailConverter implements AttributeConverter<Email, String> {
     
     @Override
     public Email convertToEntityAttribute(String value) {
-        return value == null ? null : new Email(value);
+        return value == null ? null : Email.trusted(value);
     }
 }
-
@@ -3,11 +3,16 @@ package be.ucll.craftmanship.DDDDemo.library.infrastructure.persistence.converte
 import be.ucll.craftmanship.DDDDemo.library.domain.valueobjects.ISBN;
 import jakarta.persistence.AttributeConverter;
 import jakarta.persistence.Converter;
+import org.hibernate.annotations.Immutable;
 
 /**
  * JPA Converter for ISBN value object
+ * 
+ * Stored ISBNs were validated and canonicalized when they were written,
+ * so loaded values are wrapped as trusted without validating them again.
  */
 @Converter(autoApply = true)
+@Immutable
 public class ISBNConverter implements AttributeConverter<ISBN, String> {
     
     @Override
@@ -17,7 +22,6 @@ public class ISBNConverter implements AttributeConverter<ISBN, String> {
     
     @Override
     public ISBN convertToEntityAttribute(String value) {
-        return value == null ? null : new ISBN(value);
+        return value == null ? null : ISBN.trusted(value);
     }
 }
-
@@ -3,6 +3,7 @@ package be.ucll.craftmanship.DDDDemo.library.infrastructure.persistence.converte
 import be.ucll.craftmanship.DDDDemo.library.domain.valueobjects.LoanId;
 import jakarta.persistence.AttributeConverter;
 import jakarta.persistence.Converter;
+import org.hibernate.annotations.Immutable;
 
 import java.util.UUID;
 
@@ -10,6 +11,7 @@ import java.util.UUID;
  * JPA Converter for LoanId value object
  */
 @Converter(autoApply = true)
+@Immutable
 public class LoanIdConverter implements AttributeConverter<LoanId, UUID> {
     
     @Override
@@ -3,6 +3,7 @@ package be.ucll.craftmanship.DDDDemo.library.infrastructure.persistence.converte
 import be.ucll.craftmanship.DDDDemo.library.domain.valueobjects.MemberId;
 import jakarta.persistence.AttributeConverter;
 import jakarta.persistence.Converter;
+import org.hibernate.annotations.Immutable;
 
 import java.util.UUID;
 
@@ -10,6 +11,7 @@ import java.util.UUID;
  * JPA Converter for MemberId value object
  */
 @Converter(autoApply = true)
+@Immutable
 public class MemberIdConverter implements AttributeConverter<MemberId, UUID> {
     
     @Override
@@ -22,4 +24,3 @@ public class MemberIdConverter implements AttributeConverter<MemberId, UUID> {
         return uuid == null ? null : new MemberId(uuid);
     }
 }
-
@@ -0,0 +1,105 @@
+package be.ucll.craftmanship.DDDDemo.library.infrastructure.persistence.eventstore;
+
+import be.ucll.craftmanship.DDDDemo.library.domain.aggregates.Loan;
+import be.ucll.craftmanship.DDDDemo.library.domain.repositories.LoanAggregateStore;
+import be.ucll.craftmanship.DDDDemo.library.domain.valueobjects.LoanId;
+import jakarta.persistence.EntityManager;
+import org.springframework.data.jpa.repository.support.SimpleJpaRepository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * The LoanAggregateStore fragment of LoanRepository
+ * 
+ * Registered for LoanAggregateStore in META-INF/spring.factories, as Spring
+ * Data only looks for fragments by name in the interface's own package, and
+ * routes save, saveAll, findById and findAllById of LoanRepository here. With the event store
+ * off it delegates to SimpleJpaRepository, exactly as before. With it on,
+ * loans are rebuilt from their streams and saved by appending their
+ * changes; loans from before the switch load from their row until their
+ * first snapshot.
+ */
+@Transactional(readOnly = true)
+public class LoanAggregateStoreImpl implements LoanAggregateStore {
+    
+    private final EntityManager entityManager;
+    private final SimpleJpaRepository<Loan, LoanId> rows;
+    private final LoanEventStore eventStore;
+    
+    public LoanAggregateStoreImpl(EntityManager entityManager, LoanEventStore eventStore) {
+        this.entityManager = entityManager;
+        this.rows = new SimpleJpaRepository<>(Loan.class, entityManager);
+        this.eventStore = eventStore;
+    }
+    
+    @Override
+    @Transactional
+    public <S extends Loan> S save(S loan) {
+        if (!eventStore.isEnabled()) {
+            S saved = rows.save(loan);
+            loan.clearChanges();
+            return saved;
+        }
+        append(List.of(loan));
+        return loan;
+    }
+    
+    @Override
+    @Transactional
+    public <S extends Loan> List<S> saveAll(Iterable<S> loans) {
+        if (!eventStore.isEnabled()) {
+            List<S> saved = rows.saveAll(loans);
+            loans.forEach(Loan::clearChanges);
+            return saved;
+        }
+        List<S> list = new ArrayList<>();
+        loans.forEach(list::add);
+        append(list);
+        return list;
+    }
+    
+    @Override
+    public Optional<Loan> findById(LoanId id) {
+        if (!eventStore.isEnabled()) {
+            return rows.findById(id);
+        }
+        Loan loan = eventStore.load(List.of(id)).get(id);
+        return loan != null ? Optional.of(loan) : rows.findById(id).map(this::detach);
+    }
+    
+    @Override
+    public List<Loan> findAllById(Iterable<LoanId> ids) {
+        if (!eventStore.isEnabled()) {
+            return rows.findAllById(ids);
+        }
+        Set<LoanId> wanted = new LinkedHashSet<>();
+        ids.forEach(wanted::add);
+        Map<LoanId, Loan> replayed = eventStore.load(wanted);
+        
+        List<Loan> loans = new ArrayList<>(replayed.values());
+        wanted.removeAll(replayed.keySet());
+        if (!wanted.isEmpty()) {
+            rows.findAllById(wanted).forEach(loan -> loans.add(detach(loan)));
+        }
+        return loans;
+    }
+    
+    // The event store writes the rows itself, Hibernate must not flush a second copy of the change
+    private void append(List<? extends Loan> loans) {
+        loans.forEach(this::detach);
+        eventStore.append(loans);
+    }
+    
+    private Loan detach(Loan loan) {
+        if (entityManager.contains(loan)) {
+            entityManager.detach(loan);
+        }
+        return loan;
+    }
+}
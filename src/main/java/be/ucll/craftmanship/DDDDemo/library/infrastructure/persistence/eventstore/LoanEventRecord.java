@@ -0,0 +1,61 @@
+package be.ucll.craftmanship.DDDDemo.library.infrastructure.persistence.eventstore;
+
+import jakarta.persistence.*;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Row of loan_events, one event of one loan stream
+ * 
+ * LoanEventStore reads and writes the table with plain JDBC batches; the
+ * mapping is here so Hibernate validates the table (and creates it on the
+ * embedded profile). Rows are never updated or deleted.
+ */
+@Entity
+@Table(name = "loan_events")
+@IdClass(LoanEventRecord.Key.class)
+public class LoanEventRecord {
+    
+    @Id
+    private UUID loanId;
+    
+    // 1 for the BookBorrowedEvent of a new loan, +1 per event
+    @Id
+    private long version;
+    
+    @Column(nullable = false, length = 100)
+    private String eventType;
+    
+    @Column(nullable = false, columnDefinition = "text")
+    private String payload;
+    
+    @Column(nullable = false)
+    private LocalDateTime occurredOn;
+    
+    // JPA requires default constructor
+    protected LoanEventRecord() {}
+    
+    public UUID getLoanId() {
+        return loanId;
+    }
+    
+    public long getVersion() {
+        return version;
+    }
+    
+    public String getEventType() {
+        return eventType;
+    }
+    
+    public String getPayload() {
+        return payload;
+    }
+    
+    public LocalDateTime getOccurredOn() {
+        return occurredOn;
+    }
+    
+    public record Key(UUID loanId, long version) implements Serializable {}
+}
@@ -0,0 +1,259 @@
+package be.ucll.craftmanship.DDDDemo.library.infrastructure.persistence.eventstore;
+
+import be.ucll.craftmanship.DDDDemo.library.domain.aggregates.Loan;
+import be.ucll.craftmanship.DDDDemo.library.domain.aggregates.LoanSnapshot;
+import be.ucll.craftmanship.DDDDemo.library.domain.events.BookBorrowedEvent;
+import be.ucll.craftmanship.DDDDemo.library.domain.events.BookReturnedEvent;
+import be.ucll.craftmanship.DDDDemo.library.domain.events.DomainEvent;
+import be.ucll.craftmanship.DDDDemo.library.domain.events.LoanExtendedEvent;
+import be.ucll.craftmanship.DDDDemo.library.domain.events.LoanNoteAddedEvent;
+import be.ucll.craftmanship.DDDDemo.library.domain.events.LoanOverdueNotifiedEvent;
+import be.ucll.craftmanship.DDDDemo.library.domain.valueobjects.LoanId;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Append-only event streams for loans, one stream per loan
+ * 
+ * A stream is the rows of loan_events with versions 1..n; the primary key
+ * (loan_id, version) is the optimistic concurrency check: two writers that
+ * loaded the same version both append version n+1, and the second one
+ * fails on the key instead of overwriting the first. No row is locked
+ * before that, so writers to different loans never wait for each other.
+ * 
+ * Every snapshotEvery events the full state goes to loan_snapshots, so a
+ * load reads one snapshot and fewer than snapshotEvery events, however long
+ * the stream. The loans row is rewritten in the same transaction as the
+ * append, so the LoanRepository finders keep working, and so a loan from
+ * before the switch, which still loads from its row, keeps all its state.
+ * 
+ * Everything a save writes is sent as JDBC batches, one per statement, for
+ * any number of loans.
+ */
+@Component
+@EnableConfigurationProperties(LoanEventStoreProperties.class)
+public class LoanEventStore {
+    
+    private static final Map<String, Class<? extends DomainEvent>> EVENT_CLASSES = Map.of(
+        "BookBorrowed", BookBorrowedEvent.class,
+        "LoanExtended", LoanExtendedEvent.class,
+        "BookReturned", BookReturnedEvent.class,
+        "LoanOverdueNotified", LoanOverdueNotifiedEvent.class,
+        "LoanNoteAdded", LoanNoteAddedEvent.class
+    );
+    
+    private static final String SELECT_SNAPSHOTS =
+        "SELECT loan_id, version, payload FROM loan_snapshots WHERE loan_id IN (:ids)";
+    
+    // Only the events after the latest snapshot, oldest first
+    private static final String SELECT_EVENTS =
+        "SELECT e.loan_id, e.version, e.event_type, e.payload FROM loan_events e " +
+        "LEFT JOIN loan_snapshots s ON s.loan_id = e.loan_id " +
+        "WHERE e.loan_id IN (:ids) AND e.version > COALESCE(s.version, 0) " +
+        "ORDER BY e.loan_id, e.version";
+    
+    private static final String INSERT_EVENT =
+        "INSERT INTO loan_events (loan_id, version, event_type, payload, occurred_on) VALUES (?, ?, ?, ?, ?)";
+    
+    private static final String UPDATE_SNAPSHOT =
+        "UPDATE loan_snapshots SET version = ?, payload = ?, taken_at = ? WHERE loan_id = ?";
+    
+    private static final String INSERT_SNAPSHOT =
+        "INSERT INTO loan_snapshots (version, payload, taken_at, loan_id) VALUES (?, ?, ?, ?)";
+    
+    private static final String INSERT_LOAN =
+        "INSERT INTO loans (value, version, book_id, member_id, borrowed_date, due_date, returned_date, status, " +
+        "notes, overdue_notified_on) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    
+    private static final String UPDATE_LOAN =
+        "UPDATE loans SET version = ?, due_date = ?, returned_date = ?, status = ?, notes = ?, " +
+        "overdue_notified_on = ? WHERE value = ?";
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final LoanEventStoreProperties properties;
+    
+    public LoanEventStore(
+        JdbcTemplate jdbcTemplate,
+        NamedParameterJdbcTemplate namedJdbcTemplate,
+        ObjectMapper objectMapper,
+        LoanEventStoreProperties properties
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = namedJdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+    }
+    
+    public boolean isEnabled() {
+        return properties.enabled();
+    }
+    
+    /**
+     * Rebuilds the loans from their streams, two queries for any number of ids
+     * 
+     * A loan created before event sourcing was switched on has no snapshot and
+     * no BookBorrowedEvent to start from; it is left out of the result, its
+     * row is the state to load.
+     */
+    public Map<LoanId, Loan> load(Collection<LoanId> ids) {
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        Map<String, Object> params = Map.of("ids", ids.stream().map(LoanId::value).toList());
+        
+        Map<UUID, StoredSnapshot> snapshots = new HashMap<>();
+        namedJdbcTemplate.query(SELECT_SNAPSHOTS, params, (rs, rowNum) -> new StoredSnapshot(
+            rs.getObject("loan_id", UUID.class),
+            rs.getLong("version"),
+            fromJson(rs.getString("payload"), LoanSnapshot.class)
+        )).forEach(snapshot -> snapshots.put(snapshot.loanId(), snapshot));
+        
+        Map<UUID, List<StoredEvent>> streams = new LinkedHashMap<>();
+        namedJdbcTemplate.query(SELECT_EVENTS, params, (rs, rowNum) -> new StoredEvent(
+            rs.getObject("loan_id", UUID.class),
+            rs.getLong("version"),
+            fromJson(rs.getString("payload"), eventClass(rs.getString("event_type")))
+        )).forEach(event -> streams.computeIfAbsent(event.loanId(), id -> new ArrayList<>()).add(event));
+        
+        Map<LoanId, Loan> loans = new HashMap<>();
+        for (LoanId id : ids) {
+            StoredSnapshot snapshot = snapshots.get(id.value());
+            List<StoredEvent> events = streams.getOrDefault(id.value(), List.of());
+            if (snapshot == null && (events.isEmpty() || !(events.getFirst().event() instanceof BookBorrowedEvent))) {
+                continue;
+            }
+            long version = events.isEmpty() ? snapshot.version() : events.getLast().version();
+            loans.put(id, Loan.replay(
+                snapshot == null ? null : snapshot.snapshot(),
+                events.stream().map(StoredEvent::event).toList(),
+                version
+            ));
+        }
+        return loans;
+    }
+    
+    /**
+     * Appends the recorded changes of the loans to their streams and updates their rows
+     * 
+     * @throws OptimisticLockingFailureException if a stream moved on since its loan was loaded
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void append(Collection<? extends Loan> loans) {
+        int snapshotEvery = properties.snapshotEvery();
+        OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
+        List<Object[]> events = new ArrayList<>();
+        List<Object[]> insertedRows = new ArrayList<>();
+        List<Object[]> updatedRows = new ArrayList<>();
+        List<Object[]> snapshots = new ArrayList<>();
+        Map<Loan, Long> appendedVersions = new LinkedHashMap<>();
+        
+        for (Loan loan : loans) {
+            List<DomainEvent> changes = loan.getChanges();
+            if (changes.isEmpty()) {
+                continue;
+            }
+            long from = loan.isNew() ? 0 : loan.getVersion();
+            long to = from;
+            for (DomainEvent change : changes) {
+                events.add(new Object[] {loan.getId().value(), ++to, change.getEventType(), toJson(change),
+                    change.getOccurredOn()});
+            }
+            
+            if (loan.isNew()) {
+                insertedRows.add(new Object[] {loan.getId().value(), to, loan.getBookId().value(),
+                    loan.getMemberId().value(), loan.getBorrowedDate(), loan.getDueDate(),
+                    loan.getReturnedDate(), loan.getStatus().name(), loan.getNotes(), loan.getOverdueNotifiedOn()});
+            } else {
+                updatedRows.add(new Object[] {to, loan.getDueDate(), loan.getReturnedDate(),
+                    loan.getStatus().name(), loan.getNotes(), loan.getOverdueNotifiedOn(), loan.getId().value()});
+            }
+            if (to / snapshotEvery > from / snapshotEvery) {
+                snapshots.add(new Object[] {to, toJson(loan.toSnapshot()), now, loan.getId().value()});
+            }
+            appendedVersions.put(loan, to);
+        }
+        if (events.isEmpty()) {
+            return;
+        }
+        
+        try {
+            batch(INSERT_EVENT, events);
+        } catch (DuplicateKeyException e) {
+            throw new OptimisticLockingFailureException("A loan was changed concurrently, its stream has moved on", e);
+        }
+        try {
+            batch(INSERT_LOAN, insertedRows);
+        } catch (DuplicateKeyException e) {
+            // Same race as the open-loan index violation under JPA: the book was just lent to someone else
+            throw new OptimisticLockingFailureException("The book of a new loan already has an open loan", e);
+        }
+        batch(UPDATE_LOAN, updatedRows);
+        writeSnapshots(snapshots);
+        
+        appendedVersions.forEach(Loan::changesAppended);
+    }
+    
+    // Update first; only the loans without a snapshot yet need an insert
+    private void writeSnapshots(List<Object[]> snapshots) {
+        int[] updated = batch(UPDATE_SNAPSHOT, snapshots);
+        List<Object[]> missing = new ArrayList<>();
+        for (int i = 0; i < updated.length; i++) {
+            if (updated[i] == 0) {
+                missing.add(snapshots.get(i));
+            }
+        }
+        batch(INSERT_SNAPSHOT, missing);
+    }
+    
+    private int[] batch(String sql, List<Object[]> rows) {
+        return rows.isEmpty() ? new int[0] : jdbcTemplate.batchUpdate(sql, rows);
+    }
+    
+    private static Class<? extends DomainEvent> eventClass(String eventType) {
+        Class<? extends DomainEvent> eventClass = EVENT_CLASSES.get(eventType);
+        if (eventClass == null) {
+            throw new IllegalStateException("Unknown loan event type: " + eventType);
+        }
+        return eventClass;
+    }
+    
+    private String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize loan stream entry: " + value, e);
+        }
+    }
+    
+    private <T> T fromJson(String json, Class<T> type) {
+        try {
+            return objectMapper.readValue(json, type);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot read loan stream entry as " + type.getSimpleName(), e);
+        }
+    }
+    
+    private record StoredSnapshot(UUID loanId, long version, LoanSnapshot snapshot) {}
+    
+    private record StoredEvent(UUID loanId, long version, DomainEvent event) {}
+}
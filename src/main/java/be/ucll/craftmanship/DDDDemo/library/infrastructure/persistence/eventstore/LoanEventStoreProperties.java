@@ -0,0 +1,22 @@
+package be.ucll.craftmanship.DDDDemo.library.infrastructure.persistence.eventstore;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Configuration for event-sourced loans (library.loans.event-store.*)
+ * 
+ * Off by default: loans are then plain JPA rows as before.
+ */
+@ConfigurationProperties(prefix = "library.loans.event-store")
+public record LoanEventStoreProperties(
+    @DefaultValue("false") boolean enabled,
+    @DefaultValue("10") int snapshotEvery
+) {
+    
+    public LoanEventStoreProperties {
+        if (snapshotEvery < 1) {
+            throw new IllegalArgumentException("Loan snapshot interval must be at least 1 event");
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package be.ucll.craftmanship.DDDDemo.library.infrastructure.persistence.eventstore;
+
+import jakarta.persistence.*;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Row of loan_snapshots: the latest snapshot of one loan stream, as JSON
+ * 
+ * Overwritten in place each time the stream passes a multiple of
+ * snapshotEvery; version is the last event it includes.
+ */
+@Entity
+@Table(name = "loan_snapshots")
+public class LoanSnapshotRecord {
+    
+    @Id
+    private UUID loanId;
+    
+    @Column(nullable = false)
+    private long version;
+    
+    @Column(nullable = false, columnDefinition = "text")
+    private String payload;
+    
+    @Column(nullable = false)
+    private Instant takenAt;
+    
+    // JPA requires default constructor
+    protected LoanSnapshotRecord() {}
+    
+    public UUID getLoanId() {
+        return loanId;
+    }
+    
+    public long getVersion() {
+        return version;
+    }
+    
+    public String getPayload() {
+        return payload;
+    }
+    
+    public Instant getTakenAt() {
+        return takenAt;
+    }
+}
@@ -0,0 +1,26 @@
+package be.ucll.craftmanship.DDDDemo.library.infrastructure.persistence.reactive;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * The JDBC DataSource behind JPA and Flyway
+ *
+ * Spring Boot skips its own DataSource as soon as an R2DBC ConnectionFactory
+ * exists, so it is declared here from the same spring.datasource.* and
+ * spring.datasource.hikari.* properties.
+ */
+@Configuration
+@EnableConfigurationProperties(DataSourceProperties.class)
+public class JdbcDataSourceConfiguration {
+
+    @Bean
+    @ConfigurationProperties(prefix = "spring.datasource.hikari")
+    HikariDataSource dataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+}
@@ -0,0 +1,81 @@
+package be.ucll.craftmanship.DDDDemo.library.infrastructure.persistence.reactive;
+
+import be.ucll.craftmanship.DDDDemo.library.application.dto.BookResponse;
+import be.ucll.craftmanship.DDDDemo.library.application.reactive.ReactiveBookRepository;
+import be.ucll.craftmanship.DDDDemo.library.domain.valueobjects.BookId;
+import be.ucll.craftmanship.DDDDemo.library.domain.valueobjects.ISBN;
+import io.r2dbc.spi.Readable;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * ReactiveBookRepository over R2DBC
+ * 
+ * Rows map straight to BookResponse, no entities are built. Writes stay on
+ * BookRepository (JPA).
+ */
+@Repository
+public class R2dbcBookRepository implements ReactiveBookRepository {
+    
+    private static final String COLUMNS = "SELECT value, isbn, title, author, available FROM books ";
+    
+    private final DatabaseClient databaseClient;
+    
+    public R2dbcBookRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+    
+    @Override
+    public Mono<BookResponse> findById(BookId id) {
+        return databaseClient.sql(COLUMNS + "WHERE value = :id")
+            .bind("id", id.value())
+            .map(R2dbcBookRepository::toResponse)
+            .one();
+    }
+    
+    @Override
+    public Flux<BookResponse> findAllById(Collection<BookId> ids) {
+        if (ids.isEmpty()) {
+            return Flux.empty();
+        }
+        List<UUID> values = ids.stream().map(BookId::value).toList();
+        return databaseClient.sql(COLUMNS + "WHERE value IN (:ids)")
+            .bind("ids", values)
+            .map(R2dbcBookRepository::toResponse)
+            .all();
+    }
+    
+    @Override
+    public Mono<BookResponse> findByIsbn(ISBN isbn) {
+        return databaseClient.sql(COLUMNS + "WHERE isbn = :isbn")
+            .bind("isbn", isbn.value())
+            .map(R2dbcBookRepository::toResponse)
+            .one();
+    }
+    
+    @Override
+    public Flux<BookResponse> findByTitleOrAuthorContaining(String text, int limit) {
+        return databaseClient.sql(COLUMNS
+                + "WHERE LOWER(title) LIKE :pattern OR LOWER(author) LIKE :pattern ORDER BY value LIMIT :limit")
+            .bind("pattern", "%" + text.toLowerCase() + "%")
+            .bind("limit", limit)
+            .map(R2dbcBookRepository::toResponse)
+            .all();
+    }
+    
+    private static BookResponse toResponse(Readable row) {
+        return new BookResponse(
+            new BookId(row.get("value", UUID.class)).toString(),
+            row.get("isbn", String.class),
+            row.get("title", String.class),
+            row.get("author", String.class),
+            Boolean.TRUE.equals(row.get("available", Boolean.class))
+        );
+    }
+}
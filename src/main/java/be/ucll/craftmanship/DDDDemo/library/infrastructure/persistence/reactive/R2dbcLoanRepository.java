@@ -0,0 +1,77 @@
+package be.ucll.craftmanship.DDDDemo.library.infrastructure.persistence.reactive;
+
+import be.ucll.craftmanship.DDDDemo.library.application.dto.LoanResponse;
+import be.ucll.craftmanship.DDDDemo.library.application.reactive.ReactiveLoanRepository;
+import be.ucll.craftmanship.DDDDemo.library.domain.aggregates.LoanStatus;
+import be.ucll.craftmanship.DDDDemo.library.domain.valueobjects.BookId;
+import be.ucll.craftmanship.DDDDemo.library.domain.valueobjects.LoanId;
+import be.ucll.craftmanship.DDDDemo.library.domain.valueobjects.MemberId;
+import io.r2dbc.spi.Readable;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * ReactiveLoanRepository over R2DBC
+ * 
+ * Same filters and order as the LoanRepository finders they mirror, so the
+ * same indexes serve them (idx_loans_member_status, idx_loans_open_due).
+ * Long results are fetched in FETCH_SIZE rows at a time as the subscriber
+ * requests more, never as one list.
+ */
+@Repository
+public class R2dbcLoanRepository implements ReactiveLoanRepository {
+    
+    private static final int FETCH_SIZE = 500;
+    // status is cast, on both sides, because Hibernate gives it a native enum type on the embedded H2 schema
+    private static final String COLUMNS =
+        "SELECT value, book_id, member_id, borrowed_date, due_date, returned_date, " +
+        "CAST(status AS VARCHAR) AS status FROM loans ";
+    
+    private final DatabaseClient databaseClient;
+    
+    public R2dbcLoanRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+    
+    @Override
+    public Flux<LoanResponse> findByMemberIdAndStatus(MemberId memberId, LoanStatus status, LocalDate today) {
+        return databaseClient.sql(COLUMNS + "WHERE member_id = :memberId AND status = CAST(:status AS VARCHAR(255)) ORDER BY value")
+            .bind("memberId", memberId.value())
+            .bind("status", status.name())
+            .filter((statement, next) -> next.execute(statement.fetchSize(FETCH_SIZE)))
+            .map(row -> toResponse(row, today))
+            .all();
+    }
+    
+    @Override
+    public Flux<LoanResponse> findOverdue(LocalDate today) {
+        return databaseClient.sql(COLUMNS + "WHERE due_date < :today AND status <> 'RETURNED' ORDER BY due_date, value")
+            .bind("today", today)
+            .filter((statement, next) -> next.execute(statement.fetchSize(FETCH_SIZE)))
+            .map(row -> toResponse(row, today))
+            .all();
+    }
+    
+    private static LoanResponse toResponse(Readable row, LocalDate today) {
+        LocalDate dueDate = row.get("due_date", LocalDate.class);
+        LocalDate returnedDate = row.get("returned_date", LocalDate.class);
+        LoanStatus status = LoanStatus.valueOf(row.get("status", String.class));
+        // Loan.isOverdue / getDaysOverdue, from the columns instead of the aggregate
+        boolean overdue = status != LoanStatus.RETURNED && today.isAfter(dueDate);
+        return new LoanResponse(
+            new LoanId(row.get("value", UUID.class)).toString(),
+            new BookId(row.get("book_id", UUID.class)).toString(),
+            new MemberId(row.get("member_id", UUID.class)).toString(),
+            row.get("borrowed_date", LocalDate.class).toString(),
+            dueDate.toString(),
+            returnedDate != null ? returnedDate.toString() : null,
+            status.toString(),
+            overdue,
+            overdue ? today.toEpochDay() - dueDate.toEpochDay() : 0
+        );
+    }
+}
@@ -0,0 +1,54 @@
+package be.ucll.craftmanship.DDDDemo.library.infrastructure.persistence.reactive;
+
+import be.ucll.craftmanship.DDDDemo.library.application.dto.MemberResponse;
+import be.ucll.craftmanship.DDDDemo.library.application.reactive.ReactiveMemberRepository;
+import be.ucll.craftmanship.DDDDemo.library.domain.valueobjects.Address;
+import be.ucll.craftmanship.DDDDemo.library.domain.valueobjects.MemberId;
+import io.r2dbc.spi.Readable;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * ReactiveMemberRepository over R2DBC
+ */
+@Repository
+public class R2dbcMemberRepository implements ReactiveMemberRepository {
+    
+    private final DatabaseClient databaseClient;
+    
+    public R2dbcMemberRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+    
+    @Override
+    public Mono<MemberResponse> findById(MemberId id) {
+        return databaseClient.sql(
+                "SELECT value, name, email, address_street, address_city, address_postal_code, address_country, " +
+                "member_since, active, CAST(tier AS VARCHAR) AS tier FROM members WHERE value = :id")
+            .bind("id", id.value())
+            .map(R2dbcMemberRepository::toResponse)
+            .one();
+    }
+    
+    private static MemberResponse toResponse(Readable row) {
+        Address address = new Address(
+            row.get("address_street", String.class),
+            row.get("address_city", String.class),
+            row.get("address_postal_code", String.class),
+            row.get("address_country", String.class)
+        );
+        return new MemberResponse(
+            new MemberId(row.get("value", UUID.class)).toString(),
+            row.get("name", String.class),
+            row.get("email", String.class),
+            address.getFullAddress(),
+            row.get("member_since", LocalDate.class).toString(),
+            Boolean.TRUE.equals(row.get("active", Boolean.class)),
+            row.get("tier", String.class)
+        );
+    }
+}
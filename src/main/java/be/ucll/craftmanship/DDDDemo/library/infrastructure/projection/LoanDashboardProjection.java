@@ -0,0 +1,191 @@
+package be.ucll.craftmanship.DDDDemo.library.infrastructure.projection;
+
+import be.ucll.craftmanship.DDDDemo.library.application.dashboard.DashboardLoan;
+import be.ucll.craftmanship.DDDDemo.library.application.dashboard.LoanDashboardReadModel;
+import be.ucll.craftmanship.DDDDemo.library.application.dto.MemberResponse;
+import be.ucll.craftmanship.DDDDemo.library.application.services.BookService;
+import be.ucll.craftmanship.DDDDemo.library.application.services.MemberService;
+import be.ucll.craftmanship.DDDDemo.library.domain.entities.MemberTier;
+import be.ucll.craftmanship.DDDDemo.library.domain.events.BookBorrowedEvent;
+import be.ucll.craftmanship.DDDDemo.library.domain.events.BookReturnedEvent;
+import be.ucll.craftmanship.DDDDemo.library.domain.events.DomainEvent;
+import be.ucll.craftmanship.DDDDemo.library.domain.events.DomainEventSubscriber;
+import be.ucll.craftmanship.DDDDemo.library.domain.events.LoanExtendedEvent;
+import be.ucll.craftmanship.DDDDemo.library.domain.events.LoanOverdueEvent;
+import be.ucll.craftmanship.DDDDemo.library.domain.valueobjects.BookId;
+import be.ucll.craftmanship.DDDDemo.library.domain.valueobjects.LoanId;
+import be.ucll.craftmanship.DDDDemo.library.domain.valueobjects.MemberId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Projects the loan events into loan_dashboard and answers the dashboard queries from it
+ * 
+ * The event bus runs several dispatcher threads, so two events of the same
+ * loan can be handled at the same time; a lock stripe per loan serializes
+ * them in this instance, and a lost race between instances (duplicate
+ * insert, stale version) is retried on a fresh read. Book titles and member
+ * names come from the cached lookups, so projecting a borrow costs no
+ * extra query in the common case.
+ */
+@Component
+public class LoanDashboardProjection implements DomainEventSubscriber<DomainEvent>, LoanDashboardReadModel {
+    
+    private static final Logger logger = LoggerFactory.getLogger(LoanDashboardProjection.class);
+    
+    private static final int STRIPES = 64;
+    private static final int MAX_ATTEMPTS = 3;
+    
+    private final LoanDashboardRowRepository rows;
+    private final BookService bookService;
+    private final MemberService memberService;
+    private final TransactionTemplate transaction;
+    private final ReentrantLock[] stripes = new ReentrantLock[STRIPES];
+    
+    public LoanDashboardProjection(LoanDashboardRowRepository rows, BookService bookService, MemberService memberService,
+                                   PlatformTransactionManager transactionManager) {
+        this.rows = rows;
+        this.bookService = bookService;
+        this.memberService = memberService;
+        this.transaction = new TransactionTemplate(transactionManager);
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+    }
+    
+    @Override
+    public Class<DomainEvent> eventType() {
+        return DomainEvent.class;
+    }
+    
+    @Override
+    public void handle(DomainEvent event) {
+        switch (event) {
+            case BookBorrowedEvent borrowed -> {
+                String title = bookTitle(borrowed.bookId());
+                MemberResponse member = member(borrowed.memberId());
+                project(borrowed.loanId(), borrowed.memberId(), row -> {
+                    row.borrowed(borrowed.bookId().value(), borrowed.occurredOn().toLocalDate(),
+                        borrowed.dueDate(), borrowed.occurredOn());
+                    row.describeBook(title);
+                    describeMember(row, member);
+                });
+            }
+            case LoanExtendedEvent extended -> {
+                MemberResponse member = member(extended.memberId());
+                project(extended.loanId(), extended.memberId(), row -> {
+                    row.extended(extended.newDueDate(), extended.occurredOn());
+                    describeMember(row, member);
+                });
+            }
+            case LoanOverdueEvent overdue -> {
+                String title = bookTitle(overdue.bookId());
+                MemberResponse member = member(overdue.memberId());
+                project(overdue.loanId(), overdue.memberId(), row -> {
+                    row.overdueNotified(overdue.bookId().value(), overdue.dueDate(),
+                        overdue.occurredOn().toLocalDate(), overdue.occurredOn());
+                    row.describeBook(title);
+                    describeMember(row, member);
+                });
+            }
+            case BookReturnedEvent returned -> project(returned.loanId(), returned.memberId(),
+                row -> row.returned(returned.bookId().value(), returned.returnedDate()));
+            default -> {
+                // Not a loan event
+            }
+        }
+    }
+    
+    @Override
+    public List<DashboardLoan> findOpenByMember(MemberId memberId) {
+        return rows.findOpenByMember(memberId.value()).stream()
+            .map(LoanDashboardRow::toDashboardLoan)
+            .toList();
+    }
+    
+    @Override
+    public List<DashboardLoan> findOpenDueBefore(LocalDate day) {
+        return rows.findOpenDueBefore(day).stream()
+            .map(LoanDashboardRow::toDashboardLoan)
+            .toList();
+    }
+    
+    /**
+     * Replaces the rows in one transaction, so readers see the old model until it commits
+     * An event handled meanwhile either committed before (and is contained in the loans
+     * it reads) or waits for the new rows and is applied on top of them.
+     */
+    @Override
+    public long rebuild() {
+        Integer projected = transaction.execute(status -> {
+            rows.deleteAllRows();
+            return rows.rebuildFromLoans(LocalDateTime.now(), Instant.now());
+        });
+        return projected == null ? 0 : projected;
+    }
+    
+    @Override
+    public long size() {
+        return rows.countOpen();
+    }
+    
+    private void project(LoanId loanId, MemberId memberId, Consumer<LoanDashboardRow> change) {
+        ReentrantLock lock = stripes[Math.floorMod(loanId.hashCode(), STRIPES)];
+        lock.lock();
+        try {
+            for (int attempt = 1; ; attempt++) {
+                try {
+                    transaction.executeWithoutResult(status -> {
+                        LoanDashboardRow row = rows.findById(loanId.value())
+                            .orElseGet(() -> new LoanDashboardRow(loanId.value(), memberId.value()));
+                        change.accept(row);
+                        rows.save(row);
+                    });
+                    return;
+                } catch (ConcurrencyFailureException | DataIntegrityViolationException e) {
+                    if (attempt >= MAX_ATTEMPTS) {
+                        logger.warn("Could not project loan {} after {} attempts, rebuild the dashboard to repair it",
+                            loanId, attempt, e);
+                        return;
+                    }
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    private String bookTitle(BookId bookId) {
+        try {
+            return bookService.getBookById(bookId.toString()).title();
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+    
+    private MemberResponse member(MemberId memberId) {
+        try {
+            return memberService.getMemberById(memberId.toString());
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+    
+    private static void describeMember(LoanDashboardRow row, MemberResponse member) {
+        if (member != null) {
+            row.describeMember(member.name(), MemberTier.valueOf(member.tier()));
+        }
+    }
+}
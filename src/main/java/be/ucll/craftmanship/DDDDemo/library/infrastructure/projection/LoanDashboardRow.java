@@ -0,0 +1,197 @@
+package be.ucll.craftmanship.DDDDemo.library.infrastructure.projection;
+
+import be.ucll.craftmanship.DDDDemo.library.application.dashboard.DashboardLoan;
+import be.ucll.craftmanship.DDDDemo.library.domain.aggregates.LoanStatus;
+import be.ucll.craftmanship.DDDDemo.library.domain.entities.MemberTier;
+import be.ucll.craftmanship.DDDDemo.library.domain.valueobjects.BookId;
+import be.ucll.craftmanship.DDDDemo.library.domain.valueobjects.LoanId;
+import be.ucll.craftmanship.DDDDemo.library.domain.valueobjects.MemberId;
+import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
+import org.springframework.data.domain.Persistable;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Row of the loan dashboard read model, one per loan
+ * 
+ * Events may arrive in any order and more than once, so every change is
+ * written to be commutative and idempotent: a return is final, and the due
+ * date only moves to a value from a later event than the one that set it
+ * (dueDateAsOf). Whatever arrives first creates the row.
+ */
+@Entity
+@Table(
+    name = "loan_dashboard",
+    indexes = {
+        @Index(name = "idx_loan_dashboard_member_open", columnList = "memberId, dueDate"),
+        @Index(name = "idx_loan_dashboard_due_open", columnList = "dueDate, loanId")
+    }
+)
+public class LoanDashboardRow implements Persistable<UUID> {
+    
+    @Id
+    private UUID loanId;
+    
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+    
+    @Column
+    private UUID bookId;
+    
+    @Column
+    private String bookTitle;
+    
+    @Column(nullable = false)
+    private UUID memberId;
+    
+    @Column
+    private String memberName;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private MemberTier memberTier = MemberTier.STANDARD;
+    
+    @Column
+    private LocalDate borrowedDate;
+    
+    @Column
+    private LocalDate dueDate;
+    
+    @Column
+    private LocalDateTime dueDateAsOf;
+    
+    @Column
+    private LocalDate returnedDate;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private LoanStatus status = LoanStatus.ACTIVE;
+    
+    @Column
+    private LocalDate overdueNotifiedOn;
+    
+    @Column(nullable = false)
+    private Instant updatedAt;
+    
+    @Transient
+    private boolean isNew = true;
+    
+    // JPA requires default constructor
+    protected LoanDashboardRow() {}
+    
+    public LoanDashboardRow(UUID loanId, UUID memberId) {
+        this.loanId = loanId;
+        this.memberId = memberId;
+        this.updatedAt = Instant.now();
+    }
+    
+    @PostLoad
+    void markNotNew() {
+        this.isNew = false;
+    }
+    
+    public void borrowed(UUID bookId, LocalDate borrowedDate, LocalDate dueDate, LocalDateTime asOf) {
+        this.bookId = bookId;
+        this.borrowedDate = borrowedDate;
+        moveDueDate(dueDate, asOf);
+    }
+    
+    public void extended(LocalDate newDueDate, LocalDateTime asOf) {
+        if (status != LoanStatus.RETURNED) {
+            status = LoanStatus.EXTENDED;
+        }
+        moveDueDate(newDueDate, asOf);
+    }
+    
+    public void overdueNotified(UUID bookId, LocalDate dueDate, LocalDate notifiedOn, LocalDateTime asOf) {
+        if (this.bookId == null) {
+            this.bookId = bookId;
+        }
+        this.overdueNotifiedOn = notifiedOn;
+        moveDueDate(dueDate, asOf);
+    }
+    
+    public void returned(UUID bookId, LocalDate returnedDate) {
+        if (this.bookId == null) {
+            this.bookId = bookId;
+        }
+        this.status = LoanStatus.RETURNED;
+        this.returnedDate = returnedDate;
+        this.updatedAt = Instant.now();
+    }
+    
+    /**
+     * Refreshes the denormalized book title, null leaves the current one
+     */
+    public void describeBook(String title) {
+        if (title != null) {
+            this.bookTitle = title;
+        }
+    }
+    
+    /**
+     * Refreshes the denormalized member name and tier, null leaves the current ones
+     */
+    public void describeMember(String name, MemberTier tier) {
+        if (name != null) {
+            this.memberName = name;
+        }
+        if (tier != null) {
+            this.memberTier = tier;
+        }
+    }
+    
+    private void moveDueDate(LocalDate dueDate, LocalDateTime asOf) {
+        if (dueDateAsOf == null || !asOf.isBefore(dueDateAsOf)) {
+            this.dueDate = dueDate;
+            this.dueDateAsOf = asOf;
+        }
+        this.updatedAt = Instant.now();
+    }
+    
+    public DashboardLoan toDashboardLoan() {
+        return new DashboardLoan(
+            new LoanId(loanId),
+            bookId != null ? new BookId(bookId) : null,
+            bookTitle,
+            new MemberId(memberId),
+            memberName,
+            memberTier,
+            borrowedDate,
+            dueDate,
+            status
+        );
+    }
+    
+    @Override
+    public UUID getId() {
+        return loanId;
+    }
+    
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+    
+    public LoanStatus getStatus() {
+        return status;
+    }
+    
+    public LocalDate getDueDate() {
+        return dueDate;
+    }
+    
+    public String getBookTitle() {
+        return bookTitle;
+    }
+    
+    public String getMemberName() {
+        return memberName;
+    }
+}
@@ -0,0 +1,48 @@
+package be.ucll.craftmanship.DDDDemo.library.infrastructure.projection;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Repository for the loan dashboard rows
+ * The queries only read loan_dashboard; rebuildFromLoans is the one place that reads the write side.
+ */
+@Repository
+public interface LoanDashboardRowRepository extends JpaRepository<LoanDashboardRow, UUID> {
+    
+    @Query("SELECT r FROM LoanDashboardRow r WHERE r.memberId = :memberId AND r.status != 'RETURNED' " +
+           "ORDER BY r.dueDate, r.loanId")
+    List<LoanDashboardRow> findOpenByMember(UUID memberId);
+    
+    @Query("SELECT r FROM LoanDashboardRow r WHERE r.dueDate < :day AND r.status != 'RETURNED' " +
+           "ORDER BY r.dueDate, r.loanId")
+    List<LoanDashboardRow> findOpenDueBefore(LocalDate day);
+    
+    @Query("SELECT COUNT(r) FROM LoanDashboardRow r WHERE r.status != 'RETURNED'")
+    long countOpen();
+    
+    @Modifying
+    @Query(nativeQuery = true, value = "DELETE FROM loan_dashboard")
+    int deleteAllRows();
+    
+    /**
+     * Projects every open loan, joined with its book and member, in one INSERT ... SELECT
+     */
+    @Modifying
+    @Query(nativeQuery = true, value =
+        "INSERT INTO loan_dashboard (loan_id, version, book_id, book_title, member_id, member_name, member_tier, " +
+        "borrowed_date, due_date, due_date_as_of, returned_date, status, overdue_notified_on, updated_at) " +
+        "SELECT l.value, 0, l.book_id, b.title, l.member_id, m.name, COALESCE(CAST(m.tier AS VARCHAR), 'STANDARD'), " +
+        "l.borrowed_date, l.due_date, :asOf, NULL, CAST(l.status AS VARCHAR), l.overdue_notified_on, :now " +
+        "FROM loans l LEFT JOIN books b ON b.value = l.book_id LEFT JOIN members m ON m.value = l.member_id " +
+        "WHERE l.status IN ('ACTIVE', 'EXTENDED')")
+    int rebuildFromLoans(LocalDateTime asOf, Instant now);
+}
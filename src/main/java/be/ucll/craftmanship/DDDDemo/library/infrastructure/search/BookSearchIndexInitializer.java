@@ -0,0 +1,55 @@
+package be.ucll.craftmanship.DDDDemo.library.infrastructure.search;
+
+import be.ucll.craftmanship.DDDDemo.library.application.search.BookSearchIndex;
+import be.ucll.craftmanship.DDDDemo.library.domain.entities.Book;
+import be.ucll.craftmanship.DDDDemo.library.domain.repositories.BookRepository;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.stream.Stream;
+
+/**
+ * Builds the book search index from the database once the application is up
+ * Until it is done, BookService answers searches with the database finders.
+ */
+@Component
+public class BookSearchIndexInitializer {
+    
+    private static final Logger logger = LoggerFactory.getLogger(BookSearchIndexInitializer.class);
+    
+    private final BookSearchIndex searchIndex;
+    private final BookRepository bookRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate readOnlyTransaction;
+    
+    public BookSearchIndexInitializer(
+        BookSearchIndex searchIndex,
+        BookRepository bookRepository,
+        EntityManager entityManager,
+        PlatformTransactionManager transactionManager
+    ) {
+        this.searchIndex = searchIndex;
+        this.bookRepository = bookRepository;
+        this.entityManager = entityManager;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.nanoTime();
+        readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<Book> books = bookRepository.streamAll()) {
+                searchIndex.rebuild(books.peek(entityManager::detach));
+            }
+        });
+        logger.info("Book search index built: {} books in {} ms",
+            searchIndex.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+}
@@ -0,0 +1,368 @@
+package be.ucll.craftmanship.DDDDemo.library.infrastructure.search;
+
+import be.ucll.craftmanship.DDDDemo.library.application.search.BookSearchIndex;
+import be.ucll.craftmanship.DDDDemo.library.application.search.SearchHit;
+import be.ucll.craftmanship.DDDDemo.library.domain.entities.Book;
+import be.ucll.craftmanship.DDDDemo.library.domain.valueobjects.BookId;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * In-memory inverted index over book title, author and ISBN
+ * 
+ * Ranking: every matching term adds fieldWeight * matchWeight * idf to a
+ * book's score, and the total is scaled by the share of query terms the
+ * book matched, so books matching all terms come first.
+ * - Exact term match: weight 1.0
+ * - Prefix match on the last query term (search-as-you-type): weight 0.6
+ * - Typo match (edit distance 1, or 2 for long terms) when a term has no
+ *   exact match: weight 0.4. Candidates share the first letter, which keeps
+ *   the scan to a small slice of the sorted term dictionary.
+ * - ISBN: digits-only prefix match, hyphens and spaces ignored
+ * 
+ * Reads run in parallel under a read lock; writes are applied after the
+ * surrounding transaction commits. A rebuild loads without the lock, and
+ * writes that land meanwhile are replayed on top of the fresh entries.
+ */
+@Component
+public class InMemoryBookSearchIndex implements BookSearchIndex {
+    
+    private static final float TITLE_WEIGHT = 3.0f;
+    private static final float AUTHOR_WEIGHT = 2.0f;
+    private static final float ISBN_WEIGHT = 10.0f;
+    private static final float EXACT = 1.0f;
+    private static final float PREFIX = 0.6f;
+    private static final float FUZZY = 0.4f;
+    private static final int MIN_PREFIX_LENGTH = 2;
+    private static final int MIN_FUZZY_LENGTH = 4;
+    private static final int LONG_TERM_LENGTH = 8;
+    private static final int MAX_EXPANSIONS = 64;
+    private static final int MAX_QUERY_TERMS = 16;
+    private static final int MAX_LIMIT = 100;
+    
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    // Not synchronized: the rebuild streams from JDBC and a monitor would pin a virtual thread to its carrier
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    private final List<Consumer<Entries>> replay = new ArrayList<>();
+    private Entries entries = new Entries();
+    private boolean rebuilding;
+    private volatile boolean ready;
+    
+    @Override
+    public List<SearchHit<BookId>> search(String query, int limit) {
+        List<String> terms = TextAnalyzer.terms(query);
+        String isbn = TextAnalyzer.isbnDigits(query);
+        if (terms.isEmpty() && isbn == null) {
+            return List.of();
+        }
+        if (terms.size() > MAX_QUERY_TERMS) {
+            terms = terms.subList(0, MAX_QUERY_TERMS);
+        }
+        int topK = Math.max(1, Math.min(limit, MAX_LIMIT));
+        
+        lock.readLock().lock();
+        try {
+            ScoreAccumulator scores = new ScoreAccumulator(256);
+            for (int t = 0; t < terms.size(); t++) {
+                String term = terms.get(t);
+                boolean lastTerm = t == terms.size() - 1;
+                boolean exactFound = entries.titleTerms.containsKey(term) || entries.authorTerms.containsKey(term);
+                
+                addExact(entries.titleTerms, term, TITLE_WEIGHT, t, scores);
+                addExact(entries.authorTerms, term, AUTHOR_WEIGHT, t, scores);
+                if (lastTerm && term.length() >= MIN_PREFIX_LENGTH) {
+                    addPrefix(entries.titleTerms, term, TITLE_WEIGHT, t, scores);
+                    addPrefix(entries.authorTerms, term, AUTHOR_WEIGHT, t, scores);
+                }
+                if (!exactFound && term.length() >= MIN_FUZZY_LENGTH) {
+                    addFuzzy(entries.titleTerms, term, TITLE_WEIGHT, t, scores);
+                    addFuzzy(entries.authorTerms, term, AUTHOR_WEIGHT, t, scores);
+                }
+            }
+            
+            // An ISBN query counts as matching every query term
+            if (isbn != null && isbn.length() >= 3) {
+                int allTerms = Math.max(1, terms.size());
+                for (Map.Entry<String, Postings> entry : expand(entries.isbnTerms, isbn)) {
+                    Postings postings = entry.getValue();
+                    float weight = ISBN_WEIGHT * (entry.getKey().equals(isbn) ? EXACT : PREFIX);
+                    for (int i = 0; i < postings.size(); i++) {
+                        for (int t = 0; t < allTerms; t++) {
+                            scores.add(postings.get(i), weight / allTerms, t);
+                        }
+                    }
+                }
+            }
+            
+            return topHits(scores, Math.max(1, terms.size()), topK);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    @Override
+    public void index(Book book) {
+        IndexedBook indexed = IndexedBook.of(book);
+        afterCommit(() -> apply(current -> current.put(indexed)));
+    }
+    
+    @Override
+    public void remove(BookId bookId) {
+        afterCommit(() -> apply(current -> current.remove(bookId)));
+    }
+    
+    @Override
+    public void rebuild(Stream<Book> books) {
+        rebuildLock.lock();
+        try {
+            lock.writeLock().lock();
+            try {
+                rebuilding = true;
+                replay.clear();
+            } finally {
+                lock.writeLock().unlock();
+            }
+            
+            // Loaded without the lock so searches and writes carry on meanwhile
+            Entries fresh = new Entries();
+            try {
+                books.forEach(book -> fresh.put(IndexedBook.of(book)));
+            } catch (RuntimeException e) {
+                lock.writeLock().lock();
+                try {
+                    rebuilding = false;
+                    replay.clear();
+                } finally {
+                    lock.writeLock().unlock();
+                }
+                throw e;
+            }
+            
+            lock.writeLock().lock();
+            try {
+                replay.forEach(change -> change.accept(fresh));
+                replay.clear();
+                entries = fresh;
+                rebuilding = false;
+                ready = true;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+    
+    @Override
+    public boolean isReady() {
+        return ready;
+    }
+    
+    @Override
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return entries.liveDocs;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    private void apply(Consumer<Entries> change) {
+        lock.writeLock().lock();
+        try {
+            change.accept(entries);
+            if (rebuilding) {
+                replay.add(change);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    private void addExact(TreeMap<String, Postings> terms, String term, float fieldWeight, int termIndex, ScoreAccumulator scores) {
+        Postings postings = terms.get(term);
+        if (postings != null) {
+            addPostings(postings, fieldWeight * EXACT, termIndex, scores);
+        }
+    }
+    
+    private void addPrefix(TreeMap<String, Postings> terms, String prefix, float fieldWeight, int termIndex, ScoreAccumulator scores) {
+        for (Map.Entry<String, Postings> entry : expand(terms, prefix)) {
+            if (!entry.getKey().equals(prefix)) {
+                addPostings(entry.getValue(), fieldWeight * PREFIX, termIndex, scores);
+            }
+        }
+    }
+    
+    private void addFuzzy(TreeMap<String, Postings> terms, String term, float fieldWeight, int termIndex, ScoreAccumulator scores) {
+        int maxDistance = term.length() >= LONG_TERM_LENGTH ? 2 : 1;
+        String first = term.substring(0, 1);
+        NavigableMap<String, Postings> candidates = terms.subMap(first, true, first + Character.MAX_VALUE, true);
+        int expansions = 0;
+        for (Map.Entry<String, Postings> entry : candidates.entrySet()) {
+            String candidate = entry.getKey();
+            if (Math.abs(candidate.length() - term.length()) > maxDistance) {
+                continue;
+            }
+            if (TextAnalyzer.boundedEditDistance(term, candidate, maxDistance) <= maxDistance) {
+                addPostings(entry.getValue(), fieldWeight * FUZZY, termIndex, scores);
+                if (++expansions >= MAX_EXPANSIONS) {
+                    return;
+                }
+            }
+        }
+    }
+    
+    private void addPostings(Postings postings, float weight, int termIndex, ScoreAccumulator scores) {
+        float score = weight * idf(postings.size());
+        for (int i = 0; i < postings.size(); i++) {
+            scores.add(postings.get(i), score, termIndex);
+        }
+    }
+    
+    /**
+     * Terms starting with the prefix, the rarest (most selective) first
+     */
+    private static List<Map.Entry<String, Postings>> expand(TreeMap<String, Postings> terms, String prefix) {
+        List<Map.Entry<String, Postings>> matches = new ArrayList<>(
+            terms.subMap(prefix, true, prefix + Character.MAX_VALUE, true).entrySet()
+        );
+        if (matches.size() > MAX_EXPANSIONS) {
+            matches.sort(Comparator.comparingInt(entry -> entry.getValue().size()));
+            return matches.subList(0, MAX_EXPANSIONS);
+        }
+        return matches;
+    }
+    
+    private float idf(int docFrequency) {
+        return (float) Math.log(1.0 + (double) Math.max(1, entries.liveDocs) / docFrequency);
+    }
+    
+    private List<SearchHit<BookId>> topHits(ScoreAccumulator scores, int queryTerms, int limit) {
+        Comparator<SearchHit<BookId>> byScore = Comparator.comparingDouble(hit -> hit.score());
+        PriorityQueue<SearchHit<BookId>> best = new PriorityQueue<>(limit + 1, byScore);
+        for (int slot = 0; slot < scores.capacity(); slot++) {
+            int doc = scores.docAt(slot);
+            if (doc < 0) {
+                continue;
+            }
+            float coverage = (float) Integer.bitCount(scores.maskAt(slot)) / queryTerms;
+            float score = scores.scoreAt(slot) * coverage * coverage;
+            if (best.size() < limit) {
+                best.add(new SearchHit<>(entries.docs.get(doc).id(), score));
+            } else if (score > best.peek().score()) {
+                best.poll();
+                best.add(new SearchHit<>(entries.docs.get(doc).id(), score));
+            }
+        }
+        List<SearchHit<BookId>> hits = new ArrayList<>(best);
+        hits.sort(byScore.reversed());
+        return hits;
+    }
+    
+    private static void afterCommit(Runnable change) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    change.run();
+                }
+            });
+        } else {
+            change.run();
+        }
+    }
+    
+    private record IndexedBook(BookId id, List<String> titleTerms, List<String> authorTerms, String isbn) {
+        
+        static IndexedBook of(Book book) {
+            return new IndexedBook(
+                book.getId(),
+                List.copyOf(TextAnalyzer.terms(book.getTitle())),
+                List.copyOf(TextAnalyzer.terms(book.getAuthor())),
+                TextAnalyzer.isbnDigits(book.getIsbn().value())
+            );
+        }
+    }
+    
+    /**
+     * The index data; put and remove are idempotent, which makes replaying safe
+     */
+    private static final class Entries {
+        
+        private final TreeMap<String, Postings> titleTerms = new TreeMap<>();
+        private final TreeMap<String, Postings> authorTerms = new TreeMap<>();
+        private final TreeMap<String, Postings> isbnTerms = new TreeMap<>();
+        private final Map<BookId, Integer> docNumbers = new HashMap<>();
+        private final List<IndexedBook> docs = new ArrayList<>();
+        private int liveDocs;
+        
+        void put(IndexedBook book) {
+            Integer doc = docNumbers.get(book.id());
+            if (doc == null) {
+                doc = docs.size();
+                docs.add(book);
+                docNumbers.put(book.id(), doc);
+                liveDocs++;
+            } else {
+                unindex(doc, docs.get(doc));
+                docs.set(doc, book);
+            }
+            for (String term : book.titleTerms()) {
+                titleTerms.computeIfAbsent(term, key -> new Postings()).add(doc);
+            }
+            for (String term : book.authorTerms()) {
+                authorTerms.computeIfAbsent(term, key -> new Postings()).add(doc);
+            }
+            if (book.isbn() != null) {
+                isbnTerms.computeIfAbsent(book.isbn(), key -> new Postings()).add(doc);
+            }
+        }
+        
+        void remove(BookId bookId) {
+            Integer doc = docNumbers.remove(bookId);
+            if (doc != null) {
+                unindex(doc, docs.get(doc));
+                docs.set(doc, null);
+                liveDocs--;
+            }
+        }
+        
+        private void unindex(int doc, IndexedBook book) {
+            for (String term : book.titleTerms()) {
+                removePosting(titleTerms, term, doc);
+            }
+            for (String term : book.authorTerms()) {
+                removePosting(authorTerms, term, doc);
+            }
+            if (book.isbn() != null) {
+                removePosting(isbnTerms, book.isbn(), doc);
+            }
+        }
+        
+        private static void removePosting(Map<String, Postings> terms, String term, int doc) {
+            Postings postings = terms.get(term);
+            if (postings != null) {
+                postings.remove(doc);
+                if (postings.isEmpty()) {
+                    terms.remove(term);
+                }
+            }
+        }
+    }
+}
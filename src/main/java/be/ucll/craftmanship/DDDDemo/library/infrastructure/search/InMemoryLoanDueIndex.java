@@ -0,0 +1,252 @@
+package be.ucll.craftmanship.DDDDemo.library.infrastructure.search;
+
+import be.ucll.craftmanship.DDDDemo.library.application.search.DueLoan;
+import be.ucll.craftmanship.DDDDemo.library.application.search.LoanDueIndex;
+import be.ucll.craftmanship.DDDDemo.library.domain.aggregates.Loan;
+import be.ucll.craftmanship.DDDDemo.library.domain.aggregates.LoanStatus;
+import be.ucll.craftmanship.DDDDemo.library.domain.valueobjects.LoanId;
+import be.ucll.craftmanship.DDDDemo.library.domain.valueobjects.MemberId;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * In-memory LoanDueIndex: open loans bucketed per due date in a sorted map
+ * 
+ * - Overdue / due-between: a range of the due-date map, so the cost
+ *   follows the number of matching loans, not the size of the loans table
+ * - Per-member overdue count: walks the member's open loans only, which
+ *   the tier loan limit keeps to a handful
+ * 
+ * Reads run in parallel under a read lock; writes are applied after the
+ * surrounding transaction commits. Writes that land while a rebuild is
+ * loading are replayed on top of the freshly loaded entries, so a change
+ * committed during startup is never lost.
+ */
+@Component
+public class InMemoryLoanDueIndex implements LoanDueIndex {
+    
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    // Not synchronized: the rebuild streams from JDBC and a monitor would pin a virtual thread to its carrier
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    private final List<Consumer<Entries>> replay = new ArrayList<>();
+    private Entries entries = new Entries();
+    private boolean rebuilding;
+    private volatile boolean ready;
+    
+    @Override
+    public void index(Loan loan) {
+        if (loan.getStatus() == LoanStatus.RETURNED) {
+            remove(loan.getId());
+            return;
+        }
+        DueLoan due = DueLoan.of(loan);
+        afterCommit(() -> apply(current -> current.put(due)));
+    }
+    
+    @Override
+    public void remove(LoanId loanId) {
+        afterCommit(() -> apply(current -> current.remove(loanId)));
+    }
+    
+    @Override
+    public void rebuild(Stream<DueLoan> loans) {
+        rebuildLock.lock();
+        try {
+            lock.writeLock().lock();
+            try {
+                rebuilding = true;
+                replay.clear();
+            } finally {
+                lock.writeLock().unlock();
+            }
+            
+            // Loaded without the lock so queries and writes carry on meanwhile
+            Entries fresh = new Entries();
+            try {
+                loans.forEach(fresh::put);
+            } catch (RuntimeException e) {
+                lock.writeLock().lock();
+                try {
+                    rebuilding = false;
+                    replay.clear();
+                } finally {
+                    lock.writeLock().unlock();
+                }
+                throw e;
+            }
+            
+            lock.writeLock().lock();
+            try {
+                replay.forEach(change -> change.accept(fresh));
+                replay.clear();
+                entries = fresh;
+                rebuilding = false;
+                ready = true;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+    
+    @Override
+    public List<LoanId> findDueBefore(LocalDate day) {
+        lock.readLock().lock();
+        try {
+            return collect(entries.byDueDate.headMap(day, false).values());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    @Override
+    public List<LoanId> findDueBetween(LocalDate start, LocalDate end) {
+        if (end.isBefore(start)) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            return collect(entries.byDueDate.subMap(start, true, end, true).values());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    @Override
+    public int countDueBefore(LocalDate day) {
+        lock.readLock().lock();
+        try {
+            int count = 0;
+            for (Set<LoanId> bucket : entries.byDueDate.headMap(day, false).values()) {
+                count += bucket.size();
+            }
+            return count;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    @Override
+    public int countDueBefore(MemberId memberId, LocalDate day) {
+        lock.readLock().lock();
+        try {
+            Set<LoanId> memberLoans = entries.byMember.get(memberId);
+            if (memberLoans == null) {
+                return 0;
+            }
+            int count = 0;
+            for (LoanId loanId : memberLoans) {
+                if (entries.loans.get(loanId).dueDate().isBefore(day)) {
+                    count++;
+                }
+            }
+            return count;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    @Override
+    public boolean isReady() {
+        return ready;
+    }
+    
+    @Override
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return entries.loans.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    private void apply(Consumer<Entries> change) {
+        lock.writeLock().lock();
+        try {
+            change.accept(entries);
+            if (rebuilding) {
+                replay.add(change);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    private static List<LoanId> collect(Collection<Set<LoanId>> buckets) {
+        List<LoanId> result = new ArrayList<>();
+        for (Set<LoanId> bucket : buckets) {
+            result.addAll(bucket);
+        }
+        return result;
+    }
+    
+    private static void afterCommit(Runnable change) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    change.run();
+                }
+            });
+        } else {
+            change.run();
+        }
+    }
+    
+    /**
+     * The index data; every operation is idempotent, which makes replaying safe
+     */
+    private static final class Entries {
+        
+        private final TreeMap<LocalDate, Set<LoanId>> byDueDate = new TreeMap<>();
+        private final Map<LoanId, DueLoan> loans = new HashMap<>();
+        private final Map<MemberId, Set<LoanId>> byMember = new HashMap<>();
+        
+        void put(DueLoan loan) {
+            DueLoan previous = loans.put(loan.loanId(), loan);
+            if (previous != null) {
+                unlinkDueDate(previous);
+            }
+            byDueDate.computeIfAbsent(loan.dueDate(), day -> new HashSet<>()).add(loan.loanId());
+            byMember.computeIfAbsent(loan.memberId(), member -> new HashSet<>(4)).add(loan.loanId());
+        }
+        
+        void remove(LoanId loanId) {
+            DueLoan previous = loans.remove(loanId);
+            if (previous == null) {
+                return;
+            }
+            unlinkDueDate(previous);
+            Set<LoanId> memberLoans = byMember.get(previous.memberId());
+            memberLoans.remove(loanId);
+            if (memberLoans.isEmpty()) {
+                byMember.remove(previous.memberId());
+            }
+        }
+        
+        private void unlinkDueDate(DueLoan loan) {
+            Set<LoanId> bucket = byDueDate.get(loan.dueDate());
+            bucket.remove(loan.loanId());
+            if (bucket.isEmpty()) {
+                byDueDate.remove(loan.dueDate());
+            }
+        }
+    }
+}
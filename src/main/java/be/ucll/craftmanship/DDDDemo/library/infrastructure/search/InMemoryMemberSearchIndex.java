@@ -0,0 +1,333 @@
+package be.ucll.craftmanship.DDDDemo.library.infrastructure.search;
+
+import be.ucll.craftmanship.DDDDemo.library.application.dto.MemberSuggestion;
+import be.ucll.craftmanship.DDDDemo.library.application.search.MemberSearchIndex;
+import be.ucll.craftmanship.DDDDemo.library.domain.entities.Member;
+import be.ucll.craftmanship.DDDDemo.library.domain.valueobjects.Email;
+import be.ucll.craftmanship.DDDDemo.library.domain.valueobjects.MemberId;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * In-memory member lookup index
+ * 
+ * - Autocomplete: every query term must be a prefix of some name term,
+ *   so "jan pe" finds "Jan Peeters"; shorter names rank first
+ * - Fuzzy: trigram similarity (as in pg_trgm) over the whole name, used to
+ *   fill up the remaining slots when there are fewer than limit prefix matches
+ * - Exact lookups by e-mail (case-insensitive) and postal code
+ * 
+ * Suggestions are answered from the index alone, without a database round trip.
+ */
+@Component
+@ConditionalOnProperty(prefix = "library.search", name = "members", havingValue = "memory", matchIfMissing = true)
+public class InMemoryMemberSearchIndex implements MemberSearchIndex {
+    
+    private static final int MAX_PREFIX_EXPANSIONS = 256;
+    private static final int MAX_QUERY_TERMS = 8;
+    private static final int MAX_LIMIT = 50;
+    private static final float MIN_SIMILARITY = 0.3f;
+    
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final TreeMap<String, Postings> nameTerms = new TreeMap<>();
+    private final Map<String, Postings> trigrams = new HashMap<>();
+    private final Map<String, Integer> docsByEmail = new HashMap<>();
+    private final Map<String, Postings> docsByPostalCode = new HashMap<>();
+    private final Map<MemberId, Integer> docNumbers = new HashMap<>();
+    private final List<IndexedMember> docs = new ArrayList<>();
+    private volatile boolean ready;
+    
+    @Override
+    public List<MemberSuggestion> suggest(String query, int limit) {
+        List<String> terms = TextAnalyzer.terms(query);
+        if (terms.isEmpty()) {
+            return List.of();
+        }
+        if (terms.size() > MAX_QUERY_TERMS) {
+            terms = terms.subList(0, MAX_QUERY_TERMS);
+        }
+        int topK = Math.max(1, Math.min(limit, MAX_LIMIT));
+        
+        lock.readLock().lock();
+        try {
+            List<Integer> results = prefixMatches(terms, topK);
+            if (results.size() < topK) {
+                for (int doc : fuzzyMatches(query, topK)) {
+                    if (results.size() == topK) {
+                        break;
+                    }
+                    if (!results.contains(doc)) {
+                        results.add(doc);
+                    }
+                }
+            }
+            return results.stream()
+                .map(docs::get)
+                .map(IndexedMember::toSuggestion)
+                .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    @Override
+    public Optional<MemberId> findByEmail(Email email) {
+        lock.readLock().lock();
+        try {
+            Integer doc = docsByEmail.get(normalizeEmail(email.value()));
+            return doc == null ? Optional.empty() : Optional.of(docs.get(doc).id());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    @Override
+    public List<MemberId> findByPostalCode(String postalCode) {
+        lock.readLock().lock();
+        try {
+            Postings postings = docsByPostalCode.get(normalizePostalCode(postalCode));
+            if (postings == null) {
+                return List.of();
+            }
+            List<MemberId> ids = new ArrayList<>(postings.size());
+            for (int i = 0; i < postings.size(); i++) {
+                ids.add(docs.get(postings.get(i)).id());
+            }
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    @Override
+    public void index(Member member) {
+        IndexedMember indexed = IndexedMember.from(member);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(indexed);
+                }
+            });
+        } else {
+            apply(indexed);
+        }
+    }
+    
+    @Override
+    public void rebuild(Stream<Member> members) {
+        lock.writeLock().lock();
+        try {
+            nameTerms.clear();
+            trigrams.clear();
+            docsByEmail.clear();
+            docsByPostalCode.clear();
+            docNumbers.clear();
+            docs.clear();
+            members.forEach(member -> apply(IndexedMember.from(member)));
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    @Override
+    public boolean isReady() {
+        return ready;
+    }
+    
+    /**
+     * Documents whose name has a prefix match for every query term
+     */
+    private List<Integer> prefixMatches(List<String> terms, int limit) {
+        ScoreAccumulator matches = new ScoreAccumulator(64);
+        for (int t = 0; t < terms.size(); t++) {
+            String term = terms.get(t);
+            int expansions = 0;
+            for (Map.Entry<String, Postings> entry
+                : nameTerms.subMap(term, true, term + Character.MAX_VALUE, true).entrySet()) {
+                Postings postings = entry.getValue();
+                float score = entry.getKey().equals(term) ? 2.0f : 1.0f;
+                for (int i = 0; i < postings.size(); i++) {
+                    matches.add(postings.get(i), score, t);
+                }
+                if (++expansions >= MAX_PREFIX_EXPANSIONS) {
+                    break;
+                }
+            }
+        }
+        
+        int allTerms = (1 << terms.size()) - 1;
+        Comparator<int[]> ranking = Comparator
+            .comparingInt((int[] candidate) -> candidate[1])
+            .thenComparingInt(candidate -> -docs.get(candidate[0]).name().length());
+        PriorityQueue<int[]> best = new PriorityQueue<>(limit + 1, ranking);
+        for (int slot = 0; slot < matches.capacity(); slot++) {
+            int doc = matches.docAt(slot);
+            if (doc < 0 || matches.maskAt(slot) != allTerms) {
+                continue;
+            }
+            best.add(new int[] {doc, (int) matches.scoreAt(slot)});
+            if (best.size() > limit) {
+                best.poll();
+            }
+        }
+        List<int[]> ranked = new ArrayList<>(best);
+        ranked.sort(ranking.reversed());
+        List<Integer> result = new ArrayList<>(ranked.size());
+        for (int[] candidate : ranked) {
+            result.add(candidate[0]);
+        }
+        return result;
+    }
+    
+    /**
+     * Documents ranked by trigram similarity |q & d| / |q | d|
+     */
+    private List<Integer> fuzzyMatches(String query, int limit) {
+        Set<String> queryGrams = TextAnalyzer.trigrams(query);
+        if (queryGrams.isEmpty()) {
+            return List.of();
+        }
+        
+        ScoreAccumulator overlap = new ScoreAccumulator(256);
+        for (String gram : queryGrams) {
+            Postings postings = trigrams.get(gram);
+            if (postings != null) {
+                for (int i = 0; i < postings.size(); i++) {
+                    overlap.add(postings.get(i), 1.0f, 0);
+                }
+            }
+        }
+        
+        Comparator<float[]> bySimilarity = Comparator.comparingDouble(candidate -> candidate[1]);
+        PriorityQueue<float[]> best = new PriorityQueue<>(limit + 1, bySimilarity);
+        for (int slot = 0; slot < overlap.capacity(); slot++) {
+            int doc = overlap.docAt(slot);
+            if (doc < 0) {
+                continue;
+            }
+            float shared = overlap.scoreAt(slot);
+            float similarity = shared / (queryGrams.size() + docs.get(doc).trigramCount() - shared);
+            if (similarity >= MIN_SIMILARITY) {
+                best.add(new float[] {doc, similarity});
+                if (best.size() > limit) {
+                    best.poll();
+                }
+            }
+        }
+        List<float[]> ranked = new ArrayList<>(best);
+        ranked.sort(bySimilarity.reversed());
+        List<Integer> result = new ArrayList<>(ranked.size());
+        for (float[] candidate : ranked) {
+            result.add((int) candidate[0]);
+        }
+        return result;
+    }
+    
+    private void apply(IndexedMember member) {
+        lock.writeLock().lock();
+        try {
+            Integer doc = docNumbers.get(member.id());
+            if (doc == null) {
+                doc = docs.size();
+                docs.add(member);
+                docNumbers.put(member.id(), doc);
+            } else {
+                unindex(doc, docs.get(doc));
+                docs.set(doc, member);
+            }
+            for (String term : member.nameTerms()) {
+                nameTerms.computeIfAbsent(term, key -> new Postings()).add(doc);
+            }
+            for (String gram : member.trigrams()) {
+                trigrams.computeIfAbsent(gram, key -> new Postings()).add(doc);
+            }
+            docsByEmail.put(member.emailKey(), doc);
+            if (member.postalCode() != null) {
+                docsByPostalCode.computeIfAbsent(member.postalCode(), key -> new Postings()).add(doc);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    private void unindex(int doc, IndexedMember member) {
+        for (String term : member.nameTerms()) {
+            removePosting(nameTerms, term, doc);
+        }
+        for (String gram : member.trigrams()) {
+            removePosting(trigrams, gram, doc);
+        }
+        docsByEmail.remove(member.emailKey(), doc);
+        if (member.postalCode() != null) {
+            removePosting(docsByPostalCode, member.postalCode(), doc);
+        }
+    }
+    
+    private static void removePosting(Map<String, Postings> index, String key, int doc) {
+        Postings postings = index.get(key);
+        if (postings != null) {
+            postings.remove(doc);
+            if (postings.isEmpty()) {
+                index.remove(key);
+            }
+        }
+    }
+    
+    private static String normalizeEmail(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+    
+    private static String normalizePostalCode(String postalCode) {
+        return postalCode.replace(" ", "").toUpperCase(Locale.ROOT);
+    }
+    
+    private record IndexedMember(
+        MemberId id,
+        String name,
+        String email,
+        String emailKey,
+        String postalCode,
+        boolean active,
+        List<String> nameTerms,
+        Set<String> trigrams
+    ) {
+        static IndexedMember from(Member member) {
+            return new IndexedMember(
+                member.getId(),
+                member.getName(),
+                member.getEmail().value(),
+                normalizeEmail(member.getEmail().value()),
+                // Members from before addresses were kept have none
+                member.getAddress() != null ? normalizePostalCode(member.getAddress().postalCode()) : null,
+                member.isActive(),
+                List.copyOf(TextAnalyzer.terms(member.getName())),
+                Set.copyOf(TextAnalyzer.trigrams(member.getName()))
+            );
+        }
+        
+        int trigramCount() {
+            return trigrams.size();
+        }
+        
+        MemberSuggestion toSuggestion() {
+            return new MemberSuggestion(id.toString(), name, email, active);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package be.ucll.craftmanship.DDDDemo.library.infrastructure.search;
+
+import be.ucll.craftmanship.DDDDemo.library.application.search.DueLoan;
+import be.ucll.craftmanship.DDDDemo.library.application.search.LoanDueIndex;
+import be.ucll.craftmanship.DDDDemo.library.domain.repositories.LoanRepository;
+import be.ucll.craftmanship.DDDDemo.library.domain.valueobjects.LoanId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.stream.Stream;
+
+/**
+ * Builds the loan due-date index from the database once the application is up
+ * Only the open loans' (id, member, due date) columns are streamed, no entities.
+ * Until it is done, LoanService answers due-date queries with the database finders.
+ */
+@Component
+public class LoanDueIndexInitializer {
+    
+    private static final Logger logger = LoggerFactory.getLogger(LoanDueIndexInitializer.class);
+    
+    private final LoanDueIndex dueIndex;
+    private final LoanRepository loanRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    
+    public LoanDueIndexInitializer(
+        LoanDueIndex dueIndex,
+        LoanRepository loanRepository,
+        PlatformTransactionManager transactionManager
+    ) {
+        this.dueIndex = dueIndex;
+        this.loanRepository = loanRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.nanoTime();
+        readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<LoanRepository.OpenLoanDue> loans = loanRepository.streamOpenLoanDueDates()) {
+                dueIndex.rebuild(loans.map(loan -> new DueLoan(
+                    new LoanId(loan.getLoanId()), loan.getMemberId(), loan.getDueDate()
+                )));
+            }
+        });
+        logger.info("Loan due-date index built: {} open loans in {} ms",
+            dueIndex.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+}
@@ -0,0 +1,83 @@
+package be.ucll.craftmanship.DDDDemo.library.infrastructure.search;
+
+import be.ucll.craftmanship.DDDDemo.library.application.search.MemberSearchIndex;
+import be.ucll.craftmanship.DDDDemo.library.domain.entities.Member;
+import be.ucll.craftmanship.DDDDemo.library.domain.repositories.MemberRepository;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.stream.Stream;
+
+/**
+ * Prepares the member search index once the application is up
+ * - memory: builds the in-memory index from a streamed read of all members
+ * - pg-trgm: makes sure the pg_trgm extension and GIN index exist
+ */
+@Component
+public class MemberSearchIndexInitializer {
+    
+    private static final Logger logger = LoggerFactory.getLogger(MemberSearchIndexInitializer.class);
+    
+    private final MemberSearchIndex searchIndex;
+    private final MemberRepository memberRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate readOnlyTransaction;
+    
+    public MemberSearchIndexInitializer(
+        MemberSearchIndex searchIndex,
+        MemberRepository memberRepository,
+        EntityManager entityManager,
+        PlatformTransactionManager transactionManager
+    ) {
+        this.searchIndex = searchIndex;
+        this.memberRepository = memberRepository;
+        this.entityManager = entityManager;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        if (!(searchIndex instanceof InMemoryMemberSearchIndex)) {
+            return;
+        }
+        long start = System.nanoTime();
+        readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<Member> members = memberRepository.streamAll()) {
+                searchIndex.rebuild(members.peek(entityManager::detach));
+            }
+        });
+        logger.info("Member search index built in {} ms", (System.nanoTime() - start) / 1_000_000);
+    }
+    
+    /**
+     * Creates the trigram index used by PgTrigramMemberSearchIndex
+     */
+    @Component
+    @ConditionalOnProperty(prefix = "library.search", name = "members", havingValue = "pg-trgm")
+    static class TrigramSchema {
+        
+        private final JdbcTemplate jdbcTemplate;
+        
+        TrigramSchema(JdbcTemplate jdbcTemplate) {
+            this.jdbcTemplate = jdbcTemplate;
+        }
+        
+        @EventListener(ApplicationReadyEvent.class)
+        public void createIndex() {
+            jdbcTemplate.execute("CREATE EXTENSION IF NOT EXISTS pg_trgm");
+            jdbcTemplate.execute(
+                "CREATE INDEX IF NOT EXISTS idx_members_name_trgm ON members USING gin (lower(name) gin_trgm_ops)"
+            );
+            logger.info("Member trigram index ready");
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package be.ucll.craftmanship.DDDDemo.library.infrastructure.search;
+
+import be.ucll.craftmanship.DDDDemo.library.application.dto.MemberSuggestion;
+import be.ucll.craftmanship.DDDDemo.library.application.search.MemberSearchIndex;
+import be.ucll.craftmanship.DDDDemo.library.domain.entities.Member;
+import be.ucll.craftmanship.DDDDemo.library.domain.repositories.MemberRepository;
+import be.ucll.craftmanship.DDDDemo.library.domain.valueobjects.Email;
+import be.ucll.craftmanship.DDDDemo.library.domain.valueobjects.MemberId;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Member lookup index backed by PostgreSQL pg_trgm
+ * 
+ * Uses the GIN trigram index on lower(name) for both the prefix (LIKE 'q%')
+ * and the fuzzy (%) match, so there is no in-memory state to keep in sync.
+ * Requires the pg_trgm extension and idx_members_name_trgm.
+ */
+@Component
+@ConditionalOnProperty(prefix = "library.search", name = "members", havingValue = "pg-trgm")
+public class PgTrigramMemberSearchIndex implements MemberSearchIndex {
+    
+    private static final int MAX_LIMIT = 50;
+    
+    private final MemberRepository memberRepository;
+    
+    public PgTrigramMemberSearchIndex(MemberRepository memberRepository) {
+        this.memberRepository = memberRepository;
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public List<MemberSuggestion> suggest(String query, int limit) {
+        String normalized = String.join(" ", TextAnalyzer.terms(query));
+        if (normalized.isEmpty()) {
+            return List.of();
+        }
+        int topK = Math.max(1, Math.min(limit, MAX_LIMIT));
+        return memberRepository.findByNameTrigram(normalized.toLowerCase(Locale.ROOT), topK)
+            .stream()
+            .map(member -> new MemberSuggestion(
+                member.getId().toString(),
+                member.getName(),
+                member.getEmail().value(),
+                member.isActive()
+            ))
+            .toList();
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<MemberId> findByEmail(Email email) {
+        return memberRepository.findByEmail(email).map(Member::getId);
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public List<MemberId> findByPostalCode(String postalCode) {
+        return memberRepository.findByAddressPostalCode(postalCode)
+            .stream()
+            .map(Member::getId)
+            .toList();
+    }
+    
+    @Override
+    public void index(Member member) {
+        // The database index is maintained by PostgreSQL
+    }
+    
+    @Override
+    public void rebuild(Stream<Member> members) {
+        // The database index is maintained by PostgreSQL
+    }
+    
+    @Override
+    public boolean isReady() {
+        return true;
+    }
+}
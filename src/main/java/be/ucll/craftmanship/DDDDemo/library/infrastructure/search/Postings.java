@@ -0,0 +1,57 @@
+package be.ucll.craftmanship.DDDDemo.library.infrastructure.search;
+
+import java.util.Arrays;
+
+/**
+ * Sorted list of internal document numbers containing a term
+ * Backed by a growable int[] so large lists cost 4 bytes per entry
+ */
+final class Postings {
+    
+    private int[] docs = new int[4];
+    private int size;
+    
+    void add(int doc) {
+        if (size == 0 || docs[size - 1] < doc) {
+            ensureCapacity();
+            docs[size++] = doc;
+            return;
+        }
+        int pos = Arrays.binarySearch(docs, 0, size, doc);
+        if (pos >= 0) {
+            return;
+        }
+        int insertAt = -pos - 1;
+        ensureCapacity();
+        System.arraycopy(docs, insertAt, docs, insertAt + 1, size - insertAt);
+        docs[insertAt] = doc;
+        size++;
+    }
+    
+    void remove(int doc) {
+        int pos = Arrays.binarySearch(docs, 0, size, doc);
+        if (pos < 0) {
+            return;
+        }
+        System.arraycopy(docs, pos + 1, docs, pos, size - pos - 1);
+        size--;
+    }
+    
+    int get(int index) {
+        return docs[index];
+    }
+    
+    int size() {
+        return size;
+    }
+    
+    boolean isEmpty() {
+        return size == 0;
+    }
+    
+    private void ensureCapacity() {
+        if (size == docs.length) {
+            docs = Arrays.copyOf(docs, docs.length * 2);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package be.ucll.craftmanship.DDDDemo.library.infrastructure.search;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing map from document number to score
+ * 
+ * Avoids boxing when a common term touches hundreds of thousands of
+ * documents. Next to the score it keeps a bit mask of which query
+ * terms matched, so documents matching every term can rank first.
+ */
+final class ScoreAccumulator {
+    
+    private static final int EMPTY = -1;
+    
+    private int[] keys;
+    private float[] scores;
+    private int[] masks;
+    private int size;
+    
+    ScoreAccumulator(int expected) {
+        int capacity = Integer.highestOneBit(Math.max(16, expected * 2 - 1)) << 1;
+        keys = new int[capacity];
+        scores = new float[capacity];
+        masks = new int[capacity];
+        Arrays.fill(keys, EMPTY);
+    }
+    
+    /**
+     * Adds to a document's score and records which query term matched
+     */
+    void add(int doc, float score, int termIndex) {
+        int slot = slotFor(doc);
+        if (keys[slot] == EMPTY) {
+            keys[slot] = doc;
+            size++;
+        }
+        masks[slot] |= 1 << termIndex;
+        scores[slot] += score;
+        if (size * 2 > keys.length) {
+            grow();
+        }
+    }
+    
+    int capacity() {
+        return keys.length;
+    }
+    
+    int docAt(int slot) {
+        return keys[slot];
+    }
+    
+    float scoreAt(int slot) {
+        return scores[slot];
+    }
+    
+    int maskAt(int slot) {
+        return masks[slot];
+    }
+    
+    private int slotFor(int doc) {
+        int mask = keys.length - 1;
+        int hash = doc * 0x9E3779B9;
+        int slot = (hash ^ (hash >>> 16)) & mask;
+        while (keys[slot] != EMPTY && keys[slot] != doc) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+    
+    private void grow() {
+        int[] oldKeys = keys;
+        float[] oldScores = scores;
+        int[] oldMasks = masks;
+        keys = new int[oldKeys.length * 2];
+        scores = new float[oldKeys.length * 2];
+        masks = new int[oldKeys.length * 2];
+        Arrays.fill(keys, EMPTY);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                int slot = slotFor(oldKeys[i]);
+                keys[slot] = oldKeys[i];
+                scores[slot] = oldScores[i];
+                masks[slot] = oldMasks[i];
+            }
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package be.ucll.craftmanship.DDDDemo.library.infrastructure.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Turns free text into index terms
+ * - Lower case, accents removed ("Émile" -> "emile")
+ * - Split on anything that is not a letter or digit
+ * - Very common English words are dropped unless the text has nothing else
+ */
+public final class TextAnalyzer {
+    
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Set<String> STOP_WORDS = Set.of(
+        "a", "an", "and", "at", "by", "for", "in", "of", "on", "or", "the", "to", "with"
+    );
+    
+    private TextAnalyzer() {}
+    
+    public static List<String> terms(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        
+        String normalized = DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD))
+            .replaceAll("")
+            .toLowerCase(Locale.ROOT);
+        
+        List<String> all = new ArrayList<>();
+        List<String> meaningful = new ArrayList<>();
+        for (String term : SEPARATORS.split(normalized)) {
+            if (term.isEmpty()) {
+                continue;
+            }
+            all.add(term);
+            if (!STOP_WORDS.contains(term)) {
+                meaningful.add(term);
+            }
+        }
+        return meaningful.isEmpty() ? all : meaningful;
+    }
+    
+    /**
+     * Trigrams of every term, padded like PostgreSQL pg_trgm ("  ann ")
+     * so short names and word starts still produce useful grams
+     */
+    public static Set<String> trigrams(String text) {
+        Set<String> grams = new HashSet<>();
+        for (String term : terms(text)) {
+            String padded = "  " + term + " ";
+            for (int i = 0; i + 3 <= padded.length(); i++) {
+                grams.add(padded.substring(i, i + 3));
+            }
+        }
+        return grams;
+    }
+    
+    /**
+     * Digits of an ISBN-like string, or null if it contains anything else
+     */
+    public static String isbnDigits(String text) {
+        if (text == null) {
+            return null;
+        }
+        StringBuilder digits = new StringBuilder(13);
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digits.append(c);
+            } else if (c == 'X' || c == 'x') {
+                digits.append('X');
+            } else if (c != '-' && c != ' ') {
+                return null;
+            }
+        }
+        return digits.isEmpty() ? null : digits.toString();
+    }
+    
+    /**
+     * Optimal string alignment distance (Levenshtein plus adjacent
+     * transpositions), giving up as soon as it exceeds max
+     */
+    public static int boundedEditDistance(String a, String b, int max) {
+        if (Math.abs(a.length() - b.length()) > max) {
+            return max + 1;
+        }
+        int[] previousPrevious = new int[b.length() + 1];
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMin = current[0];
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                int value = Math.min(Math.min(previous[j] + 1, current[j - 1] + 1), previous[j - 1] + cost);
+                if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+                    value = Math.min(value, previousPrevious[j - 2] + 1);
+                }
+                current[j] = value;
+                rowMin = Math.min(rowMin, value);
+            }
+            if (rowMin > max) {
+                return max + 1;
+            }
+            int[] recycled = previousPrevious;
+            previousPrevious = previous;
+            previous = current;
+            current = recycled;
+        }
+        return previous[b.length()];
+    }
+}
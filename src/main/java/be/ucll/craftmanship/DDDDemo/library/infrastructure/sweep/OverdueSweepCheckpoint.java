@@ -0,0 +1,83 @@
+package be.ucll.craftmanship.DDDDemo.library.infrastructure.sweep;
+
+import jakarta.persistence.*;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Progress of the overdue sweep for one sweep date
+ * 
+ * (lastDueDate, lastLoanId) is the keyset position up to which every
+ * chunk has committed, so a restarted sweep for the same date continues
+ * right after it instead of rescanning from the start.
+ */
+@Entity
+@Table(name = "overdue_sweep_checkpoints")
+public class OverdueSweepCheckpoint {
+    
+    @Id
+    private LocalDate sweepDate;
+    
+    @Column(nullable = false)
+    private LocalDate lastDueDate;
+    
+    @Column(nullable = false)
+    private UUID lastLoanId;
+    
+    @Column(nullable = false)
+    private long notified;
+    
+    @Column(nullable = false)
+    private boolean completed;
+    
+    @Column(nullable = false)
+    private Instant updatedAt;
+    
+    // JPA requires default constructor
+    protected OverdueSweepCheckpoint() {}
+    
+    public OverdueSweepCheckpoint(LocalDate sweepDate, LocalDate lastDueDate, UUID lastLoanId) {
+        this.sweepDate = sweepDate;
+        this.lastDueDate = lastDueDate;
+        this.lastLoanId = lastLoanId;
+        this.updatedAt = Instant.now();
+    }
+    
+    public void advance(LocalDate dueDate, UUID loanId, long notifiedInChunks) {
+        this.lastDueDate = dueDate;
+        this.lastLoanId = loanId;
+        this.notified += notifiedInChunks;
+        this.updatedAt = Instant.now();
+    }
+    
+    public void complete() {
+        this.completed = true;
+        this.updatedAt = Instant.now();
+    }
+    
+    public LocalDate getSweepDate() {
+        return sweepDate;
+    }
+    
+    public LocalDate getLastDueDate() {
+        return lastDueDate;
+    }
+    
+    public UUID getLastLoanId() {
+        return lastLoanId;
+    }
+    
+    public long getNotified() {
+        return notified;
+    }
+    
+    public boolean isCompleted() {
+        return completed;
+    }
+    
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+}
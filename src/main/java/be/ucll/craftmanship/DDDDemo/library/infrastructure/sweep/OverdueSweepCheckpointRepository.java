@@ -0,0 +1,13 @@
+package be.ucll.craftmanship.DDDDemo.library.infrastructure.sweep;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+
+/**
+ * Repository for overdue sweep checkpoints, one row per sweep date
+ */
+@Repository
+public interface OverdueSweepCheckpointRepository extends JpaRepository<OverdueSweepCheckpoint, LocalDate> {
+}
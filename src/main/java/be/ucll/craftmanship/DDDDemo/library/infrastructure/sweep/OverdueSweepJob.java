@@ -0,0 +1,347 @@
+package be.ucll.craftmanship.DDDDemo.library.infrastructure.sweep;
+
+import be.ucll.craftmanship.DDDDemo.library.application.dto.KeysetCursor;
+import be.ucll.craftmanship.DDDDemo.library.domain.aggregates.Loan;
+import be.ucll.craftmanship.DDDDemo.library.domain.entities.Member;
+import be.ucll.craftmanship.DDDDemo.library.domain.entities.MemberTier;
+import be.ucll.craftmanship.DDDDemo.library.domain.events.DomainEventPublisher;
+import be.ucll.craftmanship.DDDDemo.library.domain.events.LoanOverdueEvent;
+import be.ucll.craftmanship.DDDDemo.library.domain.repositories.LoanRepository;
+import be.ucll.craftmanship.DDDDemo.library.domain.repositories.LoanRepository.OverdueCandidate;
+import be.ucll.craftmanship.DDDDemo.library.domain.repositories.MemberRepository;
+import be.ucll.craftmanship.DDDDemo.library.domain.services.LateFeeCalculationService;
+import be.ucll.craftmanship.DDDDemo.library.domain.valueobjects.LoanId;
+import be.ucll.craftmanship.DDDDemo.library.domain.valueobjects.MemberId;
+import be.ucll.craftmanship.DDDDemo.library.domain.valueobjects.Money;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+/**
+ * Announces newly overdue loans with one LoanOverdueEvent each
+ * 
+ * 1. The caller thread walks the not-yet-announced overdue loans in keyset
+ *    order, one short read-only query per chunk of ids
+ * 2. Each chunk is handed to a worker pool and processed in its own
+ *    transaction: load the loans, price them per member tier, mark them
+ *    notified and publish the events (into the outbox, same transaction)
+ * 3. Once all chunks up to some key have committed, that key becomes the
+ *    checkpoint, so a restart for the same day continues after it
+ * 
+ * Loan.overdueNotifiedOn makes reruns idempotent: an announced loan never
+ * matches the candidate query again, and two sweeps racing on the same
+ * chunk are serialized by the Loan version check. A failed chunk is rolled
+ * back and simply left for the next run.
+ */
+@Component
+@EnableConfigurationProperties(OverdueSweepProperties.class)
+public class OverdueSweepJob {
+    
+    private static final Logger logger = LoggerFactory.getLogger(OverdueSweepJob.class);
+    
+    private final LoanRepository loanRepository;
+    private final MemberRepository memberRepository;
+    private final LateFeeCalculationService lateFeeService;
+    private final DomainEventPublisher eventPublisher;
+    private final OverdueSweepCheckpointRepository checkpointRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTemplate;
+    private final OverdueSweepProperties properties;
+    private final AtomicBoolean running = new AtomicBoolean();
+    private volatile SweepReport lastReport;
+    
+    public OverdueSweepJob(
+        LoanRepository loanRepository,
+        MemberRepository memberRepository,
+        LateFeeCalculationService lateFeeService,
+        DomainEventPublisher eventPublisher,
+        OverdueSweepCheckpointRepository checkpointRepository,
+        PlatformTransactionManager transactionManager,
+        OverdueSweepProperties properties
+    ) {
+        this.loanRepository = loanRepository;
+        this.memberRepository = memberRepository;
+        this.lateFeeService = lateFeeService;
+        this.eventPublisher = eventPublisher;
+        this.checkpointRepository = checkpointRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTemplate.setReadOnly(true);
+        this.properties = properties;
+    }
+    
+    public SweepReport sweep() {
+        return sweep(LocalDate.now());
+    }
+    
+    /**
+     * Runs the sweep for the given day, blocking until every chunk has finished
+     * 
+     * @throws IllegalStateException if a sweep is already running in this instance
+     */
+    public SweepReport sweep(LocalDate today) {
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("Overdue sweep is already running");
+        }
+        try {
+            SweepReport report = run(today);
+            lastReport = report;
+            logger.info("Overdue sweep {}: scanned={}, notified={}, failedChunks={}, resumed={}, completed={}, {} ms, {} rows/s",
+                report.sweepDate(), report.scanned(), report.notified(), report.failedChunks(),
+                report.resumed(), report.completed(), report.elapsedMillis(), Math.round(report.rowsPerSecond()));
+            return report;
+        } finally {
+            running.set(false);
+        }
+    }
+    
+    public SweepReport getLastReport() {
+        return lastReport;
+    }
+    
+    public boolean isRunning() {
+        return running.get();
+    }
+    
+    private SweepReport run(LocalDate today) {
+        long started = System.nanoTime();
+        OverdueSweepCheckpoint existing = readOnlyTemplate.execute(status -> checkpointRepository.findById(today).orElse(null));
+        boolean resumed = existing != null;
+        OverdueSweepCheckpoint checkpoint = resumed
+            ? existing
+            : new OverdueSweepCheckpoint(today, KeysetCursor.FIRST_DATE, KeysetCursor.FIRST_ID);
+        Progress progress = new Progress(checkpoint);
+        
+        LocalDate afterDueDate = checkpoint.getLastDueDate();
+        UUID afterId = checkpoint.getLastLoanId();
+        Limit chunk = Limit.of(properties.chunkSize());
+        long scanned = 0;
+        long sequence = 0;
+        boolean exhausted = false;
+        
+        // Bounds the chunks held in memory to what the workers can take on next
+        Semaphore inFlight = new Semaphore(properties.workers() * 2);
+        try (ExecutorService workers = newWorkerPool()) {
+            while (true) {
+                LocalDate pageDueDate = afterDueDate;
+                UUID pageId = afterId;
+                List<OverdueCandidate> page = readOnlyTemplate.execute(status ->
+                    loanRepository.findNewlyOverduePageAfter(today, pageDueDate, pageId, chunk)
+                );
+                if (page == null || page.isEmpty()) {
+                    exhausted = true;
+                    break;
+                }
+                
+                OverdueCandidate last = page.get(page.size() - 1);
+                afterDueDate = last.getDueDate();
+                afterId = last.getId();
+                scanned += page.size();
+                
+                List<LoanId> ids = new ArrayList<>(page.size());
+                for (OverdueCandidate candidate : page) {
+                    ids.add(new LoanId(candidate.getId()));
+                }
+                ChunkKey key = new ChunkKey(sequence++, afterDueDate, afterId);
+                
+                inFlight.acquire();
+                workers.execute(() -> {
+                    try {
+                        progress.finished(key, processChunk(ids, today, key));
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+                
+                if (page.size() < properties.chunkSize()) {
+                    exhausted = true;
+                    break;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.warn("Overdue sweep {} interrupted, it resumes from the checkpoint on the next run", today);
+        }
+        
+        boolean completed = exhausted && progress.failedChunks() == 0;
+        if (completed) {
+            progress.complete();
+        }
+        long elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+        return SweepReport.of(today, scanned, progress.notified(), progress.failedChunks(), resumed, completed, elapsedMillis);
+    }
+    
+    /**
+     * Processes one chunk in its own transaction, returns the number of events published or -1 on failure
+     */
+    private int processChunk(List<LoanId> ids, LocalDate today, ChunkKey key) {
+        try {
+            Integer notified = transactionTemplate.execute(status -> notifyOverdue(ids, today));
+            return notified == null ? 0 : notified;
+        } catch (RuntimeException e) {
+            logger.warn("Overdue sweep chunk {} ending at {}/{} failed, left for the next run",
+                key.sequence(), key.dueDate(), key.loanId(), e);
+            return -1;
+        }
+    }
+    
+    private int notifyOverdue(List<LoanId> ids, LocalDate today) {
+        List<Loan> loans = new ArrayList<>(ids.size());
+        Set<MemberId> memberIds = new HashSet<>();
+        for (Loan loan : loanRepository.findAllById(ids)) {
+            // Re-checked under the transaction: the loan may have been returned, extended or announced meanwhile
+            if (loan.isOverdue(today) && loan.getOverdueNotifiedOn() == null) {
+                loans.add(loan);
+                memberIds.add(loan.getMemberId());
+            }
+        }
+        if (loans.isEmpty()) {
+            return 0;
+        }
+        
+        Map<MemberId, MemberTier> tiers = memberRepository.findAllById(memberIds).stream()
+            .collect(Collectors.toMap(Member::getId, Member::getTier));
+        Map<LoanId, Money> fees = lateFeeService.calculateLateFees(
+            loans, memberId -> tiers.getOrDefault(memberId, MemberTier.STANDARD), today
+        );
+        
+        for (Loan loan : loans) {
+            loan.markOverdueNotified(today);
+            eventPublisher.publish(new LoanOverdueEvent(
+                loan.getId(),
+                loan.getBookId(),
+                loan.getMemberId(),
+                loan.getDueDate(),
+                loan.getDaysOverdue(today),
+                fees.get(loan.getId())
+            ));
+        }
+        // Dirty checking covers the JPA mapping, the event store needs the explicit save
+        loanRepository.saveAll(loans);
+        return loans.size();
+    }
+    
+    private ExecutorService newWorkerPool() {
+        if (properties.virtualThreads()) {
+            // The semaphore already caps the number of chunks in flight
+            return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("overdue-sweep-", 0).factory());
+        }
+        return Executors.newFixedThreadPool(
+            properties.workers(),
+            Thread.ofPlatform().daemon(true).name("overdue-sweep-", 0).factory()
+        );
+    }
+    
+    private record ChunkKey(long sequence, LocalDate dueDate, UUID loanId) {}
+    
+    private record FinishedChunk(ChunkKey key, int notified) {}
+    
+    /**
+     * Advances the checkpoint over the contiguous run of committed chunks
+     * 
+     * Chunks finish out of order, so a finished chunk only moves the
+     * checkpoint once every chunk before it has committed too. The first
+     * failed chunk freezes the checkpoint for the rest of the run.
+     * 
+     * Guarded by a ReentrantLock rather than synchronized: the checkpoint is
+     * saved while it is held, and a virtual sweep worker blocked on JDBC
+     * inside a monitor would pin its carrier thread.
+     */
+    private final class Progress {
+        
+        private final OverdueSweepCheckpoint checkpoint;
+        private final TreeMap<Long, FinishedChunk> pending = new TreeMap<>();
+        private final LongAdder notified = new LongAdder();
+        private final ReentrantLock lock = new ReentrantLock();
+        private long nextSequence;
+        private int failedChunks;
+        private boolean frozen;
+        
+        Progress(OverdueSweepCheckpoint checkpoint) {
+            this.checkpoint = checkpoint;
+        }
+        
+        void finished(ChunkKey key, int notifiedInChunk) {
+            lock.lock();
+            try {
+                if (notifiedInChunk < 0) {
+                    failedChunks++;
+                    frozen = true;
+                    return;
+                }
+                notified.add(notifiedInChunk);
+                if (frozen) {
+                    return;
+                }
+                
+                pending.put(key.sequence(), new FinishedChunk(key, notifiedInChunk));
+                ChunkKey advancedTo = null;
+                long notifiedSinceCheckpoint = 0;
+                while (!pending.isEmpty() && pending.firstKey() == nextSequence) {
+                    FinishedChunk chunk = pending.pollFirstEntry().getValue();
+                    advancedTo = chunk.key();
+                    notifiedSinceCheckpoint += chunk.notified();
+                    nextSequence++;
+                }
+                if (advancedTo != null) {
+                    checkpoint.advance(advancedTo.dueDate(), advancedTo.loanId(), notifiedSinceCheckpoint);
+                    save();
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+        
+        void complete() {
+            lock.lock();
+            try {
+                checkpoint.complete();
+                save();
+            } finally {
+                lock.unlock();
+            }
+        }
+        
+        int failedChunks() {
+            lock.lock();
+            try {
+                return failedChunks;
+            } finally {
+                lock.unlock();
+            }
+        }
+        
+        long notified() {
+            return notified.sum();
+        }
+        
+        private void save() {
+            try {
+                transactionTemplate.executeWithoutResult(status -> checkpointRepository.save(checkpoint));
+            } catch (RuntimeException e) {
+                // Only costs a longer rescan on restart, the notified flags keep the events exact
+                logger.warn("Could not save overdue sweep checkpoint for {}", checkpoint.getSweepDate(), e);
+            }
+        }
+    }
+}
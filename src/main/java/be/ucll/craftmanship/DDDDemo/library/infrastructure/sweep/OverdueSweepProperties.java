@@ -0,0 +1,26 @@
+package be.ucll.craftmanship.DDDDemo.library.infrastructure.sweep;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Configuration for the nightly overdue sweep (library.overdue-sweep.*)
+ */
+@ConfigurationProperties(prefix = "library.overdue-sweep")
+public record OverdueSweepProperties(
+    @DefaultValue("true") boolean enabled,
+    @DefaultValue("0 30 2 * * *") String cron,
+    @DefaultValue("1000") int chunkSize,
+    @DefaultValue("4") int workers,
+    @DefaultValue("false") boolean virtualThreads
+) {
+    
+    public OverdueSweepProperties {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("Overdue sweep chunk size must be positive");
+        }
+        if (workers <= 0) {
+            throw new IllegalArgumentException("Overdue sweep needs at least one worker");
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package be.ucll.craftmanship.DDDDemo.library.infrastructure.sweep;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Runs the overdue sweep every night (library.overdue-sweep.cron)
+ */
+@Component
+@EnableScheduling
+@ConditionalOnProperty(prefix = "library.overdue-sweep", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class OverdueSweepScheduler {
+    
+    private static final Logger logger = LoggerFactory.getLogger(OverdueSweepScheduler.class);
+    
+    private final OverdueSweepJob job;
+    
+    public OverdueSweepScheduler(OverdueSweepJob job) {
+        this.job = job;
+    }
+    
+    @Scheduled(cron = "${library.overdue-sweep.cron:0 30 2 * * *}")
+    public void sweep() {
+        if (job.isRunning()) {
+            logger.warn("Skipping scheduled overdue sweep, the previous one is still running");
+            return;
+        }
+        job.sweep();
+    }
+}
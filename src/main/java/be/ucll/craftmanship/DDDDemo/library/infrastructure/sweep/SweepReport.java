@@ -0,0 +1,35 @@
+package be.ucll.craftmanship.DDDDemo.library.infrastructure.sweep;
+
+import java.time.LocalDate;
+
+/**
+ * Outcome of one overdue sweep run
+ * 
+ * scanned counts the candidate loans read this run (a resumed run starts
+ * after the checkpoint), notified counts the LoanOverdueEvents published.
+ * Loans of failed chunks stay unannounced and are picked up by the next run.
+ */
+public record SweepReport(
+    LocalDate sweepDate,
+    long scanned,
+    long notified,
+    int failedChunks,
+    boolean resumed,
+    boolean completed,
+    long elapsedMillis,
+    double rowsPerSecond
+) {
+    
+    static SweepReport of(
+        LocalDate sweepDate,
+        long scanned,
+        long notified,
+        int failedChunks,
+        boolean resumed,
+        boolean completed,
+        long elapsedMillis
+    ) {
+        double rowsPerSecond = scanned * 1000.0 / Math.max(1, elapsedMillis);
+        return new SweepReport(sweepDate, scanned, notified, failedChunks, resumed, completed, elapsedMillis, rowsPerSecond);
+    }
+}
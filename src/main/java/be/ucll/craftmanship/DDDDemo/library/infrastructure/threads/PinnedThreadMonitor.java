@@ -0,0 +1,152 @@
+package be.ucll.craftmanship.DDDDemo.library.infrastructure.threads;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Reports virtual threads that stay pinned to their carrier thread
+ * 
+ * On Java 21 a virtual thread that blocks inside a synchronized block (or
+ * a native frame) cannot unmount, so it holds one of the few carrier threads
+ * for as long as it waits. Blocking on JDBC there can stall every other
+ * request. The JFR event jdk.VirtualThreadPinned is streamed in-process.
+ * The first pin at each code location is logged with its stack trace, and
+ * every location is counted after that.
+ */
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+@ConditionalOnProperty(prefix = "library.virtual-threads", name = "pinning-detection", havingValue = "true", matchIfMissing = true)
+@EnableConfigurationProperties(VirtualThreadProperties.class)
+public class PinnedThreadMonitor {
+    
+    private static final Logger logger = LoggerFactory.getLogger(PinnedThreadMonitor.class);
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final String APPLICATION_PACKAGE = "be.ucll.craftmanship.";
+    private static final int LOGGED_FRAMES = 25;
+    
+    private final VirtualThreadProperties properties;
+    private final Map<String, LongAdder> pinsBySite = new ConcurrentHashMap<>();
+    private final LongAdder pins = new LongAdder();
+    private final AtomicLong maxPinnedNanos = new AtomicLong();
+    private RecordingStream recording;
+    
+    public PinnedThreadMonitor(VirtualThreadProperties properties) {
+        this.properties = properties;
+    }
+    
+    @PostConstruct
+    public void start() {
+        try {
+            recording = new RecordingStream();
+            recording.enable(PINNED_EVENT).withThreshold(properties.pinningThreshold()).withStackTrace();
+            recording.onEvent(PINNED_EVENT, this::pinned);
+            recording.startAsync();
+            logger.info("Watching for virtual threads pinned longer than {}", properties.pinningThreshold());
+        } catch (RuntimeException e) {
+            // JFR can be missing or disabled (-XX:-FlightRecorder); requests run the same without it
+            logger.warn("Virtual thread pinning detection unavailable: {}", e.toString());
+            recording = null;
+        }
+    }
+    
+    @PreDestroy
+    public void stop() {
+        if (recording != null) {
+            recording.close();
+        }
+    }
+    
+    /**
+     * Pins longer than the threshold since startup
+     */
+    public long getPinnedCount() {
+        return pins.sum();
+    }
+    
+    /**
+     * Longest single pin seen, in milliseconds
+     */
+    public long getMaxPinnedMillis() {
+        return maxPinnedNanos.get() / 1_000_000;
+    }
+    
+    /**
+     * Pin counts per code location, the innermost application frame where there is one
+     */
+    public Map<String, Long> getPinnedSites() {
+        Map<String, Long> sites = new TreeMap<>();
+        pinsBySite.forEach((site, count) -> sites.put(site, count.sum()));
+        return sites;
+    }
+    
+    private void pinned(RecordedEvent event) {
+        long nanos = event.getDuration().toNanos();
+        pins.increment();
+        maxPinnedNanos.accumulateAndGet(nanos, Math::max);
+        
+        List<RecordedFrame> frames = event.getStackTrace() == null ? List.of() : event.getStackTrace().getFrames();
+        String site = site(frames);
+        // Events arrive one at a time on the recording's own thread
+        LongAdder atSite = pinsBySite.computeIfAbsent(site, key -> new LongAdder());
+        atSite.increment();
+        if (atSite.sum() == 1) {
+            logger.warn("Virtual thread pinned for {} ms at {}{}",
+                nanos / 1_000_000, site, format(event.getStackTrace()));
+        } else {
+            logger.debug("Virtual thread pinned for {} ms at {}", nanos / 1_000_000, site);
+        }
+    }
+    
+    private static String site(List<RecordedFrame> frames) {
+        RecordedFrame top = null;
+        for (RecordedFrame frame : frames) {
+            if (!frame.isJavaFrame()) {
+                continue;
+            }
+            if (top == null) {
+                top = frame;
+            }
+            if (frame.getMethod().getType().getName().startsWith(APPLICATION_PACKAGE)) {
+                return describe(frame);
+            }
+        }
+        return top == null ? "unknown" : describe(top);
+    }
+    
+    private static String describe(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+    }
+    
+    private static String format(RecordedStackTrace stackTrace) {
+        if (stackTrace == null) {
+            return "";
+        }
+        StringBuilder trace = new StringBuilder();
+        List<RecordedFrame> frames = stackTrace.getFrames();
+        for (int i = 0; i < Math.min(frames.size(), LOGGED_FRAMES); i++) {
+            trace.append(System.lineSeparator()).append("\tat ").append(describe(frames.get(i)));
+        }
+        if (frames.size() > LOGGED_FRAMES || stackTrace.isTruncated()) {
+            trace.append(System.lineSeparator()).append("\t...");
+        }
+        return trace.toString();
+    }
+}
@@ -0,0 +1,159 @@
+package be.ucll.craftmanship.DDDDemo.library.infrastructure.threads;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Caps the number of /api requests in flight when requests run on virtual threads
+ * 
+ * With platform threads Tomcat's pool was the limit. With a virtual thread
+ * per request there is none: a burst becomes thousands of threads parked
+ * inside Hikari until connection-timeout fails them with a 500. Here at most
+ * one request per pooled connection runs (unless max-concurrent-requests says
+ * otherwise). The rest wait in a fair queue for up to admission-timeout, and
+ * after that get a 503 with Retry-After.
+ * 
+ * NDJSON streams give their permit back once the response goes async.
+ */
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+@EnableConfigurationProperties(VirtualThreadProperties.class)
+public class RequestAdmissionFilter extends OncePerRequestFilter {
+    
+    // GenericFilterBean already has an instance field called logger
+    private static final Logger log = LoggerFactory.getLogger(RequestAdmissionFilter.class);
+    
+    // Hikari's own default maximum-pool-size
+    private static final int DEFAULT_POOL_SIZE = 10;
+    
+    private final int limit;
+    private final Semaphore permits;
+    private final long admissionTimeoutNanos;
+    private final ObjectMapper objectMapper;
+    private final LongAdder admitted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    
+    public RequestAdmissionFilter(VirtualThreadProperties properties, DataSource dataSource, ObjectMapper objectMapper) {
+        this.limit = properties.maxConcurrentRequests() > 0
+            ? properties.maxConcurrentRequests()
+            : poolSize(dataSource);
+        this.permits = new Semaphore(limit, true);
+        this.admissionTimeoutNanos = properties.admissionTimeout().toNanos();
+        this.objectMapper = objectMapper;
+        log.info("Requests run on virtual threads: at most {} /api requests in flight, queued for up to {}",
+            limit, properties.admissionTimeout());
+    }
+    
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getServletPath().startsWith("/api/");
+    }
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+        throws ServletException, IOException {
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(admissionTimeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            rejected.increment();
+            reject(response);
+            return;
+        }
+        
+        admitted.increment();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            permits.release();
+        }
+    }
+    
+    /**
+     * Maximum number of requests admitted at the same time
+     */
+    public int getLimit() {
+        return limit;
+    }
+    
+    /**
+     * Requests currently holding a permit
+     */
+    public int getInFlight() {
+        return limit - permits.availablePermits();
+    }
+    
+    /**
+     * Requests currently waiting for a permit
+     */
+    public int getQueued() {
+        return permits.getQueueLength();
+    }
+    
+    /**
+     * Requests let through since startup
+     */
+    public long getAdmitted() {
+        return admitted.sum();
+    }
+    
+    /**
+     * Requests answered with 503 because no permit freed up in time
+     */
+    public long getRejected() {
+        return rejected.sum();
+    }
+    
+    // Same body as GlobalExceptionHandler, which filters never reach
+    private void reject(HttpServletResponse response) throws IOException {
+        Map<String, Object> errorResponse = new LinkedHashMap<>();
+        errorResponse.put("timestamp", LocalDateTime.now());
+        errorResponse.put("status", HttpStatus.SERVICE_UNAVAILABLE.value());
+        errorResponse.put("error", "Service Unavailable");
+        errorResponse.put("message", "The server is busy, please try again");
+        
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), errorResponse);
+    }
+    
+    private static int poolSize(DataSource dataSource) {
+        try {
+            if (dataSource.isWrapperFor(HikariDataSource.class)) {
+                return dataSource.unwrap(HikariDataSource.class).getMaximumPoolSize();
+            }
+        } catch (SQLException e) {
+            log.debug("Could not read the connection pool size", e);
+        }
+        return DEFAULT_POOL_SIZE;
+    }
+}
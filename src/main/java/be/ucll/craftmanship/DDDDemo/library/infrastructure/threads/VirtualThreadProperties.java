@@ -0,0 +1,33 @@
+package be.ucll.craftmanship.DDDDemo.library.infrastructure.threads;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Limits and diagnostics for running requests on virtual threads (library.virtual-threads.*)
+ * 
+ * Only read when spring.threads.virtual.enabled=true. A maxConcurrentRequests
+ * of 0 means one request per pooled database connection.
+ */
+@ConfigurationProperties(prefix = "library.virtual-threads")
+public record VirtualThreadProperties(
+    @DefaultValue("0") int maxConcurrentRequests,
+    @DefaultValue("1s") Duration admissionTimeout,
+    @DefaultValue("true") boolean pinningDetection,
+    @DefaultValue("20ms") Duration pinningThreshold
+) {
+    
+    public VirtualThreadProperties {
+        if (maxConcurrentRequests < 0) {
+            throw new IllegalArgumentException("Max concurrent requests cannot be negative");
+        }
+        if (admissionTimeout == null || admissionTimeout.isNegative()) {
+            throw new IllegalArgumentException("Admission timeout cannot be negative");
+        }
+        if (pinningThreshold == null || pinningThreshold.isNegative()) {
+            throw new IllegalArgumentException("Pinning threshold cannot be negative");
+        }
+    }
+}
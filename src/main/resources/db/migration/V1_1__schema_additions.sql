@@ -0,0 +1,36 @@
+-- Columns and tables added to the baseline before the migrations took over the schema.
+-- A database baselined at V1 may have some of them already (ddl-auto=update ran in
+-- between), so every change is IF NOT EXISTS; on a fresh database they are all new.
+
+-- Optimistic locking (@Version)
+ALTER TABLE books ADD COLUMN IF NOT EXISTS version bigint NOT NULL DEFAULT 0;
+ALTER TABLE members ADD COLUMN IF NOT EXISTS version bigint NOT NULL DEFAULT 0;
+ALTER TABLE loans ADD COLUMN IF NOT EXISTS version bigint NOT NULL DEFAULT 0;
+
+-- Member tiers and the open-loan counter (backfilled from the loans by V3)
+ALTER TABLE members ADD COLUMN IF NOT EXISTS tier varchar(255) NOT NULL DEFAULT 'STANDARD'
+    CHECK (tier IN ('STANDARD', 'PREMIUM', 'STAFF'));
+ALTER TABLE members ADD COLUMN IF NOT EXISTS active_loans integer NOT NULL DEFAULT 0;
+
+-- Day the overdue sweep announced the loan
+ALTER TABLE loans ADD COLUMN IF NOT EXISTS overdue_notified_on date;
+
+CREATE TABLE IF NOT EXISTS outbox_events (
+    id          uuid                        NOT NULL PRIMARY KEY,
+    event_type  varchar(255)                NOT NULL,
+    event_class varchar(255)                NOT NULL,
+    payload     text                        NOT NULL,
+    occurred_on timestamp(6)                NOT NULL,
+    created_at  timestamp(6) with time zone NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_outbox_events_created_at ON outbox_events (created_at);
+
+CREATE TABLE IF NOT EXISTS overdue_sweep_checkpoints (
+    sweep_date    date                        NOT NULL PRIMARY KEY,
+    last_due_date date                        NOT NULL,
+    last_loan_id  uuid                        NOT NULL,
+    notified      bigint                      NOT NULL,
+    completed     boolean                     NOT NULL,
+    updated_at    timestamp(6) with time zone NOT NULL
+);
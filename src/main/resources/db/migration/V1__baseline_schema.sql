@@ -0,0 +1,35 @@
+-- Baseline: the schema Hibernate created with ddl-auto=update before the migrations existed.
+-- Databases that were created that way are baselined at version 1 and skip this script,
+-- so it must stay exactly that schema; later additions go in their own migrations.
+
+CREATE TABLE IF NOT EXISTS books (
+    value     uuid         NOT NULL PRIMARY KEY,
+    isbn      varchar(255) UNIQUE,
+    title     varchar(255) NOT NULL,
+    author    varchar(255) NOT NULL,
+    available boolean      NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS members (
+    value               uuid         NOT NULL PRIMARY KEY,
+    name                varchar(255) NOT NULL,
+    email               varchar(255) UNIQUE,
+    address_street      varchar(255),
+    address_city        varchar(255),
+    address_postal_code varchar(255),
+    address_country     varchar(255),
+    member_since        date         NOT NULL,
+    active              boolean      NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS loans (
+    value         uuid         NOT NULL PRIMARY KEY,
+    book_id       uuid         NOT NULL,
+    member_id     uuid         NOT NULL,
+    borrowed_date date         NOT NULL,
+    due_date      date         NOT NULL,
+    returned_date date,
+    status        varchar(255) NOT NULL
+                  CHECK (status IN ('ACTIVE', 'EXTENDED', 'RETURNED', 'OVERDUE')),
+    notes         varchar(255)
+);
@@ -0,0 +1,30 @@
+-- One index per access path of the repository finders.
+-- CONCURRENTLY keeps the tables writable while the indexes build; Flyway runs this
+-- script outside a transaction. If a build fails, drop the INVALID index before retrying.
+
+-- findByMemberIdAndStatus, findByMemberIdAndStatusPageAfter, streamByMemberIdAndStatus,
+-- countByMemberIdAndStatus, countByMemberIdAndStatusNotAndDueDateBefore
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_loans_member_status ON loans (member_id, status, value);
+
+-- findByBookId, findByBookIdAndStatus
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_loans_book_status ON loans (book_id, status);
+
+-- findOverdueLoans, findOverdueLoansPageAfter, streamOverdueLoans, findLoansDueBetween,
+-- streamOpenLoanDueDates: returned loans, the bulk of the table, are left out
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_loans_open_due ON loans (due_date, value)
+    WHERE status <> 'RETURNED';
+
+-- countByStatusGroupByMember (loan counter reconciliation)
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_loans_open_member ON loans (member_id)
+    WHERE status IN ('ACTIVE', 'EXTENDED');
+
+-- findNewlyOverduePageAfter: shrinks as the overdue sweep marks loans
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_loans_overdue_sweep ON loans (due_date, value)
+    WHERE status <> 'RETURNED' AND overdue_notified_on IS NULL;
+
+-- At most one open loan per book, the last line of defence against double loans
+CREATE UNIQUE INDEX CONCURRENTLY IF NOT EXISTS ux_loans_open_book ON loans (book_id)
+    WHERE status IN ('ACTIVE', 'EXTENDED');
+
+-- findByAddressPostalCode (member lookup fallback)
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_members_postal_code ON members (address_postal_code);
@@ -0,0 +1,22 @@
+-- members.active_loans was added (by V1_1, or earlier by ddl-auto=update) with a default of 0;
+-- derive it once from the open loans instead of reconciling on every startup.
+UPDATE members m
+SET active_loans = open_loans.loan_count,
+    version = m.version + 1
+FROM (
+    SELECT member_id, count(*) AS loan_count
+    FROM loans
+    WHERE status IN ('ACTIVE', 'EXTENDED')
+    GROUP BY member_id
+) open_loans
+WHERE m.value = open_loans.member_id
+  AND m.active_loans <> open_loans.loan_count;
+
+UPDATE members m
+SET active_loans = 0,
+    version = m.version + 1
+WHERE m.active_loans <> 0
+  AND NOT EXISTS (
+      SELECT 1 FROM loans l
+      WHERE l.member_id = m.value AND l.status IN ('ACTIVE', 'EXTENDED')
+  );
@@ -0,0 +1,17 @@
+-- ISBNs are stored in canonical form: no hyphens or spaces, upper-case X check digit.
+-- Where several rows normalize to the same ISBN, the one already canonical (else the
+-- lowest id) is rewritten and the others are left as they are for manual cleanup.
+UPDATE books b
+SET isbn = c.canonical,
+    version = b.version + 1
+FROM (
+    SELECT DISTINCT ON (canonical) value, isbn, canonical
+    FROM (
+        SELECT value, isbn, upper(translate(isbn, '- ', '')) AS canonical
+        FROM books
+        WHERE isbn IS NOT NULL
+    ) normalized
+    ORDER BY canonical, isbn = canonical DESC, value
+) c
+WHERE b.value = c.value
+  AND b.isbn <> c.canonical;
@@ -0,0 +1,10 @@
+-- Progress of bulk CSV/NDJSON imports, one row per client-chosen import id
+CREATE TABLE IF NOT EXISTS bulk_import_checkpoints (
+    import_id  varchar(100)                NOT NULL PRIMARY KEY,
+    kind       varchar(255)                NOT NULL,
+    rows_done  bigint                      NOT NULL,
+    inserted   bigint                      NOT NULL,
+    rejected   bigint                      NOT NULL,
+    completed  boolean                     NOT NULL,
+    updated_at timestamp(6) with time zone NOT NULL
+);
@@ -0,0 +1,27 @@
+-- Denormalized read model for the loan dashboards, projected from loan events.
+-- Returned loans stay as RETURNED rows, so an extension delivered after the
+-- return cannot bring the loan back; the open-loan indexes skip them.
+CREATE TABLE IF NOT EXISTS loan_dashboard (
+    loan_id             uuid                        NOT NULL PRIMARY KEY,
+    version             bigint                      NOT NULL DEFAULT 0,
+    book_id             uuid,
+    book_title          varchar(255),
+    member_id           uuid                        NOT NULL,
+    member_name         varchar(255),
+    member_tier         varchar(255)                NOT NULL DEFAULT 'STANDARD',
+    borrowed_date       date,
+    due_date            date,
+    due_date_as_of      timestamp(6),
+    returned_date       date,
+    status              varchar(255)                NOT NULL,
+    overdue_notified_on date,
+    updated_at          timestamp(6) with time zone NOT NULL
+);
+
+-- Open loans of one member
+CREATE INDEX IF NOT EXISTS idx_loan_dashboard_member_open ON loan_dashboard (member_id, due_date)
+    WHERE status <> 'RETURNED';
+
+-- Overdue as of a day: keyset over (due_date, loan_id) of the open loans
+CREATE INDEX IF NOT EXISTS idx_loan_dashboard_due_open ON loan_dashboard (due_date, loan_id)
+    WHERE status <> 'RETURNED';
@@ -0,0 +1,19 @@
+-- Event-sourced loans (library.loans.event-store.enabled=true).
+-- One append-only stream per loan; the primary key is the optimistic
+-- concurrency check, two writers of the same next version cannot both commit.
+CREATE TABLE IF NOT EXISTS loan_events (
+    loan_id     uuid         NOT NULL,
+    version     bigint       NOT NULL,
+    event_type  varchar(100) NOT NULL,
+    payload     text         NOT NULL,
+    occurred_on timestamp(6) NOT NULL,
+    PRIMARY KEY (loan_id, version)
+);
+
+-- Latest snapshot per loan, so a load replays fewer than snapshot-every events
+CREATE TABLE IF NOT EXISTS loan_snapshots (
+    loan_id  uuid                        NOT NULL PRIMARY KEY,
+    version  bigint                      NOT NULL,
+    payload  text                        NOT NULL,
+    taken_at timestamp(6) with time zone NOT NULL
+);
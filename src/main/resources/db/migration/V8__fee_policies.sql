@@ -0,0 +1,13 @@
+-- Late fee policy per member tier, shared by every node. A tier without a
+-- row is charged under the standard policy. tiers holds the daily rates as
+-- "fromDay:centsPerDay" pairs in day order, e.g. "1:50,8:100,15:200".
+CREATE TABLE IF NOT EXISTS fee_policies (
+    member_tier varchar(255)                NOT NULL PRIMARY KEY
+        CHECK (member_tier IN ('STANDARD', 'PREMIUM', 'STAFF')),
+    version     bigint                      NOT NULL DEFAULT 0,
+    currency    varchar(3)                  NOT NULL,
+    grace_days  integer                     NOT NULL,
+    tiers       varchar(2000)               NOT NULL,
+    cap_cents   bigint,
+    updated_at  timestamp(6) with time zone NOT NULL
+);
@@ -0,0 +1,101 @@
+package be.ucll.craftmanship.DDDDemo.library.application.dto;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class KeysetCursorTests {
+    
+    @Test
+    void encodedCursorsDecodeToTheSameKeys() {
+        UUID id = UUID.randomUUID();
+        LocalDate dueDate = LocalDate.of(2025, 3, 10);
+        
+        String token = KeysetCursor.of(dueDate, id).encode();
+        KeysetCursor decoded = KeysetCursor.decode(token, 2);
+        
+        assertThat(decoded.date(0)).isEqualTo(dueDate);
+        assertThat(decoded.uuid(1)).isEqualTo(id);
+        assertThat(decoded).isEqualTo(KeysetCursor.of(dueDate, id));
+        assertThat(KeysetCursor.decode(KeysetCursor.of(KeysetCursor.FIRST_ID).encode(), 1).uuid(0))
+            .isEqualTo(KeysetCursor.FIRST_ID);
+    }
+    
+    @Test
+    void tokensAreUrlSafeAndUnpadded() {
+        for (int i = 0; i < 100; i++) {
+            String token = KeysetCursor.of(LocalDate.of(2025, 1, 1).plusDays(i), UUID.randomUUID()).encode();
+            assertThat(token).matches("[A-Za-z0-9_-]+");
+        }
+    }
+    
+    @Test
+    void malformedTokensAreRejected() {
+        assertThatThrownBy(() -> KeysetCursor.decode("not base64!", 1))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageStartingWith("Invalid cursor");
+        assertThatThrownBy(() -> KeysetCursor.decode("", 2))
+            .isInstanceOf(IllegalArgumentException.class);
+        // A cursor of one list passed to a list with a different key layout
+        String oneKey = KeysetCursor.of(UUID.randomUUID()).encode();
+        assertThatThrownBy(() -> KeysetCursor.decode(oneKey, 2))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessage("Invalid cursor: " + oneKey);
+    }
+    
+    @Test
+    void tamperedKeysAreRejectedWhenRead() {
+        String wrongTypes = token("2025-03-10|not-a-uuid");
+        KeysetCursor cursor = KeysetCursor.decode(wrongTypes, 2);
+        
+        assertThat(cursor.date(0)).isEqualTo(LocalDate.of(2025, 3, 10));
+        assertThatThrownBy(() -> cursor.uuid(1))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessage("Invalid cursor key: not-a-uuid");
+        assertThatThrownBy(() -> KeysetCursor.decode(token("2025-13-45|" + UUID.randomUUID()), 2).date(0))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageStartingWith("Invalid cursor key");
+        assertThatThrownBy(() -> KeysetCursor.decode(token(UUID.randomUUID() + "|extra"), 1))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+    
+    @Test
+    void pageBuiltFromSizePlusOneRowsPointsAfterItsLastItem() {
+        List<Integer> rows = List.of(1, 2, 3, 4);
+        
+        CursorPage<String> page = CursorPage.of(rows, 3, String::valueOf, row -> KeysetCursor.of(row));
+        
+        assertThat(page.items()).containsExactly("1", "2", "3");
+        assertThat(KeysetCursor.decode(page.nextCursor(), 1).keys()).containsExactly("3");
+    }
+    
+    @Test
+    void lastPageHasNoCursor() {
+        CursorPage<String> exact = CursorPage.of(List.of(1, 2, 3), 3, String::valueOf, row -> KeysetCursor.of(row));
+        CursorPage<String> empty = CursorPage.of(List.<Integer>of(), 3, String::valueOf, row -> KeysetCursor.of(row));
+        
+        assertThat(exact.items()).hasSize(3);
+        assertThat(exact.nextCursor()).isNull();
+        assertThat(empty.items()).isEmpty();
+        assertThat(empty.nextCursor()).isNull();
+    }
+    
+    @Test
+    void pageSizeMustBeWithinBounds() {
+        assertThat(CursorPage.checkSize(1)).isEqualTo(1);
+        assertThat(CursorPage.checkSize(CursorPage.MAX_SIZE)).isEqualTo(CursorPage.MAX_SIZE);
+        assertThatThrownBy(() -> CursorPage.checkSize(0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> CursorPage.checkSize(CursorPage.MAX_SIZE + 1)).isInstanceOf(IllegalArgumentException.class);
+    }
+    
+    private static String token(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
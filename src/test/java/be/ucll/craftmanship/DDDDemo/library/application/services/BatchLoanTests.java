@@ -0,0 +1,187 @@
+package be.ucll.craftmanship.DDDDemo.library.application.services;
+
+import be.ucll.craftmanship.DDDDemo.library.application.dto.BatchBorrowRequest;
+import be.ucll.craftmanship.DDDDemo.library.application.dto.BatchItemResult;
+import be.ucll.craftmanship.DDDDemo.library.application.dto.BatchLoanResponse;
+import be.ucll.craftmanship.DDDDemo.library.application.dto.BatchReturnRequest;
+import be.ucll.craftmanship.DDDDemo.library.application.dto.BorrowBookRequest;
+import be.ucll.craftmanship.DDDDemo.library.application.dto.CreateBookRequest;
+import be.ucll.craftmanship.DDDDemo.library.application.dto.CreateMemberRequest;
+import be.ucll.craftmanship.DDDDemo.library.domain.aggregates.LoanStatus;
+import be.ucll.craftmanship.DDDDemo.library.domain.repositories.LoanRepository;
+import be.ucll.craftmanship.DDDDemo.library.domain.repositories.MemberRepository;
+import be.ucll.craftmanship.DDDDemo.library.domain.valueobjects.MemberId;
+import be.ucll.craftmanship.DDDDemo.library.infrastructure.outbox.OutboxEvent;
+import be.ucll.craftmanship.DDDDemo.library.infrastructure.outbox.OutboxEventRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:batch-loans;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1;NON_KEYWORDS=VALUE"
+})
+@ActiveProfiles("embedded")
+class BatchLoanTests {
+    
+    private static final AtomicInteger NEXT_BOOK = new AtomicInteger();
+    
+    @Autowired
+    private BookService bookService;
+    
+    @Autowired
+    private MemberService memberService;
+    
+    @Autowired
+    private LoanService loanService;
+    
+    @Autowired
+    private LoanRepository loanRepository;
+    
+    @Autowired
+    private MemberRepository memberRepository;
+    
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+    
+    @Autowired
+    private LoanLimits loanLimits;
+    
+    @Test
+    void aFailingItemLeavesNothingBehindAndTheOthersGoThrough() {
+        String member = createMember("batch-failing@example.com");
+        List<String> books = createBooks(2);
+        
+        BatchLoanResponse response = loanService.borrowBooks(new BatchBorrowRequest(List.of(
+            new BorrowBookRequest(books.get(0), member),
+            new BorrowBookRequest(UUID.randomUUID().toString(), member),
+            new BorrowBookRequest(books.get(1), "not-a-uuid")
+        )));
+        
+        assertThat(response.succeeded()).isEqualTo(1);
+        assertThat(response.failed()).isEqualTo(2);
+        assertThat(response.results()).extracting(BatchItemResult::index).containsExactly(0, 1, 2);
+        assertThat(response.results()).extracting(BatchItemResult::success).containsExactly(true, false, false);
+        assertThat(response.results().get(1).error()).startsWith("Book not found");
+        
+        assertThat(bookService.getBookById(books.get(0)).available()).isFalse();
+        assertThat(bookService.getBookById(books.get(1)).available()).isTrue();
+        assertThat(activeLoans(member)).isEqualTo(1);
+        assertThat(loanRepository.countByMemberIdAndStatus(MemberId.from(member), LoanStatus.ACTIVE)).isEqualTo(1);
+    }
+    
+    @Test
+    void theMemberLimitAppliesAcrossTheBatch() {
+        int limit = loanLimits.standard();
+        String member = createMember("batch-limit@example.com");
+        List<String> books = createBooks(limit + 2);
+        loanService.borrowBook(new BorrowBookRequest(books.get(0), member));
+        loanService.borrowBook(new BorrowBookRequest(books.get(1), member));
+        
+        // Two already on loan: of the next limit items, the first limit - 2 fit
+        List<BorrowBookRequest> items = new ArrayList<>();
+        for (String book : books.subList(2, limit + 2)) {
+            items.add(new BorrowBookRequest(book, member));
+        }
+        BatchLoanResponse response = loanService.borrowBooks(new BatchBorrowRequest(items));
+        
+        assertThat(response.succeeded()).isEqualTo(limit - 2);
+        assertThat(response.results().subList(0, limit - 2)).allMatch(BatchItemResult::success);
+        assertThat(response.results().subList(limit - 2, limit))
+            .allSatisfy(result -> assertThat(result.error()).contains("maximum active loans"));
+        assertThat(activeLoans(member)).isEqualTo(limit);
+        assertThat(bookService.getBookById(books.get(limit)).available()).isTrue();
+        assertThat(bookService.getBookById(books.get(limit + 1)).available()).isTrue();
+    }
+    
+    @Test
+    void aBookOrLoanListedTwiceIsOnlyHandledOnce() {
+        String ada = createMember("batch-twice-ada@example.com");
+        String bob = createMember("batch-twice-bob@example.com");
+        String book = createBooks(1).get(0);
+        
+        BatchLoanResponse borrowed = loanService.borrowBooks(new BatchBorrowRequest(List.of(
+            new BorrowBookRequest(book, ada),
+            new BorrowBookRequest(book, bob)
+        )));
+        
+        assertThat(borrowed.succeeded()).isEqualTo(1);
+        assertThat(borrowed.results().get(1).error()).contains("more than once");
+        assertThat(activeLoans(ada)).isEqualTo(1);
+        assertThat(activeLoans(bob)).isZero();
+        
+        String loan = borrowed.results().get(0).loan().id();
+        BatchLoanResponse returned = loanService.returnBooks(new BatchReturnRequest(List.of(loan, loan)));
+        
+        assertThat(returned.succeeded()).isEqualTo(1);
+        assertThat(returned.results().get(1).success()).isFalse();
+        assertThat(activeLoans(ada)).isZero();
+        assertThat(bookService.getBookById(book).available()).isTrue();
+    }
+    
+    @Test
+    void eachItemPublishesItsEventOnce() {
+        String ada = createMember("batch-events-ada@example.com");
+        String bob = createMember("batch-events-bob@example.com");
+        List<String> books = createBooks(3);
+        
+        BatchLoanResponse borrowed = loanService.borrowBooks(new BatchBorrowRequest(List.of(
+            new BorrowBookRequest(books.get(0), ada),
+            new BorrowBookRequest(books.get(1), bob),
+            new BorrowBookRequest(books.get(2), ada),
+            new BorrowBookRequest(UUID.randomUUID().toString(), bob)
+        )));
+        List<String> loans = borrowed.results()
+            .stream()
+            .filter(BatchItemResult::success)
+            .map(result -> result.loan().id())
+            .toList();
+        assertThat(loans).hasSize(3);
+        
+        loanService.returnBooks(new BatchReturnRequest(loans));
+        
+        for (String loan : loans) {
+            assertThat(events("BookBorrowed", loan)).as("BookBorrowed for %s", loan).isEqualTo(1);
+            assertThat(events("BookReturned", loan)).as("BookReturned for %s", loan).isEqualTo(1);
+        }
+        assertThat(activeLoans(ada)).isZero();
+        assertThat(activeLoans(bob)).isZero();
+    }
+    
+    private long events(String type, String loanId) {
+        return outboxEventRepository.findAll()
+            .stream()
+            .filter(event -> event.getEventType().equals(type))
+            .map(OutboxEvent::getPayload)
+            .filter(payload -> payload.contains(loanId))
+            .count();
+    }
+    
+    private String createMember(String email) {
+        return memberService.createMember(new CreateMemberRequest(
+            "Batch Tester", email, "Naamsestraat 1", "Leuven", "3000", "Belgium"
+        )).id();
+    }
+    
+    private List<String> createBooks(int count) {
+        List<String> books = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            int n = NEXT_BOOK.incrementAndGet();
+            books.add(bookService.createBook(new CreateBookRequest(
+                ConcurrentBorrowTests.isbn13(910_000 + n), "Batch Book " + n, "Author"
+            )).id());
+        }
+        return books;
+    }
+    
+    private int activeLoans(String memberId) {
+        return memberRepository.findById(MemberId.from(memberId)).orElseThrow().getActiveLoans();
+    }
+}
@@ -0,0 +1,173 @@
+package be.ucll.craftmanship.DDDDemo.library.application.services;
+
+import be.ucll.craftmanship.DDDDemo.library.application.dto.BookResponse;
+import be.ucll.craftmanship.DDDDemo.library.application.dto.BorrowBookRequest;
+import be.ucll.craftmanship.DDDDemo.library.application.dto.CreateBookRequest;
+import be.ucll.craftmanship.DDDDemo.library.application.dto.CreateMemberRequest;
+import be.ucll.craftmanship.DDDDemo.library.application.dto.LoanResponse;
+import be.ucll.craftmanship.DDDDemo.library.domain.aggregates.LoanStatus;
+import be.ucll.craftmanship.DDDDemo.library.domain.repositories.LoanRepository;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Stress test: hundreds of borrowers competing for a handful of books
+ * 
+ * Every thread repeatedly borrows a random book and returns it. A shared
+ * holder map records who currently has each book, so a double loan is
+ * caught the moment it commits. Runs once per locking mode and logs the
+ * throughput of each at DEBUG.
+ */
+@SpringBootTest
+@ActiveProfiles("embedded")
+class ConcurrentBorrowTests {
+    
+    private static final int BOOKS = 8;
+    private static final int THREADS = 200;
+    private static final int ATTEMPTS_PER_THREAD = 20;
+    
+    private static final Logger logger = LoggerFactory.getLogger(ConcurrentBorrowTests.class);
+    
+    @Nested
+    @TestPropertySource(properties = {
+        "library.loans.locking=OPTIMISTIC",
+        "spring.datasource.url=jdbc:h2:mem:stress-optimistic;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;"
+            + "DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1;NON_KEYWORDS=VALUE;LOCK_TIMEOUT=10000",
+        "spring.datasource.hikari.maximum-pool-size=20"
+    })
+    class Optimistic extends StressRun {
+        
+        @Test
+        void noBookIsEverLoanedTwice() throws InterruptedException {
+            run(LockingMode.OPTIMISTIC);
+        }
+    }
+    
+    @Nested
+    @TestPropertySource(properties = {
+        "library.loans.locking=PESSIMISTIC",
+        "spring.datasource.url=jdbc:h2:mem:stress-pessimistic;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;"
+            + "DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1;NON_KEYWORDS=VALUE;LOCK_TIMEOUT=10000",
+        "spring.datasource.hikari.maximum-pool-size=20"
+    })
+    class Pessimistic extends StressRun {
+        
+        @Test
+        void noBookIsEverLoanedTwice() throws InterruptedException {
+            run(LockingMode.PESSIMISTIC);
+        }
+    }
+    
+    abstract class StressRun {
+        
+        @Autowired
+        private BookService bookService;
+        
+        @Autowired
+        private MemberService memberService;
+        
+        @Autowired
+        private LoanService loanService;
+        
+        @Autowired
+        private LoanRepository loanRepository;
+        
+        void run(LockingMode mode) throws InterruptedException {
+            List<String> books = new ArrayList<>();
+            for (int i = 0; i < BOOKS; i++) {
+                BookResponse book = bookService.createBook(new CreateBookRequest(isbn13(i), "Book " + i, "Author " + i));
+                books.add(book.id());
+            }
+            List<String> members = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                members.add(memberService.createMember(new CreateMemberRequest(
+                    "Member " + i, "member" + i + "@example.com", "Naamsestraat " + i, "Leuven", "3000", "Belgium"
+                )).id());
+            }
+            
+            Map<String, String> holders = new ConcurrentHashMap<>();
+            AtomicInteger borrowed = new AtomicInteger();
+            AtomicInteger doubleLoans = new AtomicInteger();
+            AtomicInteger unavailable = new AtomicInteger();
+            AtomicInteger conflicts = new AtomicInteger();
+            List<Throwable> unexpected = Collections.synchronizedList(new ArrayList<>());
+            
+            ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+            CountDownLatch start = new CountDownLatch(1);
+            for (String member : members) {
+                pool.execute(() -> {
+                    try {
+                        start.await();
+                        for (int attempt = 0; attempt < ATTEMPTS_PER_THREAD; attempt++) {
+                            String book = books.get(ThreadLocalRandom.current().nextInt(BOOKS));
+                            try {
+                                LoanResponse loan = loanService.borrowBook(new BorrowBookRequest(book, member));
+                                borrowed.incrementAndGet();
+                                if (holders.putIfAbsent(book, member) != null) {
+                                    doubleLoans.incrementAndGet();
+                                }
+                                holders.remove(book, member);
+                                loanService.returnBook(loan.id());
+                            } catch (IllegalStateException e) {
+                                unavailable.incrementAndGet();
+                            } catch (ConcurrencyFailureException | DataIntegrityViolationException e) {
+                                conflicts.incrementAndGet();
+                            }
+                        }
+                    } catch (Throwable t) {
+                        unexpected.add(t);
+                    }
+                });
+            }
+            
+            long started = System.nanoTime();
+            start.countDown();
+            pool.shutdown();
+            assertThat(pool.awaitTermination(5, TimeUnit.MINUTES)).isTrue();
+            long millis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+            
+            logger.debug("{}: {} borrowed, {} rejected as unavailable, {} conflicts after retries in {} ms, {} borrow+return/s",
+                mode, borrowed.get(), unavailable.get(), conflicts.get(), millis, borrowed.get() * 1000L / millis);
+            
+            assertThat(unexpected).isEmpty();
+            assertThat(doubleLoans.get()).isZero();
+            assertThat(borrowed.get()).isPositive();
+            // Every loan was returned: nothing may be left open and every book is back on the shelf
+            assertThat(loanRepository.findAll())
+                .noneMatch(loan -> loan.getStatus() == LoanStatus.ACTIVE || loan.getStatus() == LoanStatus.EXTENDED);
+            assertThat(bookService.getAvailableBooks()).hasSize(BOOKS);
+        }
+    }
+    
+    // Valid ISBN-13 in the 978 range
+    static String isbn13(long n) {
+        String digits = String.format("978%09d", n);
+        int sum = 0;
+        for (int i = 0; i < 12; i++) {
+            sum += (digits.charAt(i) - '0') * (i % 2 == 0 ? 1 : 3);
+        }
+        return digits + (10 - sum % 10) % 10;
+    }
+}
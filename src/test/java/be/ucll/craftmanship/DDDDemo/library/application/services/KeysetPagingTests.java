@@ -0,0 +1,81 @@
+package be.ucll.craftmanship.DDDDemo.library.application.services;
+
+import be.ucll.craftmanship.DDDDemo.library.application.dto.BorrowBookRequest;
+import be.ucll.craftmanship.DDDDemo.library.application.dto.CreateBookRequest;
+import be.ucll.craftmanship.DDDDemo.library.application.dto.CreateMemberRequest;
+import be.ucll.craftmanship.DDDDemo.library.application.dto.CursorPage;
+import be.ucll.craftmanship.DDDDemo.library.application.dto.LoanResponse;
+import be.ucll.craftmanship.DDDDemo.library.domain.entities.MemberTier;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:keyset-paging;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1;NON_KEYWORDS=VALUE"
+})
+@ActiveProfiles("embedded")
+class KeysetPagingTests {
+    
+    @Autowired
+    private BookService bookService;
+    
+    @Autowired
+    private MemberService memberService;
+    
+    @Autowired
+    private LoanService loanService;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Test
+    void pagesThroughLoansWithTheSameDueDateWithoutSkippingOrRepeating() {
+        String member = memberService.createMember(new CreateMemberRequest(
+            "Paging Tester", "paging@example.com", "Naamsestraat 1", "Leuven", "3000", "Belgium"
+        )).id();
+        memberService.changeTier(member, MemberTier.STAFF);
+        
+        // Five loans share a due date, so page boundaries fall inside the tie
+        LocalDate tied = LocalDate.now().minusDays(3);
+        List<String> loans = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            String book = bookService.createBook(new CreateBookRequest(
+                ConcurrentBorrowTests.isbn13(920_000 + i), "Paged Book " + i, "Author"
+            )).id();
+            String loan = loanService.borrowBook(new BorrowBookRequest(book, member)).id();
+            LocalDate dueDate = i < 5 ? tied : LocalDate.now().minusDays(5 + i);
+            jdbcTemplate.update("UPDATE loans SET due_date = ? WHERE value = ?", dueDate, UUID.fromString(loan));
+            loans.add(loan);
+        }
+        
+        List<String> onePage = ids(loanService.getOverdueLoansPage(null, 100).items());
+        
+        for (int size = 1; size <= 3; size++) {
+            List<LoanResponse> paged = new ArrayList<>();
+            String cursor = null;
+            do {
+                CursorPage<LoanResponse> page = loanService.getOverdueLoansPage(cursor, size);
+                assertThat(page.items().size()).isLessThanOrEqualTo(size);
+                paged.addAll(page.items());
+                cursor = page.nextCursor();
+            } while (cursor != null);
+            
+            assertThat(ids(paged)).as("page size %d", size).containsExactlyElementsOf(onePage);
+            assertThat(paged).extracting(LoanResponse::dueDate).isSorted();
+        }
+        assertThat(onePage).containsExactlyInAnyOrderElementsOf(loans);
+    }
+    
+    private static List<String> ids(List<LoanResponse> loans) {
+        return loans.stream().map(LoanResponse::id).toList();
+    }
+}
@@ -0,0 +1,114 @@
+package be.ucll.craftmanship.DDDDemo.library.application.services;
+
+import be.ucll.craftmanship.DDDDemo.library.application.dto.BorrowBookRequest;
+import be.ucll.craftmanship.DDDDemo.library.application.dto.CreateBookRequest;
+import be.ucll.craftmanship.DDDDemo.library.application.dto.CreateMemberRequest;
+import be.ucll.craftmanship.DDDDemo.library.application.dto.LoanResponse;
+import be.ucll.craftmanship.DDDDemo.library.domain.entities.MemberTier;
+import be.ucll.craftmanship.DDDDemo.library.domain.repositories.MemberRepository;
+import be.ucll.craftmanship.DDDDemo.library.domain.valueobjects.MemberId;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("embedded")
+class LoanLimitTests {
+    
+    @Autowired
+    private BookService bookService;
+    
+    @Autowired
+    private MemberService memberService;
+    
+    @Autowired
+    private LoanService loanService;
+    
+    @Autowired
+    private MemberRepository memberRepository;
+    
+    @Autowired
+    private LoanLimits loanLimits;
+    
+    @Test
+    void concurrentBorrowsByOneMemberStopAtTheTierLimit() throws Exception {
+        String member = createMember("limit-race@example.com");
+        List<String> books = createBooks(100, 20);
+        
+        ExecutorService pool = Executors.newFixedThreadPool(books.size());
+        List<Future<Boolean>> attempts = new ArrayList<>();
+        for (String book : books) {
+            attempts.add(pool.submit(() -> {
+                try {
+                    loanService.borrowBook(new BorrowBookRequest(book, member));
+                    return true;
+                } catch (IllegalStateException e) {
+                    return false;
+                }
+            }));
+        }
+        int borrowed = 0;
+        for (Future<Boolean> attempt : attempts) {
+            borrowed += attempt.get() ? 1 : 0;
+        }
+        pool.shutdown();
+        
+        assertThat(borrowed).isEqualTo(loanLimits.standard());
+        assertThat(activeLoans(member)).isEqualTo(loanLimits.standard());
+    }
+    
+    @Test
+    void returningAndExtendingKeepTheCounterInStep() {
+        String member = createMember("limit-extend@example.com");
+        List<String> books = createBooks(200, loanLimits.standard() + 2);
+        
+        List<LoanResponse> loans = new ArrayList<>();
+        for (int i = 0; i < loanLimits.standard(); i++) {
+            loans.add(loanService.borrowBook(new BorrowBookRequest(books.get(i), member)));
+        }
+        // Extended loans still count against the limit
+        loanService.extendLoan(loans.get(0).id(), 7);
+        assertThatThrownBy(() -> loanService.borrowBook(new BorrowBookRequest(books.get(loanLimits.standard()), member)))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("maximum active loans");
+        
+        loanService.returnBook(loans.get(0).id());
+        assertThat(activeLoans(member)).isEqualTo(loanLimits.standard() - 1);
+        loanService.borrowBook(new BorrowBookRequest(books.get(loanLimits.standard()), member));
+        
+        // A higher tier raises the limit
+        memberService.changeTier(member, MemberTier.PREMIUM);
+        loanService.borrowBook(new BorrowBookRequest(books.get(loanLimits.standard() + 1), member));
+        assertThat(activeLoans(member)).isEqualTo(loanLimits.standard() + 1);
+    }
+    
+    private String createMember(String email) {
+        return memberService.createMember(new CreateMemberRequest(
+            "Limit Tester", email, "Naamsestraat 1", "Leuven", "3000", "Belgium"
+        )).id();
+    }
+    
+    private List<String> createBooks(int first, int count) {
+        List<String> books = new ArrayList<>();
+        for (int i = first; i < first + count; i++) {
+            books.add(bookService.createBook(new CreateBookRequest(
+                ConcurrentBorrowTests.isbn13(900_000 + i), "Book " + i, "Author"
+            )).id());
+        }
+        return books;
+    }
+    
+    private int activeLoans(String memberId) {
+        return memberRepository.findById(MemberId.from(memberId)).orElseThrow().getActiveLoans();
+    }
+}
@@ -0,0 +1,97 @@
+package be.ucll.craftmanship.DDDDemo.library.application.services;
+
+import be.ucll.craftmanship.DDDDemo.library.application.dto.BookResponse;
+import be.ucll.craftmanship.DDDDemo.library.application.dto.BorrowBookRequest;
+import be.ucll.craftmanship.DDDDemo.library.application.dto.CreateBookRequest;
+import be.ucll.craftmanship.DDDDemo.library.application.dto.CreateMemberRequest;
+import be.ucll.craftmanship.DDDDemo.library.application.dto.LoanResponse;
+import be.ucll.craftmanship.DDDDemo.library.application.dto.MemberResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import reactor.test.StepVerifier;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The R2DBC reads answer exactly like the blocking services on the same data
+ */
+@SpringBootTest
+@ActiveProfiles("embedded")
+class ReactiveReadTests {
+    
+    @Autowired
+    private BookService bookService;
+    
+    @Autowired
+    private MemberService memberService;
+    
+    @Autowired
+    private LoanService loanService;
+    
+    @Autowired
+    private ReactiveBookService reactiveBookService;
+    
+    @Autowired
+    private ReactiveMemberService reactiveMemberService;
+    
+    @Autowired
+    private ReactiveLoanService reactiveLoanService;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Test
+    void readsMatchTheBlockingServices() {
+        BookResponse book = bookService.createBook(new CreateBookRequest(
+            "9780262033848", "Introduction to Algorithms", "Thomas H. Cormen"
+        ));
+        MemberResponse member = memberService.createMember(new CreateMemberRequest(
+            "Reactive Reader", "reactive-reader@example.com", "Naamsestraat 1", "Leuven", "3000", "Belgium"
+        ));
+        LoanResponse loan = loanService.borrowBook(new BorrowBookRequest(book.id(), member.id()));
+        jdbcTemplate.update("UPDATE loans SET due_date = ? WHERE value = ?",
+            LocalDate.now().minusDays(3), UUID.fromString(loan.id()));
+        
+        StepVerifier.create(reactiveBookService.getBookById(book.id()))
+            .expectNext(bookService.getBookById(book.id()))
+            .verifyComplete();
+        StepVerifier.create(reactiveBookService.getBookByIsbn("978-0-262-03384-8"))
+            .assertNext(found -> assertThat(found.id()).isEqualTo(book.id()))
+            .verifyComplete();
+        StepVerifier.create(reactiveBookService.searchBooks("algorithms", 5).map(BookResponse::id).collectList())
+            .assertNext(ids -> assertThat(ids).contains(book.id()))
+            .verifyComplete();
+        StepVerifier.create(reactiveMemberService.getMemberById(member.id()))
+            .expectNext(memberService.getMemberById(member.id()))
+            .verifyComplete();
+        
+        StepVerifier.create(reactiveLoanService.getLoansByMember(member.id()))
+            .expectNextSequence(loanService.getLoansByMember(member.id()))
+            .verifyComplete();
+        StepVerifier.create(reactiveLoanService.getOverdueLoans().filter(overdue -> overdue.id().equals(loan.id())))
+            .assertNext(overdue -> {
+                assertThat(overdue.overdue()).isTrue();
+                assertThat(overdue.daysOverdue()).isEqualTo(3);
+            })
+            .verifyComplete();
+    }
+    
+    @Test
+    void missingAndMalformedIdsAreRejectedLikeTheBlockingPath() {
+        StepVerifier.create(reactiveBookService.getBookById(UUID.randomUUID().toString()))
+            .expectErrorMatches(e -> e instanceof IllegalArgumentException && e.getMessage().startsWith("Book not found"))
+            .verify();
+        StepVerifier.create(reactiveMemberService.getMemberById("not-a-uuid"))
+            .expectError(IllegalArgumentException.class)
+            .verify();
+        StepVerifier.create(reactiveLoanService.getLoansByMember("not-a-uuid"))
+            .expectError(IllegalArgumentException.class)
+            .verify();
+    }
+}
@@ -0,0 +1,54 @@
+package be.ucll.craftmanship.DDDDemo.library.benchmarks;
+
+import be.ucll.craftmanship.DDDDemo.library.domain.aggregates.Loan;
+import be.ucll.craftmanship.DDDDemo.library.domain.valueobjects.BookId;
+import be.ucll.craftmanship.DDDDemo.library.domain.valueobjects.LoanId;
+import be.ucll.craftmanship.DDDDemo.library.domain.valueobjects.MemberId;
+
+import java.lang.reflect.Field;
+import java.time.LocalDate;
+
+/**
+ * Shared test data for the benchmarks
+ */
+final class BenchmarkFixtures {
+    
+    private static final Field DUE_DATE;
+    
+    static {
+        try {
+            DUE_DATE = Loan.class.getDeclaredField("dueDate");
+            DUE_DATE.setAccessible(true);
+        } catch (NoSuchFieldException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+    
+    private BenchmarkFixtures() {}
+    
+    /**
+     * A loan whose due date lies the given number of days in the past
+     * Loan has no API to backdate itself, so the due date is set reflectively
+     */
+    static Loan overdueLoan(long daysOverdue) {
+        Loan loan = new Loan(LoanId.generate(), BookId.generate(), MemberId.generate());
+        try {
+            DUE_DATE.set(loan, LocalDate.now().minusDays(daysOverdue));
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+        return loan;
+    }
+    
+    /**
+     * The n-th ISBN-13 in the 978 range, with a valid check digit
+     */
+    static String isbn13(long n) {
+        String digits = String.format("978%09d", n);
+        int sum = 0;
+        for (int i = 0; i < 12; i++) {
+            sum += (digits.charAt(i) - '0') * (i % 2 == 0 ? 1 : 3);
+        }
+        return digits + (10 - sum % 10) % 10;
+    }
+}
@@ -0,0 +1,174 @@
+package be.ucll.craftmanship.DDDDemo.library.benchmarks;
+
+import be.ucll.craftmanship.DDDDemo.library.application.search.SearchHit;
+import be.ucll.craftmanship.DDDDemo.library.domain.entities.Book;
+import be.ucll.craftmanship.DDDDemo.library.domain.valueobjects.BookId;
+import be.ucll.craftmanship.DDDDemo.library.domain.valueobjects.ISBN;
+import be.ucll.craftmanship.DDDDemo.library.infrastructure.search.InMemoryBookSearchIndex;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Book search: in-memory inverted index vs. the ContainingIgnoreCase finder
+ * 
+ * - indexSearch: InMemoryBookSearchIndex
+ * - linearScan: lower(title/author) LIKE '%q%' evaluated in memory, i.e. the
+ *   finder's full scan without any database overhead (a lower bound for it)
+ * - finderH2: the finder's actual SQL against an embedded H2 database
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms4g", "-Xmx4g"})
+public class BookSearchBenchmark {
+    
+    private static final String[] QUERIES = {
+        "dragon", "silent river", "mor", "kingdm", "tolkien", "97800001"
+    };
+    
+    @State(Scope.Benchmark)
+    public static class Catalogue {
+        
+        @Param({"100000", "1000000"})
+        public int books;
+        
+        InMemoryBookSearchIndex index;
+        List<Book> rows;
+        
+        @Setup(Level.Trial)
+        public void setUp() {
+            rows = SyntheticCatalogue.books(books, 42);
+            index = new InMemoryBookSearchIndex();
+            index.rebuild(rows.stream());
+        }
+    }
+    
+    @State(Scope.Benchmark)
+    public static class Database {
+        
+        @Param({"100000"})
+        public int books;
+        
+        Connection connection;
+        PreparedStatement finder;
+        
+        @Setup(Level.Trial)
+        public void setUp() throws SQLException {
+            connection = DriverManager.getConnection("jdbc:h2:mem:search-bench;MODE=PostgreSQL", "sa", "");
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("CREATE TABLE books (id UUID PRIMARY KEY, isbn VARCHAR(20), title VARCHAR(255), author VARCHAR(255), available BOOLEAN)");
+            }
+            try (PreparedStatement insert = connection.prepareStatement("INSERT INTO books VALUES (?, ?, ?, ?, TRUE)")) {
+                for (Book book : SyntheticCatalogue.books(books, 42)) {
+                    insert.setObject(1, book.getId().value());
+                    insert.setString(2, book.getIsbn().value());
+                    insert.setString(3, book.getTitle());
+                    insert.setString(4, book.getAuthor());
+                    insert.addBatch();
+                }
+                insert.executeBatch();
+            }
+            finder = connection.prepareStatement(
+                "SELECT * FROM books WHERE lower(title) LIKE ? OR lower(author) LIKE ?"
+            );
+        }
+        
+        @TearDown(Level.Trial)
+        public void tearDown() throws SQLException {
+            connection.close();
+        }
+    }
+    
+    @State(Scope.Thread)
+    public static class Cursor {
+        int next;
+        
+        String nextQuery() {
+            return QUERIES[next++ % QUERIES.length];
+        }
+    }
+    
+    @Benchmark
+    public List<SearchHit<BookId>> indexSearch(Catalogue catalogue, Cursor cursor) {
+        return catalogue.index.search(cursor.nextQuery(), 20);
+    }
+    
+    @Benchmark
+    public void linearScan(Catalogue catalogue, Cursor cursor, Blackhole blackhole) {
+        String query = cursor.nextQuery().toLowerCase(Locale.ROOT);
+        for (Book book : catalogue.rows) {
+            if (book.getTitle().toLowerCase(Locale.ROOT).contains(query)
+                || book.getAuthor().toLowerCase(Locale.ROOT).contains(query)) {
+                blackhole.consume(book);
+            }
+        }
+    }
+    
+    @Benchmark
+    public void finderH2(Database database, Cursor cursor, Blackhole blackhole) throws SQLException {
+        String pattern = "%" + cursor.nextQuery().toLowerCase(Locale.ROOT) + "%";
+        database.finder.setString(1, pattern);
+        database.finder.setString(2, pattern);
+        try (ResultSet rows = database.finder.executeQuery()) {
+            while (rows.next()) {
+                blackhole.consume(rows.getString("title"));
+            }
+        }
+    }
+    
+    /**
+     * Deterministic fake catalogue with a Zipf-like word distribution
+     */
+    static final class SyntheticCatalogue {
+        
+        private static final String[] WORDS = {
+            "dragon", "silent", "river", "kingdom", "shadow", "garden", "winter", "empire", "secret", "journey",
+            "morning", "ocean", "mountain", "forgotten", "crown", "storm", "whisper", "glass", "iron", "memory",
+            "island", "library", "midnight", "north", "letters", "stranger", "promise", "harvest", "lantern", "mirror"
+        };
+        private static final String[] AUTHORS = {
+            "Tolkien", "Austen", "Morrison", "Orwell", "Atwood", "Ishiguro", "Murakami", "Adichie", "Pratchett", "Le Guin"
+        };
+        
+        static List<Book> books(int count, long seed) {
+            Random random = new Random(seed);
+            List<Book> books = new ArrayList<>(count);
+            IntStream.range(0, count).forEach(i -> {
+                String title = word(random) + " " + word(random) + " " + syllables(random);
+                String author = syllables(random) + " " + AUTHORS[random.nextInt(AUTHORS.length)];
+                books.add(new Book(BookId.generate(), new ISBN(BenchmarkFixtures.isbn13(i)), title, author));
+            });
+            return books;
+        }
+        
+        private static String word(Random random) {
+            // Square the uniform draw so low indexes are much more common
+            double skewed = random.nextDouble() * random.nextDouble();
+            return WORDS[(int) (skewed * WORDS.length)];
+        }
+        
+        private static String syllables(Random random) {
+            String[] parts = {"ka", "lo", "mi", "ren", "tor", "sa", "vel", "dun", "ari", "os"};
+            StringBuilder name = new StringBuilder();
+            for (int i = 0; i < 3; i++) {
+                name.append(parts[random.nextInt(parts.length)]);
+            }
+            name.setCharAt(0, Character.toUpperCase(name.charAt(0)));
+            return name.toString();
+        }
+    }
+}
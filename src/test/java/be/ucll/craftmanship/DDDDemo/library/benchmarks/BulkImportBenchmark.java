@@ -0,0 +1,85 @@
+package be.ucll.craftmanship.DDDDemo.library.benchmarks;
+
+import be.ucll.craftmanship.DDDDemo.library.LibraryApplication;
+import be.ucll.craftmanship.DDDDemo.library.infrastructure.bulkimport.BulkImporter;
+import be.ucll.craftmanship.DDDDemo.library.infrastructure.bulkimport.ImportFormat;
+import be.ucll.craftmanship.DDDDemo.library.infrastructure.bulkimport.ImportReport;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rows per second through BulkImporter, for comparison with the one-by-one
+ * inserts of InsertThroughputBenchmark
+ * 
+ * Each invocation imports a fresh in-memory CSV feed of ROWS books under
+ * the prod profile; a tenth of the rows repeat an ISBN that is already
+ * loaded, so the per-chunk existence check has work to do. The feed is
+ * built outside the measured section.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BulkImportBenchmark {
+    
+    private static final int ROWS = 100_000;
+    
+    @Param({"1000", "5000"})
+    int chunkSize;
+    
+    EmbeddedPostgres postgres;
+    ConfigurableApplicationContext context;
+    BulkImporter importer;
+    byte[] feed;
+    long sequence;
+    
+    @Setup(Level.Trial)
+    public void start() throws IOException {
+        postgres = EmbeddedPostgres.start();
+        context = new SpringApplicationBuilder(LibraryApplication.class)
+            .web(WebApplicationType.NONE)
+            .profiles("prod")
+            .properties(
+                "spring.datasource.url=" + postgres.getJdbcUrl("postgres", "postgres"),
+                "spring.datasource.username=postgres",
+                "spring.datasource.password=",
+                "library.outbox.relay-enabled=false",
+                "library.overdue-sweep.enabled=false",
+                "library.bulk-import.chunk-size=" + chunkSize
+            )
+            .run();
+        importer = context.getBean(BulkImporter.class);
+    }
+    
+    @Setup(Level.Invocation)
+    public void nextFeed() {
+        StringBuilder csv = new StringBuilder(ROWS * 48).append("isbn,title,author\n");
+        for (int i = 0; i < ROWS; i++) {
+            long n = i % 10 == 9 && sequence > ROWS ? sequence - ROWS : sequence++;
+            csv.append(BenchmarkFixtures.isbn13(n)).append(",Bulk Book ").append(n).append(",Supplier Author\n");
+        }
+        feed = csv.toString().getBytes(StandardCharsets.UTF_8);
+    }
+    
+    @TearDown(Level.Trial)
+    public void stop() throws IOException {
+        context.close();
+        postgres.close();
+    }
+    
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public ImportReport importBooks() {
+        return importer.importBooks(null, ImportFormat.CSV, new ByteArrayInputStream(feed));
+    }
+}
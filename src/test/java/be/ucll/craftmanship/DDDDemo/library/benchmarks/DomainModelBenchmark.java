@@ -0,0 +1,134 @@
+package be.ucll.craftmanship.DDDDemo.library.benchmarks;
+
+import be.ucll.craftmanship.DDDDemo.library.application.dto.LoanResponse;
+import be.ucll.craftmanship.DDDDemo.library.domain.aggregates.Loan;
+import be.ucll.craftmanship.DDDDemo.library.domain.valueobjects.BookId;
+import be.ucll.craftmanship.DDDDemo.library.domain.valueobjects.Email;
+import be.ucll.craftmanship.DDDDemo.library.domain.valueobjects.ISBN;
+import be.ucll.craftmanship.DDDDemo.library.domain.valueobjects.LoanId;
+import be.ucll.craftmanship.DDDDemo.library.domain.valueobjects.MemberId;
+import be.ucll.craftmanship.DDDDemo.library.domain.valueobjects.Money;
+import be.ucll.craftmanship.DDDDemo.library.infrastructure.persistence.converters.BookIdConverter;
+import be.ucll.craftmanship.DDDDemo.library.infrastructure.persistence.converters.LoanIdConverter;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hot-path building blocks of the domain model
+ * 
+ * - Money arithmetic
+ * - ISBN and Email construction, valid and rejected input
+ * - LoanResponse.from for an active and an overdue loan
+ * - BookId/LoanId converter round-trips (entity -> column -> entity)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class DomainModelBenchmark {
+    
+    private Money fee;
+    private Money otherFee;
+    private int factor;
+    
+    private String isbn13;
+    private String isbnHyphenated;
+    private String isbnInvalid;
+    private String email;
+    private String emailInvalid;
+    
+    private Loan activeLoan;
+    private Loan overdueLoan;
+    
+    private final BookIdConverter bookIdConverter = new BookIdConverter();
+    private final LoanIdConverter loanIdConverter = new LoanIdConverter();
+    private BookId bookId;
+    private LoanId loanId;
+    
+    @Setup
+    public void setUp() {
+        fee = Money.euro(12.50);
+        otherFee = Money.euro(0.75);
+        factor = 14;
+        
+        isbn13 = BenchmarkFixtures.isbn13(123_456);
+        isbnHyphenated = "978-0-13-235088-4";
+        isbnInvalid = "978-0-13-23508X-4";
+        email = "ada.lovelace@example.com";
+        emailInvalid = "ada.lovelace@example";
+        
+        activeLoan = new Loan(LoanId.generate(), BookId.generate(), MemberId.generate());
+        overdueLoan = BenchmarkFixtures.overdueLoan(21);
+        
+        bookId = new BookId(UUID.randomUUID());
+        loanId = new LoanId(UUID.randomUUID());
+    }
+    
+    @Benchmark
+    public Money moneyAdd() {
+        return fee.add(otherFee);
+    }
+    
+    @Benchmark
+    public Money moneyMultiply() {
+        return fee.multiply(factor);
+    }
+    
+    @Benchmark
+    public ISBN isbnValid() {
+        return new ISBN(isbn13);
+    }
+    
+    @Benchmark
+    public ISBN isbnHyphenated() {
+        return new ISBN(isbnHyphenated);
+    }
+    
+    @Benchmark
+    public void isbnRejected(Blackhole blackhole) {
+        try {
+            blackhole.consume(new ISBN(isbnInvalid));
+        } catch (IllegalArgumentException e) {
+            blackhole.consume(e);
+        }
+    }
+    
+    @Benchmark
+    public Email emailValid() {
+        return new Email(email);
+    }
+    
+    @Benchmark
+    public void emailRejected(Blackhole blackhole) {
+        try {
+            blackhole.consume(new Email(emailInvalid));
+        } catch (IllegalArgumentException e) {
+            blackhole.consume(e);
+        }
+    }
+    
+    @Benchmark
+    public LoanResponse loanResponseActive() {
+        return LoanResponse.from(activeLoan);
+    }
+    
+    @Benchmark
+    public LoanResponse loanResponseOverdue() {
+        return LoanResponse.from(overdueLoan);
+    }
+    
+    @Benchmark
+    public BookId bookIdConverterRoundTrip() {
+        return bookIdConverter.convertToEntityAttribute(bookIdConverter.convertToDatabaseColumn(bookId));
+    }
+    
+    @Benchmark
+    public LoanId loanIdConverterRoundTrip() {
+        return loanIdConverter.convertToEntityAttribute(loanIdConverter.convertToDatabaseColumn(loanId));
+    }
+}
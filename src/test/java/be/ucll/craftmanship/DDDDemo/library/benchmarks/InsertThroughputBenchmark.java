@@ -0,0 +1,103 @@
+package be.ucll.craftmanship.DDDDemo.library.benchmarks;
+
+import be.ucll.craftmanship.DDDDemo.library.LibraryApplication;
+import be.ucll.craftmanship.DDDDemo.library.domain.entities.Book;
+import be.ucll.craftmanship.DDDDemo.library.domain.repositories.BookRepository;
+import be.ucll.craftmanship.DDDDemo.library.domain.valueobjects.BookId;
+import be.ucll.craftmanship.DDDDemo.library.domain.valueobjects.ISBN;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import jakarta.persistence.EntityManager;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Book inserts per second against an embedded PostgreSQL
+ * 
+ * - profile=default: application.properties as shipped (SQL printed to stdout)
+ * - profile=prod: the production profile (no SQL logging, Hikari sizing,
+ *   statement cache, reWriteBatchedInserts)
+ * - save=persist: BookRepository.save on a new Book, which isNew() turns
+ *   into a plain persist
+ * - save=merge: what save did for assigned ids without the new-entity
+ *   check, a SELECT by id before every INSERT
+ * 
+ * Each invocation inserts one transaction of BATCH books, and the score is
+ * per book, so the result reads directly as inserts per second.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class InsertThroughputBenchmark {
+    
+    private static final int BATCH = 100;
+    
+    @Param({"default", "prod"})
+    String profile;
+    
+    @Param({"persist", "merge"})
+    String save;
+    
+    EmbeddedPostgres postgres;
+    ConfigurableApplicationContext context;
+    TransactionTemplate transactionTemplate;
+    BookRepository bookRepository;
+    EntityManager entityManager;
+    long sequence;
+    
+    @Setup(Level.Trial)
+    public void start() throws IOException {
+        postgres = EmbeddedPostgres.start();
+        SpringApplicationBuilder builder = new SpringApplicationBuilder(LibraryApplication.class)
+            .web(WebApplicationType.NONE)
+            .properties(
+                "spring.datasource.url=" + postgres.getJdbcUrl("postgres", "postgres"),
+                "spring.datasource.username=postgres",
+                "spring.datasource.password=",
+                "library.outbox.relay-enabled=false",
+                "library.overdue-sweep.enabled=false"
+            );
+        if ("prod".equals(profile)) {
+            builder.profiles("prod");
+        }
+        context = builder.run();
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+        bookRepository = context.getBean(BookRepository.class);
+        entityManager = context.getBean(EntityManager.class);
+    }
+    
+    @TearDown(Level.Trial)
+    public void stop() throws IOException {
+        context.close();
+        postgres.close();
+    }
+    
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void insertBooks() {
+        boolean merge = "merge".equals(save);
+        transactionTemplate.executeWithoutResult(status -> {
+            for (int i = 0; i < BATCH; i++) {
+                Book book = new Book(
+                    BookId.generate(),
+                    new ISBN(BenchmarkFixtures.isbn13(sequence++)),
+                    "Benchmark Book",
+                    "Author"
+                );
+                if (merge) {
+                    entityManager.merge(book);
+                } else {
+                    bookRepository.save(book);
+                }
+            }
+        });
+    }
+}
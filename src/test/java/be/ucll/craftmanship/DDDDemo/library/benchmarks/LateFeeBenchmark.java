@@ -0,0 +1,45 @@
+package be.ucll.craftmanship.DDDDemo.library.benchmarks;
+
+import be.ucll.craftmanship.DDDDemo.library.domain.aggregates.Loan;
+import be.ucll.craftmanship.DDDDemo.library.domain.services.LateFeeCalculationService;
+import be.ucll.craftmanship.DDDDemo.library.domain.valueobjects.Money;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * LateFeeCalculationService.calculateLateFee across the fee tiers
+ * 
+ * 1 and 7 days stay in the first tier, 14 ends the second, 30 and 365
+ * run through all three.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class LateFeeBenchmark {
+    
+    @Param({"1", "7", "14", "30", "365"})
+    public int daysOverdue;
+    
+    private LateFeeCalculationService lateFeeService;
+    private Loan loan;
+    
+    @Setup
+    public void setUp() {
+        lateFeeService = new LateFeeCalculationService();
+        loan = BenchmarkFixtures.overdueLoan(daysOverdue);
+    }
+    
+    @Benchmark
+    public Money calculateLateFee() {
+        return lateFeeService.calculateLateFee(loan);
+    }
+    
+    @Benchmark
+    public Money estimateFutureLateFee() {
+        return lateFeeService.estimateFutureLateFee(daysOverdue);
+    }
+}
@@ -0,0 +1,94 @@
+package be.ucll.craftmanship.DDDDemo.library.benchmarks;
+
+import be.ucll.craftmanship.DDDDemo.library.domain.aggregates.Loan;
+import be.ucll.craftmanship.DDDDemo.library.domain.entities.MemberTier;
+import be.ucll.craftmanship.DDDDemo.library.domain.services.BigDecimalLateFees;
+import be.ucll.craftmanship.DDDDemo.library.domain.services.LateFeeCalculationService;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Nightly fee run: the original BigDecimal Money path vs. long cents
+ * vs. the bulk API over the precomputed policy table
+ * 
+ * Each invocation totals the fees of a batch of overdue loans (1-400 days).
+ * Setup first checks that both paths agree on every loan, so the numbers
+ * compare equal work. Add -prof gc to see the allocation rate per path:
+ * ./mvnw -Pbenchmark test-compile exec:exec -Djmh.include=LateFeeCents -Djmh.args="-prof gc"
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class LateFeeCentsBenchmark {
+    
+    @Param({"10000"})
+    public int loans;
+    
+    private final LateFeeCalculationService lateFeeService = new LateFeeCalculationService();
+    private List<Loan> overdue;
+    private long[] daysOverdue;
+    private LocalDate today;
+    
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        overdue = new ArrayList<>(loans);
+        daysOverdue = new long[loans];
+        for (int i = 0; i < loans; i++) {
+            daysOverdue[i] = 1 + random.nextInt(400);
+            overdue.add(BenchmarkFixtures.overdueLoan(daysOverdue[i]));
+        }
+        today = LocalDate.now();
+        
+        for (int i = 0; i < loans; i++) {
+            long cents = lateFeeService.calculateLateFeeCents(overdue.get(i), today);
+            BigDecimal reference = BigDecimalLateFees.feeByDays(daysOverdue[i]);
+            if (reference.movePointRight(2).longValueExact() != cents
+                    || !lateFeeService.calculateLateFee(overdue.get(i)).amount().equals(reference)) {
+                throw new IllegalStateException("Fee mismatch at " + daysOverdue[i] + " days: "
+                    + reference + " vs " + cents + " cents");
+            }
+        }
+    }
+    
+    @Benchmark
+    public BigDecimal bigDecimalReference() {
+        BigDecimal total = BigDecimal.ZERO;
+        for (long days : daysOverdue) {
+            total = total.add(BigDecimalLateFees.feeByDays(days));
+        }
+        return total;
+    }
+    
+    @Benchmark
+    public long moneyPerLoan() {
+        long total = 0;
+        for (Loan loan : overdue) {
+            total += lateFeeService.calculateLateFee(loan).cents();
+        }
+        return total;
+    }
+    
+    @Benchmark
+    public long centsPerLoan() {
+        long total = 0;
+        for (Loan loan : overdue) {
+            total += lateFeeService.calculateLateFeeCents(loan, today);
+        }
+        return total;
+    }
+    
+    @Benchmark
+    public long[] bulkTableLookup() {
+        return lateFeeService.calculateLateFeeCents(overdue, memberId -> MemberTier.STANDARD, today);
+    }
+}
@@ -0,0 +1,120 @@
+package be.ucll.craftmanship.DDDDemo.library.benchmarks;
+
+import be.ucll.craftmanship.DDDDemo.library.domain.valueobjects.LoanId;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.flywaydb.core.Flyway;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loan inserts per second into a large loans table, random v4 keys vs time-ordered v7 keys
+ * 
+ * The table is migrated with the real Flyway scripts, so every secondary index
+ * is maintained as in production, and preloaded with PRELOAD returned loans
+ * using the same key kind. Each invocation commits one JDBC batch of BATCH rows.
+ * 
+ * Random keys land on arbitrary leaf pages of loans_pkey: once the index no
+ * longer fits in shared buffers every insert reads a page, and page splits
+ * leave the index half full. v7 keys always append to the right-most leaf.
+ * The trial teardown prints the primary key and total index size per key kind.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 10)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LoanKeyBenchmark {
+    
+    private static final int PRELOAD = 2_000_000;
+    private static final int BATCH = 1000;
+    
+    private static final String INSERT =
+        "INSERT INTO loans (value, version, book_id, member_id, borrowed_date, due_date, returned_date, status) " +
+        "VALUES (?, 0, ?, ?, ?, ?, ?, 'RETURNED')";
+    
+    @Param({"v4", "v7"})
+    String keys;
+    
+    EmbeddedPostgres postgres;
+    Connection connection;
+    PreparedStatement insert;
+    UUID[] members;
+    long sequence;
+    
+    @Setup(Level.Trial)
+    public void start() throws IOException, SQLException {
+        postgres = EmbeddedPostgres.start();
+        Flyway.configure()
+            .dataSource(postgres.getPostgresDatabase())
+            .configuration(Map.of("flyway.postgresql.transactional.lock", "false"))
+            .load()
+            .migrate();
+        
+        connection = DriverManager.getConnection(
+            postgres.getJdbcUrl("postgres", "postgres") + "&reWriteBatchedInserts=true");
+        connection.setAutoCommit(false);
+        insert = connection.prepareStatement(INSERT);
+        
+        members = new UUID[10_000];
+        for (int i = 0; i < members.length; i++) {
+            members[i] = LoanId.generate().value();
+        }
+        for (int i = 0; i < PRELOAD / BATCH; i++) {
+            insertBatch();
+        }
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("ANALYZE loans");
+        }
+        connection.commit();
+    }
+    
+    @TearDown(Level.Trial)
+    public void stop() throws IOException, SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet sizes = statement.executeQuery(
+                 "SELECT count(*), pg_size_pretty(pg_relation_size('loans_pkey')), " +
+                 "pg_size_pretty(pg_indexes_size('loans')) FROM loans")) {
+            sizes.next();
+            System.out.printf("%n[%s] %d loans, loans_pkey %s, all loan indexes %s%n",
+                keys, sizes.getLong(1), sizes.getString(2), sizes.getString(3));
+        }
+        connection.close();
+        postgres.close();
+    }
+    
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void insertLoans() throws SQLException {
+        insertBatch();
+    }
+    
+    private void insertBatch() throws SQLException {
+        boolean timeOrdered = "v7".equals(keys);
+        LocalDate borrowed = LocalDate.of(2024, 1, 1);
+        for (int i = 0; i < BATCH; i++) {
+            long n = sequence++;
+            LocalDate day = borrowed.plusDays(n % 365);
+            insert.setObject(1, timeOrdered ? LoanId.generate().value() : UUID.randomUUID());
+            insert.setObject(2, UUID.randomUUID());
+            insert.setObject(3, members[(int) (n % members.length)]);
+            insert.setObject(4, day);
+            insert.setObject(5, day.plusDays(14));
+            insert.setObject(6, day.plusDays(10));
+            insert.addBatch();
+        }
+        insert.executeBatch();
+        connection.commit();
+    }
+}
@@ -0,0 +1,123 @@
+package be.ucll.craftmanship.DDDDemo.library.benchmarks;
+
+import be.ucll.craftmanship.DDDDemo.library.LibraryApplication;
+import be.ucll.craftmanship.DDDDemo.library.application.dto.BorrowBookRequest;
+import be.ucll.craftmanship.DDDDemo.library.application.dto.CreateBookRequest;
+import be.ucll.craftmanship.DDDDemo.library.application.dto.CreateMemberRequest;
+import be.ucll.craftmanship.DDDDemo.library.application.dto.LoanResponse;
+import be.ucll.craftmanship.DDDDemo.library.application.services.BookService;
+import be.ucll.craftmanship.DDDDemo.library.application.services.LoanService;
+import be.ucll.craftmanship.DDDDemo.library.application.services.MemberService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * LoanService.borrowBook and returnBook end to end against embedded H2
+ * 
+ * Boots the full application context (embedded profile, no web server) so
+ * every invocation pays for the transaction, the Hibernate flush, the outbox
+ * insert and the cache eviction, the same as a real request minus HTTP.
+ * The opposite operation runs in an untimed per-invocation setup.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class LoanServiceBenchmark {
+    
+    private static final int BOOKS = 100;
+    
+    @State(Scope.Benchmark)
+    public static class Library {
+        
+        ConfigurableApplicationContext context;
+        LoanService loanService;
+        List<String> books = new ArrayList<>();
+        String member;
+        
+        @Setup(Level.Trial)
+        public void start() {
+            context = new SpringApplicationBuilder(LibraryApplication.class)
+                .profiles("embedded")
+                .web(WebApplicationType.NONE)
+                .properties(
+                    "spring.datasource.url=jdbc:h2:mem:loan-bench;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;"
+                        + "DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1;NON_KEYWORDS=VALUE",
+                    "library.outbox.relay-enabled=true",
+                    "logging.level.be.ucll.craftmanship.DDDDemo=WARN"
+                )
+                .run();
+            loanService = context.getBean(LoanService.class);
+            
+            BookService bookService = context.getBean(BookService.class);
+            for (int i = 0; i < BOOKS; i++) {
+                books.add(bookService.createBook(new CreateBookRequest(
+                    BenchmarkFixtures.isbn13(i), "Benchmark Book " + i, "Author " + i
+                )).id());
+            }
+            member = context.getBean(MemberService.class).createMember(new CreateMemberRequest(
+                "Bench Mark", "bench@example.com", "Naamsestraat 1", "Leuven", "3000", "Belgium"
+            )).id();
+        }
+        
+        @TearDown(Level.Trial)
+        public void stop() {
+            context.close();
+        }
+    }
+    
+    @State(Scope.Thread)
+    public static class Borrowing {
+        
+        int next;
+        String openLoan;
+        
+        // Give the previous iteration's book back outside the measurement
+        @Setup(Level.Invocation)
+        public void returnPrevious(Library library) {
+            if (openLoan != null) {
+                library.loanService.returnBook(openLoan);
+                openLoan = null;
+            }
+        }
+        
+        @TearDown(Level.Iteration)
+        public void returnLast(Library library) {
+            returnPrevious(library);
+        }
+    }
+    
+    @State(Scope.Thread)
+    public static class Returning {
+        
+        int next;
+        String openLoan;
+        
+        // Borrow the book that the measured call will return
+        @Setup(Level.Invocation)
+        public void borrowNext(Library library) {
+            String book = library.books.get(next++ % BOOKS);
+            openLoan = library.loanService.borrowBook(new BorrowBookRequest(book, library.member)).id();
+        }
+    }
+    
+    @Benchmark
+    public LoanResponse borrowBook(Library library, Borrowing state) {
+        String book = library.books.get(state.next++ % BOOKS);
+        LoanResponse loan = library.loanService.borrowBook(new BorrowBookRequest(book, library.member));
+        state.openLoan = loan.id();
+        return loan;
+    }
+    
+    @Benchmark
+    public LoanResponse returnBook(Library library, Returning state) {
+        return library.loanService.returnBook(state.openLoan);
+    }
+}
@@ -0,0 +1,147 @@
+package be.ucll.craftmanship.DDDDemo.library.benchmarks;
+
+import be.ucll.craftmanship.DDDDemo.library.LibraryApplication;
+import be.ucll.craftmanship.DDDDemo.library.application.dto.BorrowBookRequest;
+import be.ucll.craftmanship.DDDDemo.library.application.dto.CreateBookRequest;
+import be.ucll.craftmanship.DDDDemo.library.application.dto.CreateMemberRequest;
+import be.ucll.craftmanship.DDDDemo.library.application.services.BookService;
+import be.ucll.craftmanship.DDDDemo.library.application.services.LoanService;
+import be.ucll.craftmanship.DDDDemo.library.application.services.MemberService;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A member's loans over HTTP: the blocking servlet endpoint vs the R2DBC one
+ * 
+ * - stack=servlet: GET /api/loans/member/{id}, JPA on a Tomcat worker thread
+ * - stack=reactive: GET /api/reactive/members/{id}/loans, the worker thread
+ *   is released while R2DBC runs the query
+ * 
+ * CLIENTS concurrent connections, each one asking for its own member's
+ * three loans, against an embedded PostgreSQL (prod profile, 16 JDBC and
+ * 16 R2DBC connections). Throughput and SampleTime (p0.99) are reported per
+ * stack. After each trial the threads the run started are printed next to
+ * the cores, as connections served per core and threads per connection.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+@Threads(ReactiveReadBenchmark.CLIENTS)
+public class ReactiveReadBenchmark {
+    
+    static final int CLIENTS = 512;
+    private static final int LOANS_PER_MEMBER = 3;
+    
+    @State(Scope.Benchmark)
+    public static class Server {
+        
+        @Param({"servlet", "reactive"})
+        String stack;
+        
+        EmbeddedPostgres postgres;
+        ConfigurableApplicationContext context;
+        HttpClient http;
+        String baseUrl;
+        List<String> members = new ArrayList<>();
+        AtomicInteger nextClient = new AtomicInteger();
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        int threadsBefore;
+        
+        @Setup(Level.Trial)
+        public void start() throws IOException {
+            postgres = EmbeddedPostgres.start();
+            context = new SpringApplicationBuilder(LibraryApplication.class)
+                .profiles("prod")
+                .properties(
+                    "server.port=0",
+                    "spring.datasource.url=" + postgres.getJdbcUrl("postgres", "postgres"),
+                    "spring.datasource.username=postgres",
+                    "spring.datasource.password=",
+                    "spring.r2dbc.url=r2dbc:postgresql://localhost:" + postgres.getPort() + "/postgres",
+                    "spring.r2dbc.username=postgres",
+                    "spring.r2dbc.password=",
+                    "library.outbox.relay-enabled=false",
+                    "library.overdue-sweep.enabled=false",
+                    "logging.level.be.ucll.craftmanship.DDDDemo=WARN"
+                )
+                .run();
+            baseUrl = "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort();
+            http = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+            
+            BookService bookService = context.getBean(BookService.class);
+            MemberService memberService = context.getBean(MemberService.class);
+            LoanService loanService = context.getBean(LoanService.class);
+            for (int i = 0; i < CLIENTS; i++) {
+                String member = memberService.createMember(new CreateMemberRequest(
+                    "Reader " + i, "reader" + i + "@example.com", "Naamsestraat " + i, "Leuven", "3000", "Belgium"
+                )).id();
+                for (int j = 0; j < LOANS_PER_MEMBER; j++) {
+                    int n = i * LOANS_PER_MEMBER + j;
+                    String book = bookService.createBook(new CreateBookRequest(
+                        BenchmarkFixtures.isbn13(n), "Reactive Book " + n, "Author"
+                    )).id();
+                    loanService.borrowBook(new BorrowBookRequest(book, member));
+                }
+                members.add(member);
+            }
+            threadsBefore = threads.getThreadCount();
+            threads.resetPeakThreadCount();
+        }
+        
+        @TearDown(Level.Trial)
+        public void stop() throws IOException {
+            int cores = Runtime.getRuntime().availableProcessors();
+            // The client threads are part of the peak, JMH starts one per connection
+            int serverThreads = Math.max(0, threads.getPeakThreadCount() - threadsBefore - CLIENTS);
+            System.out.printf("%n[%s] %d connections on %d cores (%d per core), about %d server threads started (%.2f per connection)%n",
+                stack, CLIENTS, cores, CLIENTS / cores, serverThreads, serverThreads / (double) CLIENTS);
+            context.close();
+            postgres.close();
+        }
+        
+        String path(String member) {
+            return "servlet".equals(stack)
+                ? "/api/loans/member/" + member
+                : "/api/reactive/members/" + member + "/loans";
+        }
+    }
+    
+    @State(Scope.Thread)
+    public static class Client {
+        
+        URI uri;
+        
+        @Setup(Level.Trial)
+        public void pick(Server server) {
+            String member = server.members.get(server.nextClient.getAndIncrement() % CLIENTS);
+            uri = URI.create(server.baseUrl + server.path(member));
+        }
+    }
+    
+    @Benchmark
+    public String memberLoans(Server server, Client client) throws IOException, InterruptedException {
+        HttpResponse<String> response = server.http.send(
+            HttpRequest.newBuilder(client.uri).GET().build(), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("HTTP " + response.statusCode() + ": " + response.body());
+        }
+        return response.body();
+    }
+}
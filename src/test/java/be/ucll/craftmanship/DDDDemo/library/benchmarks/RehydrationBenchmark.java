@@ -0,0 +1,125 @@
+package be.ucll.craftmanship.DDDDemo.library.benchmarks;
+
+import be.ucll.craftmanship.DDDDemo.library.domain.valueobjects.BookId;
+import be.ucll.craftmanship.DDDDemo.library.domain.valueobjects.Email;
+import be.ucll.craftmanship.DDDDemo.library.domain.valueobjects.ISBN;
+import be.ucll.craftmanship.DDDDemo.library.domain.valueobjects.MemberId;
+import be.ucll.craftmanship.DDDDemo.library.infrastructure.persistence.converters.BookIdConverter;
+import be.ucll.craftmanship.DDDDemo.library.infrastructure.persistence.converters.EmailConverter;
+import be.ucll.craftmanship.DDDDemo.library.infrastructure.persistence.converters.ISBNConverter;
+import be.ucll.craftmanship.DDDDemo.library.infrastructure.persistence.converters.MemberIdConverter;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Value objects rebuilt from column values, as when loading 1M loans, books and members
+ * 
+ * - path=fresh: a new wrapper per row and full validation, what the
+ *   converters did before
+ * - path=converter: the converters as shipped, ISBN and Email wrapped as
+ *   trusted without validating again
+ * 
+ * Rows follow a library-sized distribution (50k books, 10k members) and
+ * every column value is a new object, as the JDBC driver hands them out.
+ * Run with -prof gc to compare allocated bytes per row.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class RehydrationBenchmark {
+    
+    private static final int ROWS = 1_000_000;
+    private static final int BOOKS = 50_000;
+    private static final int MEMBERS = 10_000;
+    
+    @Param({"fresh", "converter"})
+    String path;
+    
+    private final BookIdConverter bookIdConverter = new BookIdConverter();
+    private final MemberIdConverter memberIdConverter = new MemberIdConverter();
+    private final ISBNConverter isbnConverter = new ISBNConverter();
+    private final EmailConverter emailConverter = new EmailConverter();
+    
+    private UUID[] bookIds;
+    private UUID[] memberIds;
+    private String[] isbns;
+    private String[] emails;
+    private int[] bookOfRow;
+    private int[] memberOfRow;
+    private int row;
+    
+    @Setup
+    public void setUp() {
+        bookIds = new UUID[BOOKS];
+        isbns = new String[BOOKS];
+        for (int i = 0; i < BOOKS; i++) {
+            bookIds[i] = UUID.randomUUID();
+            isbns[i] = BenchmarkFixtures.isbn13(i);
+        }
+        memberIds = new UUID[MEMBERS];
+        emails = new String[MEMBERS];
+        for (int i = 0; i < MEMBERS; i++) {
+            memberIds[i] = UUID.randomUUID();
+            emails[i] = "member" + i + "@example.com";
+        }
+        
+        SplittableRandom random = new SplittableRandom(42);
+        bookOfRow = new int[ROWS];
+        memberOfRow = new int[ROWS];
+        for (int i = 0; i < ROWS; i++) {
+            bookOfRow[i] = random.nextInt(BOOKS);
+            memberOfRow[i] = random.nextInt(MEMBERS);
+        }
+    }
+    
+    /**
+     * book_id and member_id of one loans row
+     */
+    @Benchmark
+    public void loanRow(Blackhole blackhole) {
+        int i = nextRow();
+        UUID book = copy(bookIds[bookOfRow[i]]);
+        UUID member = copy(memberIds[memberOfRow[i]]);
+        if ("fresh".equals(path)) {
+            blackhole.consume(new BookId(book));
+            blackhole.consume(new MemberId(member));
+        } else {
+            blackhole.consume(bookIdConverter.convertToEntityAttribute(book));
+            blackhole.consume(memberIdConverter.convertToEntityAttribute(member));
+        }
+    }
+    
+    /**
+     * isbn of one books row and email of one members row
+     */
+    @Benchmark
+    public void bookAndMemberRow(Blackhole blackhole) {
+        int i = nextRow();
+        String isbn = new String(isbns[bookOfRow[i]]);
+        String email = new String(emails[memberOfRow[i]]);
+        if ("fresh".equals(path)) {
+            blackhole.consume(new ISBN(isbn));
+            blackhole.consume(new Email(email));
+        } else {
+            blackhole.consume(isbnConverter.convertToEntityAttribute(isbn));
+            blackhole.consume(emailConverter.convertToEntityAttribute(email));
+        }
+    }
+    
+    private int nextRow() {
+        int i = row;
+        row = i + 1 == ROWS ? 0 : i + 1;
+        return i;
+    }
+    
+    private static UUID copy(UUID uuid) {
+        return new UUID(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits());
+    }
+}
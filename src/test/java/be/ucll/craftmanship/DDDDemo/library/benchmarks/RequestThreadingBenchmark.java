@@ -0,0 +1,168 @@
+package be.ucll.craftmanship.DDDDemo.library.benchmarks;
+
+import be.ucll.craftmanship.DDDDemo.library.LibraryApplication;
+import be.ucll.craftmanship.DDDDemo.library.application.dto.CreateBookRequest;
+import be.ucll.craftmanship.DDDDemo.library.application.dto.CreateMemberRequest;
+import be.ucll.craftmanship.DDDDemo.library.application.services.BookService;
+import be.ucll.craftmanship.DDDDemo.library.application.services.MemberService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Load test of the REST layer: Tomcat's platform thread pool vs a virtual thread per request
+ * 
+ * Boots the application on a random port against an embedded PostgreSQL
+ * with the prod profile (16 pooled connections), then drives it with
+ * CLIENTS concurrent HTTP clients, twice Tomcat's 200 worker threads.
+ * 
+ * - borrowAndReturn: borrow a book, then return it; two write transactions
+ * - memberLoans: one read of a member's loans
+ * 
+ * Both modes run: Throughput gives requests per millisecond, SampleTime
+ * gives the latency percentiles (read p0.99). In virtual mode the admission
+ * filter answers 503 once a request has queued for admission-timeout. Those
+ * responses are counted in the scores, as a client would see them, and
+ * their number is printed after each trial.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+@Threads(RequestThreadingBenchmark.CLIENTS)
+public class RequestThreadingBenchmark {
+    
+    static final int CLIENTS = 400;
+    
+    @State(Scope.Benchmark)
+    public static class Server {
+        
+        @Param({"platform", "virtual"})
+        String threads;
+        
+        EmbeddedPostgres postgres;
+        ConfigurableApplicationContext context;
+        HttpClient http;
+        ObjectMapper objectMapper;
+        String baseUrl;
+        List<String> books = new ArrayList<>();
+        List<String> members = new ArrayList<>();
+        AtomicInteger nextClient = new AtomicInteger();
+        LongAdder unavailable = new LongAdder();
+        LongAdder failed = new LongAdder();
+        
+        @Setup(Level.Trial)
+        public void start() throws IOException {
+            postgres = EmbeddedPostgres.start();
+            context = new SpringApplicationBuilder(LibraryApplication.class)
+                .profiles("prod")
+                .properties(
+                    "server.port=0",
+                    "spring.datasource.url=" + postgres.getJdbcUrl("postgres", "postgres"),
+                    "spring.datasource.username=postgres",
+                    "spring.datasource.password=",
+                    "spring.threads.virtual.enabled=" + "virtual".equals(threads),
+                    "library.outbox.relay-enabled=false",
+                    "library.overdue-sweep.enabled=false",
+                    "logging.level.be.ucll.craftmanship.DDDDemo=WARN"
+                )
+                .run();
+            baseUrl = "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort();
+            objectMapper = context.getBean(ObjectMapper.class);
+            http = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+            
+            BookService bookService = context.getBean(BookService.class);
+            MemberService memberService = context.getBean(MemberService.class);
+            for (int i = 0; i < CLIENTS; i++) {
+                books.add(bookService.createBook(new CreateBookRequest(
+                    BenchmarkFixtures.isbn13(i), "Load Test Book " + i, "Author " + i
+                )).id());
+                members.add(memberService.createMember(new CreateMemberRequest(
+                    "Client " + i, "client" + i + "@example.com", "Naamsestraat " + i, "Leuven", "3000", "Belgium"
+                )).id());
+            }
+        }
+        
+        @TearDown(Level.Trial)
+        public void stop() throws IOException {
+            System.out.printf("%n[%s] 503 responses: %d, other failures: %d%n",
+                threads, unavailable.sum(), failed.sum());
+            context.close();
+            postgres.close();
+        }
+        
+        HttpResponse<String> send(HttpRequest.Builder request) throws IOException, InterruptedException {
+            HttpResponse<String> response = http.send(request.build(), HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() == 503) {
+                unavailable.increment();
+            } else if (response.statusCode() >= 400) {
+                failed.increment();
+            }
+            return response;
+        }
+        
+        HttpRequest.Builder post(String path, String json) {
+            return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json));
+        }
+        
+        HttpRequest.Builder get(String path) {
+            return HttpRequest.newBuilder(URI.create(baseUrl + path)).GET();
+        }
+    }
+    
+    /**
+     * Each client thread borrows its own book for its own member, so clients never conflict
+     */
+    @State(Scope.Thread)
+    public static class Client {
+        
+        String book;
+        String member;
+        
+        @Setup(Level.Trial)
+        public void pick(Server server) {
+            int i = server.nextClient.getAndIncrement() % CLIENTS;
+            book = server.books.get(i);
+            member = server.members.get(i);
+        }
+    }
+    
+    @Benchmark
+    public int borrowAndReturn(Server server, Client client) throws IOException, InterruptedException {
+        HttpResponse<String> borrowed = server.send(server.post("/api/loans/borrow",
+            "{\"bookId\":\"" + client.book + "\",\"memberId\":\"" + client.member + "\"}"));
+        if (borrowed.statusCode() != 201) {
+            return borrowed.statusCode();
+        }
+        String loanId = server.objectMapper.readTree(borrowed.body()).get("id").asText();
+        
+        // The book has to come back, or every later borrow of it fails
+        HttpResponse<String> returned;
+        do {
+            returned = server.send(server.post("/api/loans/" + loanId + "/return", ""));
+        } while (returned.statusCode() == 503);
+        return returned.statusCode();
+    }
+    
+    @Benchmark
+    public int memberLoans(Server server, Client client) throws IOException, InterruptedException {
+        return server.send(server.get("/api/loans/member/" + client.member)).statusCode();
+    }
+}
@@ -0,0 +1,114 @@
+package be.ucll.craftmanship.DDDDemo.library.benchmarks;
+
+import be.ucll.craftmanship.DDDDemo.library.domain.valueobjects.Email;
+import be.ucll.craftmanship.DDDDemo.library.domain.valueobjects.ISBN;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ISBN and Email construction: the hand-written validators vs the regex checks they replaced
+ * 
+ * - legacy*: String.replace twice plus String.matches, which compiles a
+ *   Pattern on every call (a copy of the old constructor bodies)
+ * - current*: new ISBN / new Email as shipped, including the ISBN check
+ *   digit the legacy code never verified
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ValidationBenchmark {
+    
+    private static final String EMAIL_REGEX = "^[A-Za-z0-9+_.-]+@[A-Za-z0-9.-]+\\.[A-Za-z]{2,}$";
+    
+    private String isbnPlain;
+    private String isbnHyphenated;
+    private String isbnInvalid;
+    private String email;
+    
+    @Setup
+    public void setUp() {
+        isbnPlain = BenchmarkFixtures.isbn13(123_456);
+        isbnHyphenated = "978-0-13-235088-4";
+        isbnInvalid = "978-0-13-23508X-4";
+        email = "ada.lovelace@example.com";
+    }
+    
+    @Benchmark
+    public String legacyIsbnPlain() {
+        return legacyIsbn(isbnPlain);
+    }
+    
+    @Benchmark
+    public ISBN currentIsbnPlain() {
+        return new ISBN(isbnPlain);
+    }
+    
+    @Benchmark
+    public String legacyIsbnHyphenated() {
+        return legacyIsbn(isbnHyphenated);
+    }
+    
+    @Benchmark
+    public ISBN currentIsbnHyphenated() {
+        return new ISBN(isbnHyphenated);
+    }
+    
+    @Benchmark
+    public void legacyIsbnRejected(Blackhole blackhole) {
+        try {
+            blackhole.consume(legacyIsbn(isbnInvalid));
+        } catch (IllegalArgumentException e) {
+            blackhole.consume(e);
+        }
+    }
+    
+    @Benchmark
+    public void currentIsbnRejected(Blackhole blackhole) {
+        try {
+            blackhole.consume(new ISBN(isbnInvalid));
+        } catch (IllegalArgumentException e) {
+            blackhole.consume(e);
+        }
+    }
+    
+    @Benchmark
+    public String legacyEmail() {
+        return legacyEmail(email);
+    }
+    
+    @Benchmark
+    public Email currentEmail() {
+        return new Email(email);
+    }
+    
+    private static String legacyIsbn(String value) {
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException("ISBN cannot be null or empty");
+        }
+        String cleanedISBN = value.replace("-", "").replace(" ", "");
+        if (cleanedISBN.length() != 10 && cleanedISBN.length() != 13) {
+            throw new IllegalArgumentException(
+                "ISBN must be either 10 or 13 characters long (excluding hyphens)"
+            );
+        }
+        if (!cleanedISBN.matches("\\d+")) {
+            throw new IllegalArgumentException("ISBN must contain only digits");
+        }
+        return value;
+    }
+    
+    private static String legacyEmail(String value) {
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException("Email cannot be null or empty");
+        }
+        if (!value.matches(EMAIL_REGEX)) {
+            throw new IllegalArgumentException("Invalid email format: " + value);
+        }
+        return value;
+    }
+}
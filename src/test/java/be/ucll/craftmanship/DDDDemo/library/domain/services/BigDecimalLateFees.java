@@ -0,0 +1,51 @@
+package be.ucll.craftmanship.DDDDemo.library.domain.services;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * The original BigDecimal late fee calculation, kept as the reference the
+ * long-cents implementation is checked and benchmarked against
+ */
+public final class BigDecimalLateFees {
+    
+    private static final BigDecimal TIER_1_FEE = euro(0.50);
+    private static final BigDecimal TIER_2_FEE = euro(1.00);
+    private static final BigDecimal TIER_3_FEE = euro(2.00);
+    
+    private BigDecimalLateFees() {}
+    
+    public static BigDecimal feeByDays(long daysOverdue) {
+        BigDecimal totalFee = euro(0);
+        
+        if (daysOverdue > 0) {
+            long tier1Days = Math.min(daysOverdue, 7);
+            totalFee = add(totalFee, multiply(TIER_1_FEE, (int) tier1Days));
+        }
+        
+        if (daysOverdue > 7) {
+            long tier2Days = Math.min(daysOverdue - 7, 7);
+            totalFee = add(totalFee, multiply(TIER_2_FEE, (int) tier2Days));
+        }
+        
+        if (daysOverdue > 14) {
+            long tier3Days = daysOverdue - 14;
+            totalFee = add(totalFee, multiply(TIER_3_FEE, (int) tier3Days));
+        }
+        
+        return totalFee;
+    }
+    
+    // Money.euro / add / multiply as they were: every step re-scaled to 2 decimals
+    private static BigDecimal euro(double amount) {
+        return BigDecimal.valueOf(amount).setScale(2, RoundingMode.HALF_UP);
+    }
+    
+    private static BigDecimal add(BigDecimal a, BigDecimal b) {
+        return a.add(b).setScale(2, RoundingMode.HALF_UP);
+    }
+    
+    private static BigDecimal multiply(BigDecimal a, int factor) {
+        return a.multiply(BigDecimal.valueOf(factor)).setScale(2, RoundingMode.HALF_UP);
+    }
+}
@@ -0,0 +1,90 @@
+package be.ucll.craftmanship.DDDDemo.library.domain.services;
+
+import be.ucll.craftmanship.DDDDemo.library.domain.aggregates.Loan;
+import be.ucll.craftmanship.DDDDemo.library.domain.entities.MemberTier;
+import be.ucll.craftmanship.DDDDemo.library.domain.valueobjects.BookId;
+import be.ucll.craftmanship.DDDDemo.library.domain.valueobjects.FeePolicy;
+import be.ucll.craftmanship.DDDDemo.library.domain.valueobjects.FeeTier;
+import be.ucll.craftmanship.DDDDemo.library.domain.valueobjects.LoanId;
+import be.ucll.craftmanship.DDDDemo.library.domain.valueobjects.MemberId;
+import be.ucll.craftmanship.DDDDemo.library.domain.valueobjects.Money;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LateFeeCalculationServiceTests {
+    
+    private final LateFeeCalculationService lateFeeService = new LateFeeCalculationService();
+    
+    @Test
+    void centsPathMatchesTheBigDecimalCalculationForTenYearsOfOverdueDays() {
+        for (int days = 0; days <= 3650; days++) {
+            BigDecimal expected = BigDecimalLateFees.feeByDays(days);
+            
+            assertThat(new FeeSchedule(FeePolicy.standard()).feeCents(days))
+                .as("%d days overdue", days)
+                .isEqualTo(expected.movePointRight(2).longValueExact());
+            assertThat(lateFeeService.estimateFutureLateFee(days).amount())
+                .as("%d days overdue", days)
+                .isEqualTo(expected);
+        }
+    }
+    
+    @Test
+    void lateFeeForALoanIsComputedAsOfTheGivenDay() {
+        Loan loan = new Loan(LoanId.generate(), BookId.generate(), MemberId.generate());
+        LocalDate today = loan.getDueDate().plusDays(20);
+        
+        // 7 x 0.50 + 7 x 1.00 + 6 x 2.00
+        assertThat(lateFeeService.calculateLateFeeCents(loan, today)).isEqualTo(2250);
+        assertThat(lateFeeService.calculateLateFeeCents(loan, loan.getDueDate())).isZero();
+    }
+    
+    @Test
+    void policiesApplyGraceDaysCapsAndTheirOwnCurrency() {
+        FeeSchedule schedule = new FeeSchedule(new FeePolicy("GBP", 3, List.of(
+            new FeeTier(1, 25),
+            new FeeTier(5, 40)
+        ), 300L));
+        
+        assertThat(schedule.feeCents(3)).isZero();
+        assertThat(schedule.feeCents(4)).isEqualTo(25);
+        assertThat(schedule.feeCents(8)).isEqualTo(4 * 25 + 40);
+        assertThat(schedule.feeCents(10)).isEqualTo(4 * 25 + 3 * 40);
+        assertThat(schedule.feeCents(365)).isEqualTo(300);
+        assertThat(schedule.dailyRateCents(9)).isEqualTo(40);
+    }
+    
+    @Test
+    void replacingAPolicyOnlyAffectsItsTier() {
+        Loan loan = new Loan(LoanId.generate(), BookId.generate(), MemberId.generate());
+        LocalDate today = loan.getDueDate().plusDays(10);
+        
+        lateFeeService.updatePolicy(MemberTier.STAFF, new FeePolicy(Money.EUR, 0, List.of(new FeeTier(1, 0)), null));
+        
+        assertThat(lateFeeService.calculateLateFeeCents(List.of(loan), memberId -> MemberTier.STAFF, today))
+            .containsExactly(0);
+        assertThat(lateFeeService.calculateLateFeeCents(List.of(loan), memberId -> MemberTier.STANDARD, today))
+            .containsExactly(7 * 50 + 3 * 100);
+        assertThat(lateFeeService.getPolicies().get(MemberTier.STANDARD)).isEqualTo(FeePolicy.standard());
+    }
+    
+    @Test
+    void moneyArithmeticIsExactAndChecksOverflow() {
+        assertThat(Money.euro(0.1).add(Money.euro(0.2))).isEqualTo(Money.euro(0.3));
+        assertThat(Money.euro(19.99).multiply(3).amount()).isEqualByComparingTo("59.97");
+        assertThat(new Money(new BigDecimal("1.005"), Money.EUR).cents()).isEqualTo(101);
+        
+        assertThatThrownBy(() -> Money.euroCents(Long.MAX_VALUE).add(Money.euroCents(1)))
+            .isInstanceOf(ArithmeticException.class);
+        assertThatThrownBy(() -> Money.euroCents(Long.MAX_VALUE / 2).multiply(3))
+            .isInstanceOf(ArithmeticException.class);
+        assertThatThrownBy(() -> Money.euro(1).add(new Money(100, "USD")))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
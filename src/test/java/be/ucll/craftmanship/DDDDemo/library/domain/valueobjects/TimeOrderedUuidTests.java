@@ -0,0 +1,79 @@
+package be.ucll.craftmanship.DDDDemo.library.domain.valueobjects;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TimeOrderedUuidTests {
+    
+    @Test
+    void idsAreVersion7WithTheCreationTime() {
+        long before = System.currentTimeMillis();
+        UUID uuid = LoanId.generate().value();
+        long after = System.currentTimeMillis();
+        
+        assertThat(uuid.version()).isEqualTo(7);
+        assertThat(uuid.variant()).isEqualTo(2);
+        assertThat(TimeOrderedUuid.unixMillis(uuid)).isBetween(before, after + 1);
+    }
+    
+    @Test
+    void idsFromOneThreadStrictlyIncreaseInByteOrder() {
+        UUID previous = TimeOrderedUuid.next();
+        for (int i = 0; i < 200_000; i++) {
+            UUID next = TimeOrderedUuid.next();
+            assertThat(compareAsBytes(next, previous)).as("id %d", i).isPositive();
+            previous = next;
+        }
+    }
+    
+    @Test
+    void aClockSteppingBackDoesNotBreakTheOrder() {
+        TimeOrderedUuid.State state = new TimeOrderedUuid.State();
+        UUID first = state.next(1_700_000_000_000L);
+        UUID sameMillisecond = state.next(1_700_000_000_000L);
+        UUID clockStepsBack = state.next(1_699_999_999_000L);
+        UUID clockCatchesUp = state.next(1_700_000_000_001L);
+        
+        assertThat(compareAsBytes(sameMillisecond, first)).isPositive();
+        assertThat(compareAsBytes(clockStepsBack, sameMillisecond)).isPositive();
+        assertThat(TimeOrderedUuid.unixMillis(clockStepsBack)).isEqualTo(1_700_000_000_000L);
+        assertThat(compareAsBytes(clockCatchesUp, clockStepsBack)).isPositive();
+    }
+    
+    @Test
+    void idsFromManyThreadsAreUnique() {
+        Set<UUID> ids = ConcurrentHashMap.newKeySet();
+        IntStream.range(0, 16).parallel().forEach(thread -> {
+            Set<UUID> local = new HashSet<>();
+            for (int i = 0; i < 50_000; i++) {
+                local.add(MemberId.generate().value());
+            }
+            ids.addAll(local);
+        });
+        
+        assertThat(ids).hasSize(16 * 50_000);
+    }
+    
+    @Test
+    void existingRandomIdsStillParse() {
+        String v4 = "3f1c2a9e-8b4d-4c6e-9a7f-0e1d2c3b4a59";
+        
+        assertThat(BookId.from(v4).value().version()).isEqualTo(4);
+        assertThat(BookId.from(v4).toString()).isEqualTo(v4);
+    }
+    
+    /**
+     * Unsigned comparison, the order PostgreSQL uses for uuid columns
+     */
+    private static int compareAsBytes(UUID a, UUID b) {
+        int high = Long.compareUnsigned(a.getMostSignificantBits(), b.getMostSignificantBits());
+        return high != 0 ? high : Long.compareUnsigned(a.getLeastSignificantBits(), b.getLeastSignificantBits());
+    }
+}
@@ -0,0 +1,148 @@
+package be.ucll.craftmanship.DDDDemo.library.domain.valueobjects;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * IsbnFormat and EmailFormat against the regex checks they replaced
+ * 
+ * The fuzz tests generate inputs from a fixed seed, so a failure reproduces.
+ */
+class ValueObjectFormatTests {
+    
+    private static final String LEGACY_EMAIL = "^[A-Za-z0-9+_.-]+@[A-Za-z0-9.-]+\\.[A-Za-z]{2,}$";
+    private static final int ROUNDS = 200_000;
+    
+    @Test
+    void checkDigitsAreVerified() {
+        assertThat(IsbnFormat.isValid("9780132350884")).isTrue();
+        assertThat(IsbnFormat.isValid("0306406152")).isTrue();
+        assertThat(IsbnFormat.isValid("080442957X")).isTrue();
+        
+        assertThat(IsbnFormat.isValid("1234567890")).isFalse();
+        assertThat(IsbnFormat.isValid("9780132350885")).isFalse();
+        assertThatThrownBy(() -> new ISBN("1234567890"))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("check digit");
+    }
+    
+    @Test
+    void hyphenatedAndPlainIsbnsAreEqual() {
+        assertThat(new ISBN("978-0-13-235088-4")).isEqualTo(new ISBN("9780132350884"));
+        assertThat(new ISBN("978 0 13 235088 4").value()).isEqualTo("9780132350884");
+        assertThat(new ISBN("0-8044-2957-x").value()).isEqualTo("080442957X");
+    }
+    
+    @Test
+    void isbnRejectionsKeepTheirReasons() {
+        assertThatThrownBy(() -> new ISBN(" ")).hasMessage("ISBN cannot be null or empty");
+        assertThatThrownBy(() -> new ISBN("978-0-13")).hasMessageContaining("10 or 13 characters");
+        assertThatThrownBy(() -> new ISBN("978-0-13-23508X-4")).hasMessage("ISBN must contain only digits");
+        assertThatThrownBy(() -> new ISBN("X123456789")).hasMessage("ISBN must contain only digits");
+    }
+    
+    @Test
+    void fuzzValidIsbnsAreAcceptedAsBefore() {
+        SplittableRandom random = new SplittableRandom(19);
+        for (int i = 0; i < ROUNDS; i++) {
+            String digits = random.nextBoolean() ? validIsbn13(random) : validIsbn10(random);
+            String formatted = withSeparators(digits, random);
+            
+            if (!digits.endsWith("X")) {
+                assertThat(legacyIsbnAccepts(formatted)).as(formatted).isTrue();
+            }
+            assertThat(IsbnFormat.isValid(formatted)).as(formatted).isTrue();
+            assertThat(new ISBN(formatted).value()).as(formatted).isEqualTo(digits);
+        }
+    }
+    
+    @Test
+    void fuzzAcceptedIsbnsWereAcceptedBefore() {
+        SplittableRandom random = new SplittableRandom(23);
+        String alphabet = "0123456789- Xx";
+        for (int i = 0; i < ROUNDS; i++) {
+            String value = randomString(random, alphabet, 17);
+            if (IsbnFormat.isValid(value)) {
+                String canonical = new ISBN(value).value();
+                if (canonical.endsWith("X")) {
+                    assertThat(canonical.length()).as(value).isEqualTo(10);
+                } else {
+                    assertThat(legacyIsbnAccepts(value)).as(value).isTrue();
+                }
+            }
+        }
+    }
+    
+    @Test
+    void fuzzEmailMatchesTheRegexExactly() {
+        SplittableRandom random = new SplittableRandom(29);
+        String alphabet = "abcXYZ019+_.-@.@ \n~\u00e9";
+        for (int i = 0; i < ROUNDS; i++) {
+            String value = random.nextInt(4) == 0
+                ? validEmail(random)
+                : randomString(random, alphabet, 16);
+            assertThat(EmailFormat.isValid(value)).as("'%s'", value).isEqualTo(value.matches(LEGACY_EMAIL));
+        }
+    }
+    
+    private static boolean legacyIsbnAccepts(String value) {
+        if (value.isBlank()) {
+            return false;
+        }
+        String cleaned = value.replace("-", "").replace(" ", "");
+        return (cleaned.length() == 10 || cleaned.length() == 13) && cleaned.matches("\\d+");
+    }
+    
+    private static String validIsbn13(SplittableRandom random) {
+        StringBuilder digits = new StringBuilder(random.nextBoolean() ? "978" : "979");
+        int sum = 9 + 3 * 7 + (digits.charAt(2) - '0');
+        for (int i = 3; i < 12; i++) {
+            int digit = random.nextInt(10);
+            digits.append(digit);
+            sum += digit * (i % 2 == 0 ? 1 : 3);
+        }
+        return digits.append((10 - sum % 10) % 10).toString();
+    }
+    
+    private static String validIsbn10(SplittableRandom random) {
+        StringBuilder digits = new StringBuilder();
+        int sum = 0;
+        for (int i = 0; i < 9; i++) {
+            int digit = random.nextInt(10);
+            digits.append(digit);
+            sum += digit * (10 - i);
+        }
+        int check = (11 - sum % 11) % 11;
+        return digits.append(check == 10 ? "X" : String.valueOf(check)).toString();
+    }
+    
+    private static String withSeparators(String digits, SplittableRandom random) {
+        StringBuilder formatted = new StringBuilder();
+        for (int i = 0; i < digits.length(); i++) {
+            if (i > 0 && random.nextInt(4) == 0) {
+                formatted.append(random.nextBoolean() ? '-' : ' ');
+            }
+            formatted.append(digits.charAt(i));
+        }
+        return formatted.toString();
+    }
+    
+    private static String validEmail(SplittableRandom random) {
+        return randomString(random, "abz09+_.-", 8) + "a"
+            + "@" + randomString(random, "abz09.-", 8) + "x"
+            + "." + "ab" + randomString(random, "abcXYZ", 4);
+    }
+    
+    private static String randomString(SplittableRandom random, String alphabet, int maxLength) {
+        int length = random.nextInt(maxLength + 1);
+        StringBuilder value = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            value.append(alphabet.charAt(random.nextInt(alphabet.length())));
+        }
+        return value.toString();
+    }
+}
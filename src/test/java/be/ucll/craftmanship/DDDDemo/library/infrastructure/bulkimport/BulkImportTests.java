@@ -0,0 +1,161 @@
+package be.ucll.craftmanship.DDDDemo.library.infrastructure.bulkimport;
+
+import be.ucll.craftmanship.DDDDemo.library.application.dto.CreateBookRequest;
+import be.ucll.craftmanship.DDDDemo.library.application.services.BookService;
+import be.ucll.craftmanship.DDDDemo.library.domain.repositories.BookRepository;
+import be.ucll.craftmanship.DDDDemo.library.domain.repositories.MemberRepository;
+import be.ucll.craftmanship.DDDDemo.library.domain.valueobjects.Email;
+import be.ucll.craftmanship.DDDDemo.library.domain.valueobjects.ISBN;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:bulk-import;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1;NON_KEYWORDS=VALUE",
+    "library.bulk-import.chunk-size=2",
+    "library.bulk-import.workers=2"
+})
+@ActiveProfiles("embedded")
+class BulkImportTests {
+    
+    @DynamicPropertySource
+    static void errorDirectory(DynamicPropertyRegistry registry) throws IOException {
+        String directory = Files.createTempDirectory("library-imports").toString();
+        registry.add("library.bulk-import.error-directory", () -> directory);
+    }
+    
+    @Autowired
+    private BulkImporter importer;
+    
+    @Autowired
+    private BookService bookService;
+    
+    @Autowired
+    private BookRepository bookRepository;
+    
+    @Autowired
+    private MemberRepository memberRepository;
+    
+    @Test
+    void csvImportInsertsValidBooksAndReportsTheRest() throws IOException {
+        bookService.createBook(new CreateBookRequest("9780132350884", "Clean Code", "Robert C. Martin"));
+        String csv = """
+            isbn,title,author
+            978-0-321-12521-7,"Domain-Driven Design, Tackling Complexity",Eric Evans
+            9780321125217,Domain-Driven Design,Eric Evans
+            9780132350884,Clean Code,Robert C. Martin
+            1234567890,Bad Checksum,Nobody
+            9780134685991,"Effective \"\"Java\"\"",Joshua Bloch
+            
+            9780596009205,,Kathy Sierra
+            """;
+        
+        ImportReport report = importer.importBooks("books-csv", ImportFormat.CSV, stream(csv));
+        
+        assertThat(report.completed()).isTrue();
+        assertThat(report.rowsDone()).isEqualTo(6);
+        assertThat(report.inserted()).isEqualTo(2);
+        assertThat(report.rejected()).isEqualTo(4);
+        assertThat(bookRepository.findByIsbn(new ISBN("9780321125217")).orElseThrow().getTitle())
+            .isEqualTo("Domain-Driven Design, Tackling Complexity");
+        assertThat(bookRepository.findByIsbn(new ISBN("9780134685991")).orElseThrow().getTitle())
+            .isEqualTo("Effective \"Java\"");
+        
+        List<String> rejected = Files.readAllLines(importer.getErrorFile("books-csv"));
+        assertThat(rejected).hasSize(4);
+        assertThat(rejected.get(0)).contains("\"row\":2", "Duplicate");
+        assertThat(rejected).anyMatch(line -> line.contains("\"row\":3") && line.contains("already exists"));
+        assertThat(rejected).anyMatch(line -> line.contains("\"row\":4") && line.contains("check digit"));
+        assertThat(rejected).anyMatch(line -> line.contains("\"row\":6") && line.contains("Title"));
+        
+        assertThatThrownBy(() -> importer.importBooks("books-csv", ImportFormat.CSV, stream(csv)))
+            .isInstanceOf(IllegalStateException.class);
+    }
+    
+    @Test
+    void ndjsonImportRejectsBrokenLinesAndKeepsGoing() {
+        String ndjson = """
+            {"name":"Ada Lovelace","email":"ada@example.com","street":"Naamsestraat 1","city":"Leuven","postalCode":"3000","country":"Belgium"}
+            {"name":"Broken",
+            {"name":"Alan Turing","email":"not-an-email","street":"Naamsestraat 2","city":"Leuven","postalCode":"3000","country":"Belgium"}
+            {"name":"Grace Hopper","email":"grace@example.com","street":"Naamsestraat 3","city":"Leuven","postalCode":"3000","country":"Belgium"}
+            """;
+        
+        ImportReport report = importer.importMembers(null, ImportFormat.NDJSON, stream(ndjson));
+        
+        assertThat(report.inserted()).isEqualTo(2);
+        assertThat(report.rejected()).isEqualTo(2);
+        assertThat(memberRepository.existsByEmail(new Email("grace@example.com"))).isTrue();
+        assertThat(importer.getReport(report.importId()).completed()).isTrue();
+    }
+    
+    @Test
+    void anInterruptedImportResumesAfterTheLastCommittedChunk() {
+        StringBuilder csv = new StringBuilder("isbn,title,author\n");
+        for (int i = 0; i < 7; i++) {
+            csv.append(isbn13(700_000 + i)).append(",Resumable ").append(i).append(",Author\n");
+        }
+        byte[] feed = csv.toString().getBytes(StandardCharsets.UTF_8);
+        
+        // The connection drops in the middle of the fourth data row
+        InputStream cutOff = new FilterInputStream(new ByteArrayInputStream(feed, 0, csv.indexOf("Resumable 3"))) {
+            @Override
+            public int read() throws IOException {
+                int c = super.read();
+                if (c == -1) {
+                    throw new IOException("connection reset");
+                }
+                return c;
+            }
+            
+            @Override
+            public int read(byte[] buffer, int offset, int length) throws IOException {
+                int n = super.read(buffer, offset, length);
+                if (n == -1) {
+                    throw new IOException("connection reset");
+                }
+                return n;
+            }
+        };
+        assertThatThrownBy(() -> importer.importBooks("resumable", ImportFormat.CSV, cutOff))
+            .isInstanceOf(UncheckedIOException.class);
+        assertThat(importer.getReport("resumable").rowsDone()).isEqualTo(2);
+        
+        ImportReport resumed = importer.importBooks("resumable", ImportFormat.CSV, new ByteArrayInputStream(feed));
+        
+        assertThat(resumed.skippedOnResume()).isEqualTo(2);
+        assertThat(resumed.rowsDone()).isEqualTo(7);
+        assertThat(resumed.inserted()).isEqualTo(7);
+        assertThat(resumed.rejected()).isZero();
+        assertThat(bookRepository.existsByIsbn(new ISBN(isbn13(700_006)))).isTrue();
+    }
+    
+    private static InputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    // Valid ISBN-13 in the 978 range
+    private static String isbn13(long n) {
+        String digits = String.format("978%09d", n);
+        int sum = 0;
+        for (int i = 0; i < 12; i++) {
+            sum += (digits.charAt(i) - '0') * (i % 2 == 0 ? 1 : 3);
+        }
+        return digits + (10 - sum % 10) % 10;
+    }
+}
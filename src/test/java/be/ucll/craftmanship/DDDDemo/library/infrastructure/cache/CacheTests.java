@@ -0,0 +1,174 @@
+package be.ucll.craftmanship.DDDDemo.library.infrastructure.cache;
+
+import be.ucll.craftmanship.DDDDemo.library.application.dto.BorrowBookRequest;
+import be.ucll.craftmanship.DDDDemo.library.application.dto.CreateBookRequest;
+import be.ucll.craftmanship.DDDDemo.library.application.dto.CreateMemberRequest;
+import be.ucll.craftmanship.DDDDemo.library.application.services.BookService;
+import be.ucll.craftmanship.DDDDemo.library.application.services.CacheNames;
+import be.ucll.craftmanship.DDDDemo.library.application.services.LoanService;
+import be.ucll.craftmanship.DDDDemo.library.application.services.MemberService;
+import be.ucll.craftmanship.DDDDemo.library.domain.valueobjects.BookId;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.support.NoOpCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:caches;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1;NON_KEYWORDS=VALUE",
+    "library.cache.books.max-size=20"
+})
+@ActiveProfiles("embedded")
+class CacheTests {
+    
+    private static final AtomicInteger NEXT_BOOK = new AtomicInteger();
+    
+    @Autowired
+    private BookService bookService;
+    
+    @Autowired
+    private MemberService memberService;
+    
+    @Autowired
+    private LoanService loanService;
+    
+    @Autowired
+    private CacheManager cacheManager;
+    
+    @Autowired
+    private CacheStatsReader statsReader;
+    
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    
+    @Test
+    void readsAreServedFromTheCacheAndCounted() {
+        String book = createBook();
+        CacheStats before = bookStats();
+        
+        bookService.getBookById(book);
+        bookService.getBookById(book);
+        bookService.getBookById(book);
+        
+        CacheStats after = bookStats();
+        assertThat(after.misses() - before.misses()).isEqualTo(1);
+        assertThat(after.hits() - before.hits()).isEqualTo(2);
+        assertThat(after.hitRate()).isBetween(0.0, 1.0);
+        assertThat(statsReader.stats()).extracting(CacheStats::name)
+            .containsExactlyInAnyOrder(CacheNames.BOOKS, CacheNames.MEMBERS);
+    }
+    
+    @Test
+    void writesEvictTheCachedResponse() {
+        String book = createBook();
+        String member = memberService.createMember(new CreateMemberRequest(
+            "Cache Tester", "cache@example.com", "Naamsestraat 1", "Leuven", "3000", "Belgium"
+        )).id();
+        assertThat(bookService.getBookById(book).available()).isTrue();
+        
+        bookService.updateTitle(book, "Renamed");
+        assertThat(cached(book)).isNull();
+        assertThat(bookService.getBookById(book).title()).isEqualTo("Renamed");
+        
+        String loan = loanService.borrowBook(new BorrowBookRequest(book, member)).id();
+        assertThat(cached(book)).isNull();
+        assertThat(bookService.getBookById(book).available()).isFalse();
+        
+        loanService.returnBook(loan);
+        assertThat(bookService.getBookById(book).available()).isTrue();
+    }
+    
+    @Test
+    void aRolledBackWriteLeavesTheCacheAlone() {
+        String book = createBook();
+        String title = bookService.getBookById(book).title();
+        
+        transactionTemplate.executeWithoutResult(status -> {
+            bookService.updateTitle(book, "Never committed");
+            // Evictions wait for the commit
+            assertThat(cached(book)).isNotNull();
+            status.setRollbackOnly();
+        });
+        
+        assertThat(cached(book)).isNotNull();
+        assertThat(bookService.getBookById(book).title()).isEqualTo(title);
+    }
+    
+    @Test
+    void theSizeBoundEvictsAndReportsIt() {
+        List<String> books = new ArrayList<>();
+        for (int i = 0; i < 60; i++) {
+            books.add(createBook());
+        }
+        long evictionsBefore = bookStats().evictions();
+        
+        for (String book : books) {
+            bookService.getBookById(book);
+        }
+        nativeBookCache().cleanUp();
+        
+        CacheStats stats = bookStats();
+        assertThat(stats.size()).isLessThanOrEqualTo(20);
+        assertThat(stats.evictions() - evictionsBefore).isGreaterThanOrEqualTo(40);
+    }
+    
+    @Test
+    void disabledCachingReportsNoStats() {
+        AggregateCacheProperties.Spec spec = new AggregateCacheProperties.Spec(10, Duration.ofMinutes(1));
+        CacheManager disabled = new CacheConfiguration().cacheManager(new AggregateCacheProperties(false, spec, spec));
+        
+        assertThat(disabled).isInstanceOf(NoOpCacheManager.class);
+        assertThat(new CacheStatsReader(disabled).stats()).isEmpty();
+    }
+    
+    private CacheStats bookStats() {
+        return statsReader.stats()
+            .stream()
+            .filter(stats -> stats.name().equals(CacheNames.BOOKS))
+            .findFirst()
+            .orElseThrow();
+    }
+    
+    private Object cached(String bookId) {
+        Cache.ValueWrapper value = cacheManager.getCache(CacheNames.BOOKS).get(BookId.from(bookId));
+        return value == null ? null : value.get();
+    }
+    
+    private com.github.benmanes.caffeine.cache.Cache<Object, Object> nativeBookCache() {
+        Cache cache = cacheManager.getCache(CacheNames.BOOKS);
+        if (cache instanceof TransactionAwareCacheDecorator decorator) {
+            cache = decorator.getTargetCache();
+        }
+        return ((CaffeineCache) cache).getNativeCache();
+    }
+    
+    private String createBook() {
+        int n = NEXT_BOOK.incrementAndGet();
+        return bookService.createBook(new CreateBookRequest(
+            isbn13(930_000 + n),
+            "Cached Book " + n,
+            "Author"
+        )).id();
+    }
+    
+    private static String isbn13(long n) {
+        String digits = String.format("978%09d", n);
+        int sum = 0;
+        for (int i = 0; i < 12; i++) {
+            sum += (digits.charAt(i) - '0') * (i % 2 == 0 ? 1 : 3);
+        }
+        return digits + (10 - sum % 10) % 10;
+    }
+}
@@ -0,0 +1,217 @@
+package be.ucll.craftmanship.DDDDemo.library.infrastructure.events;
+
+import be.ucll.craftmanship.DDDDemo.library.domain.events.DomainEvent;
+import be.ucll.craftmanship.DDDDemo.library.domain.events.DomainEventSubscriber;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AsyncDomainEventBusTests {
+    
+    private final RecordingSubscriber subscriber = new RecordingSubscriber();
+    private AsyncDomainEventBus bus;
+    
+    @AfterEach
+    void stopBus() throws InterruptedException {
+        subscriber.release();
+        if (bus != null) {
+            bus.stop();
+        }
+    }
+    
+    @Test
+    void idleDispatchersWakeUpForTheNextEvent() throws InterruptedException {
+        bus = start(16, 2, BackpressurePolicy.BLOCK);
+        bus.publish(new TestEvent(1));
+        waitUntil(() -> subscriber.received.size() == 1);
+        
+        // Long enough for both dispatchers to stop spinning and wait for a signal
+        Thread.sleep(200);
+        bus.publish(new TestEvent(2));
+        bus.publish(new TestEvent(3));
+        
+        waitUntil(() -> subscriber.received.size() == 3);
+        assertThat(subscriber.numbers()).containsExactlyInAnyOrder(1, 2, 3);
+    }
+    
+    @Test
+    void blockedProducerWaitsForRoomAndLosesNothing() throws InterruptedException {
+        bus = start(4, 1, BackpressurePolicy.BLOCK);
+        subscriber.hold();
+        
+        // One event in the subscriber, four in the ring, the sixth has to wait
+        Thread producer = Thread.ofPlatform().start(() -> {
+            for (int i = 0; i < 6; i++) {
+                bus.publish(new TestEvent(i));
+            }
+        });
+        waitUntil(() -> bus.stats().published() == 6 && bus.stats().queueDepth() == 4);
+        waitUntil(() -> producer.getState() == Thread.State.WAITING);
+        assertThat(producer.isAlive()).isTrue();
+        
+        subscriber.release();
+        producer.join(TimeUnit.SECONDS.toMillis(5));
+        
+        waitUntil(() -> subscriber.received.size() == 6);
+        assertThat(subscriber.numbers()).containsExactly(0, 1, 2, 3, 4, 5);
+        assertThat(bus.stats().dropped()).isZero();
+        assertThat(bus.stats().callerRuns()).isZero();
+    }
+    
+    @Test
+    void dropPolicyDiscardsWhatDoesNotFit() throws InterruptedException {
+        bus = start(4, 1, BackpressurePolicy.DROP);
+        subscriber.hold();
+        
+        bus.publish(new TestEvent(0));
+        waitUntil(() -> bus.stats().queueDepth() == 0);
+        for (int i = 1; i <= 6; i++) {
+            bus.publish(new TestEvent(i));
+        }
+        
+        assertThat(bus.stats().dropped()).isEqualTo(2);
+        subscriber.release();
+        waitUntil(() -> subscriber.received.size() == 5);
+        assertThat(subscriber.numbers()).containsExactly(0, 1, 2, 3, 4);
+    }
+    
+    @Test
+    void eventsPublishedInATransactionAreDeliveredOnlyAfterCommit() throws InterruptedException {
+        bus = start(16, 1, BackpressurePolicy.BLOCK);
+        TransactionTemplate transaction = new TransactionTemplate(new NoOpTransactionManager());
+        
+        transaction.executeWithoutResult(status -> {
+            bus.publish(new TestEvent(1));
+            bus.publish(new TestEvent(2));
+            assertThat(bus.stats().published()).isZero();
+        });
+        
+        waitUntil(() -> subscriber.received.size() == 2);
+        assertThat(subscriber.numbers()).containsExactly(1, 2);
+    }
+    
+    @Test
+    void eventsPublishedInARolledBackTransactionAreDiscarded() throws InterruptedException {
+        bus = start(16, 1, BackpressurePolicy.BLOCK);
+        TransactionTemplate transaction = new TransactionTemplate(new NoOpTransactionManager());
+        
+        transaction.executeWithoutResult(status -> {
+            bus.publish(new TestEvent(1));
+            status.setRollbackOnly();
+        });
+        bus.publish(new TestEvent(2));
+        
+        waitUntil(() -> subscriber.received.size() == 1);
+        Thread.sleep(50);
+        assertThat(subscriber.numbers()).containsExactly(2);
+        assertThat(bus.stats().published()).isEqualTo(1);
+    }
+    
+    @Test
+    void stopDrainsQueuedEvents() throws InterruptedException {
+        bus = start(16, 2, BackpressurePolicy.BLOCK);
+        for (int i = 0; i < 10; i++) {
+            bus.publish(new TestEvent(i));
+        }
+        
+        bus.stop();
+        
+        assertThat(subscriber.received).hasSize(10);
+        bus = null;
+    }
+    
+    private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("condition not met within 5s").isLessThan(deadline);
+            Thread.sleep(5);
+        }
+    }
+    
+    private AsyncDomainEventBus start(int capacity, int dispatchers, BackpressurePolicy backpressure) {
+        AsyncDomainEventBus started = new AsyncDomainEventBus(
+            new EventBusProperties(capacity, dispatchers, false, backpressure),
+            List.of(subscriber)
+        );
+        started.start();
+        return started;
+    }
+    
+    private record TestEvent(int number, UUID getEventId, LocalDateTime getOccurredOn) implements DomainEvent {
+        
+        TestEvent(int number) {
+            this(number, UUID.randomUUID(), LocalDateTime.now());
+        }
+        
+        @Override
+        public String getEventType() {
+            return "TestEvent";
+        }
+    }
+    
+    private static class RecordingSubscriber implements DomainEventSubscriber<TestEvent> {
+        
+        private final List<TestEvent> received = new CopyOnWriteArrayList<>();
+        private volatile CountDownLatch gate = new CountDownLatch(0);
+        
+        void hold() {
+            gate = new CountDownLatch(1);
+        }
+        
+        void release() {
+            gate.countDown();
+        }
+        
+        List<Integer> numbers() {
+            return received.stream().map(TestEvent::number).toList();
+        }
+        
+        @Override
+        public Class<TestEvent> eventType() {
+            return TestEvent.class;
+        }
+        
+        @Override
+        public void handle(TestEvent event) {
+            try {
+                gate.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            received.add(event);
+        }
+    }
+    
+    /**
+     * Transaction manager without a resource, only drives the synchronizations
+     */
+    private static class NoOpTransactionManager extends AbstractPlatformTransactionManager {
+        
+        @Override
+        protected Object doGetTransaction() {
+            return new Object();
+        }
+        
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {}
+        
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {}
+        
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {}
+    }
+}
@@ -0,0 +1,138 @@
+package be.ucll.craftmanship.DDDDemo.library.infrastructure.events;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RingBufferTests {
+    
+    @Test
+    void capacityIsRoundedUpToAPowerOfTwo() {
+        assertThat(new RingBuffer<Integer>(5).capacity()).isEqualTo(8);
+        assertThat(new RingBuffer<Integer>(8).capacity()).isEqualTo(8);
+        assertThat(new RingBuffer<Integer>(1).capacity()).isEqualTo(2);
+    }
+    
+    @Test
+    void keepsFifoOrderAcrossManyLaps() {
+        RingBuffer<Integer> ring = new RingBuffer<>(4);
+        int next = 0;
+        int expected = 0;
+        
+        // Offer three, poll two: head and tail wrap around the four slots at different points
+        for (int lap = 0; lap < 100; lap++) {
+            for (int i = 0; i < 3 && ring.offer(next); i++) {
+                next++;
+            }
+            for (int i = 0; i < 2; i++) {
+                Integer item = ring.poll();
+                assertThat(item).isEqualTo(expected++);
+            }
+        }
+        while (!ring.isEmpty()) {
+            assertThat(ring.poll()).isEqualTo(expected++);
+        }
+        
+        assertThat(expected).isEqualTo(next).isGreaterThan(4 * 10);
+        assertThat(ring.poll()).isNull();
+    }
+    
+    @Test
+    void rejectsOffersWhenFullUntilASlotIsFreed() {
+        RingBuffer<Integer> ring = new RingBuffer<>(4);
+        for (int i = 0; i < 4; i++) {
+            assertThat(ring.offer(i)).isTrue();
+        }
+        
+        assertThat(ring.offer(4)).isFalse();
+        assertThat(ring.size()).isEqualTo(4);
+        
+        assertThat(ring.poll()).isEqualTo(0);
+        assertThat(ring.offer(4)).isTrue();
+        assertThat(ring.offer(5)).isFalse();
+        assertThat(List.of(ring.poll(), ring.poll(), ring.poll(), ring.poll())).containsExactly(1, 2, 3, 4);
+        assertThat(ring.isEmpty()).isTrue();
+    }
+    
+    @Test
+    void deliversEveryItemOnceAndKeepsEachProducersOrderUnderContention() throws Exception {
+        int producers = 4;
+        int consumers = 4;
+        int perProducer = 50_000;
+        RingBuffer<long[]> ring = new RingBuffer<>(64);
+        ExecutorService pool = Executors.newFixedThreadPool(producers + consumers);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger remaining = new AtomicInteger(producers * perProducer);
+        ConcurrentLinkedQueue<String> violations = new ConcurrentLinkedQueue<>();
+        boolean[][] seen = new boolean[producers][perProducer];
+        
+        try {
+            List<Future<?>> tasks = new ArrayList<>();
+            for (int p = 0; p < producers; p++) {
+                long producer = p;
+                tasks.add(pool.submit(() -> {
+                    start.await();
+                    for (long seq = 0; seq < perProducer; seq++) {
+                        long[] item = {producer, seq};
+                        // Yield rather than spin, so the test also finishes quickly on a single core
+                        while (!ring.offer(item)) {
+                            Thread.yield();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (int c = 0; c < consumers; c++) {
+                tasks.add(pool.submit(() -> {
+                    long[] last = new long[producers];
+                    Arrays.fill(last, -1);
+                    start.await();
+                    while (remaining.get() > 0) {
+                        long[] item = ring.poll();
+                        if (item == null) {
+                            Thread.yield();
+                            continue;
+                        }
+                        int producer = (int) item[0];
+                        // A single consumer takes items in ring order, so one producer's items arrive in sequence
+                        if (item[1] <= last[producer]) {
+                            violations.add("producer " + producer + ": " + item[1] + " after " + last[producer]);
+                        }
+                        last[producer] = item[1];
+                        synchronized (seen) {
+                            if (seen[producer][(int) item[1]]) {
+                                violations.add("duplicate " + producer + "/" + item[1]);
+                            }
+                            seen[producer][(int) item[1]] = true;
+                        }
+                        remaining.decrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+            
+            start.countDown();
+            for (Future<?> task : tasks) {
+                task.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        
+        assertThat(violations).isEmpty();
+        // No duplicates and nothing left over: each of the items was taken exactly once
+        assertThat(remaining.get()).isZero();
+        assertThat(ring.isEmpty()).isTrue();
+    }
+}
@@ -0,0 +1,90 @@
+package be.ucll.craftmanship.DDDDemo.library.infrastructure.fees;
+
+import be.ucll.craftmanship.DDDDemo.library.application.dto.FeePolicyRequest;
+import be.ucll.craftmanship.DDDDemo.library.application.fees.FeePolicyStore;
+import be.ucll.craftmanship.DDDDemo.library.application.services.FeePolicyService;
+import be.ucll.craftmanship.DDDDemo.library.domain.entities.MemberTier;
+import be.ucll.craftmanship.DDDDemo.library.domain.services.LateFeeCalculationService;
+import be.ucll.craftmanship.DDDDemo.library.domain.valueobjects.FeePolicy;
+import be.ucll.craftmanship.DDDDemo.library.domain.valueobjects.FeeTier;
+import be.ucll.craftmanship.DDDDemo.library.domain.valueobjects.Money;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:fee-policies;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1;NON_KEYWORDS=VALUE",
+    "library.fee-policies.refresh-interval=1h"
+})
+@ActiveProfiles("embedded")
+class FeePolicyStoreTests {
+    
+    private static final FeePolicy STAFF_POLICY = new FeePolicy("EUR", 3, List.of(
+        new FeeTier(1, 10),
+        new FeeTier(5, 25)
+    ), 500L);
+    
+    @Autowired
+    private FeePolicyService feePolicyService;
+    
+    @Autowired
+    private FeePolicyStore store;
+    
+    @Autowired
+    private FeePolicyRecordRepository repository;
+    
+    @Autowired
+    private LateFeeCalculationService lateFeeService;
+    
+    @AfterEach
+    void resetPolicies() {
+        repository.deleteAll();
+        lateFeeService.replacePolicies(store.loadAll());
+    }
+    
+    @Test
+    void storedPolicyRoundTrips() {
+        store.save(MemberTier.STAFF, STAFF_POLICY);
+        store.save(MemberTier.STAFF, STAFF_POLICY);
+        
+        assertThat(store.loadAll()).containsOnlyKeys(MemberTier.STAFF);
+        assertThat(store.loadAll().get(MemberTier.STAFF)).isEqualTo(STAFF_POLICY);
+        assertThat(repository.findById(MemberTier.STAFF).orElseThrow().getVersion()).isEqualTo(0);
+    }
+    
+    @Test
+    void replacedPolicyIsStoredAndAppliedHere() {
+        feePolicyService.updatePolicy(MemberTier.STAFF, new FeePolicyRequest(
+            "EUR", 3, List.of(new FeePolicyRequest.Tier(1, 10), new FeePolicyRequest.Tier(5, 25)), 500L
+        ));
+        
+        assertThat(store.loadAll().get(MemberTier.STAFF)).isEqualTo(STAFF_POLICY);
+        // 3 grace days, then 4 days at 0.10 and 3 at 0.25
+        assertThat(lateFeeService.calculateLateFee(10, MemberTier.STAFF)).isEqualTo(new Money(115, "EUR"));
+    }
+    
+    @Test
+    void anotherNodePicksUpTheStoredPolicyOnRefresh() {
+        LateFeeCalculationService otherNode = new LateFeeCalculationService();
+        FeePolicyRefresher otherRefresher = new FeePolicyRefresher(store, otherNode);
+        otherRefresher.load();
+        assertThat(otherNode.getPolicies().get(MemberTier.STAFF)).isEqualTo(FeePolicy.standard());
+        
+        store.save(MemberTier.STAFF, STAFF_POLICY);
+        otherRefresher.refresh();
+        
+        assertThat(otherNode.getPolicies().get(MemberTier.STAFF)).isEqualTo(STAFF_POLICY);
+        assertThat(otherNode.getPolicies().get(MemberTier.STANDARD)).isEqualTo(FeePolicy.standard());
+        
+        // A deleted row falls back to the standard policy
+        repository.deleteAll();
+        otherRefresher.refresh();
+        assertThat(otherNode.getPolicies().get(MemberTier.STAFF)).isEqualTo(FeePolicy.standard());
+    }
+}
@@ -0,0 +1,90 @@
+package be.ucll.craftmanship.DDDDemo.library.infrastructure.metrics;
+
+import be.ucll.craftmanship.DDDDemo.library.application.dto.BookResponse;
+import be.ucll.craftmanship.DDDDemo.library.application.dto.BorrowBookRequest;
+import be.ucll.craftmanship.DDDDemo.library.application.dto.CreateBookRequest;
+import be.ucll.craftmanship.DDDDemo.library.application.dto.CreateMemberRequest;
+import be.ucll.craftmanship.DDDDemo.library.application.dto.LoanResponse;
+import be.ucll.craftmanship.DDDDemo.library.application.dto.MemberResponse;
+import be.ucll.craftmanship.DDDDemo.library.application.services.BookService;
+import be.ucll.craftmanship.DDDDemo.library.application.services.LoanService;
+import be.ucll.craftmanship.DDDDemo.library.application.services.MemberService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties =
+    "spring.datasource.url=jdbc:h2:mem:loan-metrics;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1;NON_KEYWORDS=VALUE")
+@ActiveProfiles("embedded")
+class LoanMetricsTests {
+    
+    @Autowired
+    private LoanService loanService;
+    
+    @Autowired
+    private BookService bookService;
+    
+    @Autowired
+    private MemberService memberService;
+    
+    @Autowired
+    private MeterRegistry registry;
+    
+    @Test
+    void theBorrowHotPathIsTimedPerOperationAndPerRepositoryCall() {
+        BookResponse book = bookService.createBook(new CreateBookRequest("9780321125217", "Domain-Driven Design", "Eric Evans"));
+        MemberResponse ada = member("ada@example.com");
+        MemberResponse alan = member("alan@example.com");
+        
+        LoanResponse loan = loanService.borrowBook(new BorrowBookRequest(book.id(), ada.id()));
+        assertThatThrownBy(() -> loanService.borrowBook(new BorrowBookRequest(book.id(), alan.id())))
+            .isInstanceOf(IllegalStateException.class);
+        loanService.extendLoan(loan.id(), 7);
+        
+        // The refused borrow is timed too, tagged with its exception
+        assertThat(registry.get(LoanOperationMetricsAspect.OPERATIONS)
+            .tag("operation", "borrow")
+            .tag("error", "IllegalStateException")
+            .timer().count()).isEqualTo(1);
+        assertThat(registry.get(LoanOperationMetricsAspect.OPERATIONS).tag("operation", "extend").timer().count())
+            .isEqualTo(1);
+        assertThat(registry.get("library.loans.rejections").tag("reason", "book_unavailable").counter().count())
+            .isEqualTo(1);
+        assertThat(registry.get("library.loans.rejections").tag("reason", "loan_limit").counter().count())
+            .isZero();
+        
+        Timer loanSaves = registry.get(LoanOperationMetricsAspect.REPOSITORY_CALLS)
+            .tag("repository", "LoanRepository")
+            .tag("method", "save")
+            .tag("operation", "borrow")
+            .timer();
+        assertThat(loanSaves.count()).isPositive();
+        assertThat(registry.get(LoanOperationMetricsAspect.REPOSITORY_CALLS)
+            .tag("repository", "BookRepository")
+            .tag("operation", "borrow")
+            .timers()).isNotEmpty();
+    }
+    
+    @Test
+    void openAndOverdueLoansAreReadFromTheDueIndex() {
+        BookResponse book = bookService.createBook(new CreateBookRequest("9780134685991", "Effective Java", "Joshua Bloch"));
+        double open = registry.get("library.loans.open").gauge().value();
+        
+        loanService.borrowBook(new BorrowBookRequest(book.id(), member("grace@example.com").id()));
+        
+        assertThat(registry.get("library.loans.open").gauge().value()).isEqualTo(open + 1);
+        assertThat(registry.get("library.loans.overdue").gauge().value()).isZero();
+    }
+    
+    private MemberResponse member(String email) {
+        return memberService.createMember(new CreateMemberRequest(
+            "Member " + email, email, "Naamsestraat 1", "Leuven", "3000", "Belgium"
+        ));
+    }
+}
@@ -0,0 +1,90 @@
+package be.ucll.craftmanship.DDDDemo.library.infrastructure.outbox;
+
+import be.ucll.craftmanship.DDDDemo.library.application.dto.BookResponse;
+import be.ucll.craftmanship.DDDDemo.library.application.dto.BorrowBookRequest;
+import be.ucll.craftmanship.DDDDemo.library.application.dto.CreateBookRequest;
+import be.ucll.craftmanship.DDDDemo.library.application.dto.CreateMemberRequest;
+import be.ucll.craftmanship.DDDDemo.library.application.dto.LoanResponse;
+import be.ucll.craftmanship.DDDDemo.library.application.dto.MemberResponse;
+import be.ucll.craftmanship.DDDDemo.library.application.services.BookService;
+import be.ucll.craftmanship.DDDDemo.library.application.services.LoanService;
+import be.ucll.craftmanship.DDDDemo.library.application.services.MemberService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("embedded")
+class OutboxRelayTests {
+    
+    @TestConfiguration
+    static class InMemorySinkConfiguration {
+        
+        @Bean
+        @Primary
+        InMemoryOutboxSink inMemoryOutboxSink() {
+            return new InMemoryOutboxSink();
+        }
+    }
+    
+    @Autowired
+    private BookService bookService;
+    
+    @Autowired
+    private MemberService memberService;
+    
+    @Autowired
+    private LoanService loanService;
+    
+    @Autowired
+    private OutboxRelay outboxRelay;
+    
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+    
+    @Autowired
+    private InMemoryOutboxSink sink;
+    
+    @BeforeEach
+    void setUp() {
+        outboxRelay.drain();
+        sink.clear();
+    }
+    
+    @Test
+    void borrowAndReturnEventsAreRelayedFromTheOutbox() {
+        BookResponse book = bookService.createBook(new CreateBookRequest("9780132350884", "Clean Code", "Robert C. Martin"));
+        MemberResponse member = memberService.createMember(new CreateMemberRequest(
+            "Ada Lovelace", "ada@example.com", "Naamsestraat 1", "Leuven", "3000", "Belgium"
+        ));
+        
+        LoanResponse loan = loanService.borrowBook(new BorrowBookRequest(book.id(), member.id()));
+        loanService.returnBook(loan.id());
+        
+        assertThat(outboxEventRepository.count()).isEqualTo(2);
+        assertThat(outboxRelay.drain()).isEqualTo(2);
+        assertThat(outboxEventRepository.count()).isZero();
+        assertThat(sink.getMessages())
+            .extracting(OutboxMessage::eventType)
+            .containsExactlyInAnyOrder("BookBorrowed", "BookReturned");
+    }
+    
+    @Test
+    void rejectedBorrowLeavesNoEventInTheOutbox() {
+        BookResponse book = bookService.createBook(new CreateBookRequest("9780321125217", "Domain-Driven Design", "Eric Evans"));
+        
+        assertThatThrownBy(() -> loanService.borrowBook(
+            new BorrowBookRequest(book.id(), "00000000-0000-0000-0000-000000000000")
+        )).isInstanceOf(IllegalArgumentException.class);
+        
+        assertThat(outboxEventRepository.count()).isZero();
+    }
+}
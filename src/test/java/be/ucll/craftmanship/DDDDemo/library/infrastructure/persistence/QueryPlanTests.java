@@ -0,0 +1,326 @@
+package be.ucll.craftmanship.DDDDemo.library.infrastructure.persistence;
+
+import be.ucll.craftmanship.DDDDemo.library.application.dto.KeysetCursor;
+import be.ucll.craftmanship.DDDDemo.library.domain.aggregates.LoanStatus;
+import be.ucll.craftmanship.DDDDemo.library.domain.repositories.BookRepository;
+import be.ucll.craftmanship.DDDDemo.library.domain.repositories.LoanRepository;
+import be.ucll.craftmanship.DDDDemo.library.domain.repositories.MemberRepository;
+import be.ucll.craftmanship.DDDDemo.library.domain.valueobjects.BookId;
+import be.ucll.craftmanship.DDDDemo.library.domain.valueobjects.Email;
+import be.ucll.craftmanship.DDDDemo.library.domain.valueobjects.ISBN;
+import be.ucll.craftmanship.DDDDemo.library.domain.valueobjects.LoanId;
+import be.ucll.craftmanship.DDDDemo.library.domain.valueobjects.MemberId;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs EXPLAIN on the SQL of every indexed repository query against PostgreSQL
+ * 
+ * The schema comes from the Flyway migrations, the tables are seeded with a
+ * realistic shape (most loans returned) and analyzed, then each finder is
+ * called once while its statements and bind parameters are captured. Each
+ * statement is explained with the same parameters and must not scan
+ * loans, books or members sequentially.
+ * 
+ * Not checked, because they read everything by design or need an optional
+ * extension: streamAll/streamActive/streamAvailable, findByAvailableTrue,
+ * findByActiveTrue, the ContainingIgnoreCase searches and findByNameTrigram.
+ */
+@SpringBootTest(properties = {
+    "spring.jpa.show-sql=false",
+    "library.outbox.relay-enabled=false",
+    "library.overdue-sweep.enabled=false",
+    "library.loans.reconcile-counters-on-startup=false"
+})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class QueryPlanTests {
+    
+    private static final int MEMBERS = 20_000;
+    private static final int BOOKS = 50_000;
+    private static final int LOANS = 500_000;
+    private static final Pattern SEQ_SCAN_ON_HOT_TABLE = Pattern.compile("Seq Scan on (loans|books|members)\\b");
+    private static final CapturedStatements CAPTURED = new CapturedStatements();
+    
+    private static EmbeddedPostgres postgres;
+    
+    @TestConfiguration
+    static class StatementCaptureConfiguration {
+        
+        @Bean
+        static BeanPostProcessor capturingDataSource() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)) {
+                        return ProxyDataSourceBuilder.create(dataSource).listener(CAPTURED).build();
+                    }
+                    return bean;
+                }
+            };
+        }
+    }
+    
+    @DynamicPropertySource
+    static void postgres(DynamicPropertyRegistry registry) throws IOException {
+        postgres = EmbeddedPostgres.start();
+        registry.add("spring.datasource.url", () -> postgres.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "");
+    }
+    
+    @AfterAll
+    static void stopPostgres() throws IOException {
+        if (postgres != null) {
+            postgres.close();
+        }
+    }
+    
+    @Autowired
+    private LoanRepository loanRepository;
+    
+    @Autowired
+    private BookRepository bookRepository;
+    
+    @Autowired
+    private MemberRepository memberRepository;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    
+    @Autowired
+    private DataSource dataSource;
+    
+    private MemberId member;
+    private BookId book;
+    private LoanId loan;
+    private Email email;
+    private ISBN isbn;
+    
+    @BeforeAll
+    void seed() {
+        jdbcTemplate.update("""
+            INSERT INTO members (value, version, name, email, address_street, address_city,
+                                 address_postal_code, address_country, member_since, active, tier, active_loans)
+            SELECT md5('member' || i)::uuid, 0, 'Member ' || i, 'member' || i || '@example.com',
+                   'Naamsestraat ' || i, 'Leuven', (1000 + i % 9000)::text, 'Belgium',
+                   DATE '2015-01-01' + i % 3000, i % 50 <> 0, 'STANDARD', 0
+            FROM generate_series(1, ?) AS i
+            """, MEMBERS);
+        jdbcTemplate.update("""
+            INSERT INTO books (value, version, isbn, title, author, available)
+            SELECT md5('book' || i)::uuid, 0,
+                   prefix || (10 - (SELECT sum(substr(prefix, k, 1)::int * (3 - 2 * (k % 2)))
+                                    FROM generate_series(1, 12) AS k) % 10) % 10,
+                   'Title ' || i, 'Author ' || i % 5000, true
+            FROM (SELECT i, (978000000000 + i)::text AS prefix FROM generate_series(1, ?) AS i) AS seed
+            """, BOOKS);
+        // 1% of the loans are open (one per book at most), a third of those extended, the rest returned
+        jdbcTemplate.update("""
+            INSERT INTO loans (value, version, book_id, member_id, borrowed_date, due_date,
+                               returned_date, status, notes, overdue_notified_on)
+            SELECT md5('loan' || i)::uuid, 0,
+                   md5('book' || (i % ? + 1))::uuid,
+                   md5('member' || (i % ? + 1))::uuid,
+                   current_date - 14 - i % 3650,
+                   current_date - i % 3650,
+                   CASE WHEN open THEN NULL ELSE current_date - i % 3650 END,
+                   CASE WHEN NOT open THEN 'RETURNED' WHEN i % 300 = 0 THEN 'EXTENDED' ELSE 'ACTIVE' END,
+                   NULL, NULL
+            FROM (SELECT i, i <= ? AND i % 100 = 0 AS open FROM generate_series(1, ?) AS i) AS seed
+            """, BOOKS, MEMBERS, BOOKS, LOANS);
+        // Open loans are due around today: some overdue, some due in the next weeks
+        jdbcTemplate.update(
+            "UPDATE loans SET due_date = current_date - 30 + (abs(hashtext(value::text)) % 60) WHERE status <> 'RETURNED'"
+        );
+        jdbcTemplate.execute("ANALYZE");
+        
+        Map<String, Object> sample = jdbcTemplate.queryForMap(
+            "SELECT l.value AS loan, l.book_id AS book, l.member_id AS member, b.isbn, m.email " +
+            "FROM loans l JOIN books b ON b.value = l.book_id JOIN members m ON m.value = l.member_id " +
+            "WHERE l.status = 'ACTIVE' LIMIT 1"
+        );
+        loan = new LoanId((UUID) sample.get("loan"));
+        book = new BookId((UUID) sample.get("book"));
+        member = new MemberId((UUID) sample.get("member"));
+        isbn = new ISBN((String) sample.get("isbn"));
+        email = new Email((String) sample.get("email"));
+    }
+    
+    @Test
+    void indexedRepositoryQueriesNeverScanAHotTable() throws Exception {
+        LocalDate today = LocalDate.now();
+        UUID first = KeysetCursor.FIRST_ID;
+        
+        Map<String, Runnable> finders = new LinkedHashMap<>();
+        finders.put("LoanRepository.findById", () -> loanRepository.findById(loan));
+        finders.put("LoanRepository.findByMemberIdAndStatus", () -> loanRepository.findByMemberIdAndStatus(member, LoanStatus.ACTIVE));
+        finders.put("LoanRepository.findByBookId", () -> loanRepository.findByBookId(book));
+        finders.put("LoanRepository.findByBookIdAndStatus", () -> loanRepository.findByBookIdAndStatus(book, LoanStatus.ACTIVE));
+        finders.put("LoanRepository.findOverdueLoans", () -> loanRepository.findOverdueLoans(today));
+        finders.put("LoanRepository.findLoansDueBetween", () -> loanRepository.findLoansDueBetween(today, today.plusDays(7)));
+        finders.put("LoanRepository.countByMemberIdAndStatus", () -> loanRepository.countByMemberIdAndStatus(member, LoanStatus.ACTIVE));
+        finders.put("LoanRepository.countByStatusGroupByMember", () -> loanRepository.countByStatusGroupByMember(
+            EnumSet.of(LoanStatus.ACTIVE, LoanStatus.EXTENDED)
+        ));
+        finders.put("LoanRepository.countByMemberIdAndStatusNotAndDueDateBefore", () ->
+            loanRepository.countByMemberIdAndStatusNotAndDueDateBefore(member, LoanStatus.RETURNED, today));
+        finders.put("LoanRepository.findOverdueLoansPageAfter", () ->
+            loanRepository.findOverdueLoansPageAfter(today, KeysetCursor.FIRST_DATE, first, Limit.of(50)));
+        finders.put("LoanRepository.findNewlyOverduePageAfter", () ->
+            loanRepository.findNewlyOverduePageAfter(today, KeysetCursor.FIRST_DATE, first, Limit.of(1000)));
+        finders.put("LoanRepository.findByMemberIdAndStatusPageAfter", () ->
+            loanRepository.findByMemberIdAndStatusPageAfter(member, LoanStatus.ACTIVE, first, Limit.of(50)));
+        finders.put("LoanRepository.streamOverdueLoans", () -> consume(loanRepository.streamOverdueLoans(today)));
+        finders.put("LoanRepository.streamByMemberIdAndStatus", () ->
+            consume(loanRepository.streamByMemberIdAndStatus(member, LoanStatus.ACTIVE)));
+        finders.put("LoanRepository.streamOpenLoanDueDates", () -> consume(loanRepository.streamOpenLoanDueDates()));
+        finders.put("BookRepository.findByIsbn", () -> bookRepository.findByIsbn(isbn));
+        finders.put("BookRepository.existsByIsbn", () -> bookRepository.existsByIsbn(isbn));
+        finders.put("BookRepository.findByIdForUpdate", () -> bookRepository.findByIdForUpdate(book));
+        finders.put("BookRepository.findPageAfter", () -> bookRepository.findPageAfter(first, Limit.of(50)));
+        finders.put("BookRepository.findAvailablePageAfter", () -> bookRepository.findAvailablePageAfter(first, Limit.of(50)));
+        finders.put("MemberRepository.findByEmail", () -> memberRepository.findByEmail(email));
+        finders.put("MemberRepository.existsByEmail", () -> memberRepository.existsByEmail(email));
+        finders.put("MemberRepository.findByAddressPostalCode", () -> memberRepository.findByAddressPostalCode("1234"));
+        finders.put("MemberRepository.findPageAfter", () -> memberRepository.findPageAfter(first, Limit.of(50)));
+        finders.put("MemberRepository.findActivePageAfter", () -> memberRepository.findActivePageAfter(first, Limit.of(50)));
+        finders.put("MemberRepository.reserveLoanSlot", () -> memberRepository.reserveLoanSlot(member, 5));
+        finders.put("MemberRepository.releaseLoanSlot", () -> memberRepository.releaseLoanSlot(member));
+        
+        List<String> violations = new ArrayList<>();
+        for (Map.Entry<String, Runnable> finder : finders.entrySet()) {
+            List<CapturedStatement> statements = capture(finder.getValue());
+            assertThat(statements).as("statements of %s", finder.getKey()).isNotEmpty();
+            for (CapturedStatement statement : statements) {
+                String plan = explain(statement);
+                if (SEQ_SCAN_ON_HOT_TABLE.matcher(plan).find()) {
+                    violations.add(finder.getKey() + "\n" + statement.sql() + "\n" + plan);
+                }
+            }
+        }
+        
+        assertThat(violations).as("queries planned with a sequential scan").isEmpty();
+    }
+    
+    /**
+     * Runs the finder in a transaction that is rolled back, returns the SQL it sent
+     */
+    private List<CapturedStatement> capture(Runnable finder) {
+        CAPTURED.start();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                finder.run();
+                status.setRollbackOnly();
+            });
+        } finally {
+            CAPTURED.stop();
+        }
+        return CAPTURED.drain();
+    }
+    
+    private String explain(CapturedStatement statement) throws Exception {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement explain = connection.prepareStatement("EXPLAIN " + statement.sql())) {
+            for (ParameterSetOperation parameter : statement.parameters()) {
+                parameter.getMethod().invoke(explain, parameter.getArgs());
+            }
+            StringBuilder plan = new StringBuilder();
+            try (ResultSet rows = explain.executeQuery()) {
+                while (rows.next()) {
+                    plan.append(rows.getString(1)).append('\n');
+                }
+            }
+            return plan.toString();
+        }
+    }
+    
+    private static void consume(Stream<?> stream) {
+        try (stream) {
+            stream.findFirst();
+        }
+    }
+    
+    private record CapturedStatement(String sql, List<ParameterSetOperation> parameters) {}
+    
+    /**
+     * Records the statements and bind parameters sent while capturing is on
+     */
+    private static final class CapturedStatements implements QueryExecutionListener {
+        
+        private final List<CapturedStatement> statements = new CopyOnWriteArrayList<>();
+        private volatile boolean capturing;
+        
+        void start() {
+            statements.clear();
+            capturing = true;
+        }
+        
+        void stop() {
+            capturing = false;
+        }
+        
+        List<CapturedStatement> drain() {
+            List<CapturedStatement> drained = List.copyOf(statements);
+            statements.clear();
+            return drained;
+        }
+        
+        @Override
+        public void beforeQuery(ExecutionInfo execution, List<QueryInfo> queries) {
+        }
+        
+        @Override
+        public void afterQuery(ExecutionInfo execution, List<QueryInfo> queries) {
+            if (!capturing) {
+                return;
+            }
+            for (QueryInfo query : queries) {
+                List<List<ParameterSetOperation>> parameters = query.getParametersList();
+                statements.add(new CapturedStatement(
+                    query.getQuery(),
+                    parameters.isEmpty() ? List.of() : List.copyOf(parameters.get(0))
+                ));
+            }
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package be.ucll.craftmanship.DDDDemo.library.infrastructure.persistence;
+
+import be.ucll.craftmanship.DDDDemo.library.domain.entities.Member;
+import be.ucll.craftmanship.DDDDemo.library.domain.entities.MemberTier;
+import be.ucll.craftmanship.DDDDemo.library.domain.repositories.BookRepository;
+import be.ucll.craftmanship.DDDDemo.library.domain.repositories.MemberRepository;
+import be.ucll.craftmanship.DDDDemo.library.domain.valueobjects.ISBN;
+import be.ucll.craftmanship.DDDDemo.library.domain.valueobjects.MemberId;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Upgrades a database created by the application before the migrations existed
+ * 
+ * The database gets the V1 schema without Flyway's history table, the way
+ * ddl-auto=update left it, plus some data. Starting the application then
+ * baselines it at V1 and runs every later migration; Hibernate's schema
+ * validation must accept the result.
+ */
+@SpringBootTest(properties = {
+    "spring.jpa.show-sql=false",
+    "library.outbox.relay-enabled=false",
+    "library.overdue-sweep.enabled=false"
+})
+class SchemaUpgradeTests {
+    
+    private static final UUID MEMBER = UUID.fromString("00000000-0000-0000-0000-000000000001");
+    
+    private static EmbeddedPostgres postgres;
+    
+    @DynamicPropertySource
+    static void legacyDatabase(DynamicPropertyRegistry registry) throws IOException, SQLException {
+        postgres = EmbeddedPostgres.start();
+        DataSource dataSource = postgres.getPostgresDatabase();
+        try (Connection connection = dataSource.getConnection()) {
+            ScriptUtils.executeSqlScript(connection, new ClassPathResource("db/migration/V1__baseline_schema.sql"));
+        }
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.update("INSERT INTO members (value, name, email, member_since, active) " +
+            "VALUES (?, 'Ada Lovelace', 'ada@example.com', DATE '2020-01-01', true)", MEMBER);
+        jdbc.update("INSERT INTO books (value, isbn, title, author, available) VALUES " +
+            "('00000000-0000-0000-0000-000000000011', '978-0-321-12521-7', 'Domain-Driven Design', 'Eric Evans', false), " +
+            "('00000000-0000-0000-0000-000000000012', '9780134685991', 'Effective Java', 'Joshua Bloch', false)");
+        jdbc.update("INSERT INTO loans (value, book_id, member_id, borrowed_date, due_date, status) VALUES " +
+            "('00000000-0000-0000-0000-000000000021', '00000000-0000-0000-0000-000000000011', ?, current_date, current_date + 30, 'ACTIVE'), " +
+            "('00000000-0000-0000-0000-000000000022', '00000000-0000-0000-0000-000000000012', ?, current_date, current_date + 30, 'EXTENDED')",
+            MEMBER, MEMBER);
+        
+        registry.add("spring.datasource.url", () -> postgres.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "");
+    }
+    
+    @AfterAll
+    static void stopPostgres() throws IOException {
+        if (postgres != null) {
+            postgres.close();
+        }
+    }
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private MemberRepository memberRepository;
+    
+    @Autowired
+    private BookRepository bookRepository;
+    
+    @Test
+    void aPreMigrationDatabaseIsBaselinedAndUpgraded() {
+        List<String> applied = jdbcTemplate.queryForList(
+            "SELECT version FROM flyway_schema_history WHERE success ORDER BY installed_rank", String.class);
+        assertThat(applied).startsWith("1", "1.1", "2").contains("7");
+        assertThat(jdbcTemplate.queryForObject(
+            "SELECT type FROM flyway_schema_history WHERE version = '1'", String.class)).isEqualTo("BASELINE");
+        
+        // V1_1 added the columns with their defaults, V3 derived the counter from the open loans
+        Member member = memberRepository.findById(new MemberId(MEMBER)).orElseThrow();
+        assertThat(member.getTier()).isEqualTo(MemberTier.STANDARD);
+        assertThat(member.getActiveLoans()).isEqualTo(2);
+        
+        // V4 canonicalized the stored ISBN
+        assertThat(bookRepository.findByIsbn(new ISBN("9780321125217"))).isPresent();
+    }
+}
@@ -0,0 +1,150 @@
+package be.ucll.craftmanship.DDDDemo.library.infrastructure.persistence.eventstore;
+
+import be.ucll.craftmanship.DDDDemo.library.application.dto.BookResponse;
+import be.ucll.craftmanship.DDDDemo.library.application.dto.BorrowBookRequest;
+import be.ucll.craftmanship.DDDDemo.library.application.dto.CreateBookRequest;
+import be.ucll.craftmanship.DDDDemo.library.application.dto.CreateMemberRequest;
+import be.ucll.craftmanship.DDDDemo.library.application.dto.LoanResponse;
+import be.ucll.craftmanship.DDDDemo.library.application.dto.MemberResponse;
+import be.ucll.craftmanship.DDDDemo.library.application.services.BookService;
+import be.ucll.craftmanship.DDDDemo.library.application.services.LoanService;
+import be.ucll.craftmanship.DDDDemo.library.application.services.MemberService;
+import be.ucll.craftmanship.DDDDemo.library.domain.aggregates.Loan;
+import be.ucll.craftmanship.DDDDemo.library.domain.aggregates.LoanStatus;
+import be.ucll.craftmanship.DDDDemo.library.domain.repositories.LoanRepository;
+import be.ucll.craftmanship.DDDDemo.library.domain.valueobjects.LoanId;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:loan-event-store;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1;NON_KEYWORDS=VALUE",
+    "library.loans.event-store.enabled=true",
+    "library.loans.event-store.snapshot-every=2"
+})
+@ActiveProfiles("embedded")
+class LoanEventStoreTests {
+    
+    @Autowired
+    private LoanService loanService;
+    
+    @Autowired
+    private BookService bookService;
+    
+    @Autowired
+    private MemberService memberService;
+    
+    @Autowired
+    private LoanRepository loanRepository;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Test
+    void aLoanIsRebuiltFromItsSnapshotAndTheEventsAfterIt() {
+        LoanResponse borrowed = borrow("9780321125217", "ada@example.com");
+        loanService.extendLoan(borrowed.id(), 7);
+        loanService.returnBook(borrowed.id());
+        UUID loanId = UUID.fromString(borrowed.id());
+        
+        List<String> stream = jdbcTemplate.queryForList(
+            "SELECT event_type FROM loan_events WHERE loan_id = ? ORDER BY version", String.class, loanId);
+        assertThat(stream).containsExactly("BookBorrowed", "LoanExtended", "BookReturned");
+        assertThat(jdbcTemplate.queryForObject(
+            "SELECT version FROM loan_snapshots WHERE loan_id = ?", Long.class, loanId)).isEqualTo(2);
+        
+        Loan loan = loanRepository.findById(LoanId.from(borrowed.id())).orElseThrow();
+        assertThat(loan.getVersion()).isEqualTo(3);
+        assertThat(loan.getStatus()).isEqualTo(LoanStatus.RETURNED);
+        assertThat(loan.getReturnedDate()).isEqualTo(LocalDate.now());
+        assertThat(loan.getDueDate()).isEqualTo(LocalDate.parse(borrowed.dueDate()).plusDays(7));
+        assertThat(loan.getChanges()).isEmpty();
+        
+        // The row is kept in step for the queries
+        assertThat(jdbcTemplate.queryForObject(
+            "SELECT status FROM loans WHERE value = ?", String.class, loanId)).isEqualTo("RETURNED");
+    }
+    
+    @Test
+    void aSaveFromAStaleLoadIsRejected() {
+        LoanResponse borrowed = borrow("9780134685991", "grace@example.com");
+        LoanId loanId = LoanId.from(borrowed.id());
+        Loan first = loanRepository.findById(loanId).orElseThrow();
+        Loan second = loanRepository.findById(loanId).orElseThrow();
+        
+        first.extendLoan(7);
+        loanRepository.save(first);
+        second.addNote("Renewed at the desk");
+        
+        assertThatThrownBy(() -> loanRepository.save(second))
+            .isInstanceOf(OptimisticLockingFailureException.class);
+        assertThat(jdbcTemplate.queryForObject(
+            "SELECT count(*) FROM loan_events WHERE loan_id = ?", Long.class, loanId.value())).isEqualTo(2);
+    }
+    
+    @Test
+    void aLoanFromBeforeTheSwitchLoadsFromItsRowAndContinuesItsStream() {
+        UUID loanId = UUID.randomUUID();
+        LocalDate borrowedDate = LocalDate.now().minusDays(5);
+        jdbcTemplate.update(
+            "INSERT INTO loans (value, version, book_id, member_id, borrowed_date, due_date, status) " +
+            "VALUES (?, 4, ?, ?, ?, ?, 'ACTIVE')",
+            loanId, UUID.randomUUID(), UUID.randomUUID(), borrowedDate, borrowedDate.plusDays(30));
+        
+        Loan legacy = loanRepository.findById(new LoanId(loanId)).orElseThrow();
+        assertThat(legacy.getVersion()).isEqualTo(4);
+        legacy.addNote("Cover damaged");
+        loanRepository.save(legacy);
+        
+        assertThat(jdbcTemplate.queryForList(
+            "SELECT version FROM loan_events WHERE loan_id = ?", Long.class, loanId)).containsExactly(5L);
+        // No snapshot yet, so this load comes from the row, which must carry the note
+        Loan fromRow = loanRepository.findById(new LoanId(loanId)).orElseThrow();
+        assertThat(fromRow.getNotes()).isEqualTo("Cover damaged");
+        assertThat(fromRow.getVersion()).isEqualTo(5);
+        
+        // Version 6 is a multiple of snapshot-every: from here on the loan loads from its stream
+        fromRow.extendLoan(3);
+        loanRepository.save(fromRow);
+        Loan fromStream = loanRepository.findById(new LoanId(loanId)).orElseThrow();
+        assertThat(fromStream.getStatus()).isEqualTo(LoanStatus.EXTENDED);
+        assertThat(fromStream.getDueDate()).isEqualTo(borrowedDate.plusDays(33));
+        assertThat(fromStream.getNotes()).isEqualTo("Cover damaged");
+        assertThat(fromStream.getVersion()).isEqualTo(6);
+        assertThat(jdbcTemplate.queryForObject(
+            "SELECT version FROM loan_snapshots WHERE loan_id = ?", Long.class, loanId)).isEqualTo(6);
+    }
+    
+    @Test
+    void thePublishedEventsAreTheStoredOnes() {
+        LoanResponse borrowed = borrow("9780596009205", "alan@example.com");
+        loanService.extendLoan(borrowed.id(), 3);
+        UUID loanId = UUID.fromString(borrowed.id());
+        
+        List<UUID> stored = jdbcTemplate.queryForList(
+            "SELECT payload FROM loan_events WHERE loan_id = ? ORDER BY version", String.class, loanId).stream()
+            .map(payload -> UUID.fromString(payload.replaceAll(".*\"eventId\":\"([^\"]+)\".*", "$1")))
+            .toList();
+        assertThat(stored).hasSize(2);
+        // The relay is off in tests, so the outbox still holds everything that was published
+        assertThat(jdbcTemplate.queryForList("SELECT id FROM outbox_events", UUID.class)).containsAll(stored);
+    }
+    
+    private LoanResponse borrow(String isbn, String email) {
+        BookResponse book = bookService.createBook(new CreateBookRequest(isbn, "Book " + isbn, "Author"));
+        MemberResponse member = memberService.createMember(new CreateMemberRequest(
+            "Member " + email, email, "Naamsestraat 1", "Leuven", "3000", "Belgium"
+        ));
+        return loanService.borrowBook(new BorrowBookRequest(book.id(), member.id()));
+    }
+}
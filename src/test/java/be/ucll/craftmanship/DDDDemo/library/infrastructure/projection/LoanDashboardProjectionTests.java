@@ -0,0 +1,140 @@
+package be.ucll.craftmanship.DDDDemo.library.infrastructure.projection;
+
+import be.ucll.craftmanship.DDDDemo.library.application.dto.BookResponse;
+import be.ucll.craftmanship.DDDDemo.library.application.dto.BorrowBookRequest;
+import be.ucll.craftmanship.DDDDemo.library.application.dto.CreateBookRequest;
+import be.ucll.craftmanship.DDDDemo.library.application.dto.CreateMemberRequest;
+import be.ucll.craftmanship.DDDDemo.library.application.dto.LoanDashboardEntry;
+import be.ucll.craftmanship.DDDDemo.library.application.dto.LoanResponse;
+import be.ucll.craftmanship.DDDDemo.library.application.dto.MemberResponse;
+import be.ucll.craftmanship.DDDDemo.library.application.services.BookService;
+import be.ucll.craftmanship.DDDDemo.library.application.services.LoanDashboardService;
+import be.ucll.craftmanship.DDDDemo.library.application.services.LoanService;
+import be.ucll.craftmanship.DDDDemo.library.application.services.MemberService;
+import be.ucll.craftmanship.DDDDemo.library.domain.entities.MemberTier;
+import be.ucll.craftmanship.DDDDemo.library.domain.events.BookBorrowedEvent;
+import be.ucll.craftmanship.DDDDemo.library.domain.events.BookReturnedEvent;
+import be.ucll.craftmanship.DDDDemo.library.domain.events.LoanExtendedEvent;
+import be.ucll.craftmanship.DDDDemo.library.domain.services.LateFeeCalculationService;
+import be.ucll.craftmanship.DDDDemo.library.domain.valueobjects.BookId;
+import be.ucll.craftmanship.DDDDemo.library.domain.valueobjects.LoanId;
+import be.ucll.craftmanship.DDDDemo.library.domain.valueobjects.MemberId;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties =
+    "spring.datasource.url=jdbc:h2:mem:loan-dashboard;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1;NON_KEYWORDS=VALUE")
+@ActiveProfiles("embedded")
+class LoanDashboardProjectionTests {
+    
+    @Autowired
+    private LoanDashboardProjection projection;
+    
+    @Autowired
+    private LoanDashboardService dashboardService;
+    
+    @Autowired
+    private BookService bookService;
+    
+    @Autowired
+    private MemberService memberService;
+    
+    @Autowired
+    private LoanService loanService;
+    
+    @Autowired
+    private LateFeeCalculationService lateFeeService;
+    
+    @Test
+    void eventsInAnyOrderConvergeToTheSameRow() {
+        BookResponse book = bookService.createBook(new CreateBookRequest("9780321125217", "Domain-Driven Design", "Eric Evans"));
+        MemberResponse member = memberService.createMember(new CreateMemberRequest(
+            "Ada Lovelace", "ada@example.com", "Naamsestraat 1", "Leuven", "3000", "Belgium"
+        ));
+        LoanId loanId = LoanId.generate();
+        BookId bookId = BookId.from(book.id());
+        MemberId memberId = MemberId.from(member.id());
+        LocalDateTime borrowedAt = LocalDateTime.now().minusDays(3);
+        LocalDate firstDue = borrowedAt.toLocalDate().plusDays(14);
+        
+        // The extension overtakes the borrow that it extends
+        projection.handle(new LoanExtendedEvent(UUID.randomUUID(), borrowedAt.plusDays(1), loanId, memberId, firstDue.plusDays(7), 7));
+        projection.handle(new BookBorrowedEvent(UUID.randomUUID(), borrowedAt, loanId, bookId, memberId, firstDue));
+        
+        assertThat(dashboardService.getMemberDashboard(member.id()))
+            .singleElement()
+            .satisfies(entry -> {
+                assertThat(entry.dueDate()).isEqualTo(firstDue.plusDays(7).toString());
+                assertThat(entry.status()).isEqualTo("EXTENDED");
+                assertThat(entry.bookTitle()).isEqualTo("Domain-Driven Design");
+                assertThat(entry.memberName()).isEqualTo("Ada Lovelace");
+                assertThat(entry.borrowedDate()).isEqualTo(borrowedAt.toLocalDate().toString());
+            });
+        
+        // A return is final, even against a redelivered extension
+        projection.handle(new BookReturnedEvent(UUID.randomUUID(), borrowedAt.plusDays(2), loanId, bookId, memberId,
+            borrowedAt.plusDays(2).toLocalDate(), false));
+        projection.handle(new LoanExtendedEvent(UUID.randomUUID(), borrowedAt.plusDays(1), loanId, memberId, firstDue.plusDays(7), 7));
+        
+        assertThat(dashboardService.getMemberDashboard(member.id())).isEmpty();
+    }
+    
+    @Test
+    void overdueDashboardChargesTheCurrentFeeOfTheMembersTier() {
+        BookResponse book = bookService.createBook(new CreateBookRequest("9780134685991", "Effective Java", "Joshua Bloch"));
+        MemberResponse member = memberService.createMember(new CreateMemberRequest(
+            "Grace Hopper", "grace@example.com", "Naamsestraat 2", "Leuven", "3000", "Belgium"
+        ));
+        memberService.changeTier(member.id(), MemberTier.PREMIUM);
+        LoanId loanId = LoanId.generate();
+        LocalDate today = LocalDate.now();
+        
+        projection.handle(new BookBorrowedEvent(UUID.randomUUID(), today.minusDays(24).atStartOfDay(), loanId,
+            BookId.from(book.id()), MemberId.from(member.id()), today.minusDays(10)));
+        
+        LoanDashboardEntry entry = dashboardService.getOverdueDashboard().stream()
+            .filter(overdue -> overdue.loanId().equals(loanId.toString()))
+            .findFirst()
+            .orElseThrow();
+        assertThat(entry.overdue()).isTrue();
+        assertThat(entry.daysOverdue()).isEqualTo(10);
+        assertThat(entry.lateFeeCents()).isEqualTo(lateFeeService.calculateLateFee(10, MemberTier.PREMIUM).cents());
+        assertThat(entry.lateFeeCents()).isPositive();
+    }
+    
+    @Test
+    void rebuildReprojectsTheOpenLoansFromTheWriteSide() {
+        BookResponse book = bookService.createBook(new CreateBookRequest("9780596009205", "Head First Java", "Kathy Sierra"));
+        MemberResponse member = memberService.createMember(new CreateMemberRequest(
+            "Alan Turing", "alan@example.com", "Naamsestraat 3", "Leuven", "3000", "Belgium"
+        ));
+        // The relay is off in tests, so only the rebuild can bring this loan in
+        LoanResponse loan = loanService.borrowBook(new BorrowBookRequest(book.id(), member.id()));
+        assertThat(dashboardService.getMemberDashboard(member.id())).isEmpty();
+        
+        dashboardService.rebuild();
+        
+        assertThat(dashboardService.getMemberDashboard(member.id()))
+            .singleElement()
+            .satisfies(entry -> {
+                assertThat(entry.loanId()).isEqualTo(loan.id());
+                assertThat(entry.bookTitle()).isEqualTo("Head First Java");
+                assertThat(entry.memberName()).isEqualTo("Alan Turing");
+                assertThat(entry.dueDate()).isEqualTo(loan.dueDate());
+                assertThat(entry.status()).isEqualTo("ACTIVE");
+            });
+        
+        loanService.returnBook(loan.id());
+        dashboardService.rebuild();
+        
+        assertThat(dashboardService.getMemberDashboard(member.id())).isEmpty();
+    }
+}
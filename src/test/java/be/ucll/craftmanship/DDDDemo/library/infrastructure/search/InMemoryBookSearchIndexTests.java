@@ -0,0 +1,167 @@
+package be.ucll.craftmanship.DDDDemo.library.infrastructure.search;
+
+import be.ucll.craftmanship.DDDDemo.library.application.search.SearchHit;
+import be.ucll.craftmanship.DDDDemo.library.domain.entities.Book;
+import be.ucll.craftmanship.DDDDemo.library.domain.valueobjects.BookId;
+import be.ucll.craftmanship.DDDDemo.library.domain.valueobjects.ISBN;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InMemoryBookSearchIndexTests {
+    
+    private final InMemoryBookSearchIndex index = new InMemoryBookSearchIndex();
+    private final TransactionTemplate transaction = new TransactionTemplate(new NoOpTransactionManager());
+    
+    private final Book cleanCode = book("9780132350884", "Clean Code", "Robert Martin");
+    private final Book cleanArchitecture = book("9780134494166", "Clean Architecture", "Robert Martin");
+    private final Book ddd = book("9780321125217", "Domain-Driven Design", "Eric Evans");
+    private final Book refactoring = book("9780134757599", "Refactoring", "Martin Fowler");
+    
+    @BeforeEach
+    void buildIndex() {
+        index.rebuild(Stream.of(cleanCode, cleanArchitecture, ddd, refactoring));
+    }
+    
+    @Test
+    void booksMatchingAllTermsRankFirst() {
+        assertThat(index.isReady()).isTrue();
+        assertThat(index.size()).isEqualTo(4);
+        
+        assertThat(ids(index.search("clean code", 10))).containsExactly(cleanCode.getId(), cleanArchitecture.getId());
+        List<BookId> byMartin = ids(index.search("robert martin", 10));
+        assertThat(byMartin).hasSize(3);
+        assertThat(byMartin.subList(0, 2)).containsExactlyInAnyOrder(cleanCode.getId(), cleanArchitecture.getId());
+        assertThat(byMartin.get(2)).isEqualTo(refactoring.getId());
+        assertThat(index.search("clean code", 1)).hasSize(1);
+        assertThat(index.search("   ", 10)).isEmpty();
+    }
+    
+    @Test
+    void titleMatchesOutrankAuthorMatches() {
+        Book martinsBook = book("9781617294945", "Martin", "Jane Doe");
+        index.index(martinsBook);
+        
+        List<SearchHit<BookId>> hits = index.search("martin", 10);
+        
+        assertThat(hits.get(0).id()).isEqualTo(martinsBook.getId());
+        assertThat(hits.get(0).score()).isGreaterThan(hits.get(1).score());
+    }
+    
+    @Test
+    void lastTermMatchesAsAPrefix() {
+        assertThat(ids(index.search("refac", 10))).containsExactly(refactoring.getId());
+        assertThat(ids(index.search("clean arch", 10))).containsExactly(cleanArchitecture.getId(), cleanCode.getId());
+        // Only the last term is expanded: "arch" first matches nothing, both books match "clean" alike
+        List<SearchHit<BookId>> hits = index.search("arch clean", 10);
+        assertThat(ids(hits)).containsExactlyInAnyOrder(cleanCode.getId(), cleanArchitecture.getId());
+        assertThat(hits.get(0).score()).isEqualTo(hits.get(1).score());
+    }
+    
+    @Test
+    void termsWithATypoStillMatch() {
+        assertThat(ids(index.search("evens", 10))).containsExactly(ddd.getId());
+        assertThat(ids(index.search("refactorng", 10))).containsExactly(refactoring.getId());
+        assertThat(ids(index.search("domian design", 10))).containsExactly(ddd.getId());
+        // Too short to be corrected
+        assertThat(index.search("cde", 10)).isEmpty();
+    }
+    
+    @Test
+    void isbnMatchesWithOrWithoutHyphens() {
+        assertThat(ids(index.search("978-0-321-12521-7", 10))).containsExactly(ddd.getId());
+        assertThat(ids(index.search("9780134", 10))).containsExactlyInAnyOrder(cleanArchitecture.getId(), refactoring.getId());
+    }
+    
+    @Test
+    void changesBecomeVisibleWhenTheTransactionCommits() {
+        Book newBook = book("9780596009205", "Head First Java", "Kathy Sierra");
+        
+        transaction.executeWithoutResult(status -> {
+            index.index(newBook);
+            cleanCode.updateTitle("Clean Craftsmanship");
+            index.index(cleanCode);
+            index.remove(ddd.getId());
+            
+            assertThat(index.search("java", 10)).isEmpty();
+            assertThat(ids(index.search("domain", 10))).containsExactly(ddd.getId());
+        });
+        
+        assertThat(ids(index.search("java", 10))).containsExactly(newBook.getId());
+        assertThat(ids(index.search("craftsmanship", 10))).containsExactly(cleanCode.getId());
+        assertThat(index.search("code", 10)).isEmpty();
+        assertThat(index.search("domain", 10)).isEmpty();
+        assertThat(index.search("9780321125217", 10)).isEmpty();
+        assertThat(index.size()).isEqualTo(4);
+    }
+    
+    @Test
+    void rolledBackChangesNeverReachTheIndex() {
+        Book newBook = book("9780596009205", "Head First Java", "Kathy Sierra");
+        
+        transaction.executeWithoutResult(status -> {
+            index.index(newBook);
+            cleanCode.updateTitle("Clean Craftsmanship");
+            index.index(cleanCode);
+            index.remove(ddd.getId());
+            status.setRollbackOnly();
+        });
+        
+        assertThat(index.search("java", 10)).isEmpty();
+        assertThat(index.search("craftsmanship", 10)).isEmpty();
+        assertThat(ids(index.search("clean code", 10))).first().isEqualTo(cleanCode.getId());
+        assertThat(ids(index.search("domain", 10))).containsExactly(ddd.getId());
+        assertThat(index.size()).isEqualTo(4);
+    }
+    
+    @Test
+    void changesCommittedDuringARebuildAreReplayedOnTop() {
+        Book addedMeanwhile = book("9780596009205", "Head First Java", "Kathy Sierra");
+        
+        index.rebuild(Stream.of(cleanCode, ddd).peek(loaded -> {
+            // Simulates commits that happen after the rebuild read its snapshot
+            index.index(addedMeanwhile);
+            index.remove(ddd.getId());
+        }));
+        
+        assertThat(ids(index.search("java", 10))).containsExactly(addedMeanwhile.getId());
+        assertThat(index.search("domain", 10)).isEmpty();
+        assertThat(index.size()).isEqualTo(2);
+    }
+    
+    private static Book book(String isbn, String title, String author) {
+        return new Book(BookId.generate(), new ISBN(isbn), title, author);
+    }
+    
+    private static List<BookId> ids(List<SearchHit<BookId>> hits) {
+        return hits.stream().map(SearchHit::id).toList();
+    }
+    
+    /**
+     * Transaction manager without a resource, only drives the synchronizations
+     */
+    private static class NoOpTransactionManager extends AbstractPlatformTransactionManager {
+        
+        @Override
+        protected Object doGetTransaction() {
+            return new Object();
+        }
+        
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {}
+        
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {}
+        
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {}
+    }
+}
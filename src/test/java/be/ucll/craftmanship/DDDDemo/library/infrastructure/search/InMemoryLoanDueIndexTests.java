@@ -0,0 +1,84 @@
+package be.ucll.craftmanship.DDDDemo.library.infrastructure.search;
+
+import be.ucll.craftmanship.DDDDemo.library.application.search.DueLoan;
+import be.ucll.craftmanship.DDDDemo.library.domain.aggregates.Loan;
+import be.ucll.craftmanship.DDDDemo.library.domain.valueobjects.BookId;
+import be.ucll.craftmanship.DDDDemo.library.domain.valueobjects.LoanId;
+import be.ucll.craftmanship.DDDDemo.library.domain.valueobjects.MemberId;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InMemoryLoanDueIndexTests {
+    
+    private static final LocalDate TODAY = LocalDate.of(2025, 3, 10);
+    
+    private final InMemoryLoanDueIndex index = new InMemoryLoanDueIndex();
+    private final MemberId ada = MemberId.generate();
+    private final MemberId bob = MemberId.generate();
+    
+    @Test
+    void answersOverdueDueBetweenAndPerMemberCounts() {
+        DueLoan late = due(ada, TODAY.minusDays(3));
+        DueLoan dueToday = due(ada, TODAY);
+        DueLoan dueSoon = due(bob, TODAY.plusDays(5));
+        DueLoan dueLater = due(bob, TODAY.plusDays(20));
+        index.rebuild(Stream.of(dueLater, dueSoon, dueToday, late));
+        
+        assertThat(index.isReady()).isTrue();
+        assertThat(index.size()).isEqualTo(4);
+        assertThat(index.findDueBefore(TODAY)).containsExactly(late.loanId());
+        assertThat(index.findDueBetween(TODAY, TODAY.plusDays(7)))
+            .containsExactly(dueToday.loanId(), dueSoon.loanId());
+        assertThat(index.findDueBetween(TODAY.plusDays(7), TODAY)).isEmpty();
+        assertThat(index.countDueBefore(ada, TODAY)).isEqualTo(1);
+        assertThat(index.countDueBefore(ada, TODAY.plusDays(1))).isEqualTo(2);
+        assertThat(index.countDueBefore(bob, TODAY)).isZero();
+        assertThat(index.countDueBefore(MemberId.generate(), TODAY)).isZero();
+        assertThat(index.countDueBefore(TODAY.plusDays(6))).isEqualTo(3);
+    }
+    
+    @Test
+    void borrowExtendAndReturnMoveTheLoan() {
+        index.rebuild(Stream.empty());
+        Loan loan = new Loan(LoanId.generate(), BookId.generate(), ada);
+        
+        index.index(loan);
+        assertThat(index.findDueBetween(loan.getDueDate(), loan.getDueDate())).containsExactly(loan.getId());
+        
+        LocalDate previousDueDate = loan.getDueDate();
+        loan.extendLoan(7);
+        index.index(loan);
+        assertThat(index.findDueBetween(previousDueDate, previousDueDate)).isEmpty();
+        assertThat(index.findDueBetween(loan.getDueDate(), loan.getDueDate())).containsExactly(loan.getId());
+        assertThat(index.countDueBefore(ada, loan.getDueDate().plusDays(1))).isEqualTo(1);
+        
+        loan.returnBook();
+        index.index(loan);
+        assertThat(index.size()).isZero();
+        assertThat(index.countDueBefore(ada, loan.getDueDate().plusDays(1))).isZero();
+    }
+    
+    @Test
+    void changesCommittedDuringARebuildAreReplayedOnTop() {
+        DueLoan returnedMeanwhile = due(ada, TODAY.minusDays(1));
+        Loan borrowedMeanwhile = new Loan(LoanId.generate(), BookId.generate(), bob);
+        
+        index.rebuild(Stream.of(returnedMeanwhile).peek(loaded -> {
+            // Simulates commits that happen after the rebuild read its snapshot
+            index.remove(returnedMeanwhile.loanId());
+            index.index(borrowedMeanwhile);
+        }));
+        
+        assertThat(index.findDueBefore(TODAY)).isEmpty();
+        assertThat(index.size()).isEqualTo(1);
+        assertThat(index.countDueBefore(bob, borrowedMeanwhile.getDueDate().plusDays(1))).isEqualTo(1);
+    }
+    
+    private static DueLoan due(MemberId memberId, LocalDate dueDate) {
+        return new DueLoan(LoanId.generate(), memberId, dueDate);
+    }
+}
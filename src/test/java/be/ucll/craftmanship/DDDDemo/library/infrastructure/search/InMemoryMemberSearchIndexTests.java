@@ -0,0 +1,146 @@
+package be.ucll.craftmanship.DDDDemo.library.infrastructure.search;
+
+import be.ucll.craftmanship.DDDDemo.library.application.dto.MemberSuggestion;
+import be.ucll.craftmanship.DDDDemo.library.domain.entities.Member;
+import be.ucll.craftmanship.DDDDemo.library.domain.valueobjects.Address;
+import be.ucll.craftmanship.DDDDemo.library.domain.valueobjects.Email;
+import be.ucll.craftmanship.DDDDemo.library.domain.valueobjects.MemberId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InMemoryMemberSearchIndexTests {
+    
+    private final InMemoryMemberSearchIndex index = new InMemoryMemberSearchIndex();
+    private final TransactionTemplate transaction = new TransactionTemplate(new NoOpTransactionManager());
+    
+    private final Member jan = member("Jan Peeters", "jan.peeters@example.com", "3000");
+    private final Member janssens = member("Jan Janssens", "jj@example.com", "3000");
+    private final Member marie = member("Marie Dubois", "marie@example.com", "1000");
+    private final Member jana = member("Jana Peeters Van Den Broeck", "jana@example.com", "9000");
+    
+    @BeforeEach
+    void buildIndex() {
+        index.rebuild(Stream.of(jan, janssens, marie, jana));
+    }
+    
+    @Test
+    void everyTermMustPrefixANameTermAndExactTermsRankFirst() {
+        assertThat(index.isReady()).isTrue();
+        
+        // "jan" is a whole term of Jan Peeters, only a prefix of Jana
+        assertThat(names(index.suggest("jan pe", 2))).containsExactly("Jan Peeters", "Jana Peeters Van Den Broeck");
+        assertThat(names(index.suggest("jan pe", 10))).startsWith("Jan Peeters", "Jana Peeters Van Den Broeck");
+        assertThat(names(index.suggest("Dub", 10))).first().isEqualTo("Marie Dubois");
+        assertThat(index.suggest("  ", 10)).isEmpty();
+    }
+    
+    @Test
+    void equallyGoodPrefixMatchesPutShorterNamesFirst() {
+        assertThat(names(index.suggest("peet", 2))).containsExactly("Jan Peeters", "Jana Peeters Van Den Broeck");
+    }
+    
+    @Test
+    void misspelledNamesAreFoundBySimilarity() {
+        assertThat(names(index.suggest("Jna Peters", 10))).containsExactly("Jan Peeters");
+        assertThat(names(index.suggest("Mari Duboi", 10))).first().isEqualTo("Marie Dubois");
+        assertThat(index.suggest("Xavier", 10)).isEmpty();
+    }
+    
+    @Test
+    void emailAndPostalCodeLookupsAreExact() {
+        assertThat(index.findByEmail(new Email("JAN.Peeters@Example.com"))).contains(jan.getId());
+        assertThat(index.findByEmail(new Email("jan@example.com"))).isEmpty();
+        assertThat(index.findByPostalCode("3000")).containsExactlyInAnyOrder(jan.getId(), janssens.getId());
+        assertThat(index.findByPostalCode("2000")).isEmpty();
+    }
+    
+    @Test
+    void changesBecomeVisibleWhenTheTransactionCommits() {
+        Member newMember = member("Piet Pieters", "piet@example.com", "2000");
+        Email newEmail = new Email("jan@peeters.be");
+        
+        transaction.executeWithoutResult(status -> {
+            changeEverything(newMember, newEmail);
+            
+            assertThat(index.suggest("piet", 10)).isEmpty();
+            assertThat(index.findByEmail(newEmail)).isEmpty();
+            assertThat(index.findByEmail(new Email("jan.peeters@example.com"))).contains(jan.getId());
+        });
+        
+        assertThat(names(index.suggest("piet", 10))).containsExactly("Piet Pieters");
+        assertThat(index.findByEmail(newEmail)).contains(jan.getId());
+        assertThat(index.findByEmail(new Email("jan.peeters@example.com"))).isEmpty();
+        assertThat(index.findByPostalCode("3000")).containsExactly(janssens.getId());
+        assertThat(index.findByPostalCode("2000")).containsExactlyInAnyOrder(jan.getId(), newMember.getId());
+        assertThat(index.suggest("marie", 10)).extracting(MemberSuggestion::active).containsExactly(false);
+    }
+    
+    @Test
+    void rolledBackChangesNeverReachTheIndex() {
+        Member newMember = member("Piet Pieters", "piet@example.com", "2000");
+        Email newEmail = new Email("jan@peeters.be");
+        
+        transaction.executeWithoutResult(status -> {
+            changeEverything(newMember, newEmail);
+            status.setRollbackOnly();
+        });
+        
+        assertThat(index.suggest("piet", 10)).isEmpty();
+        assertThat(index.findByEmail(newEmail)).isEmpty();
+        assertThat(index.findByEmail(new Email("jan.peeters@example.com"))).contains(jan.getId());
+        assertThat(index.findByPostalCode("3000")).containsExactlyInAnyOrder(jan.getId(), janssens.getId());
+        assertThat(index.findByPostalCode("2000")).isEmpty();
+        assertThat(index.suggest("marie", 10)).extracting(MemberSuggestion::active).containsExactly(true);
+    }
+    
+    private void changeEverything(Member newMember, Email newEmail) {
+        index.index(newMember);
+        jan.updateEmail(newEmail);
+        jan.updateAddress(new Address("Bondgenotenlaan 1", "Brussel", "2000", "Belgium"));
+        index.index(jan);
+        marie.deactivate();
+        index.index(marie);
+    }
+    
+    private static Member member(String name, String email, String postalCode) {
+        return new Member(
+            MemberId.generate(),
+            name,
+            new Email(email),
+            new Address("Naamsestraat 1", "Leuven", postalCode, "Belgium")
+        );
+    }
+    
+    private static List<String> names(List<MemberSuggestion> suggestions) {
+        return suggestions.stream().map(MemberSuggestion::name).toList();
+    }
+    
+    /**
+     * Transaction manager without a resource, only drives the synchronizations
+     */
+    private static class NoOpTransactionManager extends AbstractPlatformTransactionManager {
+        
+        @Override
+        protected Object doGetTransaction() {
+            return new Object();
+        }
+        
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {}
+        
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {}
+        
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {}
+    }
+}
@@ -0,0 +1,96 @@
+package be.ucll.craftmanship.DDDDemo.library.infrastructure.sweep;
+
+import be.ucll.craftmanship.DDDDemo.library.application.dto.BorrowBookRequest;
+import be.ucll.craftmanship.DDDDemo.library.application.dto.CreateBookRequest;
+import be.ucll.craftmanship.DDDDemo.library.application.dto.CreateMemberRequest;
+import be.ucll.craftmanship.DDDDemo.library.application.dto.LoanResponse;
+import be.ucll.craftmanship.DDDDemo.library.application.services.BookService;
+import be.ucll.craftmanship.DDDDemo.library.application.services.LoanService;
+import be.ucll.craftmanship.DDDDemo.library.application.services.MemberService;
+import be.ucll.craftmanship.DDDDemo.library.domain.repositories.LoanRepository;
+import be.ucll.craftmanship.DDDDemo.library.domain.valueobjects.LoanId;
+import be.ucll.craftmanship.DDDDemo.library.infrastructure.outbox.OutboxEventRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:overdue-sweep;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1;NON_KEYWORDS=VALUE",
+    "library.overdue-sweep.chunk-size=2",
+    "library.overdue-sweep.workers=3"
+})
+@ActiveProfiles("embedded")
+class OverdueSweepTests {
+    
+    private static final String[] ISBNS = {
+        "9780132350884", "9780321125217", "9780134685991", "9780596009205", "9781617294945"
+    };
+    
+    @Autowired
+    private BookService bookService;
+    
+    @Autowired
+    private MemberService memberService;
+    
+    @Autowired
+    private LoanService loanService;
+    
+    @Autowired
+    private LoanRepository loanRepository;
+    
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+    
+    @Autowired
+    private OverdueSweepCheckpointRepository checkpointRepository;
+    
+    @Autowired
+    private OverdueSweepJob sweepJob;
+    
+    @Test
+    void sweepAnnouncesEachOverdueLoanOnceAcrossChunksAndReruns() {
+        String member = memberService.createMember(new CreateMemberRequest(
+            "Sweep Tester", "sweep@example.com", "Naamsestraat 1", "Leuven", "3000", "Belgium"
+        )).id();
+        List<LoanResponse> loans = new ArrayList<>();
+        for (String isbn : ISBNS) {
+            String book = bookService.createBook(new CreateBookRequest(isbn, "Book " + isbn, "Author")).id();
+            loans.add(loanService.borrowBook(new BorrowBookRequest(book, member)));
+        }
+        // A returned loan is never overdue
+        loanService.returnBook(loans.get(0).id());
+        
+        // Loans run 30 days and the sweep picks up those due before its date, so sweep the day after
+        LocalDate sweepDate = LocalDate.now().plusDays(31);
+        SweepReport first = sweepJob.sweep(sweepDate);
+        
+        assertThat(first.notified()).isEqualTo(ISBNS.length - 1);
+        assertThat(first.failedChunks()).isZero();
+        assertThat(first.completed()).isTrue();
+        assertThat(overdueEvents()).isEqualTo(ISBNS.length - 1);
+        assertThat(loanRepository.findById(LoanId.from(loans.get(1).id())).orElseThrow().getOverdueNotifiedOn())
+            .isEqualTo(sweepDate);
+        assertThat(checkpointRepository.findById(sweepDate).orElseThrow().getNotified())
+            .isEqualTo(ISBNS.length - 1);
+        
+        SweepReport rerun = sweepJob.sweep(sweepDate);
+        
+        assertThat(rerun.resumed()).isTrue();
+        assertThat(rerun.notified()).isZero();
+        assertThat(overdueEvents()).isEqualTo(ISBNS.length - 1);
+        assertThat(sweepJob.sweep(sweepDate.plusDays(1)).notified()).isZero();
+    }
+    
+    private long overdueEvents() {
+        return outboxEventRepository.findAll().stream()
+            .filter(event -> "LoanOverdue".equals(event.getEventType()))
+            .count();
+    }
+}
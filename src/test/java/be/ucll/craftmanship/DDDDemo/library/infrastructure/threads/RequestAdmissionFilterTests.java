@@ -0,0 +1,78 @@
+package be.ucll.craftmanship.DDDDemo.library.infrastructure.threads;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RequestAdmissionFilterTests {
+    
+    private final RequestAdmissionFilter filter = new RequestAdmissionFilter(
+        new VirtualThreadProperties(1, Duration.ofMillis(50), false, Duration.ofMillis(20)),
+        null,
+        new ObjectMapper().registerModule(new JavaTimeModule())
+    );
+    
+    @Test
+    void requestsBeyondTheLimitGetA503OnceTheyHaveQueuedTooLong() throws Exception {
+        CountDownLatch inside = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread first = Thread.ofVirtual().start(() -> {
+            try {
+                filter.doFilter(api("/api/books"), new MockHttpServletResponse(), (request, response) -> {
+                    inside.countDown();
+                    awaitQuietly(release);
+                });
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        assertThat(inside.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(filter.getInFlight()).isEqualTo(1);
+        
+        MockHttpServletResponse rejected = new MockHttpServletResponse();
+        filter.doFilter(api("/api/books"), rejected, new MockFilterChain());
+        
+        assertThat(rejected.getStatus()).isEqualTo(503);
+        assertThat(rejected.getHeader("Retry-After")).isEqualTo("1");
+        assertThat(rejected.getContentAsString()).contains("\"status\":503");
+        assertThat(filter.getRejected()).isEqualTo(1);
+        
+        release.countDown();
+        first.join();
+        MockHttpServletResponse admitted = new MockHttpServletResponse();
+        filter.doFilter(api("/api/books"), admitted, new MockFilterChain());
+        assertThat(admitted.getStatus()).isEqualTo(200);
+        assertThat(filter.getInFlight()).isZero();
+        assertThat(filter.getAdmitted()).isEqualTo(2);
+    }
+    
+    @Test
+    void onlyApiRequestsAreCounted() throws Exception {
+        filter.doFilter(api("/actuator/health"), new MockHttpServletResponse(), new MockFilterChain());
+        
+        assertThat(filter.getAdmitted()).isZero();
+    }
+    
+    private static MockHttpServletRequest api(String path) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        request.setServletPath(path);
+        return request;
+    }
+    
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}